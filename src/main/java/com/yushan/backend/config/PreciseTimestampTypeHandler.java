@@ -0,0 +1,39 @@
+package com.yushan.backend.config;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+
+/**
+ * Maps timestamp columns to java.util.Date without dropping the sub-millisecond part:
+ * reads return the driver's Timestamp as is and Timestamp parameters are bound unchanged.
+ * Used on the sort keys of keyset pagination, whose cursors must match rows exactly.
+ */
+public class PreciseTimestampTypeHandler extends BaseTypeHandler<Date> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, Date parameter, JdbcType jdbcType) throws SQLException {
+        ps.setTimestamp(i, parameter instanceof Timestamp timestamp ? timestamp : new Timestamp(parameter.getTime()));
+    }
+
+    @Override
+    public Date getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return rs.getTimestamp(columnName);
+    }
+
+    @Override
+    public Date getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return rs.getTimestamp(columnIndex);
+    }
+
+    @Override
+    public Date getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return cs.getTimestamp(columnIndex);
+    }
+}
@@ -0,0 +1,33 @@
+package com.yushan.backend.config;
+
+import com.yushan.backend.security.UserDetailsCache;
+import com.yushan.backend.service.CategoryCache;
+import com.yushan.backend.service.NovelCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis pub/sub subscriptions used to invalidate node-local caches across instances.
+ * Disabled in unit tests, where no Redis server is available.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.cache.pubsub.enabled", havingValue = "true", matchIfMissing = true)
+public class RedisPubSubConfig {
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                        CategoryCache categoryCache,
+                                                                        NovelCache novelCache,
+                                                                        UserDetailsCache userDetailsCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(categoryCache, new ChannelTopic(CategoryCache.INVALIDATION_CHANNEL));
+        container.addMessageListener(novelCache, new ChannelTopic(NovelCache.INVALIDATION_CHANNEL));
+        container.addMessageListener(userDetailsCache, new ChannelTopic(UserDetailsCache.INVALIDATION_CHANNEL));
+        return container;
+    }
+}
@@ -190,6 +190,9 @@ public class SecurityConfig {
                 // Ranking APIs - public
                 .requestMatchers("/api/ranking/**").permitAll()
 
+                // Stored images - public, served by content hash
+                .requestMatchers(HttpMethod.GET, "/api/images/*").permitAll()
+
                 // Admin endpoints - require admin role
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
 
@@ -3,20 +3,33 @@ package com.yushan.backend.controller;
 import com.yushan.backend.dto.*;
 import com.yushan.backend.security.CustomUserDetailsService.CustomUserDetails;
 import com.yushan.backend.service.ChapterService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/chapters")
 @CrossOrigin(origins = "*")
 public class ChapterController {
 
+    private static final long FREE_CHAPTER_MAX_AGE_SECONDS = 60;
+
     @Autowired
     private ChapterService chapterService;
 
@@ -50,14 +63,49 @@ public class ChapterController {
         return ApiResponse.success("Chapters created successfully");
     }
 
+    /**
+     * Import chapters from an NDJSON body, one chapter object per line
+     * Author only - for imports too large for a single batch request
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", MediaType.TEXT_PLAIN_VALUE})
+    @PreAuthorize("hasAnyRole('AUTHOR','ADMIN')")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ApiResponse<Integer> importChapters(
+            @RequestParam Integer novelId,
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+        UUID userId = extractUserId(authentication);
+        Reader reader = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8);
+        int imported = chapterService.importChapters(userId, novelId, reader);
+        return ApiResponse.success(imported + " chapters imported successfully", imported);
+    }
+
+    /**
+     * Import chapters from an uploaded NDJSON file, one chapter object per line
+     * Author only
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyRole('AUTHOR','ADMIN')")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ApiResponse<Integer> importChapterFile(
+            @RequestParam Integer novelId,
+            @RequestParam("file") MultipartFile file,
+            Authentication authentication) throws IOException {
+        UUID userId = extractUserId(authentication);
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            int imported = chapterService.importChapters(userId, novelId, reader);
+            return ApiResponse.success(imported + " chapters imported successfully", imported);
+        }
+    }
+
     /**
      * Get chapter by UUID (public endpoint)
-     * Returns full chapter content
+     * Returns full chapter content, or 304 when If-None-Match still matches
      */
     @GetMapping("/{uuid}")
-    public ApiResponse<ChapterDetailResponseDTO> getChapterByUuid(@PathVariable UUID uuid) {
-        ChapterDetailResponseDTO chapter = chapterService.getChapterByUuid(uuid);
-        return ApiResponse.success("Chapter retrieved successfully", chapter);
+    public ResponseEntity<ApiResponse<ChapterDetailResponseDTO>> getChapterByUuid(
+            @PathVariable UUID uuid, WebRequest request) {
+        return conditionalChapter(chapterService.getChapterVersion(uuid), request);
     }
 
     /**
@@ -65,11 +113,11 @@ public class ChapterController {
      * Alternative way to access chapters using chapter number
      */
     @GetMapping("/novel/{novelId}/number/{chapterNumber}")
-    public ApiResponse<ChapterDetailResponseDTO> getChapterByNovelIdAndNumber(
+    public ResponseEntity<ApiResponse<ChapterDetailResponseDTO>> getChapterByNovelIdAndNumber(
             @PathVariable Integer novelId,
-            @PathVariable Integer chapterNumber) {
-        ChapterDetailResponseDTO chapter = chapterService.getChapterByNovelIdAndNumber(novelId, chapterNumber);
-        return ApiResponse.success("Chapter retrieved successfully", chapter);
+            @PathVariable Integer chapterNumber,
+            WebRequest request) {
+        return conditionalChapter(chapterService.getChapterVersion(novelId, chapterNumber), request);
     }
 
     /**
@@ -271,4 +319,26 @@ public class ChapterController {
         }
         return null;
     }
+
+    /**
+     * Helper method to answer a chapter read: 304 when If-None-Match matches the chapter's ETag,
+     * otherwise the chapter with its ETag and Cache-Control
+     */
+    private ResponseEntity<ApiResponse<ChapterDetailResponseDTO>> conditionalChapter(
+            ChapterVersionDTO version, WebRequest request) {
+        // Free chapters may be kept by shared caches for a short while; premium ones
+        // only by the reader's own client, revalidated on every use
+        CacheControl cacheControl = Boolean.TRUE.equals(version.getIsPremium())
+                ? CacheControl.noCache().cachePrivate()
+                : CacheControl.maxAge(FREE_CHAPTER_MAX_AGE_SECONDS, TimeUnit.SECONDS).cachePublic();
+        if (request.checkNotModified(version.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version.getEtag()).cacheControl(cacheControl).build();
+        }
+
+        ChapterDetailResponseDTO chapter = chapterService.getChapterByUuid(version.getUuid());
+        return ResponseEntity.ok()
+                .eTag(version.getEtag())
+                .cacheControl(cacheControl)
+                .body(ApiResponse.success("Chapter retrieved successfully", chapter));
+    }
 }
@@ -82,6 +82,7 @@ public class CommentController {
 
     /**
      * Get comments for a specific chapter (public)
+     * Pass cursor ("" for the first page) to page by cursor; withCount=false then skips the total
      */
     @GetMapping("/chapter/{chapterId}")
     public ApiResponse<CommentListResponseDTO> getCommentsByChapter(
@@ -90,10 +91,13 @@ public class CommentController {
             @RequestParam(value = "size", defaultValue = "20") Integer size,
             @RequestParam(value = "sort", defaultValue = "createTime") String sort,
             @RequestParam(value = "order", defaultValue = "desc") String order,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "withCount", defaultValue = "true") boolean withCount,
             Authentication authentication) {
 
         UUID userId = getUserIdFromAuthenticationOrNull(authentication);
-        CommentListResponseDTO response = commentService.getCommentsByChapter(chapterId, userId, page, size, sort, order);
+        CommentListResponseDTO response = commentService.getCommentsByChapter(chapterId, userId, page, size, sort, order,
+                cursor, withCount);
         return ApiResponse.success("Comments retrieved successfully", response);
     }
 
@@ -203,6 +207,8 @@ public class CommentController {
             @RequestParam(value = "userId", required = false) String userId,
             @RequestParam(value = "isSpoiler", required = false) Boolean isSpoiler,
             @RequestParam(value = "search", required = false) String search,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "withCount", defaultValue = "true") boolean withCount,
             Authentication authentication) {
 
         UUID currentUserId = getUserIdFromAuthentication(authentication);
@@ -217,6 +223,8 @@ public class CommentController {
                 .order(order)
                 .page(page)
                 .size(size)
+                .cursor(cursor)
+                .withCount(withCount)
                 .build();
 
         CommentListResponseDTO response = commentService.getAllComments(request, currentUserId);
@@ -238,6 +246,8 @@ public class CommentController {
             @RequestParam(value = "userId", required = false) String userId,
             @RequestParam(value = "isSpoiler", required = false) Boolean isSpoiler,
             @RequestParam(value = "search", required = false) String search,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "withCount", defaultValue = "true") boolean withCount,
             Authentication authentication) {
 
         UUID currentUserId = getUserIdFromAuthentication(authentication);
@@ -252,6 +262,8 @@ public class CommentController {
                 .order(order)
                 .page(page)
                 .size(size)
+                .cursor(cursor)
+                .withCount(withCount)
                 .build();
 
         CommentListResponseDTO response = commentService.getAllComments(request, currentUserId);
@@ -38,15 +38,18 @@ public class HistoryController {
 
     /**
      * Get the user's viewing history with pagination
+     * Pass cursor ("" for the first page) to page by cursor; withCount=false then skips the total
      */
     @GetMapping
     @PreAuthorize("isAuthenticated()")
     public ApiResponse<PageResponseDTO<HistoryResponseDTO>> getUserHistory(
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "withCount", defaultValue = "true") boolean withCount,
             Authentication authentication) {
         UUID userId = getCurrentUserId(authentication);
-        PageResponseDTO<HistoryResponseDTO> historyPage = historyService.getUserHistory(userId, page, size);
+        PageResponseDTO<HistoryResponseDTO> historyPage = historyService.getUserHistory(userId, page, size, cursor, withCount);
         return ApiResponse.success("History retrieved successfully", historyPage);
     }
 
@@ -0,0 +1,49 @@
+package com.yushan.backend.controller;
+
+import com.yushan.backend.exception.ResourceNotFoundException;
+import com.yushan.backend.service.ImageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/images")
+@CrossOrigin(origins = "*")
+public class ImageController {
+
+    @Autowired
+    private ImageService imageService;
+
+    /**
+     * Serve a stored image (public endpoint)
+     * Images are addressed by content hash and never change, so the hash is a strong ETag
+     * and clients may cache them forever
+     */
+    @GetMapping("/{hash}")
+    public ResponseEntity<Resource> getImage(@PathVariable String hash, WebRequest request) throws IOException {
+        String etag = "\"" + hash + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+
+        Resource image = imageService.getImage(hash);
+        if (image == null) {
+            throw new ResourceNotFoundException("image not found");
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.parseMediaType(imageService.detectContentType(image)))
+                .contentLength(image.contentLength())
+                .body(image);
+    }
+}
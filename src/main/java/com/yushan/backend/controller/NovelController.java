@@ -74,6 +74,10 @@ public class NovelController {
         return ApiResponse.success("View count incremented");
     }
 
+    /**
+     * List novels by page, or by cursor when a cursor is given ("" for the first page).
+     * In cursor mode withCount=false skips the total count.
+     */
     @GetMapping
     public ApiResponse<PageResponseDTO<NovelDetailResponseDTO>> listNovels(
             @RequestParam(value = "page", defaultValue = "0") Integer page,
@@ -84,9 +88,12 @@ public class NovelController {
             @RequestParam(value = "status", required = false) String status,
             @RequestParam(value = "search", required = false) String search,
             @RequestParam(value = "authorName", required = false) String authorName,
-            @RequestParam(value = "authorId", required = false) String authorId) {
+            @RequestParam(value = "authorId", required = false) String authorId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "withCount", defaultValue = "true") boolean withCount) {
         
-        return getNovelsWithFilters(page, size, sort, order, categoryId, status, search, authorName, authorId, false);
+        return getNovelsWithFilters(page, size, sort, order, categoryId, status, search, authorName, authorId,
+                cursor, withCount, false);
     }
 
     // Novel Approval Workflow APIs
@@ -164,9 +171,12 @@ public class NovelController {
             @RequestParam(value = "status", required = false) String status,
             @RequestParam(value = "search", required = false) String search,
             @RequestParam(value = "authorName", required = false) String authorName,
-            @RequestParam(value = "authorId", required = false) String authorId) {
+            @RequestParam(value = "authorId", required = false) String authorId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "withCount", defaultValue = "true") boolean withCount) {
         
-        return getNovelsWithFilters(page, size, sort, order, categoryId, status, search, authorName, authorId, true);
+        return getNovelsWithFilters(page, size, sort, order, categoryId, status, search, authorName, authorId,
+                cursor, withCount, true);
     }
 
     /**
@@ -175,11 +185,13 @@ public class NovelController {
     private ApiResponse<PageResponseDTO<NovelDetailResponseDTO>> getNovelsWithFilters(
             Integer page, Integer size, String sort, String order,
             Integer categoryId, String status, String search, String authorName, String authorId,
-            boolean includeArchived) {
+            String cursor, boolean withCount, boolean includeArchived) {
         
         // Create request DTO from query parameters
         NovelSearchRequestDTO request = new NovelSearchRequestDTO(page, size, sort, order, 
                                                               categoryId, status, search, authorName, authorId);
+        request.setCursor(cursor);
+        request.setWithCount(withCount);
         
         PageResponseDTO<NovelDetailResponseDTO> response = includeArchived 
             ? novelService.getAllNovelsAdmin(request)
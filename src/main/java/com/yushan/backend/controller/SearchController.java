@@ -18,6 +18,7 @@ public class SearchController {
     /**
      * Combined search endpoint - searches both novels and users
      * GET /api/search?keyword=example&category=Fantasy&page=1&pageSize=10
+     * sortBy=relevance ranks by text match when a keyword is given
      */
     @GetMapping
     public ResponseEntity<SearchResponseDTO> search(
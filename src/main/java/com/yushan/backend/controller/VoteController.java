@@ -34,15 +34,18 @@ public class VoteController {
 
     /**
      * Get a user's all vote record
+     * Pass cursor ("" for the first page) to page by cursor; withCount=false then skips the total
      */
     @GetMapping("/users/votes")
     @PreAuthorize("isAuthenticated()")
     public ApiResponse<PageResponseDTO<VoteUserResponseDTO>> getUserVotes(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean withCount,
             Authentication authentication) {
         UUID userId = getUserIdFromAuthentication(authentication);
-        PageResponseDTO<VoteUserResponseDTO> response = voteService.getUserVotes(userId, page, size);
+        PageResponseDTO<VoteUserResponseDTO> response = voteService.getUserVotes(userId, page, size, cursor, withCount);
         return ApiResponse.success("User votes retrieved", response);
     }
 
@@ -1,10 +1,12 @@
 package com.yushan.backend.dao;
 
+import com.yushan.backend.dto.ChapterStatisticsResponseDTO;
 import com.yushan.backend.entity.Chapter;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Mapper
@@ -18,6 +20,8 @@ public interface ChapterMapper {
     int updateByPrimaryKey(Chapter record);
 
     List<Chapter> selectByIds(List<Integer> ids);
+    // id and title only
+    List<Chapter> selectTitlesByIds(List<Integer> ids);
     
     // UUID-based selection for public APIs
     Chapter selectByUuid(@Param("uuid") UUID uuid);
@@ -37,11 +41,28 @@ public interface ChapterMapper {
                               @Param("chapterNumber") Integer chapterNumber);
     Chapter selectPreviousChapter(@Param("novelId") Integer novelId,
                                   @Param("chapterNumber") Integer chapterNumber);
+    // Navigation projections (id, uuid, novel id, chapter number, is_valid, publish time only)
+    List<Chapter> selectNavigationByNovelId(@Param("novelId") Integer novelId);
+    Chapter selectNavigationByUuid(@Param("uuid") UUID uuid);
+    // Chapter without its body, and the body alone (id, uuid, update_time, content), for the content cache
+    Chapter selectMetaByUuid(@Param("uuid") UUID uuid);
+    Chapter selectMetaByNovelIdAndChapterNumber(@Param("novelId") Integer novelId,
+                                                @Param("chapterNumber") Integer chapterNumber);
+    Chapter selectBodyByUuid(@Param("uuid") UUID uuid);
+    // Navigation projection plus is_premium and update_time, for conditional GETs
+    Chapter selectVersionByUuid(@Param("uuid") UUID uuid);
+    Chapter selectVersionByNovelIdAndChapterNumber(@Param("novelId") Integer novelId,
+                                                   @Param("chapterNumber") Integer chapterNumber);
     // Specific chapter selection
     Chapter selectByNovelIdAndChapterNumber(@Param("novelId") Integer novelId,
                                             @Param("chapterNumber") Integer chapterNumber);
+    // The subset of chapterNumbers already used in the novel
+    List<Integer> selectExistingChapterNumbers(@Param("novelId") Integer novelId,
+                                               @Param("chapterNumbers") Integer[] chapterNumbers);
     // View count management
     int incrementViewCount(@Param("id") Integer id);
+    int batchIncrementViewCount(@Param("deltas") Map<Integer, Long> deltas);
+    Integer selectValidIdByUuid(@Param("uuid") UUID uuid);
     // Chapter existence checks
     boolean existsByNovelIdAndChapterNumber(@Param("novelId") Integer novelId,
                                             @Param("chapterNumber") Integer chapterNumber);
@@ -49,6 +70,11 @@ public interface ChapterMapper {
     Integer selectMaxChapterNumberByNovelId(@Param("novelId") Integer novelId);
     // Batch operations
     int batchInsert(@Param("chapters") List<Chapter> chapters);
+    // Content compression backfill: rows still holding plain content
+    List<Chapter> selectUncompressedContent(@Param("afterId") Integer afterId, @Param("limit") int limit);
+    int updateCompressedContent(@Param("id") Integer id,
+                                @Param("compressedContent") byte[] compressedContent,
+                                @Param("contentPreview") String contentPreview);
     // Soft delete
     int softDeleteByPrimaryKey(@Param("id") Integer id);
     int softDeleteByUuid(@Param("uuid") UUID uuid);
@@ -57,6 +83,9 @@ public interface ChapterMapper {
     List<Chapter> selectScheduledByNovelId(@Param("novelId") Integer novelId);
     // Statistics
     long sumWordCountByNovelId(@Param("novelId") Integer novelId);
+    ChapterStatisticsResponseDTO selectStatisticsByNovelId(@Param("novelId") Integer novelId);
+    ChapterStatisticsResponseDTO.ChapterSummary selectLatestChapterSummary(@Param("novelId") Integer novelId);
+    ChapterStatisticsResponseDTO.ChapterSummary selectMostViewedChapterSummary(@Param("novelId") Integer novelId);
     // Bulk status updates
     int updatePublishStatusByIds(@Param("ids") List<Integer> ids,
                                  @Param("isValid") Boolean isValid);
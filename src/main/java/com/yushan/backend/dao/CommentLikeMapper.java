@@ -0,0 +1,22 @@
+package com.yushan.backend.dao;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Mapper
+public interface CommentLikeMapper {
+
+    // 1 if the like was added, 0 if the user already liked the comment
+    int insertIgnore(@Param("commentId") Integer commentId, @Param("userId") UUID userId);
+
+    // 1 if the like was removed, 0 if there was none
+    int delete(@Param("commentId") Integer commentId, @Param("userId") UUID userId);
+
+    // the subset of commentIds the user has liked
+    List<Integer> selectLikedCommentIds(@Param("userId") UUID userId,
+                                        @Param("commentIds") Collection<Integer> commentIds);
+}
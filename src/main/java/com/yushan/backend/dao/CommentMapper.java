@@ -6,6 +6,7 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Mapper
@@ -23,8 +24,16 @@ public interface CommentMapper {
     List<Comment> selectByUserId(UUID userId);
     List<Comment> selectByNovelId(Integer novelId);
 
+    // Set-based moderation, callers chunk the ids / repeat until fewer than limit rows are affected
+    List<Integer> deleteByIds(@Param("ids") Integer[] ids);
+    int deleteByUserIdLimited(@Param("userId") UUID userId, @Param("limit") int limit);
+    int deleteByChapterIdLimited(@Param("chapterId") Integer chapterId, @Param("limit") int limit);
+    int updateSpoilerByIds(@Param("ids") Integer[] ids, @Param("isSpoiler") Boolean isSpoiler);
+
     // Paginated queries
     List<Comment> selectCommentsWithPagination(CommentSearchRequestDTO searchRequest);
+    // Keyset pagination, returns up to size + 1 rows after cursorId
+    List<Comment> selectCommentsByCursor(CommentSearchRequestDTO searchRequest);
     List<Comment> selectCommentsByNovelWithPagination(
             @Param("novelId") Integer novelId,
             @Param("isSpoiler") Boolean isSpoiler,
@@ -46,7 +55,7 @@ public interface CommentMapper {
     );
 
     // Like count update
-    int updateLikeCount(@Param("id") Integer id, @Param("increment") Integer increment);
+    int batchIncrementLikeCount(@Param("deltas") Map<Integer, Long> deltas);
 
     // Validation/Check queries
     boolean existsByUserAndChapter(@Param("userId") UUID userId, @Param("chapterId") Integer chapterId);
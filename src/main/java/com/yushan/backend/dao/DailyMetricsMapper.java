@@ -0,0 +1,34 @@
+package com.yushan.backend.dao;
+
+import com.yushan.backend.entity.DailyMetrics;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+import java.util.List;
+
+@Mapper
+public interface DailyMetricsMapper {
+
+    /**
+     * Rolled-up days in [startDate, endDate], ordered by day
+     */
+    List<DailyMetrics> selectRange(@Param("startDate") Date startDate, @Param("endDate") Date endDate);
+
+    Date selectLatestDate();
+
+    /**
+     * First day with any user or novel, where a rollup from scratch starts
+     */
+    Date selectEarliestSourceDate();
+
+    /**
+     * Aggregate the source tables for every day in [startDate, endDate), without storing them
+     */
+    List<DailyMetrics> aggregateFromSource(@Param("startDate") Date startDate, @Param("endDate") Date endDate);
+
+    /**
+     * Aggregate the source tables for every day in [startDate, endDate) and upsert them
+     */
+    int upsertFromSource(@Param("startDate") Date startDate, @Param("endDate") Date endDate);
+}
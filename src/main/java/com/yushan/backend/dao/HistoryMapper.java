@@ -4,6 +4,7 @@ import com.yushan.backend.entity.History;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,6 +29,11 @@ public interface HistoryMapper {
                                                @Param("offset") int offset,
                                                @Param("size") int size);
 
+    List<History> selectByUserIdByCursor(@Param("userId") UUID userId,
+                                         @Param("cursorId") Integer cursorId,
+                                         @Param("cursorTime") Timestamp cursorTime,
+                                         @Param("size") int size);
+
     long countByUserId(@Param("userId") UUID userId);
 
     int deleteByUserId(@Param("userId") UUID userId);
@@ -7,6 +7,7 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Mapper
@@ -27,27 +28,50 @@ public interface NovelMapper {
     List<Novel> selectNovelsWithPagination(@Param("req") NovelSearchRequestDTO req);
     
     long countNovels(@Param("req") NovelSearchRequestDTO req);
+
+    // Keyset pagination, returns up to size + 1 rows after req.cursorId
+    List<Novel> selectNovelsByCursor(@Param("req") NovelSearchRequestDTO req);
     
     // Admin methods (including ARCHIVED novels)
     List<Novel> selectAllNovelsWithPagination(@Param("req") NovelSearchRequestDTO req);
     
     long countAllNovels(@Param("req") NovelSearchRequestDTO req);
+
+    List<Novel> selectAllNovelsByCursor(@Param("req") NovelSearchRequestDTO req);
     
     // Vote count methods
-    int incrementVoteCount(@Param("novelId") Integer novelId);
+    // return the new vote_cnt, null if the novel does not exist
+    Integer incrementVoteCount(@Param("novelId") Integer novelId);
     
-    int decrementVoteCount(@Param("novelId") Integer novelId);
+    Integer decrementVoteCount(@Param("novelId") Integer novelId);
     
     // View count methods
     int incrementViewCount(@Param("novelId") Integer novelId);
 
+    int batchIncrementViewCount(@Param("deltas") Map<Integer, Long> deltas);
+
+    // Chapter and word counts: shifted by a chapter write, or recounted from the chapter table
+    int applyStatisticsDelta(@Param("novelId") Integer novelId,
+                             @Param("chapterDelta") int chapterDelta,
+                             @Param("wordDelta") long wordDelta);
+
+    int reconcileStatistics(@Param("novelId") Integer novelId);
+
     List<AuthorResponseDTO> selectAuthorsByRanking(@Param("sortType") String sortType,
                                                    @Param("offset") int offset,
                                                    @Param("limit") int limit);
 
     List<Novel> selectByIds(List<Integer> ids);
 
+    // id, status, category_id and author_id only, enough to update rankings
+    List<Novel> selectRankingFieldsByIds(List<Integer> ids);
+
     List<Novel> selectAllNovelsForRanking();
 
     List<AuthorResponseDTO> selectAuthorsByUuids(List<UUID> uuids);
-}
\ No newline at end of file
+
+    // Image store backfill: id and cover of novels still storing it inline as a data URL, by id after afterId
+    List<Novel> selectDataUrlCoverImages(@Param("afterId") Integer afterId, @Param("limit") int limit);
+
+    int replaceCoverImgUrl(@Param("id") Integer id, @Param("newUrl") String newUrl);
+}
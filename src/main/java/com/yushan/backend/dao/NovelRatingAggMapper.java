@@ -0,0 +1,13 @@
+package com.yushan.backend.dao;
+
+import com.yushan.backend.entity.NovelRatingAgg;
+import org.apache.ibatis.annotations.Mapper;
+
+@Mapper
+public interface NovelRatingAggMapper {
+
+    NovelRatingAgg selectByNovelId(Integer novelId);
+
+    // adds the delta to the novel's row, creating it if needed; returns the row after the update
+    NovelRatingAgg applyDelta(NovelRatingAgg delta);
+}
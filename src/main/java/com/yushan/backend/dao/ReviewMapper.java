@@ -18,6 +18,11 @@ public interface ReviewMapper {
 
     Review selectByPrimaryKey(Integer id);
 
+    /**
+     * Select and lock the review for the rest of the transaction
+     */
+    Review selectByPrimaryKeyForUpdate(Integer id);
+
     int updateByPrimaryKeySelective(Review record);
 
     int updateByPrimaryKey(Review record);
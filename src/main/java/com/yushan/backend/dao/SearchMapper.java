@@ -1,6 +1,6 @@
 package com.yushan.backend.dao;
 
-import com.yushan.backend.entity.Novel;
+import com.yushan.backend.dto.NovelSearchResultDTO;
 import com.yushan.backend.entity.User;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -10,9 +10,10 @@ import java.util.List;
 public interface SearchMapper {
 
     /**
-     * Search novels by keyword and optional category
+     * Search novels by keyword and optional category.
+     * highlightedTitle and snippet mark matches with \u0002 ... \u0003
      */
-    List<Novel> searchNovels(@Param("keyword") String keyword,
+    List<NovelSearchResultDTO> searchNovels(@Param("keyword") String keyword,
                              @Param("category") String category,
                              @Param("offset") Integer offset,
                              @Param("pageSize") Integer pageSize,
@@ -38,4 +39,9 @@ public interface SearchMapper {
      * Count total users matching search criteria
      */
     Integer countUsers(@Param("keyword") String keyword);
+
+    /**
+     * Limit the statements of the current transaction to timeoutMs, postgres cancels them after that
+     */
+    String setStatementTimeout(@Param("timeoutMs") long timeoutMs);
 }
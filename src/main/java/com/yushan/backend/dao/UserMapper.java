@@ -33,4 +33,24 @@ public interface UserMapper {
     List<User> selectAllUsersForRanking();
 
     List<User> selectByUuids(List<UUID> uuids);
-}
\ No newline at end of file
+
+    /**
+     * Atomically add exp and recompute level
+     * @return user with only uuid, exp and level set, or null if the user does not exist
+     */
+    User addExp(@Param("uuid") UUID uuid,
+                @Param("addExp") Float addExp,
+                @Param("thresholds") int[] thresholds,
+                @Param("maxLevel") int maxLevel);
+
+    /**
+     * Set last_active to now for all given users in one statement
+     * @param uuids user uuids as strings, bound as a single uuid[] parameter
+     */
+    int updateLastActiveBatch(@Param("uuids") String[] uuids);
+
+    // Image store backfill: uuid and avatar of users still storing it inline as a data URL, by uuid after afterUuid
+    List<User> selectDataUrlAvatars(@Param("afterUuid") UUID afterUuid, @Param("limit") int limit);
+
+    int replaceAvatarUrl(@Param("uuid") UUID uuid, @Param("newUrl") String newUrl);
+}
@@ -3,6 +3,7 @@ package com.yushan.backend.dao;
 import com.yushan.backend.entity.Vote;
 import org.apache.ibatis.annotations.Mapper;
 
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,4 +24,6 @@ public interface VoteMapper {
     long countByUserId(UUID userId);
 
     List<Vote> selectByUserIdWithPagination(UUID userId, int offset, int limit);
+
+    List<Vote> selectByUserIdByCursor(UUID userId, Integer cursorId, Timestamp cursorTime, int limit);
 }
@@ -0,0 +1,19 @@
+package com.yushan.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * What a conditional chapter read needs before deciding whether to load the content
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChapterVersionDTO {
+    private UUID uuid;
+    private String etag;
+    private Boolean isPremium;
+}
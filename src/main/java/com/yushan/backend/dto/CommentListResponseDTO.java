@@ -16,13 +16,21 @@ public class CommentListResponseDTO {
     private int totalPages;
     private int currentPage;
     private int pageSize;
+    // Cursor for the next page, null on the last page
+    private String nextCursor;
 
     public CommentListResponseDTO(List<CommentResponseDTO> comments, long totalCount, int totalPages, int currentPage, int pageSize) {
+        this(comments, totalCount, totalPages, currentPage, pageSize, null);
+    }
+
+    public CommentListResponseDTO(List<CommentResponseDTO> comments, long totalCount, int totalPages, int currentPage,
+                                  int pageSize, String nextCursor) {
         this.comments = comments != null ? new ArrayList<>(comments) : null;
         this.totalCount = totalCount;
         this.totalPages = totalPages;
         this.currentPage = currentPage;
         this.pageSize = pageSize;
+        this.nextCursor = nextCursor;
     }
 
     public List<CommentResponseDTO> getComments() {
@@ -22,8 +22,13 @@ public class CommentResponseDTO {
     private Date createTime;
     private Date updateTime;
     private Boolean isOwnComment; // Whether the current user owns this comment
+    private Boolean likedByCurrentUser; // Whether the current user has liked this comment
 
     public CommentResponseDTO(Integer id, UUID userId, String username, Integer chapterId, String chapterTitle, String content, Integer likeCnt, Boolean isSpoiler, Date createTime, Date updateTime, Boolean isOwnComment) {
+        this(id, userId, username, chapterId, chapterTitle, content, likeCnt, isSpoiler, createTime, updateTime, isOwnComment, false);
+    }
+
+    public CommentResponseDTO(Integer id, UUID userId, String username, Integer chapterId, String chapterTitle, String content, Integer likeCnt, Boolean isSpoiler, Date createTime, Date updateTime, Boolean isOwnComment, Boolean likedByCurrentUser) {
         this.id = id;
         this.userId = userId;
         this.username = username;
@@ -35,6 +40,7 @@ public class CommentResponseDTO {
         this.createTime = createTime != null ? new Date(createTime.getTime()) : null;
         this.updateTime = updateTime != null ? new Date(updateTime.getTime()) : null;
         this.isOwnComment = isOwnComment;
+        this.likedByCurrentUser = likedByCurrentUser;
     }
 
     public Date getCreateTime() {
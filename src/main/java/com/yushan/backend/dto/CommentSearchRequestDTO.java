@@ -32,4 +32,18 @@ public class CommentSearchRequestDTO {
     @Min(value = 1, message = "size must be at least 1")
     @Max(value = 100, message = "size must be at most 100")
     private int size = 20;
+
+    // Keyset pagination: null for page mode, "" for the first page
+    private String cursor;
+    // Whether to compute totalCount in cursor mode
+    @Builder.Default
+    private boolean withCount = true;
+    // Decoded from the cursor by the service
+    private Integer cursorId;
+    private Object cursorValue;
+
+    public CommentSearchRequestDTO(Integer chapterId, Integer novelId, UUID userId, Boolean isSpoiler, String search,
+                                   String sort, String order, int page, int size) {
+        this(chapterId, novelId, userId, isSpoiler, search, sort, order, page, size, null, true, null, null);
+    }
 }
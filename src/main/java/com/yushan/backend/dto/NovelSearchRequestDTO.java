@@ -23,6 +23,14 @@ public class NovelSearchRequestDTO {
     private String search;
     private String authorName;
     private String authorId;
+
+    // Keyset pagination: null for page/offset mode, "" for the first page
+    private String cursor;
+    // Whether to compute totalElements in cursor mode
+    private Boolean withCount = true;
+    // Decoded from the cursor by the service
+    private Integer cursorId;
+    private Object cursorValue;
     
     public NovelSearchRequestDTO() {
         this.page = 0;
@@ -64,6 +72,10 @@ public class NovelSearchRequestDTO {
         return authorId != null && !authorId.trim().isEmpty();
     }
     
+    public boolean hasCursor() {
+        return cursor != null;
+    }
+
     public boolean isAscending() {
         return "asc".equalsIgnoreCase(order);
     }
@@ -0,0 +1,18 @@
+package com.yushan.backend.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Novel search hit with highlighted matches.
+ * Both fields are HTML-escaped with matched words wrapped in &lt;mark&gt;,
+ * and are null when the search has no keyword.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class NovelSearchResultDTO extends NovelDetailResponseDTO {
+    // Title with matched words highlighted
+    private String highlightedTitle;
+    // Best matching fragments of the synopsis
+    private String snippet;
+}
@@ -19,6 +19,8 @@ public class PageResponseDTO<T> {
     private boolean last;
     private boolean hasNext;
     private boolean hasPrevious;
+    // Cursor for the next page, null on the last page
+    private String nextCursor;
     
     // Override getter and setter for content to use defensive copy
     public List<T> getContent() {
@@ -44,6 +46,25 @@ public class PageResponseDTO<T> {
     public static <T> PageResponseDTO<T> of(List<T> content, long totalElements, int currentPage, int size) {
         return new PageResponseDTO(content, totalElements, currentPage, size);
     }
+
+    /**
+     * Page of a cursor (keyset) listing, where the page number is not tracked
+     * @param totalElements total count, or -1 if the client skipped it
+     * @param first whether this page was requested without a cursor
+     */
+    public static <T> PageResponseDTO<T> ofCursor(List<T> content, long totalElements, int size, boolean first, String nextCursor) {
+        PageResponseDTO<T> page = new PageResponseDTO<>();
+        page.setContent(content);
+        page.totalElements = totalElements;
+        page.totalPages = totalElements < 0 ? -1 : (int) Math.ceil((double) totalElements / size);
+        page.size = size;
+        page.first = first;
+        page.hasPrevious = !first;
+        page.hasNext = nextCursor != null;
+        page.last = !page.hasNext;
+        page.nextCursor = nextCursor;
+        return page;
+    }
     
     // All-args constructor for Lombok compatibility
     public PageResponseDTO(List<T> content, long totalElements, int totalPages, int currentPage, int size, boolean first, boolean last, boolean hasNext, boolean hasPrevious) {
@@ -8,6 +8,6 @@ public class SearchRequestDTO {
     private String category;          // Category filter for novels
     private Integer page = 1;         // Page number (default: 1)
     private Integer pageSize = 10;    // Items per page (default: 10)
-    private String sortBy = "created_at"; // Sort field
+    private String sortBy = "created_at"; // Sort field (relevance/title/author/view_count/rating/created_at)
     private String sortOrder = "DESC";    // Sort order (ASC/DESC)
 }
@@ -27,6 +27,9 @@ public class SearchResponseDTO {
     private Integer totalPages;
     private Long totalResults;
 
+    // True if the novel or user side missed the search deadline and came back empty
+    private boolean partial;
+
     /**
      * Constructor with defensive copying for Lists.
      */
@@ -1,5 +1,7 @@
 package com.yushan.backend.entity;
 
+import com.yushan.backend.util.ChapterContentCodec;
+
 import java.util.Date;
 import java.util.UUID;
 
@@ -14,8 +16,15 @@ public class Chapter {
 
     private String title;
 
+    // plain text, decoded from compressedContent on first access
     private String content;
 
+    // chapter.content_z, encoded from content on first access
+    private byte[] compressedContent;
+
+    // set together with content by the application, null for loaded rows
+    private String contentPreview;
+
     private Integer wordCnt;
 
     private Boolean isPremium;
@@ -94,11 +103,37 @@ public class Chapter {
     }
 
     public String getContent() {
+        if (content == null && compressedContent != null) {
+            content = ChapterContentCodec.decode(compressedContent);
+        }
         return content;
     }
 
     public void setContent(String content) {
         this.content = content == null ? null : content.trim();
+        this.compressedContent = null;
+        this.contentPreview = ChapterContentCodec.preview(this.content);
+    }
+
+    public byte[] getCompressedContent() {
+        if (compressedContent == null && content != null) {
+            compressedContent = ChapterContentCodec.encode(content);
+        }
+        return compressedContent;
+    }
+
+    public void setCompressedContent(byte[] compressedContent) {
+        this.compressedContent = compressedContent;
+        if (compressedContent != null) {
+            this.content = null;
+        }
+    }
+
+    /**
+     * First characters of content when the application set it, used to tell whether content changed
+     */
+    public String getContentPreview() {
+        return contentPreview;
     }
 
     public Integer getWordCnt() {
@@ -27,8 +27,8 @@ public class Comment {
         this.content = content;
         this.likeCnt = likeCnt;
         this.isSpoiler = isSpoiler;
-        this.createTime = createTime != null ? new Date(createTime.getTime()) : null;
-        this.updateTime = updateTime != null ? new Date(updateTime.getTime()) : null;
+        this.createTime = createTime != null ? (Date) createTime.clone() : null;
+        this.updateTime = updateTime != null ? (Date) updateTime.clone() : null;
     }
 
     public Comment() {
@@ -84,18 +84,18 @@ public class Comment {
     }
 
     public Date getCreateTime() {
-        return createTime != null ? new Date(createTime.getTime()) : null;
+        return createTime != null ? (Date) createTime.clone() : null;
     }
 
     public void setCreateTime(Date createTime) {
-        this.createTime = createTime != null ? new Date(createTime.getTime()) : null;
+        this.createTime = createTime != null ? (Date) createTime.clone() : null;
     }
 
     public Date getUpdateTime() {
-        return updateTime != null ? new Date(updateTime.getTime()) : null;
+        return updateTime != null ? (Date) updateTime.clone() : null;
     }
 
     public void setUpdateTime(Date updateTime) {
-        this.updateTime = updateTime != null ? new Date(updateTime.getTime()) : null;
+        this.updateTime = updateTime != null ? (Date) updateTime.clone() : null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.yushan.backend.entity;
+
+import java.util.Date;
+
+/**
+ * One day of pre-aggregated analytics, see daily_metrics.
+ * Counts are never null; a day without activity has all zeros.
+ */
+public class DailyMetrics {
+    private Date metricDate;
+
+    private Long newUsers = 0L;
+
+    private Long newNovels = 0L;
+
+    private Long newChapters = 0L;
+
+    private Long newComments = 0L;
+
+    private Long newReviews = 0L;
+
+    private Long newVotes = 0L;
+
+    private Long activeUsers = 0L;
+
+    public Date getMetricDate() {
+        return metricDate != null ? new Date(metricDate.getTime()) : null;
+    }
+
+    public void setMetricDate(Date metricDate) {
+        this.metricDate = metricDate != null ? new Date(metricDate.getTime()) : null;
+    }
+
+    public Long getNewUsers() {
+        return newUsers;
+    }
+
+    public void setNewUsers(Long newUsers) {
+        this.newUsers = newUsers;
+    }
+
+    public Long getNewNovels() {
+        return newNovels;
+    }
+
+    public void setNewNovels(Long newNovels) {
+        this.newNovels = newNovels;
+    }
+
+    public Long getNewChapters() {
+        return newChapters;
+    }
+
+    public void setNewChapters(Long newChapters) {
+        this.newChapters = newChapters;
+    }
+
+    public Long getNewComments() {
+        return newComments;
+    }
+
+    public void setNewComments(Long newComments) {
+        this.newComments = newComments;
+    }
+
+    public Long getNewReviews() {
+        return newReviews;
+    }
+
+    public void setNewReviews(Long newReviews) {
+        this.newReviews = newReviews;
+    }
+
+    public Long getNewVotes() {
+        return newVotes;
+    }
+
+    public void setNewVotes(Long newVotes) {
+        this.newVotes = newVotes;
+    }
+
+    public Long getActiveUsers() {
+        return activeUsers;
+    }
+
+    public void setActiveUsers(Long activeUsers) {
+        this.activeUsers = activeUsers;
+    }
+}
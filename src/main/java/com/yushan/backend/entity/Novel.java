@@ -63,8 +63,8 @@ public class Novel {
         this.viewCnt = viewCnt;
         this.voteCnt = voteCnt;
         this.yuanCnt = yuanCnt;
-        this.createTime = createTime != null ? new Date(createTime.getTime()) : null;
-        this.updateTime = updateTime != null ? new Date(updateTime.getTime()) : null;
+        this.createTime = createTime != null ? (Date) createTime.clone() : null;
+        this.updateTime = updateTime != null ? (Date) updateTime.clone() : null;
         this.publishTime = publishTime != null ? new Date(publishTime.getTime()) : null;
     }
 
@@ -210,19 +210,19 @@ public class Novel {
     }
 
     public Date getCreateTime() {
-        return createTime != null ? new Date(createTime.getTime()) : null;
+        return createTime != null ? (Date) createTime.clone() : null;
     }
 
     public void setCreateTime(Date createTime) {
-        this.createTime = createTime != null ? new Date(createTime.getTime()) : null;
+        this.createTime = createTime != null ? (Date) createTime.clone() : null;
     }
 
     public Date getUpdateTime() {
-        return updateTime != null ? new Date(updateTime.getTime()) : null;
+        return updateTime != null ? (Date) updateTime.clone() : null;
     }
 
     public void setUpdateTime(Date updateTime) {
-        this.updateTime = updateTime != null ? new Date(updateTime.getTime()) : null;
+        this.updateTime = updateTime != null ? (Date) updateTime.clone() : null;
     }
 
     public Date getPublishTime() {
@@ -0,0 +1,130 @@
+package com.yushan.backend.entity;
+
+import java.util.Date;
+
+/**
+ * Rating aggregate of one novel, see novel_rating_agg.
+ * Also used as the delta passed to NovelRatingAggMapper.applyDelta, where counts may be negative.
+ */
+public class NovelRatingAgg {
+    private Integer novelId;
+
+    private Long ratingSum = 0L;
+
+    private Integer reviewCnt = 0;
+
+    private Integer rating1Cnt = 0;
+
+    private Integer rating2Cnt = 0;
+
+    private Integer rating3Cnt = 0;
+
+    private Integer rating4Cnt = 0;
+
+    private Integer rating5Cnt = 0;
+
+    private Date updateTime;
+
+    public Integer getNovelId() {
+        return novelId;
+    }
+
+    public void setNovelId(Integer novelId) {
+        this.novelId = novelId;
+    }
+
+    public Long getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(Long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
+    public Integer getReviewCnt() {
+        return reviewCnt;
+    }
+
+    public void setReviewCnt(Integer reviewCnt) {
+        this.reviewCnt = reviewCnt;
+    }
+
+    public Integer getRating1Cnt() {
+        return rating1Cnt;
+    }
+
+    public void setRating1Cnt(Integer rating1Cnt) {
+        this.rating1Cnt = rating1Cnt;
+    }
+
+    public Integer getRating2Cnt() {
+        return rating2Cnt;
+    }
+
+    public void setRating2Cnt(Integer rating2Cnt) {
+        this.rating2Cnt = rating2Cnt;
+    }
+
+    public Integer getRating3Cnt() {
+        return rating3Cnt;
+    }
+
+    public void setRating3Cnt(Integer rating3Cnt) {
+        this.rating3Cnt = rating3Cnt;
+    }
+
+    public Integer getRating4Cnt() {
+        return rating4Cnt;
+    }
+
+    public void setRating4Cnt(Integer rating4Cnt) {
+        this.rating4Cnt = rating4Cnt;
+    }
+
+    public Integer getRating5Cnt() {
+        return rating5Cnt;
+    }
+
+    public void setRating5Cnt(Integer rating5Cnt) {
+        this.rating5Cnt = rating5Cnt;
+    }
+
+    public Date getUpdateTime() {
+        return updateTime != null ? new Date(updateTime.getTime()) : null;
+    }
+
+    public void setUpdateTime(Date updateTime) {
+        this.updateTime = updateTime != null ? new Date(updateTime.getTime()) : null;
+    }
+
+    /**
+     * Number of reviews with the given star rating, 0 outside 1-5
+     */
+    public int getRatingCount(int rating) {
+        Integer count = switch (rating) {
+            case 1 -> rating1Cnt;
+            case 2 -> rating2Cnt;
+            case 3 -> rating3Cnt;
+            case 4 -> rating4Cnt;
+            case 5 -> rating5Cnt;
+            default -> 0;
+        };
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Count one review with the given star rating in (sign 1) or out (sign -1) of this aggregate
+     */
+    public void addRating(int rating, int sign) {
+        switch (rating) {
+            case 1 -> rating1Cnt += sign;
+            case 2 -> rating2Cnt += sign;
+            case 3 -> rating3Cnt += sign;
+            case 4 -> rating4Cnt += sign;
+            case 5 -> rating5Cnt += sign;
+            default -> throw new IllegalArgumentException("Rating must be between 1 and 5: " + rating);
+        }
+        ratingSum += (long) rating * sign;
+        reviewCnt += sign;
+    }
+}
@@ -18,8 +18,8 @@ public class Vote {
         this.id = id;
         this.userId = userId;
         this.novelId = novelId;
-        this.createTime = createTime != null ? new Date(createTime.getTime()) : null;
-        this.updateTime = updateTime != null ? new Date(updateTime.getTime()) : null;
+        this.createTime = createTime != null ? (Date) createTime.clone() : null;
+        this.updateTime = updateTime != null ? (Date) updateTime.clone() : null;
     }
 
     public Vote() {
@@ -51,18 +51,18 @@ public class Vote {
     }
 
     public Date getCreateTime() {
-        return createTime != null ? new Date(createTime.getTime()) : null;
+        return createTime != null ? (Date) createTime.clone() : null;
     }
 
     public void setCreateTime(Date createTime) {
-        this.createTime = createTime != null ? new Date(createTime.getTime()) : null;
+        this.createTime = createTime != null ? (Date) createTime.clone() : null;
     }
 
     public Date getUpdateTime() {
-        return updateTime != null ? new Date(updateTime.getTime()) : null;
+        return updateTime != null ? (Date) updateTime.clone() : null;
     }
 
     public void setUpdateTime(Date updateTime) {
-        this.updateTime = updateTime != null ? new Date(updateTime.getTime()) : null;
+        this.updateTime = updateTime != null ? (Date) updateTime.clone() : null;
     }
 }
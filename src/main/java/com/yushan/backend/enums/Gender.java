@@ -2,6 +2,7 @@ package com.yushan.backend.enums;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.yushan.backend.util.ImageUtil;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -14,11 +15,16 @@ public enum Gender {
     FEMALE(2, getAvatarUrl("avatar.female", "user_female.png"));
 
     private final int code;
+    private final String avatarDataUrl;
+    // default avatars are served from the image store, see ImageService
     private final String avatarUrl;
 
-    Gender(int code, String avatarUrl) {
+    Gender(int code, String avatarDataUrl) {
         this.code = code;
-        this.avatarUrl = avatarUrl;
+        this.avatarDataUrl = avatarDataUrl;
+        this.avatarUrl = ImageUtil.isDataUrl(avatarDataUrl)
+                ? ImageUtil.toUrl(ImageUtil.contentHash(ImageUtil.decodeDataUrl(avatarDataUrl)))
+                : avatarDataUrl;
     }
 
     public int getCode() {
@@ -29,6 +35,10 @@ public enum Gender {
         return avatarUrl;
     }
 
+    public String getAvatarDataUrl() {
+        return avatarDataUrl;
+    }
+
     public static Gender fromCode(Integer code) {
         if (code == null) return UNKNOWN;
         for (Gender gender : values()) {
@@ -60,7 +70,7 @@ public enum Gender {
     public static boolean isDefaultAvatar(String avatarUrl) {
         if (avatarUrl == null) return true;
         for (Gender gender : values()) {
-            if (gender.avatarUrl.equals(avatarUrl)) {
+            if (gender.avatarUrl.equals(avatarUrl) || gender.avatarDataUrl.equals(avatarUrl)) {
                 return true;
             }
         }
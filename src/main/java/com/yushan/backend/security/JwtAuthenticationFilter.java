@@ -1,8 +1,7 @@
 package com.yushan.backend.security;
 
-import com.yushan.backend.entity.User;
-import com.yushan.backend.dao.UserMapper;
 import com.yushan.backend.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,10 +21,9 @@ import java.io.IOException;
  * 
  * This filter runs before every request and:
  * 1. Extracts JWT token from Authorization header
- * 2. Validates the token
- * 3. Extracts email from token
- * 4. Loads user from database
- * 5. Sets authentication in SecurityContext
+ * 2. Validates the token and extracts its claims in a single parse
+ * 3. Loads the user through the principal cache
+ * 4. Sets authentication in SecurityContext
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -34,7 +32,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtil jwtUtil;
 
     @Autowired
-    private UserMapper userMapper;
+    private UserDetailsCache userDetailsCache;
 
     /**
      * Filter method that processes each request
@@ -53,21 +51,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // 1. Extract token from Authorization header
             String token = extractTokenFromRequest(request);
             
-            if (token != null && jwtUtil.validateToken(token)) {
-                // 2. Extract email from token
-                String email = jwtUtil.extractEmail(token);
+            // 2. Verify signature and expiration, parsing the token only once
+            Claims claims = token != null ? jwtUtil.parseValidClaims(token) : null;
+            
+            if (claims != null) {
+                String email = claims.get("email", String.class);
                 
                 // 3. Check if user is not already authenticated
                 if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    // 4. Load user from database
-                    User user = userMapper.selectByEmail(email);
+                    // 4. Load user, served from the short-lived principal cache
+                    CustomUserDetailsService.CustomUserDetails userDetails =
+                        userDetailsCache.get(claims.get("userId", String.class), email);
                     
-                    if (user != null && jwtUtil.validateToken(token, user)) {
-                        // 5. Create CustomUserDetails from User
-                        CustomUserDetailsService.CustomUserDetails userDetails = 
-                            new CustomUserDetailsService.CustomUserDetails(user);
-                        
-                        // 5.5. Check if user is enabled (not suspended/banned)
+                    if (userDetails != null) {
+                        // 5. Check if user is enabled (not suspended/banned)
                         if (!userDetails.isEnabled()) {
                             // User is disabled, don't authenticate
                             filterChain.doFilter(request, response);
@@ -134,6 +131,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                path.startsWith("/api/auth/register") ||
                path.startsWith("/api/auth/refresh") ||
                path.startsWith("/api/public/") ||
+               path.startsWith("/api/images/") ||
                path.startsWith("/actuator/") ||
                path.equals("/error") ||
                // Skip OPTIONS requests (CORS preflight)
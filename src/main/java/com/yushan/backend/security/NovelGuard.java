@@ -1,8 +1,8 @@
 package com.yushan.backend.security;
 
-import com.yushan.backend.dao.NovelMapper;
 import com.yushan.backend.entity.Novel;
 import com.yushan.backend.security.CustomUserDetailsService.CustomUserDetails;
+import com.yushan.backend.service.NovelCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -14,7 +14,7 @@ import java.util.UUID;
 public class NovelGuard {
 
     @Autowired
-    private NovelMapper novelMapper;
+    private NovelCache novelCache;
 
     public boolean canEdit(Integer novelId, Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -35,7 +35,7 @@ public class NovelGuard {
         if (userIdStr == null) return false;
         UUID userId = UUID.fromString(userIdStr);
 
-        Novel novel = novelMapper.selectByPrimaryKey(novelId);
+        Novel novel = novelCache.getNovel(novelId);
         if (novel == null || novel.getAuthorId() == null) {
             return false;
         }
@@ -69,7 +69,7 @@ public class NovelGuard {
         if (userIdStr == null) return false;
         UUID userId = UUID.fromString(userIdStr);
 
-        Novel novel = novelMapper.selectByPrimaryKey(novelId);
+        Novel novel = novelCache.getNovel(novelId);
         if (novel == null || novel.getAuthorId() == null) {
             return false;
         }
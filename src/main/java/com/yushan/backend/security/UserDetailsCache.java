@@ -0,0 +1,139 @@
+package com.yushan.backend.security;
+
+import com.yushan.backend.dao.UserMapper;
+import com.yushan.backend.entity.User;
+import com.yushan.backend.security.CustomUserDetailsService.CustomUserDetails;
+import com.yushan.backend.util.RedisUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived cache of authenticated principals, keyed by user id, so the JWT filter
+ * does not load the user on every request. An entry is only used while the token's email
+ * still matches it. Changes to status or roles call {@link #evict(UUID)}, which also tells
+ * other nodes over {@link #INVALIDATION_CHANNEL}; the TTL bounds staleness otherwise.
+ */
+@Slf4j
+@Component
+public class UserDetailsCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "cache:user-details:invalidate";
+
+    private static final int MAX_ENTRIES = 10000;
+    private static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final UserMapper userMapper;
+    private final RedisUtil redisUtil;
+
+    // access-ordered LRU, guarded by itself
+    private final Map<String, Entry> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    // bumped on every eviction so a load racing with a write is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserDetailsCache(UserMapper userMapper, RedisUtil redisUtil) {
+        this.userMapper = userMapper;
+        this.redisUtil = redisUtil;
+    }
+
+    /**
+     * @param userId userId claim of the token, may be null for tokens without one
+     * @param email email claim of the token
+     * @return the principal, or null if no user has this email
+     */
+    public CustomUserDetails get(String userId, String email) {
+        if (userId != null) {
+            Entry cached;
+            synchronized (cache) {
+                cached = cache.get(userId);
+            }
+            if (cached != null && System.nanoTime() - cached.loadedAt < TTL_NANOS
+                    && email.equals(cached.userDetails.getUsername())) {
+                return cached.userDetails;
+            }
+        }
+
+        long loadGeneration = generation.get();
+        User user = userMapper.selectByEmail(email);
+        if (user == null) {
+            return null;
+        }
+        CustomUserDetails userDetails = new CustomUserDetails(user);
+        if (userId != null && userId.equals(userDetails.getUserId()) && generation.get() == loadGeneration) {
+            synchronized (cache) {
+                cache.put(userId, new Entry(userDetails));
+            }
+        }
+        return userDetails;
+    }
+
+    /**
+     * Drop a user's principal now and, once the current transaction commits,
+     * again on this node and on every other node.
+     */
+    public void evict(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        String key = userId.toString();
+        evictLocal(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictLocal(key);
+                    publishEviction(key);
+                }
+            });
+        } else {
+            publishEviction(key);
+        }
+    }
+
+    /**
+     * Eviction published by another node, the payload is the user id
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        evictLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void evictLocal(String userId) {
+        generation.incrementAndGet();
+        synchronized (cache) {
+            cache.remove(userId);
+        }
+    }
+
+    private void publishEviction(String userId) {
+        try {
+            redisUtil.publish(INVALIDATION_CHANNEL, userId);
+        } catch (Exception e) {
+            log.warn("Failed to publish user details eviction: {}", e.getMessage());
+        }
+    }
+
+    private static final class Entry {
+        private final CustomUserDetails userDetails;
+        private final long loadedAt = System.nanoTime();
+
+        Entry(CustomUserDetails userDetails) {
+            this.userDetails = userDetails;
+        }
+    }
+}
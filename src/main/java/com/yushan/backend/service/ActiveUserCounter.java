@@ -0,0 +1,171 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.util.RedisUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distinct active users per hour and per day, counted in Redis HyperLogLogs.
+ * A bucket takes at most 12 KB however many users it holds, and PFCOUNT over several day
+ * buckets gives the distinct users of any past window (WAU, MAU) with ~0.81% standard error.
+ * Counting starts the day after the first activity is recorded; ranges starting earlier,
+ * or older than the retention, are reported as not covered so callers can fall back.
+ */
+@Slf4j
+@Service
+public class ActiveUserCounter {
+
+    private static final String HOUR_KEY_PREFIX = "hll:active:hour:";
+    private static final String DAY_KEY_PREFIX = "hll:active:day:";
+    // first day with complete buckets, yyyyMMdd
+    private static final String SINCE_KEY = "hll:active:since";
+    private static final DateTimeFormatter HOUR_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHH");
+
+    private final RedisUtil redisUtil;
+
+    // users this instance already counted in currentHour
+    private final Set<UUID> countedThisHour = ConcurrentHashMap.newKeySet();
+    private volatile String currentHour;
+    private volatile boolean sinceRecorded;
+    private volatile LocalDate trackedSince;
+
+    @Value("${app.analytics.active-users.hour-retention-days:8}")
+    private int hourRetentionDays = 8;
+
+    @Value("${app.analytics.active-users.day-retention-days:400}")
+    private int dayRetentionDays = 400;
+
+    // max users held by the local per-hour filter
+    @Value("${app.analytics.active-users.max-local-ids:100000}")
+    private int maxLocalIds = 100000;
+
+    public ActiveUserCounter(RedisUtil redisUtil) {
+        this.redisUtil = redisUtil;
+    }
+
+    /**
+     * Count a user as active now. Hits Redis at most once per user and hour on this instance.
+     */
+    public void record(UUID userId) {
+        record(userId, LocalDateTime.now());
+    }
+
+    void record(UUID userId, LocalDateTime at) {
+        if (userId == null) {
+            return;
+        }
+        String hour = at.format(HOUR_FORMAT);
+        if (!hour.equals(currentHour)) {
+            synchronized (this) {
+                if (!hour.equals(currentHour)) {
+                    countedThisHour.clear();
+                    currentHour = hour;
+                }
+            }
+        }
+        if (countedThisHour.size() < maxLocalIds && !countedThisHour.add(userId)) {
+            return;
+        }
+
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        buckets.put(HOUR_KEY_PREFIX + hour, TimeUnit.DAYS.toSeconds(hourRetentionDays));
+        buckets.put(dayKey(at.toLocalDate()), TimeUnit.DAYS.toSeconds(dayRetentionDays));
+        try {
+            redisUtil.pfAddAll(buckets, userId.toString(), TimeUnit.SECONDS);
+            if (!sinceRecorded) {
+                redisUtil.setIfAbsent(SINCE_KEY, at.toLocalDate().plusDays(1).format(DateTimeFormatter.BASIC_ISO_DATE));
+                sinceRecorded = true;
+            }
+        } catch (Exception e) {
+            countedThisHour.remove(userId);
+            log.warn("Error recording active user in Redis: {}", userId, e);
+        }
+    }
+
+    /**
+     * Distinct users active on any day in [from, to]
+     * @return the count, or null if the range is not covered or Redis is unavailable
+     */
+    public Long countDays(LocalDate from, LocalDate to) {
+        if (from.isAfter(to) || !covers(from, dayRetentionDays)) {
+            return null;
+        }
+        List<String> keys = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            keys.add(dayKey(day));
+        }
+        try {
+            Long count = redisUtil.pfCount(keys);
+            return count != null ? count : 0L;
+        } catch (Exception e) {
+            log.warn("Error counting active users in Redis: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Distinct users active in each hour of the day, indexed by hour
+     * @return 24 counts, or null if the day is not covered or Redis is unavailable
+     */
+    public List<Long> countHours(LocalDate day) {
+        if (!covers(day, hourRetentionDays)) {
+            return null;
+        }
+        List<String> keys = new ArrayList<>(24);
+        for (int hour = 0; hour < 24; hour++) {
+            keys.add(HOUR_KEY_PREFIX + day.atTime(hour, 0).format(HOUR_FORMAT));
+        }
+        try {
+            return redisUtil.pfCountEach(keys);
+        } catch (Exception e) {
+            log.warn("Error counting hourly active users in Redis: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean covers(LocalDate from, int retentionDays) {
+        LocalDate since = getTrackedSince();
+        return since != null
+                && !from.isBefore(since)
+                && !from.isBefore(LocalDate.now().minusDays(retentionDays - 1L));
+    }
+
+    private LocalDate getTrackedSince() {
+        LocalDate since = trackedSince;
+        if (since != null) {
+            return since;
+        }
+        try {
+            String value = redisUtil.get(SINCE_KEY);
+            if (value != null) {
+                since = LocalDate.parse(value, DateTimeFormatter.BASIC_ISO_DATE);
+                trackedSince = since;
+            }
+            return since;
+        } catch (DateTimeParseException e) {
+            log.warn("Invalid active user tracking start date: {}", e.getParsedString());
+            return null;
+        } catch (Exception e) {
+            log.warn("Error reading active user tracking start date: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String dayKey(LocalDate day) {
+        return DAY_KEY_PREFIX + day.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+}
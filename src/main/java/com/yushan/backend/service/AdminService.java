@@ -8,6 +8,7 @@ import com.yushan.backend.entity.User;
 import com.yushan.backend.enums.Gender;
 import com.yushan.backend.enums.UserStatus;
 import com.yushan.backend.exception.ResourceNotFoundException;
+import com.yushan.backend.security.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -25,6 +26,9 @@ public class AdminService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     /**
      * Promote user to admin by email
      */
@@ -48,6 +52,7 @@ public class AdminService {
         user.setIsAdmin(true);
         user.setUpdateTime(new Date());
         userMapper.updateByPrimaryKeySelective(user);
+        userDetailsCache.evict(user.getUuid());
 
         // Return updated user profile
         return userService.getUserProfile(user.getUuid());
@@ -78,6 +83,7 @@ public class AdminService {
         userToUpdate.setUpdateTime(new Date());
 
         userMapper.updateByPrimaryKeySelective(userToUpdate);
+        userDetailsCache.evict(userUuid);
     }
 
     private UserProfileResponseDTO mapToProfileResponse(User user) {
@@ -0,0 +1,174 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.DailyMetricsMapper;
+import com.yushan.backend.entity.DailyMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Maintains the daily_metrics rollup and serves day ranges from it.
+ * Only rows created each day are counted; state that keeps changing after creation
+ * (views, ratings, novel status, platform totals) is read live instead, see AnalyticsMapper.
+ * Closed days are aggregated once by a scheduled job; the trailing refresh window is re-aggregated
+ * on every run to pick up late inserts and deletes, older days keep the values they had when rolled up.
+ * Today, and any closed day the job has not reached yet, is aggregated live from the source tables.
+ */
+@Slf4j
+@Service
+public class AnalyticsRollupService {
+
+    // days aggregated per statement, bounds the work of a single upsert
+    private static final int CHUNK_DAYS = 31;
+    private static final long TODAY_TTL_MILLIS = 60_000;
+
+    @Autowired
+    private DailyMetricsMapper dailyMetricsMapper;
+
+    // closed days re-aggregated on every run
+    @Value("${app.analytics.rollup.refresh-days:7}")
+    private int refreshDays = 7;
+
+    @Value("${app.analytics.rollup.startup-enabled:true}")
+    private boolean startupEnabled = true;
+
+    private volatile DailyMetrics todayMetrics;
+    private volatile long todayComputedAt;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rollupOnStartup() {
+        if (startupEnabled) {
+            scheduledRollup();
+        }
+    }
+
+    @Scheduled(cron = "${app.analytics.rollup.cron:0 10 0 * * *}")
+    public void scheduledRollup() {
+        try {
+            rollup();
+        } catch (Exception e) {
+            log.error("Analytics rollup failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Aggregate every closed day not rolled up yet, plus the refresh window
+     * @return number of days written
+     */
+    public synchronized int rollup() {
+        LocalDate today = LocalDate.now();
+        LocalDate from;
+        Date latest = dailyMetricsMapper.selectLatestDate();
+        if (latest != null) {
+            from = toLocalDate(latest).plusDays(1).minusDays(refreshDays);
+        } else {
+            Date earliest = dailyMetricsMapper.selectEarliestSourceDate();
+            if (earliest == null) {
+                return 0;
+            }
+            from = toLocalDate(earliest);
+        }
+
+        int days = 0;
+        for (LocalDate start = from; start.isBefore(today); start = start.plusDays(CHUNK_DAYS)) {
+            LocalDate end = start.plusDays(CHUNK_DAYS).isBefore(today) ? start.plusDays(CHUNK_DAYS) : today;
+            days += dailyMetricsMapper.upsertFromSource(toDate(start), toDate(end));
+        }
+        if (days > 0) {
+            log.info("Rolled up analytics for {} days from {}", days, from);
+        }
+        return days;
+    }
+
+    /**
+     * Metrics for every day in [startDay, endDay] up to today, ordered by day
+     */
+    public List<DailyMetrics> getDailyMetrics(LocalDate startDay, LocalDate endDay) {
+        LocalDate today = LocalDate.now();
+        List<DailyMetrics> days = new ArrayList<>();
+        if (startDay.isAfter(endDay) || startDay.isAfter(today)) {
+            return days;
+        }
+
+        LocalDate lastClosed = endDay.isBefore(today) ? endDay : today.minusDays(1);
+        if (!startDay.isAfter(lastClosed)) {
+            Date latest = dailyMetricsMapper.selectLatestDate();
+            LocalDate rolledUpTo = latest != null ? toLocalDate(latest) : startDay.minusDays(1);
+            if (!rolledUpTo.isBefore(startDay)) {
+                LocalDate to = rolledUpTo.isBefore(lastClosed) ? rolledUpTo : lastClosed;
+                days.addAll(dailyMetricsMapper.selectRange(toDate(startDay), toDate(to)));
+            }
+            // closed days the job has not reached yet
+            LocalDate gapStart = rolledUpTo.isBefore(startDay) ? startDay : rolledUpTo.plusDays(1);
+            if (!gapStart.isAfter(lastClosed)) {
+                days.addAll(dailyMetricsMapper.aggregateFromSource(toDate(gapStart), toDate(lastClosed.plusDays(1))));
+            }
+        }
+        if (!endDay.isBefore(today)) {
+            days.add(getToday(today));
+        }
+        return days;
+    }
+
+    /**
+     * Today's metrics, recomputed from the source tables at most once a minute
+     */
+    public DailyMetrics getToday() {
+        return getToday(LocalDate.now());
+    }
+
+    private DailyMetrics getToday(LocalDate today) {
+        DailyMetrics cached = todayMetrics;
+        if (cached != null && toLocalDate(cached.getMetricDate()).equals(today)
+                && System.currentTimeMillis() - todayComputedAt < TODAY_TTL_MILLIS) {
+            return cached;
+        }
+        List<DailyMetrics> rows = dailyMetricsMapper.aggregateFromSource(toDate(today), toDate(today.plusDays(1)));
+        DailyMetrics metrics = rows.isEmpty() ? new DailyMetrics() : rows.get(0);
+        metrics.setMetricDate(toDate(today));
+        todayMetrics = metrics;
+        todayComputedAt = System.currentTimeMillis();
+        return metrics;
+    }
+
+    /**
+     * Column-wise sum of the given days; metricDate is left null
+     */
+    public static DailyMetrics sum(Collection<DailyMetrics> days) {
+        DailyMetrics total = new DailyMetrics();
+        for (DailyMetrics day : days) {
+            total.setNewUsers(total.getNewUsers() + day.getNewUsers());
+            total.setNewNovels(total.getNewNovels() + day.getNewNovels());
+            total.setNewChapters(total.getNewChapters() + day.getNewChapters());
+            total.setNewComments(total.getNewComments() + day.getNewComments());
+            total.setNewReviews(total.getNewReviews() + day.getNewReviews());
+            total.setNewVotes(total.getNewVotes() + day.getNewVotes());
+            total.setActiveUsers(total.getActiveUsers() + day.getActiveUsers());
+        }
+        return total;
+    }
+
+    public static LocalDate toLocalDate(Date date) {
+        if (date instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static Date toDate(LocalDate day) {
+        return java.sql.Date.valueOf(day);
+    }
+}
@@ -2,13 +2,23 @@ package com.yushan.backend.service;
 
 import com.yushan.backend.dao.AnalyticsMapper;
 import com.yushan.backend.dto.*;
+import com.yushan.backend.entity.DailyMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
 @Service
 public class AnalyticsService {
@@ -16,6 +26,12 @@ public class AnalyticsService {
     @Autowired
     private AnalyticsMapper analyticsMapper;
 
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private ActiveUserCounter activeUserCounter;
+
     /**
      * Get user trends with filtering and date range
      */
@@ -36,8 +52,8 @@ public class AnalyticsService {
             }
         }
 
-        List<AnalyticsTrendResponseDTO.TrendDataPoint> dataPoints = 
-            analyticsMapper.getUserTrends(startDate, endDate, period);
+        List<AnalyticsTrendResponseDTO.TrendDataPoint> dataPoints =
+            toTrendDataPoints(getDailyMetrics(startDate, endDate), period, DailyMetrics::getNewUsers);
 
         // Calculate growth rates
         calculateGrowthRates(dataPoints);
@@ -84,9 +100,14 @@ public class AnalyticsService {
             }
         }
 
-        List<AnalyticsTrendResponseDTO.TrendDataPoint> dataPoints = 
-            analyticsMapper.getNovelTrends(startDate, endDate, period, 
+        // the rollup is platform-wide, filtered trends still aggregate the novel table
+        List<AnalyticsTrendResponseDTO.TrendDataPoint> dataPoints;
+        if (request.getCategoryId() == null && request.getAuthorId() == null && request.getStatus() == null) {
+            dataPoints = toTrendDataPoints(getDailyMetrics(startDate, endDate), period, DailyMetrics::getNewNovels);
+        } else {
+            dataPoints = analyticsMapper.getNovelTrends(startDate, endDate, period,
                 request.getCategoryId(), request.getAuthorId(), request.getStatus());
+        }
 
         // Calculate growth rates
         calculateGrowthRates(dataPoints);
@@ -133,8 +154,9 @@ public class AnalyticsService {
             }
         }
 
+        // views are a running total per novel, so activity is always aggregated live
         UUID authorId = request.getAuthorId() != null ? UUID.fromString(request.getAuthorId()) : null;
-        List<ReadingActivityResponseDTO.ActivityDataPoint> dataPoints = 
+        List<ReadingActivityResponseDTO.ActivityDataPoint> dataPoints =
             analyticsMapper.getReadingActivityTrends(startDate, endDate, period, request.getCategoryId(), authorId);
 
         ReadingActivityResponseDTO response = new ReadingActivityResponseDTO();
@@ -191,56 +213,140 @@ public class AnalyticsService {
         response.setEndDate(endDate);
         response.setPeriod(request.getPeriod());
 
+        // Created-that-day counts from the rollup, the current state of what was created live;
+        // active users are distinct over the range, so not summable
+        DailyMetrics current = AnalyticsRollupService.sum(getDailyMetrics(startDate, endDate));
+        AnalyticsSummaryResponseDTO snapshot = analyticsMapper.getRangeSnapshot(startDate, endDate);
+        Long activeUsers = activeUserCounter.countDays(
+            AnalyticsRollupService.toLocalDate(startDate), AnalyticsRollupService.toLocalDate(endDate));
+        response.setActiveUsers(activeUsers != null ? activeUsers : analyticsMapper.getActiveUsers(startDate, endDate));
+
         // Get user metrics
-        response.setTotalUsers(analyticsMapper.getTotalUsers(startDate, endDate));
-        response.setNewUsers(analyticsMapper.getNewUsers(startDate, endDate));
-        response.setActiveUsers(analyticsMapper.getActiveUsers(startDate, endDate));
-        response.setAuthors(analyticsMapper.getAuthors(startDate, endDate));
+        response.setTotalUsers(current.getNewUsers());
+        response.setNewUsers(current.getNewUsers());
+        response.setAuthors(snapshot.getAuthors());
 
         // Get novel metrics
-        response.setTotalNovels(analyticsMapper.getTotalNovels(startDate, endDate));
-        response.setNewNovels(analyticsMapper.getNewNovels(startDate, endDate));
-        response.setPublishedNovels(analyticsMapper.getPublishedNovels(startDate, endDate));
-        response.setCompletedNovels(analyticsMapper.getCompletedNovels(startDate, endDate));
+        response.setTotalNovels(current.getNewNovels());
+        response.setNewNovels(current.getNewNovels());
+        response.setPublishedNovels(snapshot.getPublishedNovels());
+        response.setCompletedNovels(snapshot.getCompletedNovels());
 
         // Get activity metrics
-        response.setTotalViews(analyticsMapper.getTotalViews(startDate, endDate));
-        response.setTotalChapters(analyticsMapper.getTotalChapters(startDate, endDate));
-        response.setTotalComments(analyticsMapper.getTotalComments(startDate, endDate));
-        response.setTotalReviews(analyticsMapper.getTotalReviews(startDate, endDate));
-        response.setTotalVotes(analyticsMapper.getTotalVotes(startDate, endDate));
+        response.setTotalViews(snapshot.getTotalViews());
+        response.setTotalChapters(current.getNewChapters());
+        response.setTotalComments(current.getNewComments());
+        response.setTotalReviews(current.getNewReviews());
+        response.setTotalVotes(current.getNewVotes());
 
         // Get engagement metrics
-        response.setAverageRating(analyticsMapper.getAverageRating(startDate, endDate));
-        response.setAverageViewsPerNovel(analyticsMapper.getAverageViewsPerNovel(startDate, endDate));
-        response.setAverageCommentsPerNovel(analyticsMapper.getAverageCommentsPerNovel(startDate, endDate));
-        response.setAverageReviewsPerNovel(analyticsMapper.getAverageReviewsPerNovel(startDate, endDate));
+        response.setAverageRating(snapshot.getAverageRating());
+        response.setAverageViewsPerNovel(snapshot.getAverageViewsPerNovel());
+        response.setAverageCommentsPerNovel(snapshot.getAverageCommentsPerNovel());
+        response.setAverageReviewsPerNovel(snapshot.getAverageReviewsPerNovel());
 
-        // Calculate growth rates
+        // Calculate growth rates against the previous 30 days
         Calendar cal = Calendar.getInstance();
         cal.setTime(startDate);
         cal.add(Calendar.DAY_OF_MONTH, -30); // Previous 30 days
         Date previousStartDate = cal.getTime();
         Date previousEndDate = new Date(startDate.getTime() - 1);
-        
-        // User growth rate
-        Long previousUsers = analyticsMapper.getNewUsers(previousStartDate, previousEndDate);
-        Long currentUsers = analyticsMapper.getNewUsers(startDate, endDate);
-        response.setUserGrowthRate(calculateGrowthRate(previousUsers, currentUsers));
-        
-        // Novel growth rate
-        Long previousNovels = analyticsMapper.getNewNovels(previousStartDate, previousEndDate);
-        Long currentNovels = analyticsMapper.getNewNovels(startDate, endDate);
-        response.setNovelGrowthRate(calculateGrowthRate(previousNovels, currentNovels));
-        
-        // View growth rate
-        Long previousViews = analyticsMapper.getTotalViews(previousStartDate, previousEndDate);
-        Long currentViews = analyticsMapper.getTotalViews(startDate, endDate);
-        response.setViewGrowthRate(calculateGrowthRate(previousViews, currentViews));
+        DailyMetrics previous = AnalyticsRollupService.sum(getDailyMetrics(previousStartDate, previousEndDate));
+
+        response.setUserGrowthRate(calculateGrowthRate(previous.getNewUsers(), current.getNewUsers()));
+        response.setNovelGrowthRate(calculateGrowthRate(previous.getNewNovels(), current.getNewNovels()));
+        response.setViewGrowthRate(calculateGrowthRate(
+            analyticsMapper.getTotalViews(previousStartDate, previousEndDate), snapshot.getTotalViews()));
 
         return response;
     }
 
+    /**
+     * Distinct active users from the HyperLogLog counters, or the live query when they do not cover the range
+     */
+    private Long countActiveUsers(LocalDate from, LocalDate to, Supplier<Long> fallback) {
+        Long count = activeUserCounter.countDays(from, to);
+        return count != null ? count : fallback.get();
+    }
+
+    /**
+     * Hours with active users, reading sessions taken from history
+     */
+    private List<DailyActiveUsersResponseDTO.ActivityDataPoint> toHourlyDataPoints(
+            List<Long> hourlyCounts, List<DailyActiveUsersResponseDTO.ActivityDataPoint> sessions) {
+        Map<Integer, Long> sessionsByHour = new HashMap<>();
+        for (DailyActiveUsersResponseDTO.ActivityDataPoint point : sessions) {
+            sessionsByHour.put(point.getHour(), point.getReadingSessions());
+        }
+        List<DailyActiveUsersResponseDTO.ActivityDataPoint> dataPoints = new ArrayList<>();
+        for (int hour = 0; hour < hourlyCounts.size(); hour++) {
+            if (hourlyCounts.get(hour) > 0) {
+                dataPoints.add(new DailyActiveUsersResponseDTO.ActivityDataPoint(
+                    hour, hourlyCounts.get(hour), 0L, sessionsByHour.getOrDefault(hour, 0L)));
+            }
+        }
+        return dataPoints;
+    }
+
+    private List<DailyMetrics> getDailyMetrics(Date startDate, Date endDate) {
+        return analyticsRollupService.getDailyMetrics(
+            AnalyticsRollupService.toLocalDate(startDate), AnalyticsRollupService.toLocalDate(endDate));
+    }
+
+    /**
+     * Group days into periods, keeping only periods with a non-zero count
+     */
+    private List<AnalyticsTrendResponseDTO.TrendDataPoint> toTrendDataPoints(List<DailyMetrics> days, String period,
+                                                                             ToLongFunction<DailyMetrics> metric) {
+        Map<LocalDate, Long> counts = new TreeMap<>();
+        for (DailyMetrics day : days) {
+            counts.merge(periodStart(AnalyticsRollupService.toLocalDate(day.getMetricDate()), period),
+                metric.applyAsLong(day), Long::sum);
+        }
+        List<AnalyticsTrendResponseDTO.TrendDataPoint> dataPoints = new ArrayList<>();
+        counts.forEach((start, count) -> {
+            if (count > 0) {
+                dataPoints.add(new AnalyticsTrendResponseDTO.TrendDataPoint(
+                    toDate(start), periodLabel(start, period), count, null));
+            }
+        });
+        return dataPoints;
+    }
+
+    private LocalDate periodStart(LocalDate day, String period) {
+        if ("weekly".equals(period)) {
+            return day.with(DayOfWeek.MONDAY);
+        }
+        if ("monthly".equals(period)) {
+            return day.withDayOfMonth(1);
+        }
+        return day;
+    }
+
+    /**
+     * Same labels as TO_CHAR: YYYY-MM-DD, YYYY-"W"WW of the week's Monday, YYYY-MM
+     */
+    private String periodLabel(LocalDate start, String period) {
+        if ("weekly".equals(period)) {
+            return String.format("%d-W%02d", start.getYear(), (start.getDayOfYear() - 1) / 7 + 1);
+        }
+        if ("monthly".equals(period)) {
+            return String.format("%d-%02d", start.getYear(), start.getMonthValue());
+        }
+        return start.toString();
+    }
+
+    private static Date toDate(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Month-over-month growth in percent, 0 when the previous month had nothing
+     */
+    private static Double monthOverMonth(long previousValue, long currentValue) {
+        return previousValue > 0 ? ((currentValue - previousValue) / (double) previousValue) * 100 : 0.0;
+    }
+
     /**
      * Calculate growth rates for trend data points
      */
@@ -303,45 +409,63 @@ public class AnalyticsService {
         PlatformStatisticsResponseDTO response = new PlatformStatisticsResponseDTO();
         response.setTimestamp(new Date());
 
+        // Current platform state in one statement
+        PlatformStatisticsResponseDTO snapshot = analyticsMapper.getPlatformSnapshot();
+
         // User statistics
-        response.setTotalUsers(analyticsMapper.getTotalUsersAll());
-        response.setActiveUsers(analyticsMapper.getActiveUsersAll());
-        response.setNewUsersToday(analyticsMapper.getNewUsersToday());
-        response.setAuthors(analyticsMapper.getAuthorsAll());
-        response.setAdmins(analyticsMapper.getAdminsAll());
+        response.setTotalUsers(snapshot.getTotalUsers());
+        LocalDate today = LocalDate.now();
+        response.setActiveUsers(countActiveUsers(today.minusDays(30), today, analyticsMapper::getActiveUsersAll));
+        response.setNewUsersToday(analyticsRollupService.getToday().getNewUsers());
+        response.setAuthors(snapshot.getAuthors());
+        response.setAdmins(snapshot.getAdmins());
 
         // Content statistics
-        response.setTotalNovels(analyticsMapper.getTotalNovelsAll());
-        response.setPublishedNovels(analyticsMapper.getPublishedNovelsAll());
-        response.setCompletedNovels(analyticsMapper.getCompletedNovelsAll());
-        response.setTotalChapters(analyticsMapper.getTotalChaptersAll());
-        response.setTotalWords(analyticsMapper.getTotalWordsAll());
+        response.setTotalNovels(snapshot.getTotalNovels());
+        response.setPublishedNovels(snapshot.getPublishedNovels());
+        response.setCompletedNovels(snapshot.getCompletedNovels());
+        response.setTotalChapters(snapshot.getTotalChapters());
+        response.setTotalWords(snapshot.getTotalWords());
 
         // Engagement statistics
-        response.setTotalViews(analyticsMapper.getTotalViewsAll());
-        response.setTotalComments(analyticsMapper.getTotalCommentsAll());
-        response.setTotalReviews(analyticsMapper.getTotalReviewsAll());
-        response.setTotalVotes(analyticsMapper.getTotalVotesAll());
-        response.setAverageRating(analyticsMapper.getAverageRatingAll());
+        response.setTotalViews(snapshot.getTotalViews());
+        response.setTotalComments(snapshot.getTotalComments());
+        response.setTotalReviews(snapshot.getTotalReviews());
+        response.setTotalVotes(snapshot.getTotalVotes());
+        response.setAverageRating(snapshot.getAverageRating());
 
         // Activity statistics
-        response.setDailyActiveUsers(analyticsMapper.getDailyActiveUsers(new Date()));
-        
+        Date now = new Date();
+        response.setDailyActiveUsers(countActiveUsers(today, today, () -> analyticsMapper.getDailyActiveUsers(now)));
+
         // Calculate weekly and monthly active users
         Calendar cal = Calendar.getInstance();
         cal.add(Calendar.DATE, -7);
         Date weekStart = cal.getTime();
-        response.setWeeklyActiveUsers(analyticsMapper.getWeeklyActiveUsers(weekStart, new Date()));
-        
+        response.setWeeklyActiveUsers(countActiveUsers(AnalyticsRollupService.toLocalDate(weekStart), today,
+            () -> analyticsMapper.getWeeklyActiveUsers(weekStart, now)));
+
         cal = Calendar.getInstance();
         cal.add(Calendar.MONTH, -1);
         Date monthStart = cal.getTime();
-        response.setMonthlyActiveUsers(analyticsMapper.getMonthlyActiveUsers(monthStart, new Date()));
-
-        // Growth statistics
-        response.setUserGrowthRate(analyticsMapper.getPlatformUserGrowthRate());
-        response.setContentGrowthRate(analyticsMapper.getPlatformContentGrowthRate());
-        response.setEngagementGrowthRate(analyticsMapper.getPlatformEngagementGrowthRate());
+        response.setMonthlyActiveUsers(countActiveUsers(AnalyticsRollupService.toLocalDate(monthStart), today,
+            () -> analyticsMapper.getMonthlyActiveUsers(monthStart, now)));
+
+        // Growth statistics, this month so far against the whole previous month
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+        DailyMetrics currentMonth = AnalyticsRollupService.sum(
+            analyticsRollupService.getDailyMetrics(thisMonth, LocalDate.now()));
+        DailyMetrics previousMonth = AnalyticsRollupService.sum(
+            analyticsRollupService.getDailyMetrics(thisMonth.minusMonths(1), thisMonth.minusDays(1)));
+        response.setUserGrowthRate(monthOverMonth(previousMonth.getNewUsers(), currentMonth.getNewUsers()));
+        response.setContentGrowthRate(monthOverMonth(previousMonth.getNewNovels(), currentMonth.getNewNovels()));
+        // views keep growing after a novel is created, so they are read live for each month's novels
+        Date thisMonthStart = toDate(thisMonth);
+        Long currentViews = analyticsMapper.getTotalViews(thisMonthStart, now);
+        Long previousViews = analyticsMapper.getTotalViews(toDate(thisMonth.minusMonths(1)),
+            new Date(thisMonthStart.getTime() - 1));
+        response.setEngagementGrowthRate(monthOverMonth(
+            previousViews != null ? previousViews : 0L, currentViews != null ? currentViews : 0L));
 
         return response;
     }
@@ -356,24 +480,33 @@ public class AnalyticsService {
 
         DailyActiveUsersResponseDTO response = new DailyActiveUsersResponseDTO();
         response.setDate(date);
-        response.setDau(analyticsMapper.getDailyActiveUsers(date));
+        LocalDate localDay = AnalyticsRollupService.toLocalDate(date);
+        Long dau = activeUserCounter.countDays(localDay, localDay);
+        response.setDau(dau != null ? dau : analyticsMapper.getDailyActiveUsers(date));
 
         // Calculate weekly and monthly active users
         Calendar cal = Calendar.getInstance();
         cal.setTime(date);
         cal.add(Calendar.DATE, -7);
         Date weekStart = cal.getTime();
-        response.setWau(analyticsMapper.getWeeklyActiveUsers(weekStart, date));
+        Long wau = activeUserCounter.countDays(AnalyticsRollupService.toLocalDate(weekStart), localDay);
+        response.setWau(wau != null ? wau : analyticsMapper.getWeeklyActiveUsers(weekStart, date));
 
         cal = Calendar.getInstance();
         cal.setTime(date);
         cal.add(Calendar.MONTH, -1);
         Date monthStart = cal.getTime();
-        response.setMau(analyticsMapper.getMonthlyActiveUsers(monthStart, date));
+        Long mau = activeUserCounter.countDays(AnalyticsRollupService.toLocalDate(monthStart), localDay);
+        response.setMau(mau != null ? mau : analyticsMapper.getMonthlyActiveUsers(monthStart, date));
 
         // Get hourly breakdown
-        List<DailyActiveUsersResponseDTO.ActivityDataPoint> hourlyData = 
-            analyticsMapper.getHourlyActiveUsers(date);
+        List<Long> hourlyCounts = activeUserCounter.countHours(localDay);
+        List<DailyActiveUsersResponseDTO.ActivityDataPoint> hourlyData;
+        if (hourlyCounts != null) {
+            hourlyData = toHourlyDataPoints(hourlyCounts, analyticsMapper.getHourlyReadingSessions(date));
+        } else {
+            hourlyData = analyticsMapper.getHourlyActiveUsers(date);
+        }
         response.setHourlyBreakdown(hourlyData);
 
         return response;
@@ -3,6 +3,7 @@ package com.yushan.backend.service;
 import com.yushan.backend.dao.UserMapper;
 import com.yushan.backend.dto.UserProfileResponseDTO;
 import com.yushan.backend.entity.User;
+import com.yushan.backend.security.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -20,6 +21,9 @@ public class AuthorService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     /**
      * Upgrade user to author with verification code
      */
@@ -48,6 +52,7 @@ public class AuthorService {
         user.setIsAuthor(true);
         user.setUpdateTime(new Date());
         userMapper.updateByPrimaryKeySelective(user);
+        userDetailsCache.evict(user.getUuid());
         
         // Return updated user profile
         return userService.getUserProfile(user.getUuid());
@@ -0,0 +1,150 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.CategoryMapper;
+import com.yushan.backend.entity.Category;
+import com.yushan.backend.util.RedisUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory snapshot of the whole category table, indexed by id and slug.
+ * The table is small and read on every novel response, so it is loaded in one query and kept
+ * until a category is written. Writes evict the local snapshot after commit and publish an
+ * invalidation on {@link #INVALIDATION_CHANNEL} for the other nodes; the TTL bounds staleness
+ * if a message is missed.
+ */
+@Slf4j
+@Component
+public class CategoryCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "cache:category:invalidate";
+
+    private static final long TTL_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final CategoryMapper categoryMapper;
+    private final RedisUtil redisUtil;
+
+    private volatile Snapshot snapshot;
+    // bumped on every invalidation so a load racing with a write is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public CategoryCache(CategoryMapper categoryMapper, RedisUtil redisUtil) {
+        this.categoryMapper = categoryMapper;
+        this.redisUtil = redisUtil;
+    }
+
+    /**
+     * @return all categories, newest first
+     */
+    public List<Category> getAll() {
+        return get().all;
+    }
+
+    /**
+     * @return active categories ordered by name
+     */
+    public List<Category> getActive() {
+        return get().active;
+    }
+
+    /**
+     * @return the category, or null if it is not in the snapshot
+     */
+    public Category getById(Integer id) {
+        return get().byId.get(id);
+    }
+
+    /**
+     * @return the category, or null if it is not in the snapshot
+     */
+    public Category getBySlug(String slug) {
+        return get().bySlug.get(slug);
+    }
+
+    /**
+     * Drop the snapshot on this node now and, once the current transaction commits,
+     * again on this node and on every other node.
+     */
+    public void invalidate() {
+        evict();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict();
+                    publishInvalidation();
+                }
+            });
+        } else {
+            publishInvalidation();
+        }
+    }
+
+    /**
+     * Invalidation published by another node
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        evict();
+    }
+
+    private void evict() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private void publishInvalidation() {
+        try {
+            redisUtil.publish(INVALIDATION_CHANNEL, "all");
+        } catch (Exception e) {
+            log.warn("Failed to publish category cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    private Snapshot get() {
+        Snapshot cached = snapshot;
+        if (cached != null && System.nanoTime() - cached.loadedAt < TTL_NANOS) {
+            return cached;
+        }
+
+        long loadGeneration = generation.get();
+        Snapshot loaded = new Snapshot(categoryMapper.selectAll());
+        if (generation.get() == loadGeneration) {
+            snapshot = loaded;
+        }
+        return loaded;
+    }
+
+    private static final class Snapshot {
+        private final List<Category> all;
+        private final List<Category> active;
+        private final Map<Integer, Category> byId = new HashMap<>();
+        private final Map<String, Category> bySlug = new HashMap<>();
+        private final long loadedAt = System.nanoTime();
+
+        Snapshot(List<Category> categories) {
+            this.all = List.copyOf(categories);
+            this.active = categories.stream()
+                    .filter(c -> Boolean.TRUE.equals(c.getIsActive()))
+                    .sorted(Comparator.comparing(Category::getName, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .toList();
+            for (Category category : categories) {
+                byId.put(category.getId(), category);
+                if (category.getSlug() != null) {
+                    bySlug.put(category.getSlug(), category);
+                }
+            }
+        }
+    }
+}
@@ -10,7 +10,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.text.Normalizer;
 import java.util.*;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 @Service
 public class CategoryService {
@@ -18,18 +17,21 @@ public class CategoryService {
     @Autowired
     private CategoryMapper categoryMapper;
 
+    @Autowired
+    private CategoryCache categoryCache;
+
     /**
      * Get all categories (including inactive ones)
      */
     public List<Category> getAllCategories() {
-        return categoryMapper.selectAll();
+        return categoryCache.getAll();
     }
 
     /**
      * Get only active categories
      */
     public List<Category> getActiveCategories() {
-        return categoryMapper.selectActiveCategories();
+        return categoryCache.getActive();
     }
 
     /**
@@ -40,7 +42,11 @@ public class CategoryService {
         if (id == null) {
             throw new IllegalArgumentException("Category ID cannot be null");
         }
-        Category category = categoryMapper.selectByPrimaryKey(id);
+        Category category = categoryCache.getById(id);
+        if (category == null) {
+            // may have been created on another node since the snapshot was loaded
+            category = categoryMapper.selectByPrimaryKey(id);
+        }
         if (category == null) {
             throw new ResourceNotFoundException("Category not found with id: " + id);
         }
@@ -55,7 +61,10 @@ public class CategoryService {
         if (slug == null || slug.trim().isEmpty()) {
             throw new IllegalArgumentException("Category slug cannot be empty");
         }
-        Category category = categoryMapper.selectBySlug(slug);
+        Category category = categoryCache.getBySlug(slug);
+        if (category == null) {
+            category = categoryMapper.selectBySlug(slug);
+        }
         if (category == null) {
             throw new ResourceNotFoundException("Category not found with slug: " + slug);
         }
@@ -99,6 +108,7 @@ public class CategoryService {
         category.setUpdateTime(now);
 
         categoryMapper.insertSelective(category);
+        categoryCache.invalidate();
         return category;
     }
 
@@ -154,6 +164,7 @@ public class CategoryService {
         if (hasChanges) {
             existing.setUpdateTime(new Date());
             categoryMapper.updateByPrimaryKeySelective(existing);
+            categoryCache.invalidate();
         }
 
         return existing;
@@ -172,6 +183,7 @@ public class CategoryService {
         existing.setIsActive(false);
         existing.setUpdateTime(new Date());
         int result = categoryMapper.updateByPrimaryKeySelective(existing);
+        categoryCache.invalidate();
         return result > 0;
     }
 
@@ -187,6 +199,7 @@ public class CategoryService {
         }
 
         int result = categoryMapper.deleteByPrimaryKey(id);
+        categoryCache.invalidate();
         return result > 0;
     }
 
@@ -199,9 +212,22 @@ public class CategoryService {
         if (ids == null || ids.isEmpty()) {
             return Collections.emptyMap();
         }
-        List<Category> categories = categoryMapper.selectByIds(ids);
-        return categories.stream()
-                .collect(Collectors.toMap(Category::getId, Category::getName));
+        Map<Integer, String> result = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : ids) {
+            Category category = categoryCache.getById(id);
+            if (category != null) {
+                result.put(id, category.getName());
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Category category : categoryMapper.selectByIds(missing)) {
+                result.put(category.getId(), category.getName());
+            }
+        }
+        return result;
     }
 
     /**
@@ -0,0 +1,71 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.ChapterMapper;
+import com.yushan.backend.entity.Chapter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Compresses chapter bodies still stored as plain text into content_z, in id order.
+ * Each row is converted by its own update, so the backfill can stop at any point and
+ * resumes where the plain rows start on the next run.
+ */
+@Slf4j
+@Service
+public class ChapterContentBackfillService {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Autowired
+    private ChapterMapper chapterMapper;
+
+    @Value("${app.chapter-content.backfill-enabled:true}")
+    private boolean backfillEnabled = true;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillEnabled) {
+            return;
+        }
+        try {
+            backfill();
+        } catch (Exception e) {
+            log.error("Chapter content backfill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return number of chapters compressed
+     */
+    public int backfill() {
+        int rows = 0;
+        int afterId = 0;
+        int batches = 0;
+        while (true) {
+            List<Chapter> chapters = chapterMapper.selectUncompressedContent(afterId, BATCH_SIZE);
+            if (chapters.isEmpty()) {
+                break;
+            }
+            for (Chapter chapter : chapters) {
+                rows += chapterMapper.updateCompressedContent(
+                        chapter.getId(), chapter.getCompressedContent(), chapter.getContentPreview());
+                afterId = chapter.getId();
+            }
+            if (++batches % 100 == 0) {
+                log.info("Compressed {} chapters so far", rows);
+            }
+        }
+        if (rows > 0) {
+            log.info("Compressed {} chapters", rows);
+        }
+        return rows;
+    }
+}
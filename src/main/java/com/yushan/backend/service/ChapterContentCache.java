@@ -0,0 +1,247 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.ChapterMapper;
+import com.yushan.backend.entity.Chapter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Node-local LRU of chapter bodies, bounded by their total compressed size rather than by entry
+ * count, so a few very long chapters cannot push out everything else.
+ * An entry is only served for the update_time it was loaded with, so edits made through any node
+ * are picked up on the next read without explicit invalidation.
+ * Readers mostly go on from chapter N to N+1, so callers prefetch the next chapter in the background.
+ */
+@Slf4j
+@Component
+public class ChapterContentCache {
+
+    // a single body may take at most this fraction of the cache
+    private static final int MAX_ENTRY_FRACTION = 8;
+
+    private final ChapterMapper chapterMapper;
+
+    // access-ordered LRU, guarded by itself; evicted here by total bytes instead of removeEldestEntry
+    private final Map<UUID, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // sum of the cached body sizes, guarded by entries
+    private long totalBytes;
+
+    private final Set<UUID> prefetching = ConcurrentHashMap.newKeySet();
+    private final ExecutorService prefetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter prefetchLoaded;
+    private final Counter prefetchUsed;
+    private final Counter prefetchWasted;
+
+    @Value("${app.chapter-content-cache.max-bytes:67108864}")
+    private long maxBytes = 64L * 1024 * 1024;
+
+    @Value("${app.chapter-content-cache.prefetch-enabled:true}")
+    private boolean prefetchEnabled = true;
+
+    // prefetches in flight on this node, further ones are skipped
+    @Value("${app.chapter-content-cache.max-concurrent-prefetches:4}")
+    private int maxConcurrentPrefetches = 4;
+
+    public ChapterContentCache(ChapterMapper chapterMapper, MeterRegistry meterRegistry) {
+        this.chapterMapper = chapterMapper;
+
+        this.hits = Counter.builder("chapter_content.cache.requests").tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("chapter_content.cache.requests").tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("chapter_content.cache.evictions")
+                .description("Bodies evicted to stay within the byte budget")
+                .register(meterRegistry);
+        this.prefetchLoaded = Counter.builder("chapter_content.cache.prefetch").tag("outcome", "loaded")
+                .register(meterRegistry);
+        this.prefetchUsed = Counter.builder("chapter_content.cache.prefetch").tag("outcome", "used")
+                .register(meterRegistry);
+        this.prefetchWasted = Counter.builder("chapter_content.cache.prefetch").tag("outcome", "wasted")
+                .description("Prefetched bodies evicted or outdated before being read")
+                .register(meterRegistry);
+        meterRegistry.gauge("chapter_content.cache.bytes", this, ChapterContentCache::getTotalBytes);
+        meterRegistry.gauge("chapter_content.cache.entries", this, ChapterContentCache::getEntryCount);
+        meterRegistry.gauge("chapter_content.cache.hit.ratio", this, ChapterContentCache::getHitRatio);
+        meterRegistry.gauge("chapter_content.cache.prefetch.accuracy", this, ChapterContentCache::getPrefetchAccuracy);
+    }
+
+    /**
+     * Set the body of a chapter loaded without it (see ChapterMapper#selectMetaByUuid),
+     * from the cache when it holds the body for the chapter's update time, else from the database.
+     */
+    public void loadContent(Chapter chapter) {
+        byte[] body = get(chapter.getUuid(), chapter.getUpdateTime());
+        if (body == null) {
+            Chapter loaded = chapterMapper.selectBodyByUuid(chapter.getUuid());
+            body = loaded != null ? loaded.getCompressedContent() : null;
+            if (body == null) {
+                return;
+            }
+            put(chapter.getUuid(), loaded.getUpdateTime(), body, false);
+        }
+        chapter.setCompressedContent(body);
+    }
+
+    /**
+     * Load a chapter body in the background unless it is cached or already being loaded.
+     * Skipped when too many prefetches are in flight.
+     */
+    public void prefetch(UUID uuid) {
+        if (!prefetchEnabled || uuid == null) {
+            return;
+        }
+        synchronized (entries) {
+            if (entries.containsKey(uuid)) {
+                return;
+            }
+        }
+        if (prefetching.size() >= maxConcurrentPrefetches || !prefetching.add(uuid)) {
+            return;
+        }
+        try {
+            prefetchExecutor.execute(() -> {
+                try {
+                    Chapter loaded = chapterMapper.selectBodyByUuid(uuid);
+                    if (loaded != null && loaded.getCompressedContent() != null
+                            && put(uuid, loaded.getUpdateTime(), loaded.getCompressedContent(), true)) {
+                        prefetchLoaded.increment();
+                    }
+                } catch (Exception e) {
+                    log.warn("Error prefetching chapter content {}: {}", uuid, e.getMessage());
+                } finally {
+                    prefetching.remove(uuid);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            prefetching.remove(uuid);
+        }
+    }
+
+    public long getTotalBytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+
+    public int getEntryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Share of reads served from the cache since startup
+     */
+    public double getHitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    /**
+     * Share of prefetched bodies that were read before being evicted or outdated
+     */
+    public double getPrefetchAccuracy() {
+        double settled = prefetchUsed.count() + prefetchWasted.count();
+        return settled == 0 ? 0 : prefetchUsed.count() / settled;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        prefetchExecutor.shutdown();
+    }
+
+    private byte[] get(UUID uuid, Date updateTime) {
+        synchronized (entries) {
+            Entry entry = entries.get(uuid);
+            if (entry != null && entry.updateTime == millis(updateTime)) {
+                hits.increment();
+                if (entry.prefetched) {
+                    entry.prefetched = false;
+                    prefetchUsed.increment();
+                }
+                return entry.body;
+            }
+            if (entry != null) {
+                remove(uuid);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * @return whether the body was cached, bodies over the per-entry limit are not
+     */
+    private boolean put(UUID uuid, Date updateTime, byte[] body, boolean prefetched) {
+        if (body.length > maxBytes / MAX_ENTRY_FRACTION) {
+            return false;
+        }
+        synchronized (entries) {
+            remove(uuid);
+            entries.put(uuid, new Entry(millis(updateTime), body, prefetched));
+            totalBytes += body.length;
+
+            // least recently read first; the new entry is last and fits on its own
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Entry evicted = eldest.next();
+                eldest.remove();
+                release(evicted);
+                evictions.increment();
+            }
+        }
+        return true;
+    }
+
+    // caller holds entries
+    private void remove(UUID uuid) {
+        Entry removed = entries.remove(uuid);
+        if (removed != null) {
+            release(removed);
+        }
+    }
+
+    // caller holds entries
+    private void release(Entry entry) {
+        totalBytes -= entry.body.length;
+        if (entry.prefetched) {
+            prefetchWasted.increment();
+        }
+    }
+
+    private static long millis(Date time) {
+        return time != null ? time.getTime() : 0L;
+    }
+
+    private static final class Entry {
+        private final long updateTime;
+        private final byte[] body;
+        // loaded ahead of a read and not read yet
+        private boolean prefetched;
+
+        Entry(long updateTime, byte[] body, boolean prefetched) {
+            this.updateTime = updateTime;
+            this.body = body;
+            this.prefetched = prefetched;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.ChapterMapper;
+import com.yushan.backend.entity.Chapter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-novel index of valid chapters (chapter number, uuid, publish time), used to answer
+ * previous/next chapter lookups without loading chapter bodies.
+ * Entries are evicted on chapter create/publish/delete; the TTL bounds staleness across nodes.
+ */
+@Component
+public class ChapterNavigationIndex {
+
+    private static final int MAX_NOVELS = 10000;
+    private static final long TTL_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final ChapterMapper chapterMapper;
+
+    // access-ordered LRU, guarded by itself
+    private final Map<Integer, NovelChapters> index = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, NovelChapters> eldest) {
+            return size() > MAX_NOVELS;
+        }
+    };
+    // bumped on every invalidation so a load racing with a write is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public ChapterNavigationIndex(ChapterMapper chapterMapper) {
+        this.chapterMapper = chapterMapper;
+    }
+
+    /**
+     * @return uuid of the first published chapter after chapterNumber, or null
+     */
+    public UUID getNextChapterUuid(Integer novelId, Integer chapterNumber) {
+        NovelChapters chapters = get(novelId);
+        long now = System.currentTimeMillis();
+        int i = chapters.indexAfter(chapterNumber);
+        for (; i < chapters.numbers.length; i++) {
+            if (chapters.publishTimes[i] <= now) {
+                return chapters.uuids[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return uuid of the last published chapter before chapterNumber, or null
+     */
+    public UUID getPreviousChapterUuid(Integer novelId, Integer chapterNumber) {
+        NovelChapters chapters = get(novelId);
+        long now = System.currentTimeMillis();
+        int i = chapters.indexBefore(chapterNumber);
+        for (; i >= 0; i--) {
+            if (chapters.publishTimes[i] <= now) {
+                return chapters.uuids[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Drop the cached index of a novel now and again once the current transaction commits,
+     * so a concurrent reader cannot re-cache uncommitted state.
+     */
+    public void invalidate(Integer novelId) {
+        evict(novelId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(novelId);
+                }
+            });
+        }
+    }
+
+    private void evict(Integer novelId) {
+        generation.incrementAndGet();
+        synchronized (index) {
+            index.remove(novelId);
+        }
+    }
+
+    private NovelChapters get(Integer novelId) {
+        NovelChapters cached;
+        synchronized (index) {
+            cached = index.get(novelId);
+        }
+        if (cached != null && System.nanoTime() - cached.loadedAt < TTL_NANOS) {
+            return cached;
+        }
+
+        long loadGeneration = generation.get();
+        NovelChapters loaded = NovelChapters.of(chapterMapper.selectNavigationByNovelId(novelId));
+        if (generation.get() == loadGeneration) {
+            synchronized (index) {
+                index.put(novelId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private static final class NovelChapters {
+        private final int[] numbers;
+        private final UUID[] uuids;
+        private final long[] publishTimes;
+        private final long loadedAt = System.nanoTime();
+
+        private NovelChapters(int[] numbers, UUID[] uuids, long[] publishTimes) {
+            this.numbers = numbers;
+            this.uuids = uuids;
+            this.publishTimes = publishTimes;
+        }
+
+        static NovelChapters of(List<Chapter> chapters) {
+            int[] numbers = new int[chapters.size()];
+            UUID[] uuids = new UUID[chapters.size()];
+            long[] publishTimes = new long[chapters.size()];
+            // rows come ordered by chapter_number
+            for (int i = 0; i < chapters.size(); i++) {
+                Chapter chapter = chapters.get(i);
+                numbers[i] = chapter.getChapterNumber();
+                uuids[i] = chapter.getUuid();
+                publishTimes[i] = chapter.getPublishTime() != null ? chapter.getPublishTime().getTime() : Long.MAX_VALUE;
+            }
+            return new NovelChapters(numbers, uuids, publishTimes);
+        }
+
+        int indexAfter(int chapterNumber) {
+            int i = Arrays.binarySearch(numbers, chapterNumber);
+            return i >= 0 ? i + 1 : -i - 1;
+        }
+
+        int indexBefore(int chapterNumber) {
+            int i = Arrays.binarySearch(numbers, chapterNumber);
+            return i >= 0 ? i - 1 : -i - 2;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.yushan.backend.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yushan.backend.dao.ChapterMapper;
 import com.yushan.backend.dao.NovelMapper;
 import com.yushan.backend.dto.*;
@@ -7,10 +9,16 @@ import com.yushan.backend.entity.Chapter;
 import com.yushan.backend.entity.Novel;
 import com.yushan.backend.enums.NovelStatus;
 import com.yushan.backend.exception.ResourceNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -26,6 +34,32 @@ public class ChapterService {
     @Autowired
     private NovelService novelService;
 
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+
+    @Autowired
+    private ChapterNavigationIndex chapterNavigationIndex;
+
+    @Autowired
+    private NovelCache novelCache;
+
+    @Autowired
+    private ChapterContentCache chapterContentCache;
+
+    @Autowired
+    private NovelStatisticsReconciler novelStatisticsReconciler;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    // rows per multi-row insert, bounds statement size for large imports
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    @Value("${app.chapter-import.max-chapters:10000}")
+    private int maxImportChapters = 10000;
 
     @Transactional
     public ChapterDetailResponseDTO createChapter(UUID userId, ChapterCreateRequestDTO req) {
@@ -69,9 +103,10 @@ public class ChapterService {
         chapter.setPublishTime(req.getPublishTime() != null ? req.getPublishTime() : now);
 
         chapterMapper.insertSelective(chapter);
+        chapterNavigationIndex.invalidate(req.getNovelId());
 
         // Update novel's chapter count and word count
-        updateNovelStatistics(req.getNovelId());
+        applyStatisticsDelta(req.getNovelId(), new StatisticsDelta().add(chapter, 1));
 
         return getChapterByUuid(chapter.getUuid());
     }
@@ -79,87 +114,171 @@ public class ChapterService {
     @Transactional
     public void batchCreateChapters(UUID userId, ChapterBatchCreateRequestDTO req) {
         // Validate novel exists and user is the author
-        Novel novel = novelMapper.selectByPrimaryKey(req.getNovelId());
-        if (novel == null || novel.getStatus().equals(novelService.mapStatus(NovelStatus.ARCHIVED))) {
-            throw new ResourceNotFoundException("novel not found");
-        }
-
-        if (!novel.getAuthorId().equals(userId)) {
-            throw new IllegalArgumentException("only the author can create chapters");
-        }
+        checkAuthor(userId, req.getNovelId());
 
         List<Chapter> chapters = new ArrayList<>();
         Date now = new Date();
 
         for (ChapterBatchCreateRequestDTO.ChapterData data : req.getChapters()) {
-            // Validate chapter number doesn't exist
-            if (chapterMapper.existsByNovelIdAndChapterNumber(req.getNovelId(), data.getChapterNumber())) {
-                throw new IllegalArgumentException("chapter number " + data.getChapterNumber() + " already exists");
+            chapters.add(toChapter(req.getNovelId(), data, now));
+        }
+
+        insertChapters(req.getNovelId(), chapters);
+        chapterNavigationIndex.invalidate(req.getNovelId());
+
+        // Update novel's chapter count and word count
+        StatisticsDelta delta = new StatisticsDelta();
+        chapters.forEach(chapter -> delta.add(chapter, 1));
+        applyStatisticsDelta(req.getNovelId(), delta);
+    }
+
+    /**
+     * Import chapters streamed as NDJSON, one chapter object per line; blank lines are skipped.
+     * Lines are validated and inserted in chunks as they are read, so the upload is never held
+     * in memory as a whole. Everything runs in one transaction: an invalid line or a chapter
+     * number that is already taken rolls back the whole import.
+     * @return number of chapters imported
+     */
+    @Transactional
+    public int importChapters(UUID userId, Integer novelId, Reader source) throws IOException {
+        // Validate novel exists and user is the author
+        checkAuthor(userId, novelId);
+
+        BufferedReader reader = new BufferedReader(source);
+        Set<Integer> chapterNumbers = new HashSet<>();
+        List<Chapter> chunk = new ArrayList<>(INSERT_BATCH_SIZE);
+        StatisticsDelta delta = new StatisticsDelta();
+        Date now = new Date();
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            ChapterBatchCreateRequestDTO.ChapterData data = parseChapterLine(line, lineNumber);
+            if (!chapterNumbers.add(data.getChapterNumber())) {
+                throw new IllegalArgumentException("line " + lineNumber + ": chapter number "
+                        + data.getChapterNumber() + " appears more than once");
+            }
+            if (chapterNumbers.size() > maxImportChapters) {
+                throw new IllegalArgumentException("cannot import more than " + maxImportChapters + " chapters at once");
             }
 
-            // Calculate word count if not provided
-            Integer wordCnt = data.getWordCnt();
-            if (wordCnt == null && data.getContent() != null && !data.getContent().trim().isEmpty()) {
-                wordCnt = data.getContent().trim().length();
+            Chapter chapter = toChapter(novelId, data, now);
+            chunk.add(chapter);
+            delta.add(chapter, 1);
+            if (chunk.size() == INSERT_BATCH_SIZE) {
+                insertChapters(novelId, chunk);
+                chunk = new ArrayList<>(INSERT_BATCH_SIZE);
             }
+        }
+        if (chapterNumbers.isEmpty()) {
+            throw new IllegalArgumentException("no chapters to import");
+        }
+        if (!chunk.isEmpty()) {
+            insertChapters(novelId, chunk);
+        }
 
-            Chapter chapter = new Chapter();
-            chapter.setUuid(UUID.randomUUID());
-            chapter.setNovelId(req.getNovelId());
-            chapter.setChapterNumber(data.getChapterNumber());
-            chapter.setTitle(data.getTitle());
-            chapter.setContent(data.getContent());
-            chapter.setWordCnt(wordCnt);
-            chapter.setIsPremium(data.getIsPremium() != null ? data.getIsPremium() : false);
-            chapter.setYuanCost(data.getYuanCost() != null ? data.getYuanCost() : 0.0f);
-            chapter.setViewCnt(0L);
-            chapter.setIsValid(data.getIsValid() != null ? data.getIsValid() : true);
-            chapter.setCreateTime(now);
-            chapter.setUpdateTime(now);
-            chapter.setPublishTime(data.getPublishTime() != null ? data.getPublishTime() : now);
+        chapterNavigationIndex.invalidate(novelId);
 
-            chapters.add(chapter);
-        }
+        // Update novel's chapter count and word count once for the whole import
+        applyStatisticsDelta(novelId, delta);
+        return chapterNumbers.size();
+    }
 
-        chapterMapper.batchInsert(chapters);
+    private void checkAuthor(UUID userId, Integer novelId) {
+        Novel novel = novelMapper.selectByPrimaryKey(novelId);
+        if (novel == null || novel.getStatus().equals(novelService.mapStatus(NovelStatus.ARCHIVED))) {
+            throw new ResourceNotFoundException("novel not found");
+        }
 
-        // Update novel's chapter count and word count
-        updateNovelStatistics(req.getNovelId());
+        if (!novel.getAuthorId().equals(userId)) {
+            throw new IllegalArgumentException("only the author can create chapters");
+        }
     }
 
-    public ChapterDetailResponseDTO getChapterByUuid(UUID uuid) {
-        Chapter chapter = chapterMapper.selectByUuid(uuid);
-        if (chapter == null) {
-            throw new ResourceNotFoundException("chapter not found");
+    private ChapterBatchCreateRequestDTO.ChapterData parseChapterLine(String line, int lineNumber) {
+        ChapterBatchCreateRequestDTO.ChapterData data;
+        try {
+            data = objectMapper.readValue(line, ChapterBatchCreateRequestDTO.ChapterData.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("line " + lineNumber + ": invalid chapter JSON");
+        }
+        if (data == null) {
+            throw new IllegalArgumentException("line " + lineNumber + ": invalid chapter JSON");
         }
 
-        // Check if chapter is valid
-        if (Boolean.FALSE.equals(chapter.getIsValid())) {
-            throw new ResourceNotFoundException("chapter not found");
+        Set<ConstraintViolation<ChapterBatchCreateRequestDTO.ChapterData>> violations = validator.validate(data);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            throw new IllegalArgumentException("line " + lineNumber + ": " + message);
         }
+        return data;
+    }
 
-        ChapterDetailResponseDTO response = toDetailResponse(chapter);
+    private Chapter toChapter(Integer novelId, ChapterBatchCreateRequestDTO.ChapterData data, Date now) {
+        // Calculate word count if not provided
+        Integer wordCnt = data.getWordCnt();
+        if (wordCnt == null && data.getContent() != null && !data.getContent().trim().isEmpty()) {
+            wordCnt = data.getContent().trim().length();
+        }
 
-        // Get navigation links
-        Chapter nextChapter = chapterMapper.selectNextChapter(chapter.getNovelId(), chapter.getChapterNumber());
-        Chapter prevChapter = chapterMapper.selectPreviousChapter(chapter.getNovelId(), chapter.getChapterNumber());
+        Chapter chapter = new Chapter();
+        chapter.setUuid(UUID.randomUUID());
+        chapter.setNovelId(novelId);
+        chapter.setChapterNumber(data.getChapterNumber());
+        chapter.setTitle(data.getTitle());
+        chapter.setContent(data.getContent());
+        chapter.setWordCnt(wordCnt);
+        chapter.setIsPremium(data.getIsPremium() != null ? data.getIsPremium() : false);
+        chapter.setYuanCost(data.getYuanCost() != null ? data.getYuanCost() : 0.0f);
+        chapter.setViewCnt(0L);
+        chapter.setIsValid(data.getIsValid() != null ? data.getIsValid() : true);
+        chapter.setCreateTime(now);
+        chapter.setUpdateTime(now);
+        chapter.setPublishTime(data.getPublishTime() != null ? data.getPublishTime() : now);
+        return chapter;
+    }
 
-        if (nextChapter != null) {
-            response.setNextChapterUuid(nextChapter.getUuid());
+    /**
+     * Check the chapter numbers against the novel with one query, then insert in multi-row chunks
+     */
+    private void insertChapters(Integer novelId, List<Chapter> chapters) {
+        Integer[] chapterNumbers = chapters.stream()
+                .map(Chapter::getChapterNumber)
+                .toArray(Integer[]::new);
+        List<Integer> existing = chapterMapper.selectExistingChapterNumbers(novelId, chapterNumbers);
+        if (!existing.isEmpty()) {
+            throw new IllegalArgumentException("chapter number " + Collections.min(existing) + " already exists");
         }
-        if (prevChapter != null) {
-            response.setPreviousChapterUuid(prevChapter.getUuid());
+
+        for (int from = 0; from < chapters.size(); from += INSERT_BATCH_SIZE) {
+            chapterMapper.batchInsert(chapters.subList(from, Math.min(from + INSERT_BATCH_SIZE, chapters.size())));
         }
+    }
 
-        return response;
+    public ChapterDetailResponseDTO getChapterByUuid(UUID uuid) {
+        return toReadableDetail(chapterMapper.selectMetaByUuid(uuid));
     }
 
     public ChapterDetailResponseDTO getChapterByNovelIdAndNumber(Integer novelId, Integer chapterNumber) {
-        Chapter chapter = chapterMapper.selectByNovelIdAndChapterNumber(novelId, chapterNumber);
-        if (chapter == null || Boolean.FALSE.equals(chapter.getIsValid())) {
-            throw new ResourceNotFoundException("chapter not found");
-        }
-        return getChapterByUuid(chapter.getUuid());
+        return toReadableDetail(chapterMapper.selectMetaByNovelIdAndChapterNumber(novelId, chapterNumber));
+    }
+
+    /**
+     * ETag of a readable chapter, looked up without loading its content so an unchanged
+     * chapter can be answered with 304
+     */
+    public ChapterVersionDTO getChapterVersion(UUID uuid) {
+        return toVersion(chapterMapper.selectVersionByUuid(uuid));
+    }
+
+    public ChapterVersionDTO getChapterVersion(Integer novelId, Integer chapterNumber) {
+        return toVersion(chapterMapper.selectVersionByNovelIdAndChapterNumber(novelId, chapterNumber));
     }
 
     public ChapterListResponseDTO getChaptersByNovelId(Integer novelId, Integer page, Integer pageSize, Boolean publishedOnly) {
@@ -230,71 +349,14 @@ public class ChapterService {
             throw new ResourceNotFoundException("novel not found");
         }
 
-        long totalChapters = chapterMapper.countByNovelId(novelId);
-        long publishedChapters = chapterMapper.countPublishedByNovelId(novelId);
-
-        List<Chapter> drafts = chapterMapper.selectDraftsByNovelId(novelId);
-        List<Chapter> scheduled = chapterMapper.selectScheduledByNovelId(novelId);
-
-        List<Chapter> allChapters = chapterMapper.selectByNovelId(novelId);
+        // One aggregate query instead of loading every chapter of the novel
+        ChapterStatisticsResponseDTO response = chapterMapper.selectStatisticsByNovelId(novelId);
+        response.setNovelId(novelId);
+        response.setFreeChapters(response.getTotalChapters() - response.getPremiumChapters());
 
-        long premiumChapters = allChapters.stream()
-                .filter(c -> Boolean.TRUE.equals(c.getIsPremium()))
-                .count();
-        long freeChapters = totalChapters - premiumChapters;
-
-        long totalWordCount = chapterMapper.sumWordCountByNovelId(novelId);
-        long totalViewCount = allChapters.stream()
-                .mapToLong(Chapter::getViewCnt)
-                .sum();
-
-        float totalRevenue = allChapters.stream()
-                .filter(c -> Boolean.TRUE.equals(c.getIsPremium()))
-                .map(c -> c.getYuanCost() * c.getViewCnt())
-                .reduce(0f, Float::sum);
-
-        Integer maxChapterNumber = chapterMapper.selectMaxChapterNumberByNovelId(novelId);
-
-        ChapterStatisticsResponseDTO response = new ChapterStatisticsResponseDTO(
-                novelId,
-                totalChapters,
-                publishedChapters,
-                (long) drafts.size(),
-                (long) scheduled.size(),
-                premiumChapters,
-                freeChapters,
-                totalWordCount,
-                totalViewCount,
-                totalRevenue,
-                maxChapterNumber
-        );
-
-        // Get latest chapter
-        if (!allChapters.isEmpty()) {
-            Chapter latest = allChapters.stream()
-                    .max(Comparator.comparing(Chapter::getPublishTime))
-                    .orElse(null);
-            if (latest != null) {
-                response.setLatestChapter(new ChapterStatisticsResponseDTO.ChapterSummary(
-                        latest.getChapterNumber(),
-                        latest.getTitle(),
-                        latest.getViewCnt()
-                ));
-            }
-        }
-
-        // Get most viewed chapter
-        if (!allChapters.isEmpty()) {
-            Chapter mostViewed = allChapters.stream()
-                    .max(Comparator.comparing(Chapter::getViewCnt))
-                    .orElse(null);
-            if (mostViewed != null) {
-                response.setMostViewedChapter(new ChapterStatisticsResponseDTO.ChapterSummary(
-                        mostViewed.getChapterNumber(),
-                        mostViewed.getTitle(),
-                        mostViewed.getViewCnt()
-                ));
-            }
+        if (response.getTotalChapters() > 0) {
+            response.setLatestChapter(chapterMapper.selectLatestChapterSummary(novelId));
+            response.setMostViewedChapter(chapterMapper.selectMostViewedChapterSummary(novelId));
         }
 
         return response;
@@ -314,6 +376,7 @@ public class ChapterService {
         }
 
         boolean hasChanges = false;
+        StatisticsDelta delta = new StatisticsDelta().add(existing, -1);
 
         // Update only provided fields
         if (req.getTitle() != null && !req.getTitle().trim().isEmpty()) {
@@ -368,13 +431,11 @@ public class ChapterService {
             existing.setUpdateTime(new Date());
             chapterMapper.updateByPrimaryKeySelective(existing);
 
-            // Update novel statistics if word count, content, isValid, or publishTime changed
-            // because these affect published chapter count
-            boolean shouldUpdateStats = (req.getWordCnt() != null || req.getContent() != null)
-                    || isValidChanged || publishTimeChanged;
-            if (shouldUpdateStats) {
-                updateNovelStatistics(existing.getNovelId());
+            if (isValidChanged || publishTimeChanged) {
+                chapterNavigationIndex.invalidate(existing.getNovelId());
             }
+            // Word count, isValid and publishTime feed the novel statistics
+            applyStatisticsDelta(existing.getNovelId(), delta.add(existing, 1));
         }
 
         return getChapterByUuid(req.getUuid());
@@ -393,6 +454,7 @@ public class ChapterService {
             throw new IllegalArgumentException("only the author can publish chapters");
         }
 
+        StatisticsDelta delta = new StatisticsDelta().add(chapter, -1);
         chapter.setIsValid(req.getIsValid());
         if (req.getPublishTime() != null) {
             chapter.setPublishTime(req.getPublishTime());
@@ -400,9 +462,10 @@ public class ChapterService {
         chapter.setUpdateTime(new Date());
 
         chapterMapper.updateByPrimaryKeySelective(chapter);
+        chapterNavigationIndex.invalidate(chapter.getNovelId());
         
         // Update novel statistics after publishing/unpublishing chapter
-        updateNovelStatistics(chapter.getNovelId());
+        applyStatisticsDelta(chapter.getNovelId(), delta.add(chapter, 1));
     }
 
     @Transactional
@@ -424,19 +487,25 @@ public class ChapterService {
 
         if (!ids.isEmpty()) {
             chapterMapper.updatePublishStatusByIds(ids, isValid);
-            
+            chapterNavigationIndex.invalidate(novelId);
+
             // Update novel statistics after batch publishing/unpublishing chapters
-            updateNovelStatistics(novelId);
+            StatisticsDelta delta = new StatisticsDelta();
+            for (Chapter chapter : chapters) {
+                delta.add(chapter, -1);
+                chapter.setIsValid(isValid);
+                delta.add(chapter, 1);
+            }
+            applyStatisticsDelta(novelId, delta);
         }
     }
 
-    @Transactional
     public void incrementViewCount(UUID uuid) {
-        Chapter chapter = chapterMapper.selectByUuid(uuid);
-        if (chapter == null || Boolean.FALSE.equals(chapter.getIsValid())) {
+        Integer chapterId = chapterMapper.selectValidIdByUuid(uuid);
+        if (chapterId == null) {
             throw new ResourceNotFoundException("chapter not found");
         }
-        chapterMapper.incrementViewCount(chapter.getId());
+        viewCountBuffer.recordChapterView(chapterId);
     }
 
     @Transactional
@@ -453,9 +522,10 @@ public class ChapterService {
         }
 
         chapterMapper.softDeleteByUuid(uuid);
+        chapterNavigationIndex.invalidate(chapter.getNovelId());
 
         // Update novel statistics
-        updateNovelStatistics(chapter.getNovelId());
+        applyStatisticsDelta(chapter.getNovelId(), new StatisticsDelta().add(chapter, -1));
     }
 
     @Transactional
@@ -471,32 +541,33 @@ public class ChapterService {
         }
 
         List<Chapter> chapters = chapterMapper.selectByNovelId(novelId);
+        StatisticsDelta delta = new StatisticsDelta();
         for (Chapter chapter : chapters) {
             chapterMapper.softDeleteByPrimaryKey(chapter.getId());
+            delta.add(chapter, -1);
         }
+        chapterNavigationIndex.invalidate(novelId);
 
         // Update novel statistics
-        updateNovelStatistics(novelId);
+        applyStatisticsDelta(novelId, delta);
     }
 
     public UUID getNextChapterUuid(UUID currentChapterUuid) {
-        Chapter current = chapterMapper.selectByUuid(currentChapterUuid);
+        Chapter current = chapterMapper.selectNavigationByUuid(currentChapterUuid);
         if (current == null) {
             return null;
         }
 
-        Chapter next = chapterMapper.selectNextChapter(current.getNovelId(), current.getChapterNumber());
-        return next != null ? next.getUuid() : null;
+        return chapterNavigationIndex.getNextChapterUuid(current.getNovelId(), current.getChapterNumber());
     }
 
     public UUID getPreviousChapterUuid(UUID currentChapterUuid) {
-        Chapter current = chapterMapper.selectByUuid(currentChapterUuid);
+        Chapter current = chapterMapper.selectNavigationByUuid(currentChapterUuid);
         if (current == null) {
             return null;
         }
 
-        Chapter prev = chapterMapper.selectPreviousChapter(current.getNovelId(), current.getChapterNumber());
-        return prev != null ? prev.getUuid() : null;
+        return chapterNavigationIndex.getPreviousChapterUuid(current.getNovelId(), current.getChapterNumber());
     }
 
     public boolean chapterExists(Integer novelId, Integer chapterNumber) {
@@ -509,25 +580,12 @@ public class ChapterService {
     }
 
     /**
-     * Update novel's chapter count and word count statistics
-     * Called after chapter creation, update, or deletion
+     * Recount novel's chapter count and word count statistics from its chapters.
+     * Chapter writes keep them current by delta; this is the full recount behind that.
      */
     @Transactional
     public void updateNovelStatistics(Integer novelId) {
-        Novel novel = novelMapper.selectByPrimaryKey(novelId);
-        if (novel == null) {
-            return;
-        }
-
-        // Count only valid (non-deleted) chapters
-        long chapterCount = chapterMapper.countPublishedByNovelId(novelId);
-        long wordCount = chapterMapper.sumWordCountByNovelId(novelId);
-
-        novel.setChapterCnt((int) chapterCount);
-        novel.setWordCnt(wordCount);
-        novel.setUpdateTime(new Date());
-
-        novelMapper.updateByPrimaryKeySelective(novel);
+        novelStatisticsReconciler.reconcile(novelId);
     }
 
     /**
@@ -541,9 +599,10 @@ public class ChapterService {
         }
 
         chapterMapper.softDeleteByUuid(uuid);
+        chapterNavigationIndex.invalidate(chapter.getNovelId());
 
         // Update novel statistics
-        updateNovelStatistics(chapter.getNovelId());
+        applyStatisticsDelta(chapter.getNovelId(), new StatisticsDelta().add(chapter, -1));
     }
 
     /**
@@ -558,15 +617,64 @@ public class ChapterService {
         }
 
         List<Chapter> chapters = chapterMapper.selectByNovelId(novelId);
+        StatisticsDelta delta = new StatisticsDelta();
         for (Chapter chapter : chapters) {
             chapterMapper.softDeleteByPrimaryKey(chapter.getId());
+            delta.add(chapter, -1);
         }
+        chapterNavigationIndex.invalidate(novelId);
 
         // Update novel statistics
-        updateNovelStatistics(novelId);
+        applyStatisticsDelta(novelId, delta);
     }
 
     // Helper methods
+    private void applyStatisticsDelta(Integer novelId, StatisticsDelta delta) {
+        if (delta.chapters == 0 && delta.words == 0) {
+            return;
+        }
+        novelMapper.applyStatisticsDelta(novelId, delta.chapters, delta.words);
+        novelCache.invalidate(novelId);
+        novelStatisticsReconciler.markDirty(novelId);
+    }
+
+    private ChapterDetailResponseDTO toReadableDetail(Chapter chapter) {
+        if (chapter == null || Boolean.FALSE.equals(chapter.getIsValid())) {
+            throw new ResourceNotFoundException("chapter not found");
+        }
+
+        chapterContentCache.loadContent(chapter);
+        ChapterDetailResponseDTO response = toDetailResponse(chapter);
+
+        // Get navigation links from the per-novel index, without loading neighbouring chapters
+        response.setNextChapterUuid(
+                chapterNavigationIndex.getNextChapterUuid(chapter.getNovelId(), chapter.getChapterNumber()));
+        response.setPreviousChapterUuid(
+                chapterNavigationIndex.getPreviousChapterUuid(chapter.getNovelId(), chapter.getChapterNumber()));
+
+        // most readers continue with the next chapter
+        chapterContentCache.prefetch(response.getNextChapterUuid());
+
+        return response;
+    }
+
+    private ChapterVersionDTO toVersion(Chapter chapter) {
+        if (chapter == null || Boolean.FALSE.equals(chapter.getIsValid())) {
+            throw new ResourceNotFoundException("chapter not found");
+        }
+
+        // Every edit bumps update_time; the navigation links are part of the body too,
+        // so a neighbour being published changes the tag. View counts are left out,
+        // hence a weak tag.
+        UUID next = chapterNavigationIndex.getNextChapterUuid(chapter.getNovelId(), chapter.getChapterNumber());
+        UUID previous = chapterNavigationIndex.getPreviousChapterUuid(chapter.getNovelId(), chapter.getChapterNumber());
+        long updated = chapter.getUpdateTime() != null ? chapter.getUpdateTime().getTime() : 0L;
+        String etag = "W/\"" + chapter.getId()
+                + "-" + Long.toHexString(updated)
+                + "-" + Integer.toHexString(Objects.hash(previous, next)) + "\"";
+        return new ChapterVersionDTO(chapter.getUuid(), etag, Boolean.TRUE.equals(chapter.getIsPremium()));
+    }
+
     private ChapterDetailResponseDTO toDetailResponse(Chapter chapter) {
         ChapterDetailResponseDTO dto = new ChapterDetailResponseDTO();
         dto.setId(chapter.getId()); 
@@ -604,4 +712,27 @@ public class ChapterService {
                 chapter.getPublishTime()
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Change to novel.chapter_cnt (published chapters) and word_cnt (words of valid chapters),
+     * built by removing a chapter's old state and adding its new one
+     */
+    private static final class StatisticsDelta {
+        private final long now = System.currentTimeMillis();
+        private int chapters;
+        private long words;
+
+        StatisticsDelta add(Chapter chapter, int sign) {
+            if (!Boolean.TRUE.equals(chapter.getIsValid())) {
+                return this;
+            }
+            if (chapter.getWordCnt() != null) {
+                words += (long) sign * chapter.getWordCnt();
+            }
+            if (chapter.getPublishTime() != null && chapter.getPublishTime().getTime() <= now) {
+                chapters += sign;
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.CommentLikeMapper;
+import com.yushan.backend.dao.CommentMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Comment likes. The comment_like table records who liked what, so a user's repeated likes
+ * are no-ops and "liked by me" is a single lookup per page.
+ * comment.like_cnt is not touched on the request path: accepted likes and unlikes are summed
+ * per comment in memory and applied in batched updates every flush interval, and responses
+ * add the pending change in the meantime. On a crash at most one flush interval of count
+ * changes is lost, the like rows themselves are durable; a failed flush is retried.
+ */
+@Slf4j
+@Service
+public class CommentLikeService {
+
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final CommentLikeMapper commentLikeMapper;
+    private final CommentMapper commentMapper;
+
+    // comment id -> like count change not yet written, entries at zero are removed
+    private final Map<Integer, Long> pendingDeltas = new ConcurrentHashMap<>();
+
+    private final Counter likesAdded;
+    private final Counter likesRemoved;
+
+    public CommentLikeService(CommentLikeMapper commentLikeMapper, CommentMapper commentMapper,
+                              MeterRegistry meterRegistry) {
+        this.commentLikeMapper = commentLikeMapper;
+        this.commentMapper = commentMapper;
+
+        this.likesAdded = Counter.builder("comment_like.changes").tag("type", "like")
+                .register(meterRegistry);
+        this.likesRemoved = Counter.builder("comment_like.changes").tag("type", "unlike")
+                .register(meterRegistry);
+        meterRegistry.gauge("comment_like.pending.ids", pendingDeltas, Map::size);
+    }
+
+    /**
+     * @return true if the like was added, false if the user had already liked the comment
+     */
+    public boolean like(Integer commentId, UUID userId) {
+        if (commentLikeMapper.insertIgnore(commentId, userId) == 0) {
+            return false;
+        }
+        addDelta(commentId, 1);
+        likesAdded.increment();
+        return true;
+    }
+
+    /**
+     * @return true if the like was removed, false if the user had not liked the comment
+     */
+    public boolean unlike(Integer commentId, UUID userId) {
+        if (commentLikeMapper.delete(commentId, userId) == 0) {
+            return false;
+        }
+        addDelta(commentId, -1);
+        likesRemoved.increment();
+        return true;
+    }
+
+    /**
+     * The comments among commentIds that the user has liked, one query for the whole page
+     */
+    public Set<Integer> getLikedCommentIds(UUID userId, Collection<Integer> commentIds) {
+        if (userId == null || commentIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(commentLikeMapper.selectLikedCommentIds(userId, commentIds));
+    }
+
+    /**
+     * Like count change accepted for the comment but not yet written to like_cnt
+     */
+    public long getPendingDelta(Integer commentId) {
+        return pendingDeltas.getOrDefault(commentId, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${app.comment-like.flush-interval:5000}")
+    public void flush() {
+        // remove() is atomic per key, so a change racing with the drain lands in a new entry
+        Map<Integer, Long> deltas = new LinkedHashMap<>();
+        for (Integer commentId : pendingDeltas.keySet()) {
+            Long delta = pendingDeltas.remove(commentId);
+            if (delta != null && delta != 0) {
+                deltas.put(commentId, delta);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Integer> ids = new ArrayList<>(deltas.keySet());
+        for (int from = 0; from < ids.size(); from += FLUSH_BATCH_SIZE) {
+            Map<Integer, Long> batch = new LinkedHashMap<>();
+            for (Integer commentId : ids.subList(from, Math.min(from + FLUSH_BATCH_SIZE, ids.size()))) {
+                batch.put(commentId, deltas.get(commentId));
+            }
+            try {
+                commentMapper.batchIncrementLikeCount(batch);
+            } catch (Exception e) {
+                log.error("Failed to flush comment like counts, will retry: {}", e.getMessage());
+                for (Integer commentId : ids.subList(from, ids.size())) {
+                    addDelta(commentId, deltas.get(commentId));
+                }
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void addDelta(Integer commentId, long delta) {
+        pendingDeltas.merge(commentId, delta, (current, added) -> current + added == 0 ? null : current + added);
+    }
+}
@@ -6,15 +6,24 @@ import com.yushan.backend.dto.*;
 import com.yushan.backend.entity.Chapter;
 import com.yushan.backend.entity.Comment;
 import com.yushan.backend.exception.ResourceNotFoundException;
+import com.yushan.backend.util.KeysetCursor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.IntSupplier;
 
+@Slf4j
 @Service
 public class CommentService {
 
@@ -27,10 +36,18 @@ public class CommentService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private DisplayNameCache displayNameCache;
+
+    @Autowired
+    private CommentLikeService commentLikeService;
+
     @Autowired
     private EXPService expService;
 
     private static final Float COMMENT_EXP = 5f;
+    // rows touched per moderation statement, bounds lock time and statement size
+    private static final int MODERATION_BATCH_SIZE = 1000;
 
     /**
      * Retrieve the comment entity by id or throw if it does not exist.
@@ -155,6 +172,17 @@ public class CommentService {
      */
     public CommentListResponseDTO getCommentsByChapter(Integer chapterId, UUID currentUserId,
                                                        int page, int size, String sort, String order) {
+        return getCommentsByChapter(chapterId, currentUserId, page, size, sort, order, null, true);
+    }
+
+    /**
+     * Get comments for a specific chapter, by page or by cursor
+     * @param cursor null for page mode, "" for the first cursor page
+     * @param withCount whether to compute the total count in cursor mode
+     */
+    public CommentListResponseDTO getCommentsByChapter(Integer chapterId, UUID currentUserId,
+                                                       int page, int size, String sort, String order,
+                                                       String cursor, boolean withCount) {
         // Validate chapter exists
         Chapter chapter = chapterMapper.selectByPrimaryKey(chapterId);
         if (chapter == null || Boolean.FALSE.equals(chapter.getIsValid())) {
@@ -176,24 +204,11 @@ public class CommentService {
                 .order(order)
                 .page(page)
                 .size(size)
+                .cursor(cursor)
+                .withCount(withCount)
                 .build();
 
-        List<Comment> comments = commentMapper.selectCommentsWithPagination(request);
-        long totalCount = commentMapper.countComments(request);
-
-        List<CommentResponseDTO> commentDTOs = comments.stream()
-                .map(c -> toResponseDTO(c, currentUserId))
-                .collect(Collectors.toList());
-
-        int totalPages = (int) Math.ceil((double) totalCount / size);
-
-        return CommentListResponseDTO.builder()
-                .comments(commentDTOs)
-                .totalCount(totalCount)
-                .totalPages(totalPages)
-                .currentPage(page)
-                .pageSize(size)
-                .build();
+        return listComments(request, currentUserId);
     }
 
     /**
@@ -234,9 +249,7 @@ public class CommentService {
                 request.getSearch()
         );
 
-        List<CommentResponseDTO> commentDTOs = comments.stream()
-                .map(c -> toResponseDTO(c, currentUserId))
-                .collect(Collectors.toList());
+        List<CommentResponseDTO> commentDTOs = toResponseDTOs(comments, currentUserId);
 
         int totalPages = (int) Math.ceil((double) totalCount / request.getSize());
 
@@ -264,14 +277,26 @@ public class CommentService {
             request.setOrder("desc");
         }
 
+        return listComments(request, currentUserId);
+    }
+
+    /**
+     * Run a validated comment search by page, or by cursor when the request has one
+     */
+    private CommentListResponseDTO listComments(CommentSearchRequestDTO request, UUID currentUserId) {
+        if (request.getCursor() != null) {
+            return listCommentsByCursor(request, currentUserId);
+        }
+
         List<Comment> comments = commentMapper.selectCommentsWithPagination(request);
         long totalCount = commentMapper.countComments(request);
 
-        List<CommentResponseDTO> commentDTOs = comments.stream()
-                .map(c -> toResponseDTO(c, currentUserId))
-                .collect(Collectors.toList());
+        List<CommentResponseDTO> commentDTOs = toResponseDTOs(comments, currentUserId);
 
         int totalPages = (int) Math.ceil((double) totalCount / request.getSize());
+        String nextCursor = request.getPage() < totalPages - 1 && !comments.isEmpty()
+                ? commentCursor(request, comments.get(comments.size() - 1))
+                : null;
 
         return CommentListResponseDTO.builder()
                 .comments(commentDTOs)
@@ -279,37 +304,75 @@ public class CommentService {
                 .totalPages(totalPages)
                 .currentPage(request.getPage())
                 .pageSize(request.getSize())
+                .nextCursor(nextCursor)
                 .build();
     }
 
+    /**
+     * Keyset pagination: seeks past the cursor row instead of skipping rows,
+     * so every page costs the same. totalCount is -1 when the count was skipped.
+     */
+    private CommentListResponseDTO listCommentsByCursor(CommentSearchRequestDTO request, UUID currentUserId) {
+        request.setOrder(request.getOrder().toLowerCase());
+        long totalCount = request.isWithCount() ? commentMapper.countComments(request) : -1;
+
+        if (!request.getCursor().isEmpty()) {
+            KeysetCursor cursor = KeysetCursor.decode(request.getCursor(), commentCursorSort(request));
+            request.setCursorId(cursor.getId());
+            request.setCursorValue("likeCnt".equals(request.getSort()) ? cursor.longValue() : cursor.timestampValue());
+        }
+
+        List<Comment> comments = commentMapper.selectCommentsByCursor(request);
+        String nextCursor = null;
+        if (comments.size() > request.getSize()) {
+            comments = comments.subList(0, request.getSize());
+            nextCursor = commentCursor(request, comments.get(comments.size() - 1));
+        }
+
+        List<CommentResponseDTO> commentDTOs = toResponseDTOs(comments, currentUserId);
+
+        return CommentListResponseDTO.builder()
+                .comments(commentDTOs)
+                .totalCount(totalCount)
+                .totalPages(totalCount < 0 ? -1 : (int) Math.ceil((double) totalCount / request.getSize()))
+                .pageSize(request.getSize())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private String commentCursor(CommentSearchRequestDTO request, Comment last) {
+        Object sortValue = "likeCnt".equals(request.getSort())
+                ? (last.getLikeCnt() != null ? last.getLikeCnt().longValue() : 0L)
+                : last.getCreateTime();
+        return KeysetCursor.of(commentCursorSort(request), sortValue, last.getId()).encode();
+    }
+
+    private String commentCursorSort(CommentSearchRequestDTO request) {
+        String sort = "likeCnt".equals(request.getSort()) ? "likeCnt" : "createTime";
+        return sort + " " + request.getOrder().toLowerCase();
+    }
+
     /**
      * Get user's comments
      */
     public List<CommentResponseDTO> getUserComments(UUID userId) {
         List<Comment> comments = commentMapper.selectByUserId(userId);
-        return comments.stream()
-                .map(c -> toResponseDTO(c, userId))
-                .collect(Collectors.toList());
+        return toResponseDTOs(comments, userId);
     }
 
     /**
-     * Toggle like on a comment (increment like count)
-     * In a real application, you would need a separate table to track user likes
+     * Like or unlike a comment. Liking twice or unliking a comment the user has not liked changes nothing.
      */
-    @Transactional
     public CommentResponseDTO toggleLike(Integer commentId, UUID currentUserId, boolean isLiking) {
         Comment comment = commentMapper.selectByPrimaryKey(commentId);
         if (comment == null) {
             throw new ResourceNotFoundException("Comment not found");
         }
 
-        // Increment or decrement like count
-        int increment = isLiking ? 1 : -1;
-        int result = commentMapper.updateLikeCount(commentId, increment);
-
-        if (result > 0) {
-            // Fetch updated comment
-            comment = commentMapper.selectByPrimaryKey(commentId);
+        if (isLiking) {
+            commentLikeService.like(commentId, currentUserId);
+        } else {
+            commentLikeService.unlike(commentId, currentUserId);
         }
 
         return toResponseDTO(comment, currentUserId);
@@ -374,6 +437,7 @@ public class CommentService {
 
     /**
      * Batch delete comments (Admin only)
+     * Ids that do not exist are skipped; returns the number actually deleted
      */
     @Transactional
     public int batchDeleteComments(CommentBatchDeleteRequestDTO request, boolean isAdmin) {
@@ -386,14 +450,8 @@ public class CommentService {
         }
 
         int deletedCount = 0;
-        for (Integer commentId : request.getCommentIds()) {
-            Comment comment = commentMapper.selectByPrimaryKey(commentId);
-            if (comment != null) {
-                int result = commentMapper.deleteByPrimaryKey(commentId);
-                if (result > 0) {
-                    deletedCount++;
-                }
-            }
+        for (Integer[] ids : chunkIds(request.getCommentIds())) {
+            deletedCount += commentMapper.deleteByIds(ids).size();
         }
 
         return deletedCount;
@@ -403,36 +461,57 @@ public class CommentService {
      * Convert Comment entity to CommentResponseDTO
      */
     private CommentResponseDTO toResponseDTO(Comment comment, UUID currentUserId) {
-        CommentResponseDTO dto = CommentResponseDTO.builder()
-                .id(comment.getId())
-                .userId(comment.getUserId())
-                .chapterId(comment.getChapterId())
-                .content(comment.getContent())
-                .likeCnt(comment.getLikeCnt())
-                .isSpoiler(comment.getIsSpoiler())
-                .createTime(comment.getCreateTime())
-                .updateTime(comment.getUpdateTime())
-                .isOwnComment(currentUserId != null && currentUserId.equals(comment.getUserId()))
-                .build();
+        return toResponseDTOs(Collections.singletonList(comment), currentUserId).get(0);
+    }
 
-        // Get username from UserService
-        try {
-            String username = userService.getUsernameById(comment.getUserId());
-            dto.setUsername(username);
-        } catch (Exception e) {
-            dto.setUsername(null);
+    /**
+     * Convert a page of comments, resolving usernames, chapter titles and the current user's likes
+     * for the whole page at once. Like counts include changes not yet flushed to like_cnt.
+     */
+    private List<CommentResponseDTO> toResponseDTOs(List<Comment> comments, UUID currentUserId) {
+        if (comments.isEmpty()) {
+            return new ArrayList<>();
         }
-
-        // Get chapter title from ChapterMapper
-        Chapter chapter = chapterMapper.selectByPrimaryKey(comment.getChapterId());
-        if (chapter != null) {
-            dto.setChapterTitle(chapter.getTitle());
-        } else {
-            dto.setChapterTitle("Chapter not found");
+        Set<UUID> userIds = new HashSet<>();
+        Set<Integer> chapterIds = new HashSet<>();
+        Set<Integer> commentIds = new HashSet<>();
+        for (Comment comment : comments) {
+            userIds.add(comment.getUserId());
+            chapterIds.add(comment.getChapterId());
+            commentIds.add(comment.getId());
         }
 
-        return dto;
+        Map<UUID, String> usernames;
+        try {
+            usernames = displayNameCache.getUsernames(userIds);
+        } catch (Exception e) {
+            usernames = Collections.emptyMap();
+        }
+        Map<Integer, String> chapterTitles = displayNameCache.getChapterTitles(chapterIds);
+        Set<Integer> likedIds = commentLikeService.getLikedCommentIds(currentUserId, commentIds);
+
+        List<CommentResponseDTO> dtos = new ArrayList<>(comments.size());
+        for (Comment comment : comments) {
+            long likeCnt = (comment.getLikeCnt() != null ? comment.getLikeCnt() : 0)
+                    + commentLikeService.getPendingDelta(comment.getId());
+            dtos.add(CommentResponseDTO.builder()
+                    .id(comment.getId())
+                    .userId(comment.getUserId())
+                    .username(usernames.get(comment.getUserId()))
+                    .chapterId(comment.getChapterId())
+                    .chapterTitle(chapterTitles.getOrDefault(comment.getChapterId(), "Chapter not found"))
+                    .content(comment.getContent())
+                    .likeCnt((int) Math.max(0, likeCnt))
+                    .isSpoiler(comment.getIsSpoiler())
+                    .createTime(comment.getCreateTime())
+                    .updateTime(comment.getUpdateTime())
+                    .isOwnComment(currentUserId != null && currentUserId.equals(comment.getUserId()))
+                    .likedByCurrentUser(likedIds.contains(comment.getId()))
+                    .build());
+        }
+        return dtos;
     }
+
     /**
      * Get moderation statistics for admin dashboard
      */
@@ -491,42 +570,24 @@ public class CommentService {
 
     /**
      * Delete all comments by a specific user (admin moderation)
+     * Runs in chunks that each commit on their own, so a large sweep never holds one long
+     * transaction; if it fails midway, calling it again deletes the rest.
      */
-    @Transactional
     public int deleteAllUserComments(UUID userId) {
-        List<Comment> userComments = commentMapper.selectByUserId(userId);
-        int deletedCount = 0;
-
-        for (Comment comment : userComments) {
-            int result = commentMapper.deleteByPrimaryKey(comment.getId());
-            if (result > 0) {
-                deletedCount++;
-            }
-        }
-
-        return deletedCount;
+        return sweep("user " + userId, () -> commentMapper.deleteByUserIdLimited(userId, MODERATION_BATCH_SIZE));
     }
 
     /**
      * Delete all comments for a specific chapter (admin cleanup)
+     * Chunked like {@link #deleteAllUserComments(UUID)}
      */
-    @Transactional
     public int deleteAllChapterComments(Integer chapterId) {
-        List<Comment> chapterComments = commentMapper.selectByChapterId(chapterId);
-        int deletedCount = 0;
-
-        for (Comment comment : chapterComments) {
-            int result = commentMapper.deleteByPrimaryKey(comment.getId());
-            if (result > 0) {
-                deletedCount++;
-            }
-        }
-
-        return deletedCount;
+        return sweep("chapter " + chapterId, () -> commentMapper.deleteByChapterIdLimited(chapterId, MODERATION_BATCH_SIZE));
     }
 
     /**
      * Bulk update spoiler status for multiple comments (admin moderation)
+     * Ids that do not exist are skipped; returns the number actually updated
      */
     @Transactional
     public int bulkUpdateSpoilerStatus(CommentBulkSpoilerUpdateRequestDTO request) {
@@ -535,19 +596,43 @@ public class CommentService {
         }
 
         int updatedCount = 0;
+        for (Integer[] ids : chunkIds(request.getCommentIds())) {
+            updatedCount += commentMapper.updateSpoilerByIds(ids, request.getIsSpoiler());
+        }
 
-        for (Integer commentId : request.getCommentIds()) {
-            Comment comment = commentMapper.selectByPrimaryKey(commentId);
-            if (comment != null) {
-                comment.setIsSpoiler(request.getIsSpoiler());
-                comment.setUpdateTime(new Date());
-                int result = commentMapper.updateByPrimaryKeySelective(comment);
-                if (result > 0) {
-                    updatedCount++;
-                }
+        return updatedCount;
+    }
+
+    /**
+     * Repeat a bounded delete until it comes back short, logging progress past the first chunk
+     */
+    private int sweep(String target, IntSupplier deleteChunk) {
+        int deletedCount = 0;
+        int deleted;
+        do {
+            deleted = deleteChunk.getAsInt();
+            deletedCount += deleted;
+            if (deleted == MODERATION_BATCH_SIZE) {
+                log.info("Deleted {} comments of {} so far", deletedCount, target);
             }
+        } while (deleted == MODERATION_BATCH_SIZE);
+
+        if (deletedCount > MODERATION_BATCH_SIZE) {
+            log.info("Deleted {} comments of {}", deletedCount, target);
         }
+        return deletedCount;
+    }
 
-        return updatedCount;
+    /**
+     * Distinct non-null ids split into arrays of at most MODERATION_BATCH_SIZE
+     */
+    private static List<Integer[]> chunkIds(List<Integer> commentIds) {
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(commentIds));
+        ids.remove(null);
+        List<Integer[]> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += MODERATION_BATCH_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + MODERATION_BATCH_SIZE, ids.size())).toArray(new Integer[0]));
+        }
+        return chunks;
     }
-}
\ No newline at end of file
+}
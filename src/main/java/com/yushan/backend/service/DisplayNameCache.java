@@ -0,0 +1,121 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.ChapterMapper;
+import com.yushan.backend.dao.UserMapper;
+import com.yushan.backend.entity.Chapter;
+import com.yushan.backend.entity.User;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Short-lived local cache of the usernames and chapter titles shown next to comments.
+ * Lookups take a whole page of ids; the ones not cached are loaded with a single query per kind,
+ * so enriching a page costs at most two queries however many authors and chapters it spans.
+ * Renames show up after at most one TTL. Ids that do not exist are left out of the result.
+ */
+@Component
+public class DisplayNameCache {
+
+    private static final int MAX_ENTRIES = 10000;
+    private static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final UserMapper userMapper;
+    private final ChapterMapper chapterMapper;
+
+    private final Tier<UUID> usernames = new Tier<>();
+    private final Tier<Integer> chapterTitles = new Tier<>();
+
+    public DisplayNameCache(UserMapper userMapper, ChapterMapper chapterMapper) {
+        this.userMapper = userMapper;
+        this.chapterMapper = chapterMapper;
+    }
+
+    /**
+     * @return user id -> username for the users that exist
+     */
+    public Map<UUID, String> getUsernames(Collection<UUID> userIds) {
+        return usernames.getAll(userIds, missing -> {
+            Map<UUID, String> loaded = new HashMap<>();
+            for (User user : userMapper.selectByUuids(missing)) {
+                if (user.getUsername() != null) {
+                    loaded.put(user.getUuid(), user.getUsername());
+                }
+            }
+            return loaded;
+        });
+    }
+
+    /**
+     * @return chapter id -> title for the chapters that exist
+     */
+    public Map<Integer, String> getChapterTitles(Collection<Integer> chapterIds) {
+        return chapterTitles.getAll(chapterIds, missing -> {
+            Map<Integer, String> loaded = new HashMap<>();
+            for (Chapter chapter : chapterMapper.selectTitlesByIds(missing)) {
+                if (chapter.getTitle() != null) {
+                    loaded.put(chapter.getId(), chapter.getTitle());
+                }
+            }
+            return loaded;
+        });
+    }
+
+    private static final class Tier<K> {
+        // access-ordered LRU, guarded by itself
+        private final Map<K, Entry> local = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+
+        Map<K, String> getAll(Collection<K> keys, Function<List<K>, Map<K, String>> loader) {
+            Map<K, String> result = new HashMap<>();
+            List<K> missing = new ArrayList<>();
+            long now = System.nanoTime();
+            synchronized (local) {
+                for (K key : new LinkedHashSet<>(keys)) {
+                    if (key == null) {
+                        continue;
+                    }
+                    Entry cached = local.get(key);
+                    if (cached != null && now - cached.loadedAt < TTL_NANOS) {
+                        result.put(key, cached.value);
+                    } else {
+                        missing.add(key);
+                    }
+                }
+            }
+            if (missing.isEmpty()) {
+                return result;
+            }
+
+            Map<K, String> loaded = loader.apply(missing);
+            synchronized (local) {
+                loaded.forEach((key, value) -> local.put(key, new Entry(value, now)));
+            }
+            result.putAll(loaded);
+            return result;
+        }
+    }
+
+    private static final class Entry {
+        private final String value;
+        private final long loadedAt;
+
+        Entry(String value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -13,20 +13,24 @@ public class EXPService{
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private RankingUpdateService rankingUpdateService;
+
     // exp threshold
     private static final int[] THRESHOLDS = {100, 500, 2000, 5000};
 
     /**
-     * add user exp with update sql
+     * add user exp with a single atomic update, level is recomputed in sql
+     * with the same thresholds as checkLevel
      * @param uuid
      * @param addExp
      */
     public void addExp(UUID uuid, Float addExp) {
-        User user = userMapper.selectByPrimaryKey(uuid);
-        Float newExp = user.getExp() + addExp;
-        user.setExp(newExp);
-        user.setLevel(checkLevel(newExp));
-        userMapper.updateByPrimaryKey(user);
+        User updated = userMapper.addExp(uuid, addExp, THRESHOLDS, THRESHOLDS.length + 1);
+        if (updated == null) {
+            return;
+        }
+        rankingUpdateService.incrementUserExp(updated, addExp);
     }
 
     /**
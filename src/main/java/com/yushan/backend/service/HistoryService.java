@@ -12,16 +12,20 @@ import com.yushan.backend.entity.History;
 import com.yushan.backend.entity.Novel;
 import com.yushan.backend.exception.ResourceNotFoundException;
 import com.yushan.backend.exception.ValidationException;
+import com.yushan.backend.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 public class HistoryService {
 
+    private static final String HISTORY_CURSOR_SORT = "updateTime desc";
+
     @Autowired
     private HistoryMapper historyMapper;
 
@@ -80,6 +84,18 @@ public class HistoryService {
      */
     @Transactional(readOnly = true)
     public PageResponseDTO<HistoryResponseDTO> getUserHistory(UUID userId, int page, int size) {
+        return getUserHistory(userId, page, size, null, true);
+    }
+
+    /**
+     * Get the user's history, by page number or, when cursor is not null, by cursor
+     * ("" for the first page). withCount=false skips the total count in cursor mode.
+     */
+    public PageResponseDTO<HistoryResponseDTO> getUserHistory(UUID userId, int page, int size, String cursor, boolean withCount) {
+        if (cursor != null) {
+            return getUserHistoryByCursor(userId, size, cursor, withCount);
+        }
+
         int offset = page * size;
         long totalElements = historyMapper.countByUserId(userId);
         List<History> histories = historyMapper.selectByUserIdWithPagination(userId, offset, size);
@@ -88,6 +104,41 @@ public class HistoryService {
             return new PageResponseDTO<>(Collections.emptyList(), totalElements, page, size);
         }
 
+        PageResponseDTO<HistoryResponseDTO> result = new PageResponseDTO<>(toRichDTOs(userId, histories), totalElements, page, size);
+        if (result.isHasNext()) {
+            result.setNextCursor(historyCursor(histories.get(histories.size() - 1)));
+        }
+        return result;
+    }
+
+    private PageResponseDTO<HistoryResponseDTO> getUserHistoryByCursor(UUID userId, int size, String cursor, boolean withCount) {
+        long totalElements = withCount ? historyMapper.countByUserId(userId) : -1;
+
+        boolean first = cursor.isEmpty();
+        Integer cursorId = null;
+        Timestamp cursorTime = null;
+        if (!first) {
+            KeysetCursor decoded = KeysetCursor.decode(cursor, HISTORY_CURSOR_SORT);
+            cursorId = decoded.getId();
+            cursorTime = decoded.timestampValue();
+        }
+
+        List<History> histories = historyMapper.selectByUserIdByCursor(userId, cursorId, cursorTime, size);
+        String nextCursor = null;
+        if (histories.size() > size) {
+            histories = histories.subList(0, size);
+            nextCursor = historyCursor(histories.get(histories.size() - 1));
+        }
+
+        List<HistoryResponseDTO> dtos = histories.isEmpty() ? Collections.emptyList() : toRichDTOs(userId, histories);
+        return PageResponseDTO.ofCursor(dtos, totalElements, size, first, nextCursor);
+    }
+
+    private String historyCursor(History last) {
+        return KeysetCursor.of(HISTORY_CURSOR_SORT, last.getUpdateTime(), last.getId()).encode();
+    }
+
+    private List<HistoryResponseDTO> toRichDTOs(UUID userId, List<History> histories) {
         List<Integer> novelIds = histories.stream().map(History::getNovelId).distinct().collect(Collectors.toList());
         List<Integer> chapterIds = histories.stream().map(History::getChapterId).distinct().collect(Collectors.toList());
 
@@ -99,11 +150,9 @@ public class HistoryService {
 
         Map<Integer, Boolean> libraryStatusMap = libraryService.checkNovelsInLibrary(userId, novelIds);
 
-        List<HistoryResponseDTO> dtos = histories.stream()
+        return histories.stream()
                 .map(history -> convertToRichDTO(history, novelMap, chapterMap, categoryMap, libraryStatusMap))
                 .collect(Collectors.toList());
-
-        return new PageResponseDTO<>(dtos, totalElements, page, size);
     }
 
     /**
@@ -0,0 +1,137 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.NovelMapper;
+import com.yushan.backend.dao.UserMapper;
+import com.yushan.backend.entity.Novel;
+import com.yushan.backend.entity.User;
+import com.yushan.backend.security.UserDetailsCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Moves cover images and avatars that are still stored inline as base64 data URLs
+ * into the image store and replaces them with their short URL, row by row in primary key order.
+ * Only enable it once app.image-store.root is on storage that every node shares and that outlives
+ * the container, otherwise the rewritten rows point at images other nodes cannot serve.
+ */
+@Slf4j
+@Service
+public class ImageBackfillService {
+
+    private static final int BATCH_SIZE = 20;
+
+    @Autowired
+    private NovelMapper novelMapper;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private NovelCache novelCache;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Value("${app.image-store.backfill-enabled:false}")
+    private boolean backfillEnabled = false;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillEnabled) {
+            return;
+        }
+        try {
+            backfill();
+        } catch (Exception e) {
+            log.error("Image backfill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return number of rows rewritten
+     */
+    public int backfill() {
+        int covers = backfillCovers();
+        int avatars = backfillAvatars();
+        if (covers + avatars > 0) {
+            log.info("Moved {} cover images and {} avatars to the image store", covers, avatars);
+        }
+        return covers + avatars;
+    }
+
+    private int backfillCovers() {
+        int rows = 0;
+        Integer afterId = null;
+        while (true) {
+            List<Novel> novels = novelMapper.selectDataUrlCoverImages(afterId, BATCH_SIZE);
+            if (novels.isEmpty()) {
+                return rows;
+            }
+            Map<String, String> urls = new HashMap<>();
+            for (Novel novel : novels) {
+                String url = store(novel.getCoverImgUrl(), urls);
+                if (url != null && novelMapper.replaceCoverImgUrl(novel.getId(), url) > 0) {
+                    novelCache.invalidate(novel.getId());
+                    rows++;
+                }
+            }
+            afterId = novels.get(novels.size() - 1).getId();
+        }
+    }
+
+    private int backfillAvatars() {
+        int rows = 0;
+        UUID afterUuid = null;
+        while (true) {
+            List<User> users = userMapper.selectDataUrlAvatars(afterUuid, BATCH_SIZE);
+            if (users.isEmpty()) {
+                return rows;
+            }
+            // rows sharing an image, such as default avatars, store it once per batch
+            Map<String, String> urls = new HashMap<>();
+            for (User user : users) {
+                String url = store(user.getAvatarUrl(), urls);
+                if (url != null && userMapper.replaceAvatarUrl(user.getUuid(), url) > 0) {
+                    userDetailsCache.evict(user.getUuid());
+                    rows++;
+                }
+            }
+            afterUuid = users.get(users.size() - 1).getUuid();
+        }
+    }
+
+    /**
+     * @return the short URL, or null if the image could not be stored; such rows stay inline
+     */
+    private String store(String dataUrl, Map<String, String> urls) {
+        if (urls.containsKey(dataUrl)) {
+            return urls.get(dataUrl);
+        }
+        String url = null;
+        try {
+            url = imageService.storeDataUrl(dataUrl);
+            if (url.equals(dataUrl)) {
+                // not an image data URL
+                url = null;
+            }
+        } catch (Exception e) {
+            log.warn("Skipping image that could not be stored: {}", e.getMessage());
+        }
+        urls.put(dataUrl, url);
+        return url;
+    }
+}
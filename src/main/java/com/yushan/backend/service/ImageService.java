@@ -0,0 +1,73 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.enums.Gender;
+import com.yushan.backend.service.image.ImageStore;
+import com.yushan.backend.util.ImageUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Turns uploaded base64 images into short URLs backed by the image store,
+ * so rows only hold a reference to the image
+ */
+@Slf4j
+@Service
+public class ImageService {
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Value("${app.image-store.max-bytes:5242880}")
+    private int maxBytes = 5 * 1024 * 1024;
+
+    /**
+     * Store a base64 image data URL
+     * @return the URL the image is served from, or the value itself if it is not a data URL
+     */
+    public String storeDataUrl(String value) {
+        if (!ImageUtil.isDataUrl(value)) {
+            return value;
+        }
+        byte[] content = ImageUtil.decodeDataUrl(value);
+        if (content.length == 0 || content.length > maxBytes) {
+            throw new IllegalArgumentException("image must be between 1 byte and " + maxBytes + " bytes");
+        }
+        return ImageUtil.toUrl(imageStore.store(content));
+    }
+
+    /**
+     * @return the image, or null if no image has this hash
+     */
+    public Resource getImage(String hash) {
+        return imageStore.load(hash);
+    }
+
+    public String detectContentType(Resource image) throws IOException {
+        try (InputStream in = image.getInputStream()) {
+            return ImageUtil.detectContentType(in.readNBytes(12));
+        }
+    }
+
+    /**
+     * Default avatars are referenced by URL, make sure their content is in the store
+     */
+    @PostConstruct
+    public void storeDefaultAvatars() {
+        for (Gender gender : Gender.values()) {
+            if (ImageUtil.isDataUrl(gender.getAvatarDataUrl())) {
+                try {
+                    imageStore.store(ImageUtil.decodeDataUrl(gender.getAvatarDataUrl()));
+                } catch (Exception e) {
+                    log.warn("Failed to store default avatar for {}: {}", gender, e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.NovelMapper;
+import com.yushan.backend.dto.NovelDetailResponseDTO;
+import com.yushan.backend.entity.Novel;
+import com.yushan.backend.util.RedisUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache for novel entities and assembled novel details: a bounded local LRU (L1)
+ * in front of Redis (L2). Cached instances are shared and must not be modified by callers.
+ * Writes call {@link #invalidate(Integer)}, which clears both tiers after commit and tells
+ * other nodes to drop their L1 entry over {@link #INVALIDATION_CHANNEL}. Counters that change
+ * without invalidation (view counts) are at most one TTL behind.
+ */
+@Slf4j
+@Component
+public class NovelCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "cache:novel:invalidate";
+
+    private static final String ENTITY_KEY_PREFIX = "novel:entity:";
+    private static final String DETAIL_KEY_PREFIX = "novel:detail:";
+    private static final int MAX_LOCAL_ENTRIES = 1000;
+    private static final long LOCAL_TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long REDIS_TTL_SECONDS = 300;
+
+    private final NovelMapper novelMapper;
+    private final RedisUtil redisUtil;
+
+    private final Tier<Novel> entities = new Tier<>(ENTITY_KEY_PREFIX, Novel.class);
+    private final Tier<NovelDetailResponseDTO> details = new Tier<>(DETAIL_KEY_PREFIX, NovelDetailResponseDTO.class);
+
+    public NovelCache(NovelMapper novelMapper, RedisUtil redisUtil) {
+        this.novelMapper = novelMapper;
+        this.redisUtil = redisUtil;
+    }
+
+    /**
+     * @return the novel, or null if it does not exist
+     */
+    public Novel getNovel(Integer id) {
+        return entities.get(id, () -> novelMapper.selectByPrimaryKey(id));
+    }
+
+    /**
+     * @return the cached detail, or the loader's result, which is cached unless null
+     */
+    public NovelDetailResponseDTO getDetail(Integer id, Supplier<NovelDetailResponseDTO> loader) {
+        return details.get(id, loader);
+    }
+
+    /**
+     * Drop a novel from both tiers on every node now and, inside a transaction, again once it
+     * completes: a read in between may have cached the old row, or this transaction's uncommitted one.
+     */
+    public void invalidate(Integer id) {
+        if (id == null) {
+            return;
+        }
+        evictEverywhere(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictEverywhere(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * Invalidation published by another node, the payload is the novel id
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            evictLocal(Integer.valueOf(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed novel cache invalidation: {}", Arrays.toString(message.getBody()));
+        }
+    }
+
+    private void evictLocal(Integer id) {
+        entities.evict(id);
+        details.evict(id);
+    }
+
+    private void evictEverywhere(Integer id) {
+        evictLocal(id);
+        try {
+            redisUtil.delete(Arrays.asList(ENTITY_KEY_PREFIX + id, DETAIL_KEY_PREFIX + id));
+            redisUtil.publish(INVALIDATION_CHANNEL, String.valueOf(id));
+        } catch (Exception e) {
+            log.warn("Failed to invalidate novel {} in redis: {}", id, e.getMessage());
+        }
+    }
+
+    private final class Tier<T> {
+        private final String keyPrefix;
+        private final Class<T> type;
+        // access-ordered LRU, guarded by itself
+        private final Map<Integer, Entry<T>> local = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry<T>> eldest) {
+                return size() > MAX_LOCAL_ENTRIES;
+            }
+        };
+        // bumped on every eviction so a load racing with a write is not cached
+        private final AtomicLong generation = new AtomicLong();
+
+        Tier(String keyPrefix, Class<T> type) {
+            this.keyPrefix = keyPrefix;
+            this.type = type;
+        }
+
+        T get(Integer id, Supplier<T> loader) {
+            Entry<T> cached;
+            synchronized (local) {
+                cached = local.get(id);
+            }
+            if (cached != null && System.nanoTime() - cached.loadedAt < LOCAL_TTL_NANOS) {
+                return cached.value;
+            }
+
+            long loadGeneration = generation.get();
+            T value = null;
+            try {
+                value = redisUtil.getJson(keyPrefix + id, type);
+            } catch (Exception e) {
+                log.debug("Novel cache redis read failed: {}", e.getMessage());
+            }
+            if (value == null) {
+                value = loader.get();
+                if (value == null) {
+                    return null;
+                }
+                if (generation.get() == loadGeneration) {
+                    try {
+                        redisUtil.setJson(keyPrefix + id, value, REDIS_TTL_SECONDS, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        log.debug("Novel cache redis write failed: {}", e.getMessage());
+                    }
+                }
+            }
+            if (generation.get() == loadGeneration) {
+                synchronized (local) {
+                    local.put(id, new Entry<>(value));
+                }
+            }
+            return value;
+        }
+
+        void evict(Integer id) {
+            generation.incrementAndGet();
+            synchronized (local) {
+                local.remove(id);
+            }
+        }
+    }
+
+    private static final class Entry<T> {
+        private final T value;
+        private final long loadedAt = System.nanoTime();
+
+        Entry(T value) {
+            this.value = value;
+        }
+    }
+}
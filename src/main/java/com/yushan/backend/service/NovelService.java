@@ -6,18 +6,22 @@ import com.yushan.backend.dto.*;
 import com.yushan.backend.entity.Novel;
 import com.yushan.backend.enums.NovelStatus;
 import com.yushan.backend.exception.ResourceNotFoundException;
+import com.yushan.backend.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class NovelService {
 
+    private static final Set<String> KEYSET_SORTS = Set.of("createTime", "updateTime", "title", "viewCnt", "avgRating");
+
     @Autowired
     private NovelMapper novelMapper;
 
@@ -27,6 +31,15 @@ public class NovelService {
     @Autowired
     private ChapterMapper chapterMapper;
 
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+
+    @Autowired
+    private NovelCache novelCache;
+
+    @Autowired
+    private ImageService imageService;
+
     public NovelDetailResponseDTO createNovel(UUID userId, String authorName, NovelCreateRequestDTO req) {
         if (req.getCategoryId() == null) {
             throw new IllegalArgumentException("category not found");
@@ -45,9 +58,9 @@ public class NovelService {
         novel.setAuthorName(authorName);
         novel.setCategoryId(req.getCategoryId());
         novel.setSynopsis(req.getSynopsis());
-        // Convert Base64 to URL if provided
+        // Store the cover image and keep only its URL
         if (req.getCoverImgBase64() != null && !req.getCoverImgBase64().trim().isEmpty()) {
-            novel.setCoverImgUrl(convertBase64ToUrl(req.getCoverImgBase64()));
+            novel.setCoverImgUrl(imageService.storeDataUrl(req.getCoverImgBase64()));
         }
         novel.setStatus(mapStatus(NovelStatus.DRAFT));
         novel.setIsCompleted(Boolean.TRUE.equals(req.getIsCompleted()));
@@ -106,7 +119,7 @@ public class NovelService {
             }
         }
         if (req.getCoverImgBase64() != null && !req.getCoverImgBase64().trim().isEmpty()) {
-            String newCoverUrl = convertBase64ToUrl(req.getCoverImgBase64());
+            String newCoverUrl = imageService.storeDataUrl(req.getCoverImgBase64());
             if (!newCoverUrl.equals(existing.getCoverImgUrl())) {
                 existing.setCoverImgUrl(newCoverUrl);
                 changeOtherFieldsNotIsCompleted = true;
@@ -144,21 +157,27 @@ public class NovelService {
         existing.setUpdateTime(new Date());
 
         novelMapper.updateByPrimaryKeySelective(existing);
+        novelCache.invalidate(id);
         return toResponse(existing);
     }
 
+    /**
+     * Get novel detail, served from the novel cache and assembled on a miss
+     */
     public NovelDetailResponseDTO getNovel(Integer id) {
-        Novel n = novelMapper.selectByPrimaryKey(id);
-        if (n == null) {
-            throw new ResourceNotFoundException("novel not found");
-        }
-        if (n.getStatus().equals(mapStatus(NovelStatus.ARCHIVED))) {
-            throw new ResourceNotFoundException("novel not found");
-        }
-        // Dynamically calculate published chapter count to ensure it's always up-to-date
-        // This ensures consistency with the chapters API endpoint
-        long publishedChapterCount = chapterMapper.countPublishedByNovelId(id);
-        return toResponse(n, (int) publishedChapterCount);
+        return novelCache.getDetail(id, () -> {
+            Novel n = novelCache.getNovel(id);
+            if (n == null) {
+                throw new ResourceNotFoundException("novel not found");
+            }
+            if (n.getStatus().equals(mapStatus(NovelStatus.ARCHIVED))) {
+                throw new ResourceNotFoundException("novel not found");
+            }
+            // Dynamically calculate published chapter count to ensure it's always up-to-date
+            // This ensures consistency with the chapters API endpoint
+            long publishedChapterCount = chapterMapper.countPublishedByNovelId(id);
+            return toResponse(n, (int) publishedChapterCount);
+        });
     }
 
     public int mapStatus(NovelStatus status) {
@@ -261,6 +280,10 @@ public class NovelService {
         if (request.getOrder() == null || (!request.getOrder().equalsIgnoreCase("asc") && !request.getOrder().equalsIgnoreCase("desc"))) {
             request.setOrder("desc");
         }
+        request.setOrder(request.getOrder().toLowerCase());
+        if (request.hasCursor()) {
+            return getNovelsByCursor(request, includeArchived);
+        }
 
         // Get novels with pagination
         List<Novel> novels = includeArchived 
@@ -276,14 +299,75 @@ public class NovelService {
         List<NovelDetailResponseDTO> novelDTOs = novels.stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
-        return new PageResponseDTO<>(novelDTOs, totalElements, request.getPage(), request.getSize());
+        PageResponseDTO<NovelDetailResponseDTO> page = new PageResponseDTO<>(novelDTOs, totalElements, request.getPage(), request.getSize());
+        if (page.isHasNext() && !novels.isEmpty() && KEYSET_SORTS.contains(request.getSort())) {
+            // pages sort exactly like cursor mode, so clients can switch to it from any page
+            page.setNextCursor(novelCursor(request, novels.get(novels.size() - 1)));
+        }
+        return page;
+    }
+
+    /**
+     * Keyset pagination: seeks past the cursor row instead of skipping rows,
+     * so every page costs the same. The count is optional.
+     */
+    private PageResponseDTO<NovelDetailResponseDTO> getNovelsByCursor(NovelSearchRequestDTO request, boolean includeArchived) {
+        if (!KEYSET_SORTS.contains(request.getSort())) {
+            throw new IllegalArgumentException("unsupported sort for cursor pagination: " + request.getSort());
+        }
+
+        long totalElements = -1;
+        if (!Boolean.FALSE.equals(request.getWithCount())) {
+            totalElements = includeArchived ? novelMapper.countAllNovels(request) : novelMapper.countNovels(request);
+        }
+
+        boolean first = request.getCursor().isEmpty();
+        if (!first) {
+            KeysetCursor cursor = KeysetCursor.decode(request.getCursor(), novelCursorSort(request));
+            request.setCursorId(cursor.getId());
+            request.setCursorValue(switch (request.getSort()) {
+                case "title" -> cursor.stringValue();
+                case "viewCnt" -> cursor.longValue();
+                case "avgRating" -> cursor.floatValue();
+                default -> cursor.timestampValue();
+            });
+        }
+
+        List<Novel> novels = includeArchived
+            ? novelMapper.selectAllNovelsByCursor(request)
+            : novelMapper.selectNovelsByCursor(request);
+        String nextCursor = null;
+        if (novels.size() > request.getSize()) {
+            novels = novels.subList(0, request.getSize());
+            nextCursor = novelCursor(request, novels.get(novels.size() - 1));
+        }
+
+        List<NovelDetailResponseDTO> novelDTOs = novels.stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+        return PageResponseDTO.ofCursor(novelDTOs, totalElements, request.getSize(), first, nextCursor);
+    }
+
+    private String novelCursor(NovelSearchRequestDTO request, Novel last) {
+        Object sortValue = switch (request.getSort()) {
+            case "title" -> last.getTitle();
+            case "updateTime" -> last.getUpdateTime();
+            case "viewCnt" -> last.getViewCnt() != null ? last.getViewCnt() : 0L;
+            case "avgRating" -> last.getAvgRating() != null ? last.getAvgRating() : 0f;
+            default -> last.getCreateTime();
+        };
+        return KeysetCursor.of(novelCursorSort(request), sortValue, last.getId()).encode();
+    }
+
+    private String novelCursorSort(NovelSearchRequestDTO request) {
+        return request.getSort() + " " + request.getOrder();
     }
 
     /**
      * Get vote statistics for a novel
      */
     public Integer getNovelVoteCount(Integer novelId) {
-        Novel novel = novelMapper.selectByPrimaryKey(novelId);
+        Novel novel = novelCache.getNovel(novelId);
         if (novel == null) {
             throw new ResourceNotFoundException("Novel not found");
         }
@@ -292,9 +376,10 @@ public class NovelService {
 
     /**
      * Get novel entity by ID (for internal use by other services)
+     * The entity comes from the novel cache and must not be modified
      */
     public Novel getNovelEntity(Integer novelId) {
-        Novel novel = novelMapper.selectByPrimaryKey(novelId);
+        Novel novel = novelCache.getNovel(novelId);
         if (novel == null) {
             throw new ResourceNotFoundException("Novel not found");
         }
@@ -303,23 +388,33 @@ public class NovelService {
 
     /**
      * Increment vote count for a novel
+     * @return the new vote count, read from the updated row rather than the cache
      */
-    public void incrementVoteCount(Integer novelId) {
-        novelMapper.incrementVoteCount(novelId);
+    public Integer incrementVoteCount(Integer novelId) {
+        Integer voteCount = novelMapper.incrementVoteCount(novelId);
+        novelCache.invalidate(novelId);
+        return voteCount;
     }
 
     /**
      * Decrement vote count for a novel
+     * @return the new vote count, read from the updated row rather than the cache
      */
-    public void decrementVoteCount(Integer novelId) {
-        novelMapper.decrementVoteCount(novelId);
+    public Integer decrementVoteCount(Integer novelId) {
+        Integer voteCount = novelMapper.decrementVoteCount(novelId);
+        novelCache.invalidate(novelId);
+        return voteCount;
     }
 
     /**
-     * Increment view count for a novel
+     * Increment view count for a novel, buffered and written to the database in batches.
+     * Unknown ids are rejected so they cannot take up room in the buffer.
      */
     public void incrementViewCount(Integer novelId) {
-        novelMapper.incrementViewCount(novelId);
+        if (novelId == null || novelCache.getNovel(novelId) == null) {
+            throw new ResourceNotFoundException("novel not found");
+        }
+        viewCountBuffer.recordNovelView(novelId);
     }
 
     /**
@@ -344,6 +439,7 @@ public class NovelService {
         novel.setStatus(mapStatus(NovelStatus.UNDER_REVIEW));
         novel.setUpdateTime(new Date());
         novelMapper.updateByPrimaryKeySelective(novel);
+        novelCache.invalidate(novelId);
         
         return toResponse(novel);
     }
@@ -371,6 +467,7 @@ public class NovelService {
         }
         
         novelMapper.updateByPrimaryKeySelective(novel);
+        novelCache.invalidate(novelId);
         return toResponse(novel);
     }
 
@@ -433,6 +530,7 @@ public class NovelService {
         // Update timestamp
         novel.setUpdateTime(new Date());
         novelMapper.updateByPrimaryKeySelective(novel);
+        novelCache.invalidate(novelId);
     }
 
     public NovelDetailResponseDTO archiveNovel(Integer id) {
@@ -455,22 +553,8 @@ public class NovelService {
         existing.setStatus(mapStatus(NovelStatus.ARCHIVED));
         existing.setUpdateTime(new Date());
         novelMapper.updateByPrimaryKeySelective(existing);
+        novelCache.invalidate(id);
 
         return toResponse(existing);
     }
-
-    /**
-     * Convert Base64 data URL to a regular URL
-     * For now, this is a placeholder implementation that returns the Base64 data as-is
-     * In a real application, you would save the image to a file storage service
-     * and return the public URL
-     */
-    private String convertBase64ToUrl(String base64DataUrl) {
-        // For now, we'll store the Base64 data directly as the URL
-        // In production, you should:
-        // 1. Extract the image data from the Base64 string
-        // 2. Save it to a file storage service (AWS S3, Google Cloud Storage, etc.)
-        // 3. Return the public URL
-        return base64DataUrl;
-    }
 }
@@ -0,0 +1,92 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.NovelMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recounts novel.chapter_cnt and word_cnt from the chapter table, debounced per novel.
+ * Chapter writes shift the counters by their own delta right away; the novels they touch are
+ * recounted at most once per interval however many writes they had, which corrects drift from
+ * concurrent writes and from scheduled chapters whose publish time has passed.
+ */
+@Slf4j
+@Service
+public class NovelStatisticsReconciler {
+
+    private final NovelMapper novelMapper;
+    private final NovelCache novelCache;
+
+    private final Set<Integer> pending = ConcurrentHashMap.newKeySet();
+
+    private final Counter corrected;
+
+    public NovelStatisticsReconciler(NovelMapper novelMapper, NovelCache novelCache, MeterRegistry meterRegistry) {
+        this.novelMapper = novelMapper;
+        this.novelCache = novelCache;
+
+        this.corrected = Counter.builder("novel_statistics.reconcile.corrected")
+                .description("Novels whose chapter or word count had drifted from the chapter table")
+                .register(meterRegistry);
+        meterRegistry.gauge("novel_statistics.reconcile.pending", pending, Set::size);
+    }
+
+    /**
+     * Queue a novel for the next recount. Inside a transaction it is queued once the transaction
+     * commits, so the recount never reads the chapter table before the write is visible.
+     */
+    public void markDirty(Integer novelId) {
+        if (novelId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.add(novelId);
+                }
+            });
+        } else {
+            pending.add(novelId);
+        }
+    }
+
+    /**
+     * Recount a novel now
+     * @return whether its counters were off
+     */
+    public boolean reconcile(Integer novelId) {
+        if (novelMapper.reconcileStatistics(novelId) == 0) {
+            return false;
+        }
+        corrected.increment();
+        novelCache.invalidate(novelId);
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.novel-statistics.reconcile-interval:60000}")
+    public void reconcilePending() {
+        List<Integer> novelIds = new ArrayList<>(pending);
+        for (Integer novelId : novelIds) {
+            pending.remove(novelId);
+            try {
+                if (reconcile(novelId)) {
+                    log.debug("Corrected chapter statistics of novel {}", novelId);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to reconcile statistics of novel {}, will retry: {}", novelId, e.getMessage());
+                pending.add(novelId);
+            }
+        }
+    }
+}
@@ -12,11 +12,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -39,6 +45,10 @@ public class RankingUpdateService {
     private static final String RANK_AUTHOR_VOTE = "ranking:author:vote";
     private static final String RANK_AUTHOR_VIEW = "ranking:author:view";
     private static final String RANK_AUTHOR_NOVEL_NUM = "ranking:author:novelNum";
+    private static final String RANK_NOVEL_PATTERN = "ranking:novel:*";
+    private static final String STAGING_PREFIX = "staging:";
+    private static final int PUBLISHED_STATUS = 2;
+    private static final int ACTIVE_USER_STATUS = 0;
 
     @PostConstruct
     @Transactional(readOnly = false)
@@ -51,6 +61,10 @@ public class RankingUpdateService {
         }
     }
 
+    /**
+     * Full rebuild from the database. Live scores are kept fresh by the increment* methods,
+     * so this nightly run only reconciles drift (missed events, status changes, deleted rows).
+     */
     @Scheduled(cron = "0 0 0 * * ?")
     @Transactional(readOnly = false)
     public void updateAllRankings() {
@@ -63,40 +77,39 @@ public class RankingUpdateService {
     public void updateNovelRankings() {
         log.info("Updating novel ranking");
         List<Novel> allNovels = novelMapper.selectAllNovelsForRanking();
-        Map<Integer, List<Novel>> novelsByCategory = allNovels.stream()
-                .filter(novel -> novel.getCategoryId() != null)
-                .collect(Collectors.groupingBy(Novel::getCategoryId));
-
-        Set<String> oldKeys = redisUtil.keys("ranking:novel:*");
-        if (oldKeys != null && !oldKeys.isEmpty()) {
-            redisUtil.delete(oldKeys);
-        }
 
+        Map<String, Map<String, Double>> rankings = new LinkedHashMap<>();
         for (Novel novel : allNovels) {
-            redisUtil.zAdd(RANK_NOVEL_VIEW_ALL, novel.getId().toString(), novel.getViewCnt());
-            redisUtil.zAdd(RANK_NOVEL_VOTE_ALL, novel.getId().toString(), novel.getVoteCnt());
-        }
-
-        for (Map.Entry<Integer, List<Novel>> entry : novelsByCategory.entrySet()) {
-            String viewKey = RANK_NOVEL_VIEW_CATE_PREFIX + entry.getKey();
-            String voteKey = RANK_NOVEL_VOTE_CATE_PREFIX + entry.getKey();
-            for (Novel novel : entry.getValue()) {
-                redisUtil.zAdd(viewKey, novel.getId().toString(), novel.getViewCnt());
-                redisUtil.zAdd(voteKey, novel.getId().toString(), novel.getVoteCnt());
+            String member = novel.getId().toString();
+            double viewCnt = novel.getViewCnt() != null ? novel.getViewCnt() : 0;
+            double voteCnt = novel.getVoteCnt() != null ? novel.getVoteCnt() : 0;
+            rankings.computeIfAbsent(RANK_NOVEL_VIEW_ALL, k -> new HashMap<>()).put(member, viewCnt);
+            rankings.computeIfAbsent(RANK_NOVEL_VOTE_ALL, k -> new HashMap<>()).put(member, voteCnt);
+            if (novel.getCategoryId() != null) {
+                rankings.computeIfAbsent(RANK_NOVEL_VIEW_CATE_PREFIX + novel.getCategoryId(), k -> new HashMap<>())
+                        .put(member, viewCnt);
+                rankings.computeIfAbsent(RANK_NOVEL_VOTE_CATE_PREFIX + novel.getCategoryId(), k -> new HashMap<>())
+                        .put(member, voteCnt);
             }
         }
-        log.info("Updated for {} novels and {} categories", allNovels.size(), novelsByCategory.size());
+
+        Set<String> oldKeys = redisUtil.keys(RANK_NOVEL_PATTERN);
+        publishRankings(rankings, oldKeys != null ? oldKeys : Collections.emptySet());
+        log.info("Updated for {} novels and {} ranking keys", allNovels.size(), rankings.size());
     }
 
     public void updateUserRankings() {
         log.info("Updating user ranking");
         List<User> allUsers = userMapper.selectAllUsersForRanking();
 
-        redisUtil.delete(RANK_USER_EXP);
-
+        Map<String, Double> expRanking = new HashMap<>();
         for (User user : allUsers) {
-            redisUtil.zAdd(RANK_USER_EXP, user.getUuid().toString(), user.getExp());
+            expRanking.put(user.getUuid().toString(), user.getExp() != null ? user.getExp().doubleValue() : 0);
         }
+
+        Map<String, Map<String, Double>> rankings = new LinkedHashMap<>();
+        rankings.put(RANK_USER_EXP, expRanking);
+        publishRankings(rankings, List.of(RANK_USER_EXP));
         log.info("Updated {} users", allUsers.size());
     }
 
@@ -104,13 +117,114 @@ public class RankingUpdateService {
         log.info("Updating author ranking");
         List<AuthorResponseDTO> allAuthors = novelMapper.selectAuthorsByRanking("vote", 0, Integer.MAX_VALUE);
 
-        redisUtil.delete(List.of(RANK_AUTHOR_VOTE, RANK_AUTHOR_VIEW, RANK_AUTHOR_NOVEL_NUM));
-
+        Map<String, Double> voteRanking = new HashMap<>();
+        Map<String, Double> viewRanking = new HashMap<>();
+        Map<String, Double> novelNumRanking = new HashMap<>();
         for (AuthorResponseDTO author : allAuthors) {
-            redisUtil.zAdd(RANK_AUTHOR_VOTE, author.getUuid(), author.getTotalVoteCnt());
-            redisUtil.zAdd(RANK_AUTHOR_VIEW, author.getUuid(), author.getTotalViewCnt());
-            redisUtil.zAdd(RANK_AUTHOR_NOVEL_NUM, author.getUuid(), author.getNovelNum());
+            voteRanking.put(author.getUuid(), (double) author.getTotalVoteCnt());
+            viewRanking.put(author.getUuid(), author.getTotalViewCnt() != null ? author.getTotalViewCnt().doubleValue() : 0);
+            novelNumRanking.put(author.getUuid(), author.getNovelNum() != null ? author.getNovelNum().doubleValue() : 0);
         }
+
+        Map<String, Map<String, Double>> rankings = new LinkedHashMap<>();
+        rankings.put(RANK_AUTHOR_VOTE, voteRanking);
+        rankings.put(RANK_AUTHOR_VIEW, viewRanking);
+        rankings.put(RANK_AUTHOR_NOVEL_NUM, novelNumRanking);
+        publishRankings(rankings, List.of(RANK_AUTHOR_VOTE, RANK_AUTHOR_VIEW, RANK_AUTHOR_NOVEL_NUM));
         log.info("Updated {} authors", allAuthors.size());
     }
-}
\ No newline at end of file
+
+    /**
+     * Apply a view delta to the novel and author view rankings
+     */
+    public void incrementNovelViews(Novel novel, long delta) {
+        incrementNovelRanking(novel, RANK_NOVEL_VIEW_ALL, RANK_NOVEL_VIEW_CATE_PREFIX, RANK_AUTHOR_VIEW, delta);
+    }
+
+    /**
+     * Apply a vote delta to the novel and author vote rankings
+     */
+    public void incrementNovelVotes(Novel novel, long delta) {
+        incrementNovelRanking(novel, RANK_NOVEL_VOTE_ALL, RANK_NOVEL_VOTE_CATE_PREFIX, RANK_AUTHOR_VOTE, delta);
+    }
+
+    /**
+     * Apply an exp delta to the user exp ranking
+     */
+    public void incrementUserExp(User user, double delta) {
+        // admins and suspended users are not ranked, same filter as selectAllUsersForRanking
+        if (user == null || user.getUuid() == null || delta == 0
+                || !Boolean.FALSE.equals(user.getIsAdmin())
+                || !Integer.valueOf(ACTIVE_USER_STATUS).equals(user.getStatus())) {
+            return;
+        }
+        String member = user.getUuid().toString();
+        afterCommit(() -> redisUtil.zIncrBy(RANK_USER_EXP, member, delta));
+    }
+
+    private void incrementNovelRanking(Novel novel, String allKey, String categoryPrefix, String authorKey, long delta) {
+        // only published novels are ranked, same filter as selectAllNovelsForRanking
+        if (novel == null || delta == 0 || !Integer.valueOf(PUBLISHED_STATUS).equals(novel.getStatus())) {
+            return;
+        }
+        String member = novel.getId().toString();
+        afterCommit(() -> {
+            redisUtil.zIncrBy(allKey, member, delta);
+            if (novel.getCategoryId() != null) {
+                redisUtil.zIncrBy(categoryPrefix + novel.getCategoryId(), member, delta);
+            }
+            if (novel.getAuthorId() != null) {
+                redisUtil.zIncrBy(authorKey, novel.getAuthorId().toString(), delta);
+            }
+        });
+    }
+
+    /**
+     * Run a ranking write once the surrounding transaction commits, so rolled back events never reach Redis.
+     * Failures are only logged: the nightly rebuild repairs any missed increment.
+     */
+    private void afterCommit(Runnable update) {
+        Runnable safeUpdate = () -> {
+            try {
+                update.run();
+            } catch (Exception e) {
+                log.warn("Failed to apply incremental ranking update: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safeUpdate.run();
+                }
+            });
+        } else {
+            safeUpdate.run();
+        }
+    }
+
+    /**
+     * Bulk load each ranking into a staging key, then swap all of them in with a single MULTI/EXEC.
+     * Live keys stay readable during the rebuild; keys that no longer have members are removed in the same swap.
+     */
+    private void publishRankings(Map<String, Map<String, Double>> rankings, Collection<String> previousKeys) {
+        Map<String, String> renames = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, Double>> entry : rankings.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                renames.put(STAGING_PREFIX + entry.getKey(), entry.getKey());
+            }
+        }
+
+        // clear leftovers from an interrupted run so ZADD starts from an empty staging set
+        if (!renames.isEmpty()) {
+            redisUtil.delete(renames.keySet());
+        }
+        for (Map.Entry<String, String> rename : renames.entrySet()) {
+            redisUtil.zAddAll(rename.getKey(), rankings.get(rename.getValue()));
+        }
+
+        Set<String> staleKeys = new HashSet<>(previousKeys);
+        staleKeys.removeAll(renames.values());
+        redisUtil.renameAndDelete(renames, staleKeys);
+    }
+}
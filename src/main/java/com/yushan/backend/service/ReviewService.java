@@ -1,7 +1,9 @@
 package com.yushan.backend.service;
 
+import com.yushan.backend.dao.NovelRatingAggMapper;
 import com.yushan.backend.dao.ReviewMapper;
 import com.yushan.backend.dto.*;
+import com.yushan.backend.entity.NovelRatingAgg;
 import com.yushan.backend.entity.Review;
 import com.yushan.backend.exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +21,9 @@ public class ReviewService {
     @Autowired
     private ReviewMapper reviewMapper;
 
+    @Autowired
+    private NovelRatingAggMapper novelRatingAggMapper;
+
     @Autowired
     private NovelService novelService;
 
@@ -66,7 +71,7 @@ public class ReviewService {
         reviewMapper.insertSelective(review);
 
         // Update novel rating and review count
-        updateNovelRatingAndCount(request.getNovelId());
+        updateNovelRatingAndCount(request.getNovelId(), review.getRating(), null);
 
         // add exp
         expService.addExp(userId, REVIEW_EXP);
@@ -80,7 +85,8 @@ public class ReviewService {
      */
     @Transactional
     public ReviewResponseDTO updateReview(Integer reviewId, UUID userId, ReviewUpdateRequestDTO request) {
-        Review existingReview = reviewMapper.selectByPrimaryKey(reviewId);
+        // locked, so the rating delta below is taken against the rating actually replaced
+        Review existingReview = reviewMapper.selectByPrimaryKeyForUpdate(reviewId);
         if (existingReview == null) {
             throw new ResourceNotFoundException("Review not found");
         }
@@ -93,7 +99,8 @@ public class ReviewService {
         // Update fields if provided
         boolean hasChanges = false;
         boolean ratingChanged = false;
-        
+        Integer previousRating = existingReview.getRating();
+
         if (request.getRating() != null && !request.getRating().equals(existingReview.getRating())) {
             existingReview.setRating(request.getRating());
             hasChanges = true;
@@ -118,7 +125,7 @@ public class ReviewService {
 
             // Only update novel rating if rating changed
             if (ratingChanged) {
-                updateNovelRatingAndCount(existingReview.getNovelId());
+                updateNovelRatingAndCount(existingReview.getNovelId(), existingReview.getRating(), previousRating);
             }
         }
 
@@ -131,7 +138,7 @@ public class ReviewService {
      */
     @Transactional
     public boolean deleteReview(Integer reviewId, UUID userId, boolean isAdmin) {
-        Review review = reviewMapper.selectByPrimaryKey(reviewId);
+        Review review = reviewMapper.selectByPrimaryKeyForUpdate(reviewId);
         if (review == null) {
             throw new ResourceNotFoundException("Review not found");
         }
@@ -146,7 +153,7 @@ public class ReviewService {
 
         if (result > 0) {
             // Update novel rating and review count
-            updateNovelRatingAndCount(novelId);
+            updateNovelRatingAndCount(novelId, null, review.getRating());
             return true;
         }
         return false;
@@ -311,31 +318,31 @@ public class ReviewService {
 
     /**
      * Update novel's average rating and review count
-     * This method calculates the statistics and calls NovelService
+     * Applies the review change as a delta to novel_rating_agg, within the caller's transaction,
+     * and copies the resulting average and count to the novel
+     * @param addedRating rating counted in, null if none
+     * @param removedRating rating counted out, null if none
      */
-    private void updateNovelRatingAndCount(Integer novelId) {
-        // Get all reviews for this novel
-        List<Review> reviews = reviewMapper.selectByNovelId(novelId);
-        
-        float avgRating;
-        int reviewCount;
-        
-        if (reviews.isEmpty()) {
-            // No reviews, set to default values
-            avgRating = 0.0f;
-            reviewCount = 0;
-        } else {
-            // Calculate average rating
-            double totalRating = reviews.stream()
-                    .mapToInt(Review::getRating)
-                    .sum();
-            avgRating = (float) (totalRating / reviews.size());
-            
+    private void updateNovelRatingAndCount(Integer novelId, Integer addedRating, Integer removedRating) {
+        NovelRatingAgg delta = new NovelRatingAgg();
+        delta.setNovelId(novelId);
+        if (addedRating != null) {
+            delta.addRating(addedRating, 1);
+        }
+        if (removedRating != null) {
+            delta.addRating(removedRating, -1);
+        }
+        NovelRatingAgg agg = novelRatingAggMapper.applyDelta(delta);
+
+        float avgRating = 0.0f;
+        int reviewCount = agg.getReviewCnt();
+        if (reviewCount > 0) {
+            avgRating = (float) ((double) agg.getRatingSum() / reviewCount);
+
             // Round to 1 decimal place
             avgRating = Math.round(avgRating * 10.0f) / 10.0f;
-            reviewCount = reviews.size();
         }
-        
+
         // Call NovelService with calculated values
         novelService.updateNovelRatingAndCount(novelId, avgRating, reviewCount);
     }
@@ -347,37 +354,31 @@ public class ReviewService {
         // Get novel basic info through NovelService
         var novelDetail = novelService.getNovel(novelId);
 
-        List<Review> reviews = reviewMapper.selectByNovelId(novelId);
-        
+        NovelRatingAgg agg = novelRatingAggMapper.selectByNovelId(novelId);
+        int total = agg != null ? agg.getReviewCnt() : 0;
+
         NovelRatingStatsDTO stats = new NovelRatingStatsDTO();
         stats.setNovelId(novelId);
         stats.setNovelTitle(novelDetail.getTitle());
-        stats.setTotalReviews(reviews.size());
+        stats.setTotalReviews(total);
         stats.setAverageRating(novelDetail.getAvgRating());
-        
-        if (!reviews.isEmpty()) {
-            // Calculate rating distribution
-            long rating5 = reviews.stream().mapToInt(r -> r.getRating() == 5 ? 1 : 0).sum();
-            long rating4 = reviews.stream().mapToInt(r -> r.getRating() == 4 ? 1 : 0).sum();
-            long rating3 = reviews.stream().mapToInt(r -> r.getRating() == 3 ? 1 : 0).sum();
-            long rating2 = reviews.stream().mapToInt(r -> r.getRating() == 2 ? 1 : 0).sum();
-            long rating1 = reviews.stream().mapToInt(r -> r.getRating() == 1 ? 1 : 0).sum();
-            
-            stats.setRating5Count((int) rating5);
-            stats.setRating4Count((int) rating4);
-            stats.setRating3Count((int) rating3);
-            stats.setRating2Count((int) rating2);
-            stats.setRating1Count((int) rating1);
-            
+
+        if (total > 0) {
+            // Rating distribution
+            stats.setRating5Count(agg.getRatingCount(5));
+            stats.setRating4Count(agg.getRatingCount(4));
+            stats.setRating3Count(agg.getRatingCount(3));
+            stats.setRating2Count(agg.getRatingCount(2));
+            stats.setRating1Count(agg.getRatingCount(1));
+
             // Calculate percentages
-            int total = reviews.size();
-            stats.setRating5Percentage((float) rating5 / total * 100);
-            stats.setRating4Percentage((float) rating4 / total * 100);
-            stats.setRating3Percentage((float) rating3 / total * 100);
-            stats.setRating2Percentage((float) rating2 / total * 100);
-            stats.setRating1Percentage((float) rating1 / total * 100);
+            stats.setRating5Percentage((float) agg.getRatingCount(5) / total * 100);
+            stats.setRating4Percentage((float) agg.getRatingCount(4) / total * 100);
+            stats.setRating3Percentage((float) agg.getRatingCount(3) / total * 100);
+            stats.setRating2Percentage((float) agg.getRatingCount(2) / total * 100);
+            stats.setRating1Percentage((float) agg.getRatingCount(1) / total * 100);
         }
-        
+
         return stats;
     }
 }
@@ -2,58 +2,205 @@ package com.yushan.backend.service;
 
 import com.yushan.backend.dao.SearchMapper;
 import com.yushan.backend.dto.*;
-import com.yushan.backend.entity.Novel;
 import com.yushan.backend.entity.User;
+import com.yushan.backend.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.HtmlUtils;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 public class SearchService {
 
+    // markers the search queries put around matched words
+    private static final String MATCH_START = "\u0002";
+    private static final String MATCH_END = "\u0003";
+
     @Autowired
     private SearchMapper searchMapper;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // one virtual thread per query; the connection pool bounds how many actually run at once
+    private final ExecutorService searchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // searches in flight on this node, further ones are rejected as overload
+    private final AtomicInteger activeSearches = new AtomicInteger();
+
+    @Value("${app.search.parallel:true}")
+    private boolean parallelSearch;
+
+    // also the statement timeout of every search query, so postgres stops queries nobody waits for
+    @Value("${app.search.timeout-ms:2000}")
+    private long searchTimeoutMs;
+
+    @Value("${app.search.max-concurrent:32}")
+    private int maxConcurrentSearches = 32;
+
     /**
      * Combined search for novels and users.
+     * When parallel search is on, the four queries run concurrently on virtual threads under one
+     * deadline; a side (novels or users) that misses it comes back empty and the response is marked partial.
      */
     public SearchResponseDTO search(SearchRequestDTO request) {
+        startSearch();
+        try {
+            return doSearch(request);
+        } finally {
+            activeSearches.decrementAndGet();
+        }
+    }
+
+    private SearchResponseDTO doSearch(SearchRequestDTO request) {
         // Calculate offset for pagination
         Integer offset = (request.getPage() - 1) * request.getPageSize();
+        // Search users only if no category filter, since users don't have categories
+        boolean includeUsers = request.getCategory() == null || request.getCategory().isEmpty();
+
+        if (!parallelSearch) {
+            List<NovelSearchResultDTO> novels = queryNovels(request, offset);
+            Integer novelCount = countNovels(request);
+            List<User> users = includeUsers ? queryUsers(request, offset) : List.of();
+            Integer userCount = includeUsers ? countUsers(request) : 0;
+            return buildCombinedResponse(request, novels, novelCount, users, userCount, false);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(searchTimeoutMs);
+        Future<List<NovelSearchResultDTO>> novelsFuture = searchExecutor.submit(() -> queryNovels(request, offset));
+        Future<Integer> novelCountFuture = searchExecutor.submit(() -> countNovels(request));
+        Future<List<User>> usersFuture = includeUsers
+                ? searchExecutor.submit(() -> queryUsers(request, offset))
+                : CompletableFuture.completedFuture(List.of());
+        Future<Integer> userCountFuture = includeUsers
+                ? searchExecutor.submit(() -> countUsers(request))
+                : CompletableFuture.completedFuture(0);
+        List<Future<?>> futures = List.of(novelsFuture, novelCountFuture, usersFuture, userCountFuture);
+
+        List<NovelSearchResultDTO> novels = awaitBefore(novelsFuture, deadline, futures);
+        Integer novelCount = awaitBefore(novelCountFuture, deadline, futures);
+        List<User> users = awaitBefore(usersFuture, deadline, futures);
+        Integer userCount = awaitBefore(userCountFuture, deadline, futures);
 
-        // Search novels
-        List<Novel> novels = searchMapper.searchNovels(
+        boolean partial = false;
+        if (novels == null || novelCount == null) {
+            novels = List.of();
+            novelCount = 0;
+            partial = true;
+        }
+        if (users == null || userCount == null) {
+            users = List.of();
+            userCount = 0;
+            partial = true;
+        }
+        if (partial) {
+            log.warn("Search for '{}' exceeded {} ms, returning partial results", request.getKeyword(), searchTimeoutMs);
+        }
+        return buildCombinedResponse(request, novels, novelCount, users, userCount, partial);
+    }
+
+    /**
+     * Wait for a query until the shared deadline. If a query fails, the others are cancelled
+     * before the failure is rethrown.
+     * @return the result, or null if the deadline passed first (the query is then cancelled)
+     */
+    private <T> T awaitBefore(Future<T> future, long deadline, List<Future<?>> futures) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return null;
+        } catch (ExecutionException e) {
+            futures.forEach(other -> other.cancel(true));
+            // surface query failures as the serial path would
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Search query failed", e.getCause());
+        }
+    }
+
+    /**
+     * Count a search in, the caller decrements activeSearches when done
+     * @throws ServiceUnavailableException if this node already runs the maximum number of searches
+     */
+    private void startSearch() {
+        if (activeSearches.incrementAndGet() > maxConcurrentSearches) {
+            activeSearches.decrementAndGet();
+            log.warn("Rejecting search, {} searches already running", maxConcurrentSearches);
+            throw new ServiceUnavailableException("Too many searches in progress, please retry");
+        }
+    }
+
+    /**
+     * Run a search query in its own transaction with the search timeout as statement_timeout.
+     * Cancelling the future only interrupts the waiting thread, this is what stops the query in postgres.
+     */
+    private <T> T withStatementTimeout(Supplier<T> query) {
+        return transactionTemplate.execute(status -> {
+            searchMapper.setStatementTimeout(searchTimeoutMs);
+            return query.get();
+        });
+    }
+
+    private List<NovelSearchResultDTO> queryNovels(SearchRequestDTO request, Integer offset) {
+        return withStatementTimeout(() -> searchMapper.searchNovels(
                 request.getKeyword(),
                 request.getCategory(),
                 offset,
                 request.getPageSize(),
                 request.getSortBy(),
                 request.getSortOrder()
-        );
-        Integer novelCount = searchMapper.countNovels(
+        ));
+    }
+
+    private Integer countNovels(SearchRequestDTO request) {
+        return withStatementTimeout(() -> searchMapper.countNovels(
                 request.getKeyword(),
                 request.getCategory()
-        );
-
-        // Search users (only if no category filter, since users don't have categories)
-        List<User> users = List.of();
-        Integer userCount = 0;
-        if (request.getCategory() == null || request.getCategory().isEmpty()) {
-            users = searchMapper.searchUsers(
-                    request.getKeyword(),
-                    offset,
-                    request.getPageSize(),
-                    request.getSortBy(),
-                    request.getSortOrder()
-            );
-            userCount = searchMapper.countUsers(request.getKeyword());
-        }
+        ));
+    }
+
+    private List<User> queryUsers(SearchRequestDTO request, Integer offset) {
+        return withStatementTimeout(() -> searchMapper.searchUsers(
+                request.getKeyword(),
+                offset,
+                request.getPageSize(),
+                request.getSortBy(),
+                request.getSortOrder()
+        ));
+    }
+
+    private Integer countUsers(SearchRequestDTO request) {
+        return withStatementTimeout(() -> searchMapper.countUsers(request.getKeyword()));
+    }
 
+    private SearchResponseDTO buildCombinedResponse(SearchRequestDTO request,
+                                                    List<NovelSearchResultDTO> novels, Integer novelCount,
+                                                    List<User> users, Integer userCount, boolean partial) {
         // Convert to DTOs
         List<NovelDetailResponseDTO> novelDTOs = novels.stream()
-                .map(this::convertToNovelDTO)
+                .map(this::highlightMatches)
                 .collect(Collectors.toList());
 
         List<UserProfileResponseDTO> userDTOs = users.stream()
@@ -73,31 +220,36 @@ public class SearchService {
         response.setCurrentPage(request.getPage());
         response.setTotalPages(totalPages);
         response.setTotalResults(totalResults);
+        response.setPartial(partial);
 
         return response;
     }
 
+    @PreDestroy
+    void shutdown() {
+        searchExecutor.shutdownNow();
+    }
+
     /**
      * Search only novels.
      */
     public SearchResponseDTO searchNovels(SearchRequestDTO request) {
+        startSearch();
+        try {
+            return doSearchNovels(request);
+        } finally {
+            activeSearches.decrementAndGet();
+        }
+    }
+
+    private SearchResponseDTO doSearchNovels(SearchRequestDTO request) {
         Integer offset = (request.getPage() - 1) * request.getPageSize();
 
-        List<Novel> novels = searchMapper.searchNovels(
-                request.getKeyword(),
-                request.getCategory(),
-                offset,
-                request.getPageSize(),
-                request.getSortBy(),
-                request.getSortOrder()
-        );
-        Integer novelCount = searchMapper.countNovels(
-                request.getKeyword(),
-                request.getCategory()
-        );
+        List<NovelSearchResultDTO> novels = queryNovels(request, offset);
+        Integer novelCount = countNovels(request);
 
         List<NovelDetailResponseDTO> novelDTOs = novels.stream()
-                .map(this::convertToNovelDTO)
+                .map(this::highlightMatches)
                 .collect(Collectors.toList());
 
         Integer totalPages = (int) Math.ceil((double) novelCount / request.getPageSize());
@@ -118,16 +270,19 @@ public class SearchService {
      * Search only users.
      */
     public SearchResponseDTO searchUsers(SearchRequestDTO request) {
+        startSearch();
+        try {
+            return doSearchUsers(request);
+        } finally {
+            activeSearches.decrementAndGet();
+        }
+    }
+
+    private SearchResponseDTO doSearchUsers(SearchRequestDTO request) {
         Integer offset = (request.getPage() - 1) * request.getPageSize();
 
-        List<User> users = searchMapper.searchUsers(
-                request.getKeyword(),
-                offset,
-                request.getPageSize(),
-                request.getSortBy(),
-                request.getSortOrder()
-        );
-        Integer userCount = searchMapper.countUsers(request.getKeyword());
+        List<User> users = queryUsers(request, offset);
+        Integer userCount = countUsers(request);
 
         List<UserProfileResponseDTO> userDTOs = users.stream()
                 .map(this::convertToUserDTO)
@@ -147,13 +302,25 @@ public class SearchService {
         return response;
     }
 
-    // Helper methods to convert entities to DTOs
-    private NovelDetailResponseDTO convertToNovelDTO(Novel novel) {
-        NovelDetailResponseDTO dto = new NovelDetailResponseDTO();
-        BeanUtils.copyProperties(novel, dto);
+    // Helper methods to convert search results to DTOs
+    private NovelDetailResponseDTO highlightMatches(NovelSearchResultDTO dto) {
+        dto.setHighlightedTitle(toMarkedHtml(dto.getHighlightedTitle()));
+        dto.setSnippet(toMarkedHtml(dto.getSnippet()));
         return dto;
     }
 
+    /**
+     * Escape user text and turn the match markers into mark tags
+     */
+    private String toMarkedHtml(String text) {
+        if (text == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(text)
+                .replace(MATCH_START, "<mark>")
+                .replace(MATCH_END, "</mark>");
+    }
+
     private UserProfileResponseDTO convertToUserDTO(User user) {
         UserProfileResponseDTO dto = new UserProfileResponseDTO();
         BeanUtils.copyProperties(user, dto);
@@ -0,0 +1,149 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.UserMapper;
+import com.yushan.backend.util.RedisUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batched last-active tracking.
+ * A user is recorded at most once per update interval: a local time-window filter skips Redis for
+ * users this instance saw recently, and a Redis SET NX EX dedupes across instances. Recorded users
+ * are written to users.last_active by a scheduled flush, one UPDATE per batch of ids.
+ * On a crash at most one flush interval of activity is lost.
+ * Every activity is also passed to the {@link ActiveUserCounter} for DAU/WAU/MAU.
+ */
+@Slf4j
+@Service
+public class UserActivityTracker {
+
+    private static final String KEY_PREFIX = "user:activity:";
+    private static final int FLUSH_BATCH_SIZE = 1000;
+
+    private final UserMapper userMapper;
+    private final RedisUtil redisUtil;
+    private final ActiveUserCounter activeUserCounter;
+
+    // user id -> nano time this instance last let the user through its filter
+    private final Map<UUID, Long> recentlySeen = new ConcurrentHashMap<>();
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+
+    private final Counter redisChecks;
+    private final Counter usersFlushed;
+    private final Counter usersDropped;
+
+    // user activity update interval in minutes
+    @Value("${app.user.activity.update.interval:5}")
+    private int updateIntervalMinutes = 5;
+
+    // max users held by the local filter and the pending set
+    @Value("${app.user.activity.max-pending-ids:100000}")
+    private int maxPendingIds = 100000;
+
+    public UserActivityTracker(UserMapper userMapper, RedisUtil redisUtil, ActiveUserCounter activeUserCounter,
+                               MeterRegistry meterRegistry) {
+        this.userMapper = userMapper;
+        this.redisUtil = redisUtil;
+        this.activeUserCounter = activeUserCounter;
+
+        this.redisChecks = Counter.builder("user_activity.redis.checks")
+                .description("Activity records that passed the local filter and checked Redis")
+                .register(meterRegistry);
+        this.usersFlushed = Counter.builder("user_activity.flushed")
+                .description("Users whose last_active was written")
+                .register(meterRegistry);
+        this.usersDropped = Counter.builder("user_activity.dropped")
+                .description("Activity records dropped because the buffer was full")
+                .register(meterRegistry);
+        meterRegistry.gauge("user_activity.pending.ids", pending, Set::size);
+    }
+
+    /**
+     * Record that a user made a request. Cheap enough to call on every request.
+     */
+    public void recordActivity(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        activeUserCounter.record(userId);
+
+        long now = System.nanoTime();
+        Long seen = recentlySeen.get(userId);
+        if (seen != null && now - seen < windowNanos()) {
+            return;
+        }
+        if (seen == null && recentlySeen.size() >= maxPendingIds) {
+            usersDropped.increment();
+            return;
+        }
+        recentlySeen.put(userId, now);
+
+        if (shouldUpdate(userId)) {
+            pending.add(userId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.user.activity.flush-interval:30000}")
+    public void flush() {
+        long now = System.nanoTime();
+        long window = windowNanos();
+        recentlySeen.values().removeIf(seen -> now - seen >= window);
+
+        List<UUID> users = new ArrayList<>();
+        for (UUID userId : pending) {
+            if (pending.remove(userId)) {
+                users.add(userId);
+            }
+        }
+        if (users.isEmpty()) {
+            return;
+        }
+
+        for (int from = 0; from < users.size(); from += FLUSH_BATCH_SIZE) {
+            List<UUID> batch = users.subList(from, Math.min(from + FLUSH_BATCH_SIZE, users.size()));
+            try {
+                userMapper.updateLastActiveBatch(batch.stream().map(UUID::toString).toArray(String[]::new));
+                usersFlushed.increment(batch.size());
+            } catch (Exception e) {
+                log.error("Failed to flush user activity, will retry: {}", e.getMessage());
+                pending.addAll(users.subList(from, users.size()));
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Whether this is the first activity of the user in the current interval across all instances
+     */
+    private boolean shouldUpdate(UUID userId) {
+        redisChecks.increment();
+        try {
+            return redisUtil.setIfAbsent(KEY_PREFIX + userId, "1", updateIntervalMinutes, TimeUnit.MINUTES);
+        } catch (Exception e) {
+            log.warn("Error checking update interval with Redis for user: {}", userId, e);
+            return true;
+        }
+    }
+
+    private long windowNanos() {
+        return TimeUnit.MINUTES.toNanos(updateIntervalMinutes);
+    }
+}
@@ -7,6 +7,7 @@ import com.yushan.backend.dto.UserProfileUpdateResponseDTO;
 import com.yushan.backend.entity.User;
 import com.yushan.backend.enums.Gender;
 import com.yushan.backend.enums.UserStatus;
+import com.yushan.backend.security.UserDetailsCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -22,6 +23,12 @@ public class UserService {
     @Autowired
     private MailService mailService;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private ImageService imageService;
+
     /**
      * Load a user's profile by UUID and map to response DTO
      */
@@ -83,7 +90,7 @@ public class UserService {
             }
         }
         if (req.getAvatarBase64() != null && !req.getAvatarBase64().trim().isEmpty()) {
-            toUpdate.setAvatarUrl(convertBase64ToUrl(req.getAvatarBase64()));
+            toUpdate.setAvatarUrl(imageService.storeDataUrl(req.getAvatarBase64()));
         }
         if (req.getProfileDetail() != null && !req.getProfileDetail().trim().isEmpty()) {
             toUpdate.setProfileDetail(req.getProfileDetail().trim());
@@ -93,6 +100,7 @@ public class UserService {
         toUpdate.setUpdateTime(new Date());
 
         userMapper.updateByPrimaryKeySelective(toUpdate);
+        userDetailsCache.evict(userId);
 
         // reload to get latest values
         User updated = userMapper.selectByPrimaryKey(userId);
@@ -148,20 +156,5 @@ public class UserService {
         }
         return user.getUsername();
     }
-
-    /**
-     * Convert Base64 data URL to a regular URL
-     * For now, this is a placeholder implementation that returns the Base64 data as-is
-     * In a real application, you would save the image to a file storage service
-     * and return the public URL
-     */
-    private String convertBase64ToUrl(String base64DataUrl) {
-        // For now, we'll store the Base64 data directly as the URL
-        // In production, you should:
-        // 1. Extract the image data from the Base64 string
-        // 2. Save it to a file storage service (AWS S3, Google Cloud Storage, etc.)
-        // 3. Return the public URL
-        return base64DataUrl;
-    }
 }
 
@@ -0,0 +1,209 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.ChapterMapper;
+import com.yushan.backend.dao.NovelMapper;
+import com.yushan.backend.entity.Novel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind buffer for novel and chapter view counts.
+ * Views are counted in memory and flushed to the database in batched updates every flush interval,
+ * so a page view no longer takes a row lock. On a crash at most one flush interval of views is lost;
+ * a failed flush is put back into the buffer and retried on the next run.
+ */
+@Slf4j
+@Service
+public class ViewCountBuffer {
+
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final NovelMapper novelMapper;
+    private final ChapterMapper chapterMapper;
+    private final RankingUpdateService rankingUpdateService;
+
+    private final Map<Integer, LongAdder> novelViews = new ConcurrentHashMap<>();
+    private final Map<Integer, LongAdder> chapterViews = new ConcurrentHashMap<>();
+    // nano time of the oldest view not yet flushed, 0 when the buffer is empty
+    private final AtomicLong oldestPendingNanos = new AtomicLong();
+
+    private final Timer flushTimer;
+    private final Counter novelViewsFlushed;
+    private final Counter chapterViewsFlushed;
+    private final Counter viewsDropped;
+
+    // max distinct ids held per buffer, further ids are dropped until the next flush
+    @Value("${app.view-count.max-pending-ids:100000}")
+    private int maxPendingIds = 100000;
+
+    public ViewCountBuffer(NovelMapper novelMapper, ChapterMapper chapterMapper,
+                           RankingUpdateService rankingUpdateService, MeterRegistry meterRegistry) {
+        this.novelMapper = novelMapper;
+        this.chapterMapper = chapterMapper;
+        this.rankingUpdateService = rankingUpdateService;
+
+        this.flushTimer = Timer.builder("view_count.buffer.flush")
+                .description("Time spent flushing buffered view counts")
+                .register(meterRegistry);
+        this.novelViewsFlushed = Counter.builder("view_count.buffer.flushed").tag("type", "novel")
+                .register(meterRegistry);
+        this.chapterViewsFlushed = Counter.builder("view_count.buffer.flushed").tag("type", "chapter")
+                .register(meterRegistry);
+        this.viewsDropped = Counter.builder("view_count.buffer.dropped")
+                .description("Views dropped because the buffer was full")
+                .register(meterRegistry);
+        meterRegistry.gauge("view_count.buffer.pending.ids", novelViews, Map::size);
+        meterRegistry.gauge("view_count.buffer.pending.chapter.ids", chapterViews, Map::size);
+        meterRegistry.gauge("view_count.buffer.flush.lag.seconds", this, ViewCountBuffer::getFlushLagSeconds);
+    }
+
+    public void recordNovelView(Integer novelId) {
+        record(novelViews, novelId);
+    }
+
+    public void recordChapterView(Integer chapterId) {
+        record(chapterViews, chapterId);
+    }
+
+    /**
+     * Seconds since the oldest view still waiting in the buffer was recorded
+     */
+    public double getFlushLagSeconds() {
+        long oldest = oldestPendingNanos.get();
+        return oldest == 0 ? 0 : (System.nanoTime() - oldest) / 1_000_000_000.0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.view-count.flush-interval:5000}")
+    public void flush() {
+        flushTimer.record(() -> {
+            oldestPendingNanos.set(0);
+            flushNovelViews();
+            flushChapterViews();
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing buffered view counts before shutdown");
+        flush();
+    }
+
+    private void record(Map<Integer, LongAdder> buffer, Integer id) {
+        if (id == null) {
+            return;
+        }
+        LongAdder adder = buffer.get(id);
+        if (adder == null) {
+            if (buffer.size() >= maxPendingIds) {
+                viewsDropped.increment();
+                return;
+            }
+            adder = buffer.computeIfAbsent(id, k -> new LongAdder());
+        }
+        adder.increment();
+        oldestPendingNanos.compareAndSet(0, System.nanoTime());
+    }
+
+    private void flushNovelViews() {
+        Map<Integer, Long> deltas = drain(novelViews);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        writeInBatches(deltas, novelMapper::batchIncrementViewCount, novelViews);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        novelViewsFlushed.increment(sum(deltas));
+
+        try {
+            for (Novel novel : novelMapper.selectRankingFieldsByIds(new ArrayList<>(deltas.keySet()))) {
+                rankingUpdateService.incrementNovelViews(novel, deltas.get(novel.getId()));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to apply buffered views to rankings: {}", e.getMessage());
+        }
+    }
+
+    private void flushChapterViews() {
+        Map<Integer, Long> deltas = drain(chapterViews);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        writeInBatches(deltas, chapterMapper::batchIncrementViewCount, chapterViews);
+        chapterViewsFlushed.increment(sum(deltas));
+    }
+
+    /**
+     * Take the current counts out of the buffer. A view racing with the removal of its adder
+     * can be missed, which is within the loss bound of this buffer.
+     */
+    private Map<Integer, Long> drain(Map<Integer, LongAdder> buffer) {
+        Map<Integer, Long> deltas = new HashMap<>();
+        for (Integer id : buffer.keySet()) {
+            LongAdder adder = buffer.remove(id);
+            if (adder != null) {
+                long count = adder.sum();
+                if (count > 0) {
+                    deltas.put(id, count);
+                }
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * Write deltas in bounded batches. If a batch fails, it and the remaining batches are put back
+     * into the buffer and removed from deltas, leaving only what was written.
+     */
+    private void writeInBatches(Map<Integer, Long> deltas, Consumer<Map<Integer, Long>> writer,
+                                Map<Integer, LongAdder> buffer) {
+        List<Map<Integer, Long>> batches = new ArrayList<>();
+        Map<Integer, Long> batch = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Long> entry : deltas.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() >= FLUSH_BATCH_SIZE) {
+                batches.add(batch);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+
+        for (int i = 0; i < batches.size(); i++) {
+            try {
+                writer.accept(batches.get(i));
+            } catch (Exception e) {
+                log.error("Failed to flush buffered view counts, will retry: {}", e.getMessage());
+                for (Map<Integer, Long> unwritten : batches.subList(i, batches.size())) {
+                    unwritten.forEach((id, count) -> {
+                        buffer.computeIfAbsent(id, k -> new LongAdder()).add(count);
+                        deltas.remove(id);
+                    });
+                }
+                oldestPendingNanos.compareAndSet(0, System.nanoTime());
+                return;
+            }
+        }
+    }
+
+    private static long sum(Map<Integer, Long> deltas) {
+        return deltas.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
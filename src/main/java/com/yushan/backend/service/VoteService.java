@@ -8,10 +8,12 @@ import com.yushan.backend.dto.VoteResponseDTO;
 import com.yushan.backend.dto.VoteUserResponseDTO;
 import com.yushan.backend.entity.*;
 import com.yushan.backend.exception.ValidationException;
+import com.yushan.backend.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.time.LocalDateTime;
@@ -35,8 +37,13 @@ public class VoteService {
     @Autowired
     private NovelMapper novelMapper;
 
+    @Autowired
+    private RankingUpdateService rankingUpdateService;
+
     private static final Float EXP_PER_VOTE = 3f;
 
+    private static final String VOTE_CURSOR_SORT = "createTime desc";
+
     /**
      * Toggle vote for a novel (vote if not voted, unvote if already voted)
      */
@@ -72,10 +79,8 @@ public class VoteService {
         userMapper.updateByPrimaryKeySelective(user);
 
         // Update novel vote count
-        novelService.incrementVoteCount(novelId);
-
-        // Get updated vote count
-        Integer updatedVoteCount = novelService.getNovelVoteCount(novelId);
+        Integer updatedVoteCount = novelService.incrementVoteCount(novelId);
+        rankingUpdateService.incrementNovelVotes(novel, 1);
 
         // add exp
         expService.addExp(userId, EXP_PER_VOTE);
@@ -84,6 +89,18 @@ public class VoteService {
     }
 
     public PageResponseDTO<VoteUserResponseDTO> getUserVotes(UUID userId, int page, int size) {
+        return getUserVotes(userId, page, size, null, true);
+    }
+
+    /**
+     * Get the user's votes, by page number or, when cursor is not null, by cursor
+     * ("" for the first page). withCount=false skips the total count in cursor mode.
+     */
+    public PageResponseDTO<VoteUserResponseDTO> getUserVotes(UUID userId, int page, int size, String cursor, boolean withCount) {
+        if (cursor != null) {
+            return getUserVotesByCursor(userId, size, cursor, withCount);
+        }
+
         int offset = page * size;
         long totalElements = voteMapper.countByUserId(userId);
 
@@ -96,6 +113,41 @@ public class VoteService {
             return new PageResponseDTO<>(Collections.emptyList(), totalElements, page, size);
         }
 
+        PageResponseDTO<VoteUserResponseDTO> result = new PageResponseDTO<>(toDTOs(votes), totalElements, page, size);
+        if (result.isHasNext()) {
+            result.setNextCursor(voteCursor(votes.get(votes.size() - 1)));
+        }
+        return result;
+    }
+
+    private PageResponseDTO<VoteUserResponseDTO> getUserVotesByCursor(UUID userId, int size, String cursor, boolean withCount) {
+        long totalElements = withCount ? voteMapper.countByUserId(userId) : -1;
+
+        boolean first = cursor.isEmpty();
+        Integer cursorId = null;
+        Timestamp cursorTime = null;
+        if (!first) {
+            KeysetCursor decoded = KeysetCursor.decode(cursor, VOTE_CURSOR_SORT);
+            cursorId = decoded.getId();
+            cursorTime = decoded.timestampValue();
+        }
+
+        List<Vote> votes = voteMapper.selectByUserIdByCursor(userId, cursorId, cursorTime, size);
+        String nextCursor = null;
+        if (votes.size() > size) {
+            votes = votes.subList(0, size);
+            nextCursor = voteCursor(votes.get(votes.size() - 1));
+        }
+
+        List<VoteUserResponseDTO> dtos = votes.isEmpty() ? Collections.emptyList() : toDTOs(votes);
+        return PageResponseDTO.ofCursor(dtos, totalElements, size, first, nextCursor);
+    }
+
+    private String voteCursor(Vote last) {
+        return KeysetCursor.of(VOTE_CURSOR_SORT, last.getCreateTime(), last.getId()).encode();
+    }
+
+    private List<VoteUserResponseDTO> toDTOs(List<Vote> votes) {
         List<Integer> novelIds = votes.stream()
                 .map(Vote::getNovelId)
                 .distinct()
@@ -104,14 +156,12 @@ public class VoteService {
         Map<Integer, Novel> novelMap = novelMapper.selectByIds(novelIds).stream()
                 .collect(Collectors.toMap(Novel::getId, novel -> novel));
 
-        List<VoteUserResponseDTO> dtos = votes.stream()
+        return votes.stream()
                 .map(vote -> {
                     Novel novel = novelMap.get(vote.getNovelId());
                     return convertToDTO(vote, novel);
                 })
                 .collect(Collectors.toList());
-
-        return new PageResponseDTO<>(dtos, totalElements, page, size);
     }
 
     private VoteUserResponseDTO convertToDTO(Vote vote, Novel novel) {
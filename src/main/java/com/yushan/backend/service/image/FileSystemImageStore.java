@@ -0,0 +1,73 @@
+package com.yushan.backend.service.image;
+
+import com.yushan.backend.util.ImageUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Stores images as files named by their hash under a two-character fan-out directory.
+ * Files are written to a temporary name and moved into place, so readers never see
+ * a partial image and storing the same content twice is a no-op.
+ * The root has no default in any profile but the test ones (set IMAGE_STORE_ROOT): rows only keep
+ * the URL of their image, so it has to be an absolute path on a volume that survives restarts and
+ * is mounted on every node.
+ */
+@Slf4j
+@Component
+public class FileSystemImageStore implements ImageStore {
+
+    private final Path root;
+
+    public FileSystemImageStore(@Value("${app.image-store.root:}") String root) {
+        if (root == null || root.isBlank() || !Paths.get(root).isAbsolute()) {
+            throw new IllegalStateException(
+                    "app.image-store.root must be set to an absolute path on shared, persistent storage, got '" + root + "'");
+        }
+        this.root = Paths.get(root).normalize();
+    }
+
+    @Override
+    public String store(byte[] content) {
+        String hash = ImageUtil.contentHash(content);
+        Path target = pathOf(hash);
+        if (Files.exists(target)) {
+            return hash;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Path tmp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            try {
+                Files.write(tmp, content);
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store image " + hash, e);
+        }
+        return hash;
+    }
+
+    @Override
+    public Resource load(String hash) {
+        if (!ImageUtil.isValidHash(hash)) {
+            return null;
+        }
+        Path path = pathOf(hash);
+        return Files.isRegularFile(path) ? new FileSystemResource(path) : null;
+    }
+
+    private Path pathOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+}
@@ -0,0 +1,20 @@
+package com.yushan.backend.service.image;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * Content-addressed image storage, images are identified by the SHA-256 of their bytes
+ */
+public interface ImageStore {
+
+    /**
+     * Store the image if it is not stored yet
+     * @return the content hash identifying the image
+     */
+    String store(byte[] content);
+
+    /**
+     * @return the stored image, or null if no image has this hash
+     */
+    Resource load(String hash);
+}
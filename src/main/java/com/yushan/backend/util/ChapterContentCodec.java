@@ -0,0 +1,79 @@
+package com.yushan.backend.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes chapter bodies for chapter.content_z.
+ * The first byte names the format so other codecs (such as one with a trained dictionary)
+ * can be added later without rewriting stored rows; the rest is the payload.
+ */
+public final class ChapterContentCodec {
+
+    // zlib stream (Deflate with an Adler-32 check) of the UTF-8 text
+    private static final byte FORMAT_DEFLATE = 1;
+    private static final int PREVIEW_LENGTH = 200;
+
+    private ChapterContentCodec() {
+    }
+
+    public static byte[] encode(String content) {
+        byte[] input = content.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 3 + 16);
+            out.write(FORMAT_DEFLATE);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String decode(byte[] encoded) {
+        if (encoded.length == 0 || encoded[0] != FORMAT_DEFLATE) {
+            throw new IllegalStateException("Unknown chapter content format");
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(encoded, 1, encoded.length - 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated chapter content");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt chapter content", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Leading part of the content shown in chapter lists, stored next to the compressed body
+     */
+    public static String preview(String content) {
+        if (content == null || content.length() <= PREVIEW_LENGTH) {
+            return content;
+        }
+        int end = PREVIEW_LENGTH;
+        // do not split a surrogate pair
+        if (Character.isHighSurrogate(content.charAt(end - 1))) {
+            end--;
+        }
+        return content.substring(0, end);
+    }
+}
@@ -0,0 +1,94 @@
+package com.yushan.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Helpers for the content-addressed image store: data URL decoding, content hashing
+ * and the public URL an image is served from.
+ */
+public final class ImageUtil {
+
+    public static final String IMAGE_URL_PREFIX = "/api/images/";
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("^[0-9a-f]{64}$");
+    private static final String BASE64_MARKER = ";base64,";
+
+    private ImageUtil() {
+    }
+
+    /**
+     * @return true if the value is a base64 image data URL
+     */
+    public static boolean isDataUrl(String value) {
+        return value != null && value.startsWith("data:image/") && value.contains(BASE64_MARKER);
+    }
+
+    /**
+     * decode the payload of a base64 image data URL
+     * @throws IllegalArgumentException if the value is not a valid base64 image data URL
+     */
+    public static byte[] decodeDataUrl(String dataUrl) {
+        if (!isDataUrl(dataUrl)) {
+            throw new IllegalArgumentException("invalid image data URL");
+        }
+        String payload = dataUrl.substring(dataUrl.indexOf(BASE64_MARKER) + BASE64_MARKER.length());
+        return Base64.getMimeDecoder().decode(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * lowercase hex SHA-256 of the content, used as the image id
+     */
+    public static String contentHash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static boolean isValidHash(String hash) {
+        return hash != null && HASH_PATTERN.matcher(hash).matches();
+    }
+
+    public static String toUrl(String hash) {
+        return IMAGE_URL_PREFIX + hash;
+    }
+
+    /**
+     * detect the image type from its leading bytes
+     * @return the media type, or application/octet-stream if unknown
+     */
+    public static String detectContentType(byte[] header) {
+        if (startsWith(header, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(header, 0x89, 'P', 'N', 'G')) {
+            return "image/png";
+        }
+        if (startsWith(header, 'G', 'I', 'F', '8')) {
+            return "image/gif";
+        }
+        if (startsWith(header, 'R', 'I', 'F', 'F') && header.length >= 12
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return "image/webp";
+        }
+        return "application/octet-stream";
+    }
+
+    private static boolean startsWith(byte[] data, int... prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((data[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
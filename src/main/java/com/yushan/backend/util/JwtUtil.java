@@ -208,6 +208,25 @@ public class JwtUtil {
         }
     }
 
+    /**
+     * Verify signature and expiration with a single parse
+     * 
+     * @param token JWT token
+     * @return Claims if the token is valid, null otherwise
+     */
+    public Claims parseValidClaims(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            Date expiration = claims.getExpiration();
+            if (expiration == null || expiration.before(new Date())) {
+                return null;
+            }
+            return claims;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     /**
      * Check if token is access token
      * 
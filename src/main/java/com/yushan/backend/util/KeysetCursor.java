@@ -0,0 +1,114 @@
+package com.yushan.backend.util;
+
+import com.yushan.backend.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Opaque cursor for keyset (seek) pagination: the sort it was issued for,
+ * plus the sort key and id of the last row of the previous page.
+ * The next page is everything after (sortValue, id) in the listing's order,
+ * so every page costs the same as the first.
+ */
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = '\u001f';
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private final String sort;
+    private final Integer id;
+    // string form of the sort key: epoch micros for dates, null if the row had none
+    private final String value;
+
+    private KeysetCursor(String sort, Integer id, String value) {
+        this.sort = sort;
+        this.id = id;
+        this.value = value;
+    }
+
+    /**
+     * @param sort name of the sort the listing uses, checked again on decode
+     * @param sortValue sort key of the last row, a Date, Number or String
+     * @param id id of the last row
+     */
+    public static KeysetCursor of(String sort, Object sortValue, Integer id) {
+        String value = null;
+        if (sortValue instanceof Date date) {
+            // a Timestamp keeps the microseconds postgres stores, a plain Date only has millis
+            Instant instant = date.toInstant();
+            value = String.valueOf(Math.addExact(Math.multiplyExact(instant.getEpochSecond(), MICROS_PER_SECOND),
+                    instant.getNano() / 1000));
+        } else if (sortValue != null) {
+            value = sortValue.toString();
+        }
+        return new KeysetCursor(sort, id, value);
+    }
+
+    /**
+     * @throws ValidationException if the token is malformed or was issued for another sort
+     */
+    public static KeysetCursor decode(String token, String expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int second = raw.indexOf(SEPARATOR, first + 1);
+            if (first < 0 || second < 0) {
+                throw new ValidationException("Invalid cursor");
+            }
+            String sort = raw.substring(0, first);
+            if (!sort.equals(expectedSort)) {
+                throw new ValidationException("Cursor does not match the requested sort");
+            }
+            Integer id = Integer.valueOf(raw.substring(first + 1, second));
+            String value = second + 1 < raw.length() ? raw.substring(second + 1) : null;
+            return new KeysetCursor(sort, id, value);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = sort + SEPARATOR + id + SEPARATOR + (value != null ? value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * @return the date sort key at microsecond precision
+     */
+    public Timestamp timestampValue() {
+        Long micros = longValue();
+        if (micros == null) {
+            return null;
+        }
+        return Timestamp.from(Instant.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                Math.floorMod(micros, MICROS_PER_SECOND) * 1000));
+    }
+
+    public Long longValue() {
+        try {
+            return value != null ? Long.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    public Float floatValue() {
+        try {
+            return value != null ? Float.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    public String stringValue() {
+        return value;
+    }
+}
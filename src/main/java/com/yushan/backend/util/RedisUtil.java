@@ -4,17 +4,30 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 public class RedisUtil {
+    /**
+     * max members sent in a single ZADD when bulk loading a sorted set
+     */
+    private static final int ZADD_BATCH_SIZE = 1000;
+
     private final StringRedisTemplate stringRedisTemplate;
     private final ObjectMapper objectMapper;
     private final ZSetOperations<String, String> zSetOperations;
@@ -33,6 +46,24 @@ public class RedisUtil {
         stringRedisTemplate.opsForValue().set(key, value, timeout, unit);
     }
 
+    /**
+     * set string & timeout only if the key does not exist (SET NX EX)
+     * @return true if the key was set
+     */
+    public boolean setIfAbsent(String key, String value, long timeout, TimeUnit unit) {
+        Boolean result = stringRedisTemplate.opsForValue().setIfAbsent(key, value, timeout, unit);
+        return result != null && result;
+    }
+
+    /**
+     * set string & never timeout, only if the key does not exist (SETNX)
+     * @return true if the key was set
+     */
+    public boolean setIfAbsent(String key, String value) {
+        Boolean result = stringRedisTemplate.opsForValue().setIfAbsent(key, value);
+        return result != null && result;
+    }
+
     /**
      * set string &　never timeout
      */
@@ -94,6 +125,13 @@ public class RedisUtil {
         return stringRedisTemplate.opsForValue().decrement(key);
     }
 
+    /**
+     * publish a message to a pub/sub channel
+     */
+    public void publish(String channel, String message) {
+        stringRedisTemplate.convertAndSend(channel, message);
+    }
+
     public <T> void setJson(String key, T value, long timeout, TimeUnit unit) {
         try {
             String json = objectMapper.writeValueAsString(value);
@@ -121,6 +159,71 @@ public class RedisUtil {
         zSetOperations.add(key, member, score);
     }
 
+    /**
+     * increment a member's score in a sorted set (member is created if absent)
+     */
+    public Double zIncrBy(String key, String member, double delta) {
+        return zSetOperations.incrementScore(key, member, delta);
+    }
+
+    /**
+     * bulk add members to a sorted set, batched into multi-member ZADDs sent in one pipeline
+     */
+    public void zAddAll(String key, Map<String, Double> memberScores) {
+        if (memberScores == null || memberScores.isEmpty()) {
+            return;
+        }
+        List<Set<ZSetOperations.TypedTuple<String>>> batches = new ArrayList<>();
+        Set<ZSetOperations.TypedTuple<String>> batch = new HashSet<>();
+        for (Map.Entry<String, Double> entry : memberScores.entrySet()) {
+            batch.add(new DefaultTypedTuple<>(entry.getKey(), entry.getValue()));
+            if (batch.size() >= ZADD_BATCH_SIZE) {
+                batches.add(batch);
+                batch = new HashSet<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                ZSetOperations<String, String> ops = ((RedisOperations<String, String>) operations).opsForZSet();
+                for (Set<ZSetOperations.TypedTuple<String>> tuples : batches) {
+                    ops.add(key, tuples);
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * atomically rename keys and delete stale keys in one MULTI/EXEC block,
+     * so readers see either the old or the new set of keys, never a partial state
+     * @param renames source key -> target key (target is overwritten)
+     * @param deletes keys to remove in the same transaction
+     */
+    public void renameAndDelete(Map<String, String> renames, Collection<String> deletes) {
+        if (renames.isEmpty() && deletes.isEmpty()) {
+            return;
+        }
+        stringRedisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.multi();
+                renames.forEach(ops::rename);
+                if (!deletes.isEmpty()) {
+                    ops.delete(deletes);
+                }
+                return ops.exec();
+            }
+        });
+    }
+
     /**
      * get a range of members from a sorted set high->low
      * @param key Redis key
@@ -153,6 +256,54 @@ public class RedisUtil {
         return zSetOperations.score(key, member);
     }
 
+    /**
+     * add a value to several HyperLogLogs and refresh their timeouts, in one pipeline
+     * @param keyTimeouts HyperLogLog key -> timeout
+     */
+    public void pfAddAll(Map<String, Long> keyTimeouts, String value, TimeUnit unit) {
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                keyTimeouts.forEach((key, timeout) -> {
+                    ops.opsForHyperLogLog().add(key, value);
+                    ops.expire(key, timeout, unit);
+                });
+                return null;
+            }
+        });
+    }
+
+    /**
+     * approximate number of distinct values in the union of HyperLogLogs (PFCOUNT key [key ...])
+     */
+    public Long pfCount(Collection<String> keys) {
+        return stringRedisTemplate.opsForHyperLogLog().size(keys.toArray(new String[0]));
+    }
+
+    /**
+     * approximate number of distinct values in each HyperLogLog separately, in one pipeline
+     */
+    public List<Long> pfCountEach(List<String> keys) {
+        List<Object> results = stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (String key : keys) {
+                    ops.opsForHyperLogLog().size(key);
+                }
+                return null;
+            }
+        });
+        List<Long> counts = new ArrayList<>(results.size());
+        for (Object result : results) {
+            counts.add(result instanceof Number number ? number.longValue() : 0L);
+        }
+        return counts;
+    }
+
     /**
      * batch delete
      */
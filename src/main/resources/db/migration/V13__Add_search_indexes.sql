@@ -0,0 +1,28 @@
+-- Full-text and trigram search for novels and users
+-- search_vector is a generated column, so PostgreSQL keeps it in sync with title, author_name and synopsis
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE novel ADD COLUMN IF NOT EXISTS search_vector tsvector
+GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(author_name, '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(synopsis, '')), 'C')
+) STORED;
+
+-- Word matches and ts_rank
+CREATE INDEX IF NOT EXISTS idx_novel_search_vector
+ON novel USING GIN (search_vector);
+
+-- Substring (ILIKE) and fuzzy (%) matches on short fields
+CREATE INDEX IF NOT EXISTS idx_novel_title_trgm
+ON novel USING GIN (title gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_novel_author_name_trgm
+ON novel USING GIN (author_name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_users_username_trgm
+ON users USING GIN (username gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_users_email_trgm
+ON users USING GIN (email gin_trgm_ops);
@@ -0,0 +1,27 @@
+-- Composite indexes matching the keyset (cursor) listings, so each page is an index seek
+-- on (sort key, id) instead of an offset scan
+
+CREATE INDEX IF NOT EXISTS idx_novel_create_time_id
+ON novel (create_time, id);
+
+CREATE INDEX IF NOT EXISTS idx_novel_update_time_id
+ON novel (update_time, id);
+
+CREATE INDEX IF NOT EXISTS idx_novel_title_id
+ON novel (title, id);
+
+-- Expression indexes: the listings sort on the same coalesce() expressions
+CREATE INDEX IF NOT EXISTS idx_novel_view_cnt_id
+ON novel ((coalesce(view_cnt, 0)), id);
+
+CREATE INDEX IF NOT EXISTS idx_novel_avg_rating_id
+ON novel ((coalesce(avg_rating, 0)), id);
+
+CREATE INDEX IF NOT EXISTS idx_comment_chapter_create_time_id
+ON comment (chapter_id, create_time, id);
+
+CREATE INDEX IF NOT EXISTS idx_history_user_update_time_id
+ON history (user_id, update_time, id);
+
+CREATE INDEX IF NOT EXISTS idx_vote_user_create_time_id
+ON vote (user_id, create_time, id);
@@ -0,0 +1,23 @@
+-- Pre-aggregated daily analytics, one row per closed day, filled by AnalyticsRollupService.
+-- Only rows created that day are counted; state that changes afterwards (views, ratings,
+-- novel status) is read live from the source tables.
+
+CREATE TABLE IF NOT EXISTS daily_metrics (
+    metric_date DATE PRIMARY KEY,
+    new_users BIGINT NOT NULL DEFAULT 0,
+    new_novels BIGINT NOT NULL DEFAULT 0,
+    new_chapters BIGINT NOT NULL DEFAULT 0,
+    new_comments BIGINT NOT NULL DEFAULT 0,
+    new_reviews BIGINT NOT NULL DEFAULT 0,
+    new_votes BIGINT NOT NULL DEFAULT 0,
+    active_users BIGINT NOT NULL DEFAULT 0,
+    update_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Day-range scans of the source tables while rolling up
+CREATE INDEX IF NOT EXISTS idx_users_create_time ON users (create_time);
+CREATE INDEX IF NOT EXISTS idx_chapter_create_time ON chapter (create_time);
+CREATE INDEX IF NOT EXISTS idx_comment_create_time ON comment (create_time);
+CREATE INDEX IF NOT EXISTS idx_review_create_time ON review (create_time);
+CREATE INDEX IF NOT EXISTS idx_vote_create_time ON vote (create_time);
+CREATE INDEX IF NOT EXISTS idx_history_create_time ON history (create_time);
@@ -0,0 +1,15 @@
+-- Who liked which comment, the source of truth for "has liked".
+-- comment.like_cnt is kept in step by CommentLikeService in batched flushes.
+-- Likes given before this table existed stay counted in like_cnt but have no row here.
+
+CREATE TABLE IF NOT EXISTS comment_like (
+    comment_id INTEGER NOT NULL,
+    user_id UUID NOT NULL,
+    create_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (comment_id, user_id),
+    CONSTRAINT fk_comment_like_comment FOREIGN KEY (comment_id) REFERENCES comment(id) ON DELETE CASCADE,
+    CONSTRAINT fk_comment_like_user FOREIGN KEY (user_id) REFERENCES users(uuid) ON DELETE CASCADE
+);
+
+-- Per-page "liked by me" lookups; the primary key covers lookups by comment
+CREATE INDEX IF NOT EXISTS idx_comment_like_user ON comment_like(user_id, comment_id);
@@ -0,0 +1,5 @@
+-- Lets the per-user moderation sweep find each chunk of a user's comments by index
+-- instead of scanning the whole comment table
+
+CREATE INDEX IF NOT EXISTS idx_comment_user_id
+ON comment (user_id);
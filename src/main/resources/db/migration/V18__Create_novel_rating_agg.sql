@@ -0,0 +1,30 @@
+-- Per-novel rating sum, review count and 1-5 star histogram.
+-- Maintained by ReviewService with deltas in the same transaction as each review write,
+-- so novel.avg_rating and the rating stats never need to scan a novel's reviews.
+
+CREATE TABLE IF NOT EXISTS novel_rating_agg (
+    novel_id INTEGER PRIMARY KEY,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    review_cnt INTEGER NOT NULL DEFAULT 0,
+    rating1_cnt INTEGER NOT NULL DEFAULT 0,
+    rating2_cnt INTEGER NOT NULL DEFAULT 0,
+    rating3_cnt INTEGER NOT NULL DEFAULT 0,
+    rating4_cnt INTEGER NOT NULL DEFAULT 0,
+    rating5_cnt INTEGER NOT NULL DEFAULT 0,
+    update_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_novel_rating_agg_novel FOREIGN KEY (novel_id) REFERENCES novel(id) ON DELETE CASCADE
+);
+
+INSERT INTO novel_rating_agg (novel_id, rating_sum, review_cnt,
+                              rating1_cnt, rating2_cnt, rating3_cnt, rating4_cnt, rating5_cnt)
+SELECT novel_id,
+       SUM(rating),
+       COUNT(*),
+       COUNT(*) FILTER (WHERE rating = 1),
+       COUNT(*) FILTER (WHERE rating = 2),
+       COUNT(*) FILTER (WHERE rating = 3),
+       COUNT(*) FILTER (WHERE rating = 4),
+       COUNT(*) FILTER (WHERE rating = 5)
+FROM review
+GROUP BY novel_id
+ON CONFLICT (novel_id) DO NOTHING;
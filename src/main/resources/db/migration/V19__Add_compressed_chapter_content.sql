@@ -0,0 +1,10 @@
+-- Chapter bodies move to content_z, compressed by the application (see ChapterContentCodec),
+-- with the list preview kept next to them so chapter lists never read the body.
+-- Writes fill content_z and clear content; ChapterContentBackfillService converts existing
+-- rows in the background, until then reads fall back to content.
+
+ALTER TABLE chapter ADD COLUMN IF NOT EXISTS content_z BYTEA;
+ALTER TABLE chapter ADD COLUMN IF NOT EXISTS content_preview VARCHAR(200);
+
+-- the payload is already compressed, so TOAST should not try to compress it again
+ALTER TABLE chapter ALTER COLUMN content_z SET STORAGE EXTERNAL;
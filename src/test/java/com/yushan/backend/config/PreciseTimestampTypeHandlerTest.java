@@ -0,0 +1,46 @@
+package com.yushan.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PreciseTimestampTypeHandlerTest {
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private final PreciseTimestampTypeHandler handler = new PreciseTimestampTypeHandler();
+    private final Timestamp timestamp = Timestamp.from(Instant.parse("2024-03-01T10:15:30.123456Z"));
+
+    @Test
+    void getNullableResult_KeepsTimestamp() throws SQLException {
+        when(resultSet.getTimestamp("create_time")).thenReturn(timestamp);
+
+        assertSame(timestamp, handler.getNullableResult(resultSet, "create_time"));
+    }
+
+    @Test
+    void setNonNullParameter_BindsTimestampUnchanged() throws SQLException {
+        handler.setNonNullParameter(preparedStatement, 1, timestamp, null);
+        handler.setNonNullParameter(preparedStatement, 2, new Date(1000L), null);
+
+        verify(preparedStatement).setTimestamp(1, timestamp);
+        verify(preparedStatement).setTimestamp(2, new Timestamp(1000L));
+    }
+}
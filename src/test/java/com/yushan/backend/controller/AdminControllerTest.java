@@ -5,6 +5,8 @@ import com.yushan.backend.dao.UserMapper;
 import com.yushan.backend.dto.*;
 import com.yushan.backend.enums.ErrorCode;
 import com.yushan.backend.enums.UserStatus;
+import com.yushan.backend.security.UserDetailsCache;
+import com.yushan.backend.service.UserActivityTracker;
 import com.yushan.backend.service.AdminService;
 import com.yushan.backend.service.UserService;
 import com.yushan.backend.util.JwtUtil;
@@ -52,6 +54,12 @@ class AdminControllerTest {
     @MockBean
     private UserMapper userMapper;
 
+    @MockBean
+    private UserDetailsCache userDetailsCache;
+
+    @MockBean
+    private UserActivityTracker userActivityTracker;
+
     @MockBean
     private JwtUtil jwtUtil;
 
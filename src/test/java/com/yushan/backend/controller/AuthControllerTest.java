@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yushan.backend.dao.UserMapper;
 import com.yushan.backend.dto.*;
 import com.yushan.backend.entity.User;
+import com.yushan.backend.security.UserDetailsCache;
+import com.yushan.backend.service.UserActivityTracker;
 import com.yushan.backend.service.AuthService;
 import com.yushan.backend.service.MailService;
 import com.yushan.backend.util.JwtUtil;
@@ -48,6 +50,12 @@ public class AuthControllerTest {
     @MockBean
     private UserMapper userMapper;
 
+    @MockBean
+    private UserDetailsCache userDetailsCache;
+
+    @MockBean
+    private UserActivityTracker userActivityTracker;
+
     @MockBean
     private JwtUtil jwtUtil;
 
@@ -24,6 +24,8 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import com.yushan.backend.security.CustomUserDetailsService.CustomUserDetails;
+import com.yushan.backend.security.UserDetailsCache;
+import com.yushan.backend.service.UserActivityTracker;
 import org.springframework.security.test.context.support.WithSecurityContext;
 import org.springframework.security.test.context.support.WithSecurityContextFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -99,6 +101,12 @@ class AuthorControllerTest {
     @MockBean
     private UserMapper userMapper;
 
+    @MockBean
+    private UserDetailsCache userDetailsCache;
+
+    @MockBean
+    private UserActivityTracker userActivityTracker;
+
     @MockBean
     private UserService userService;
 
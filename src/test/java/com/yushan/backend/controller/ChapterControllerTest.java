@@ -14,11 +14,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebM
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.io.BufferedReader;
+import java.io.Reader;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
@@ -255,6 +258,64 @@ public class ChapterControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/chapters/import - Import Chapters")
+    class ImportChaptersTests {
+
+        private static final String NDJSON =
+                "{\"chapterNumber\":1,\"title\":\"Chapter 1\",\"content\":\"Content 1\"}\n"
+                + "{\"chapterNumber\":2,\"title\":\"Chapter 2\",\"content\":\"Content 2\"}\n";
+
+        @Test
+        @DisplayName("Should stream an NDJSON body to the service as AUTHOR")
+        void importChapters_NdjsonBody_Returns201() throws Exception {
+            // Given
+            when(chapterService.importChapters(isNull(), eq(1), any(Reader.class)))
+                    .thenAnswer(invocation -> (int) new BufferedReader(invocation.<Reader>getArgument(2)).lines().count());
+
+            // When & Then
+            mockMvc.perform(post("/api/chapters/import")
+                            .with(user("author@example.com").roles("AUTHOR"))
+                            .param("novelId", "1")
+                            .contentType("application/x-ndjson")
+                            .content(NDJSON))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.code").value(ErrorCode.SUCCESS.getCode()))
+                    .andExpect(jsonPath("$.data").value(2));
+        }
+
+        @Test
+        @DisplayName("Should accept an uploaded NDJSON file as AUTHOR")
+        void importChapters_MultipartFile_Returns201() throws Exception {
+            // Given
+            MockMultipartFile file = new MockMultipartFile("file", "chapters.ndjson", "application/x-ndjson", NDJSON.getBytes());
+            when(chapterService.importChapters(isNull(), eq(1), any(Reader.class))).thenReturn(2);
+
+            // When & Then
+            mockMvc.perform(multipart("/api/chapters/import")
+                            .file(file)
+                            .param("novelId", "1")
+                            .with(user("author@example.com").roles("AUTHOR")))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data").value(2));
+
+            verify(chapterService).importChapters(isNull(), eq(1), any(Reader.class));
+        }
+
+        @Test
+        @DisplayName("Should return 401 when USER tries to import chapters")
+        void importChapters_AsUser_Returns401() throws Exception {
+            mockMvc.perform(post("/api/chapters/import")
+                            .with(user("user@example.com").roles("USER"))
+                            .param("novelId", "1")
+                            .contentType("application/x-ndjson")
+                            .content(NDJSON))
+                    .andExpect(status().isUnauthorized());
+
+            verifyNoInteractions(chapterService);
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/chapters/{uuid} - Get Chapter by UUID")
     class GetChapterByUuidTests {
@@ -265,12 +326,15 @@ public class ChapterControllerTest {
             // Given
             UUID chapterUuid = UUID.randomUUID();
             ChapterDetailResponseDTO mockResponse = createTestChapterDetailResponseDTO();
+            when(chapterService.getChapterVersion(chapterUuid)).thenReturn(createVersion(chapterUuid, false));
             when(chapterService.getChapterByUuid(chapterUuid)).thenReturn(mockResponse);
 
             // When & Then
             mockMvc.perform(get("/api/chapters/{uuid}", chapterUuid)
                             .with(user("user@example.com").roles("USER")))
                     .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", TEST_ETAG))
+                    .andExpect(header().string("Cache-Control", "max-age=60, public"))
                     .andExpect(jsonPath("$.code").value(ErrorCode.SUCCESS.getCode()))
                     .andExpect(jsonPath("$.message").value("Chapter retrieved successfully"))
                     .andExpect(jsonPath("$.data.title").value("Test Chapter"));
@@ -278,6 +342,40 @@ public class ChapterControllerTest {
             verify(chapterService).getChapterByUuid(chapterUuid);
         }
 
+        @Test
+        @DisplayName("Should return 304 without loading content when the ETag matches")
+        void getChapterByUuid_EtagMatches_Returns304() throws Exception {
+            // Given
+            UUID chapterUuid = UUID.randomUUID();
+            when(chapterService.getChapterVersion(chapterUuid)).thenReturn(createVersion(chapterUuid, false));
+
+            // When & Then
+            mockMvc.perform(get("/api/chapters/{uuid}", chapterUuid)
+                            .header("If-None-Match", TEST_ETAG)
+                            .with(user("user@example.com").roles("USER")))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", TEST_ETAG))
+                    .andExpect(content().string(""));
+
+            verify(chapterService, never()).getChapterByUuid(any());
+        }
+
+        @Test
+        @DisplayName("Should keep premium chapters out of shared caches")
+        void getChapterByUuid_Premium_ReturnsPrivateNoCache() throws Exception {
+            // Given
+            UUID chapterUuid = UUID.randomUUID();
+            when(chapterService.getChapterVersion(chapterUuid)).thenReturn(createVersion(chapterUuid, true));
+            when(chapterService.getChapterByUuid(chapterUuid)).thenReturn(createTestChapterDetailResponseDTO());
+
+            // When & Then
+            mockMvc.perform(get("/api/chapters/{uuid}", chapterUuid)
+                            .header("If-None-Match", "W/\"stale\"")
+                            .with(user("user@example.com").roles("USER")))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", "no-cache, private"));
+        }
+
         @Test
         @DisplayName("Should return 401 when unauthenticated")
         void getChapterByUuid_Unauthenticated_Returns401() throws Exception {
@@ -296,7 +394,7 @@ public class ChapterControllerTest {
         void getChapterByUuid_NotFound_Returns404() throws Exception {
             // Given
             UUID chapterUuid = UUID.randomUUID();
-            when(chapterService.getChapterByUuid(chapterUuid))
+            when(chapterService.getChapterVersion(chapterUuid))
                     .thenThrow(new ResourceNotFoundException("Chapter not found"));
 
             // When & Then
@@ -304,7 +402,8 @@ public class ChapterControllerTest {
                             .with(user("user@example.com").roles("USER")))
                     .andExpect(status().isNotFound());
 
-            verify(chapterService).getChapterByUuid(chapterUuid);
+            verify(chapterService).getChapterVersion(chapterUuid);
+            verify(chapterService, never()).getChapterByUuid(any());
         }
     }
 
@@ -318,18 +417,40 @@ public class ChapterControllerTest {
             // Given
             Integer novelId = 1;
             Integer chapterNumber = 1;
+            UUID chapterUuid = UUID.randomUUID();
             ChapterDetailResponseDTO mockResponse = createTestChapterDetailResponseDTO();
-            when(chapterService.getChapterByNovelIdAndNumber(novelId, chapterNumber)).thenReturn(mockResponse);
+            when(chapterService.getChapterVersion(novelId, chapterNumber)).thenReturn(createVersion(chapterUuid, false));
+            when(chapterService.getChapterByUuid(chapterUuid)).thenReturn(mockResponse);
 
             // When & Then
             mockMvc.perform(get("/api/chapters/novel/{novelId}/number/{chapterNumber}", novelId, chapterNumber)
                             .with(user("user@example.com").roles("USER")))
                     .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", TEST_ETAG))
                     .andExpect(jsonPath("$.code").value(ErrorCode.SUCCESS.getCode()))
                     .andExpect(jsonPath("$.message").value("Chapter retrieved successfully"))
                     .andExpect(jsonPath("$.data.title").value("Test Chapter"));
 
-            verify(chapterService).getChapterByNovelIdAndNumber(novelId, chapterNumber);
+            verify(chapterService).getChapterByUuid(chapterUuid);
+        }
+
+        @Test
+        @DisplayName("Should return 304 without loading content when the ETag matches")
+        void getChapterByNovelIdAndNumber_EtagMatches_Returns304() throws Exception {
+            // Given
+            Integer novelId = 1;
+            Integer chapterNumber = 1;
+            when(chapterService.getChapterVersion(novelId, chapterNumber))
+                    .thenReturn(createVersion(UUID.randomUUID(), true));
+
+            // When & Then
+            mockMvc.perform(get("/api/chapters/novel/{novelId}/number/{chapterNumber}", novelId, chapterNumber)
+                            .header("If-None-Match", TEST_ETAG)
+                            .with(user("user@example.com").roles("USER")))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("Cache-Control", "no-cache, private"));
+
+            verify(chapterService, never()).getChapterByUuid(any());
         }
 
         @Test
@@ -352,7 +473,7 @@ public class ChapterControllerTest {
             // Given
             Integer novelId = 1;
             Integer chapterNumber = 999;
-            when(chapterService.getChapterByNovelIdAndNumber(novelId, chapterNumber))
+            when(chapterService.getChapterVersion(novelId, chapterNumber))
                     .thenThrow(new ResourceNotFoundException("Chapter not found"));
 
             // When & Then
@@ -360,7 +481,7 @@ public class ChapterControllerTest {
                             .with(user("user@example.com").roles("USER")))
                     .andExpect(status().isNotFound());
 
-            verify(chapterService).getChapterByNovelIdAndNumber(novelId, chapterNumber);
+            verify(chapterService).getChapterVersion(novelId, chapterNumber);
         }
     }
 
@@ -1089,6 +1210,12 @@ public class ChapterControllerTest {
     }
 
     // Helper methods for creating test DTOs
+    private static final String TEST_ETAG = "W/\"1-18f-2a\"";
+
+    private ChapterVersionDTO createVersion(UUID uuid, boolean premium) {
+        return new ChapterVersionDTO(uuid, TEST_ETAG, premium);
+    }
+
     private ChapterDetailResponseDTO createTestChapterDetailResponseDTO() {
         ChapterDetailResponseDTO response = new ChapterDetailResponseDTO();
         response.setUuid(UUID.randomUUID());
@@ -437,7 +437,7 @@ class CommentControllerTest {
                     .pageSize(20)
                     .build();
 
-            when(commentService.getCommentsByChapter(eq(testChapterId), any(UUID.class), eq(0), eq(20), eq("createTime"), eq("desc")))
+            when(commentService.getCommentsByChapter(eq(testChapterId), any(UUID.class), eq(0), eq(20), eq("createTime"), eq("desc"), isNull(), eq(true)))
                     .thenReturn(listResponse);
 
             // When & Then
@@ -451,7 +451,7 @@ class CommentControllerTest {
                     .andExpect(jsonPath("$.data.comments.length()").value(1))
                     .andExpect(jsonPath("$.data.totalCount").value(1));
 
-            verify(commentService).getCommentsByChapter(eq(testChapterId), any(UUID.class), eq(0), eq(20), eq("createTime"), eq("desc"));
+            verify(commentService).getCommentsByChapter(eq(testChapterId), any(UUID.class), eq(0), eq(20), eq("createTime"), eq("desc"), isNull(), eq(true));
         }
 
         @Test
@@ -466,7 +466,7 @@ class CommentControllerTest {
                     .pageSize(10)
                     .build();
 
-            when(commentService.getCommentsByChapter(eq(testChapterId), any(), eq(1), eq(10), eq("createTime"), eq("asc")))
+            when(commentService.getCommentsByChapter(eq(testChapterId), any(), eq(1), eq(10), eq("createTime"), eq("asc"), isNull(), eq(true)))
                     .thenReturn(listResponse);
 
             // When & Then
@@ -480,7 +480,7 @@ class CommentControllerTest {
                     .andExpect(jsonPath("$.data.currentPage").value(1))
                     .andExpect(jsonPath("$.data.pageSize").value(10));
 
-            verify(commentService).getCommentsByChapter(eq(testChapterId), any(UUID.class), eq(1), eq(10), eq("createTime"), eq("asc"));
+            verify(commentService).getCommentsByChapter(eq(testChapterId), any(UUID.class), eq(1), eq(10), eq("createTime"), eq("asc"), isNull(), eq(true));
         }
     }
 
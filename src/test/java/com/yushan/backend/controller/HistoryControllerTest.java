@@ -75,19 +75,19 @@ class HistoryControllerTest {
         mockResponse.setTotalElements(10L);
         mockResponse.setTotalPages(1);
 
-        when(historyService.getUserHistory(any(UUID.class), anyInt(), anyInt()))
+        when(historyService.getUserHistory(any(UUID.class), anyInt(), anyInt(), isNull(), anyBoolean()))
                 .thenReturn(mockResponse);
 
         // When
         ApiResponse<PageResponseDTO<HistoryResponseDTO>> result = 
-                historyController.getUserHistory(page, size, authentication);
+                historyController.getUserHistory(page, size, null, true, authentication);
 
         // Then
         assertNotNull(result);
         assertEquals(200, result.getCode());
         assertEquals("History retrieved successfully", result.getMessage());
         assertNotNull(result.getData());
-        verify(historyService).getUserHistory(testUserId, page, size);
+        verify(historyService).getUserHistory(testUserId, page, size, null, true);
     }
 
     @Test
@@ -0,0 +1,79 @@
+package com.yushan.backend.controller;
+
+import com.yushan.backend.exception.GlobalExceptionHandler;
+import com.yushan.backend.service.ImageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for ImageController
+ */
+class ImageControllerTest {
+
+    private static final String HASH = "a".repeat(64);
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private ImageService imageService;
+
+    @InjectMocks
+    private ImageController imageController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(imageController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should stream the image with a strong ETag and immutable caching")
+    void shouldServeImage() throws Exception {
+        Resource image = new ByteArrayResource(new byte[]{(byte) 0x89, 'P', 'N', 'G', 1, 2});
+        when(imageService.getImage(HASH)).thenReturn(image);
+        when(imageService.detectContentType(any())).thenReturn("image/png");
+
+        mockMvc.perform(get("/api/images/" + HASH))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + HASH + "\""))
+                .andExpect(header().string("Cache-Control", containsString("immutable")))
+                .andExpect(header().string("Cache-Control", containsString("max-age=31536000")))
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(new byte[]{(byte) 0x89, 'P', 'N', 'G', 1, 2}));
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match with 304 without reading the image")
+    void shouldReturnNotModified() throws Exception {
+        mockMvc.perform(get("/api/images/" + HASH).header("If-None-Match", "\"" + HASH + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"" + HASH + "\""));
+
+        verifyNoInteractions(imageService);
+    }
+
+    @Test
+    @DisplayName("Should return 404 for unknown images")
+    void shouldReturnNotFound() throws Exception {
+        when(imageService.getImage(HASH)).thenReturn(null);
+
+        mockMvc.perform(get("/api/images/" + HASH))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -5,6 +5,8 @@ import com.yushan.backend.dto.PageResponseDTO;
 import com.yushan.backend.dto.VoteResponseDTO;
 import com.yushan.backend.dto.VoteUserResponseDTO;
 import com.yushan.backend.security.CustomUserDetailsService;
+import com.yushan.backend.security.UserDetailsCache;
+import com.yushan.backend.service.UserActivityTracker;
 import com.yushan.backend.service.VoteService;
 import com.yushan.backend.util.JwtUtil;
 import com.yushan.backend.util.RedisUtil;
@@ -48,6 +50,11 @@ class VoteControllerTest {
     private JwtUtil jwtUtil;
     @MockBean
     private UserMapper userMapper;
+
+    @MockBean
+    private UserDetailsCache userDetailsCache;
+    @MockBean
+    private UserActivityTracker userActivityTracker;
     @MockBean
     private RedisUtil redisUtil;
     @Mock
@@ -118,7 +125,7 @@ class VoteControllerTest {
             int page = 1;
             int size = 5;
             PageResponseDTO<VoteUserResponseDTO> mockPage = new PageResponseDTO<>(Collections.emptyList(), 0L, page, size);
-            when(voteService.getUserVotes(testUserId, page, size)).thenReturn(mockPage);
+            when(voteService.getUserVotes(testUserId, page, size, null, true)).thenReturn(mockPage);
 
             // When & Then
             mockMvc.perform(get("/api/users/votes?page={page}&size={size}", page, size))
@@ -128,7 +135,7 @@ class VoteControllerTest {
                     .andExpect(jsonPath("$.data.size").value(size));
 
             // Verify
-            verify(voteService).getUserVotes(testUserId, page, size);
+            verify(voteService).getUserVotes(testUserId, page, size, null, true);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.yushan.backend.integration;
+
+import com.yushan.backend.TestcontainersConfiguration;
+import com.yushan.backend.dao.ChapterMapper;
+import com.yushan.backend.dao.NovelMapper;
+import com.yushan.backend.dao.UserMapper;
+import com.yushan.backend.entity.Chapter;
+import com.yushan.backend.entity.Novel;
+import com.yushan.backend.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the narrow chapter projections against PostgreSQL, where a result map asking for a column
+ * the query does not select fails at runtime.
+ */
+@SpringBootTest
+@ActiveProfiles("integration-test")
+@Import(TestcontainersConfiguration.class)
+@Transactional
+@org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable(named = "CI", matches = "true")
+public class ChapterMapperIntegrationTest {
+
+    @Autowired
+    private ChapterMapper chapterMapper;
+    @Autowired
+    private NovelMapper novelMapper;
+    @Autowired
+    private UserMapper userMapper;
+
+    private Chapter firstChapter;
+    private Chapter secondChapter;
+
+    @BeforeEach
+    void setUp() {
+        User author = createTestUser("chapterauthor@example.com", "chapterauthor");
+        userMapper.insert(author);
+
+        Novel novel = new Novel();
+        novel.setUuid(UUID.randomUUID());
+        novel.setTitle("Chapter Mapper Novel");
+        novel.setSynopsis("A novel for testing chapter queries");
+        novel.setAuthorId(author.getUuid());
+        novel.setCategoryId(1);
+        novel.setStatus(2); // PUBLISHED
+        novelMapper.insertSelective(novel);
+
+        firstChapter = createTestChapter(novel.getId(), 1, "The Beginning");
+        secondChapter = createTestChapter(novel.getId(), 2, "The Middle");
+    }
+
+    @Test
+    void testSelectTitlesByIds_ReturnsIdAndTitleOnly() {
+        List<Chapter> chapters = chapterMapper.selectTitlesByIds(
+                Arrays.asList(firstChapter.getId(), secondChapter.getId()));
+
+        assertThat(chapters).hasSize(2);
+        assertThat(chapters).extracting(Chapter::getId)
+                .containsExactlyInAnyOrder(firstChapter.getId(), secondChapter.getId());
+        assertThat(chapters).extracting(Chapter::getTitle)
+                .containsExactlyInAnyOrder("The Beginning", "The Middle");
+        assertThat(chapters).allSatisfy(chapter -> assertThat(chapter.getUuid()).isNull());
+    }
+
+    // Helper methods
+    private Chapter createTestChapter(Integer novelId, int number, String title) {
+        Chapter chapter = new Chapter();
+        chapter.setUuid(UUID.randomUUID());
+        chapter.setNovelId(novelId);
+        chapter.setChapterNumber(number);
+        chapter.setTitle(title);
+        chapter.setIsValid(true);
+        chapterMapper.insertSelective(chapter);
+        return chapterMapper.selectByUuid(chapter.getUuid());
+    }
+
+    private User createTestUser(String email, String username) {
+        User user = new User();
+        user.setUuid(UUID.randomUUID());
+        user.setEmail(email);
+        user.setUsername(username);
+        user.setHashPassword("password123");
+        user.setEmailVerified(true);
+        user.setStatus(0);
+        user.setIsAuthor(true);
+        user.setIsAdmin(false);
+        user.setLevel(1);
+        user.setExp(0.0f);
+        user.setYuan(0.0f);
+        user.setReadTime(0.0f);
+        user.setReadBookNum(0);
+        user.setCreateTime(new Date());
+        user.setUpdateTime(new Date());
+        user.setLastLogin(new Date());
+        user.setLastActive(new Date());
+        return user;
+    }
+}
@@ -1,12 +1,9 @@
 package com.yushan.backend.interceptor;
 
-import com.yushan.backend.dao.UserMapper;
-import com.yushan.backend.entity.User;
 import com.yushan.backend.security.CustomUserDetailsService;
-import com.yushan.backend.util.RedisUtil;
+import com.yushan.backend.service.UserActivityTracker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -26,10 +23,7 @@ import static org.mockito.Mockito.*;
 class UserActivityInterceptorTest {
 
     @Mock
-    private UserMapper userMapper;
-
-    @Mock
-    private RedisUtil redisUtil;
+    private UserActivityTracker userActivityTracker;
 
     @Mock
     private Authentication authentication;
@@ -82,8 +76,7 @@ class UserActivityInterceptorTest {
         userActivityInterceptor.preHandle(mockRequest, mockResponse, null);
 
         // Then
-        verifyNoInteractions(userMapper);
-        verifyNoInteractions(redisUtil);
+        verifyNoInteractions(userActivityTracker);
     }
 
     @Test
@@ -97,12 +90,11 @@ class UserActivityInterceptorTest {
         userActivityInterceptor.preHandle(mockRequest, mockResponse, null);
 
         // Then
-        verifyNoInteractions(userMapper);
-        verifyNoInteractions(redisUtil);
+        verifyNoInteractions(userActivityTracker);
     }
 
     @Test
-    void preHandle_whenValidUserAndShouldUpdate_shouldUpdateUserActivity() throws Exception {
+    void preHandle_whenValidUser_shouldRecordActivity() throws Exception {
         // Given
         mockRequest.setRequestURI("/api/test");
         mockRequest.setMethod("GET");
@@ -111,37 +103,28 @@ class UserActivityInterceptorTest {
         when(authentication.getPrincipal()).thenReturn(userDetails);
         when(userDetails.getUserId()).thenReturn(testUserId.toString());
 
-        when(redisUtil.hasKey(anyString())).thenReturn(false);
-
         // When
-        userActivityInterceptor.preHandle(mockRequest, mockResponse, null);
+        boolean result = userActivityInterceptor.preHandle(mockRequest, mockResponse, null);
 
         // Then
-        verify(redisUtil).hasKey("user:activity:" + testUserId.toString());
-        verify(redisUtil).set(eq("user:activity:" + testUserId.toString()), eq("1"), anyLong(), any());
-
-        Thread.sleep(100); // wait for async
+        assertTrue(result);
+        verify(userActivityTracker).recordActivity(testUserId);
     }
 
     @Test
-    void preHandle_whenValidUserButWithinInterval_shouldNotUpdateUserActivity() throws Exception {
+    void preHandle_whenTrackerFails_shouldStillReturnTrue() throws Exception {
         // Given
         mockRequest.setRequestURI("/api/test");
-        mockRequest.setMethod("GET");
-
         when(authentication.isAuthenticated()).thenReturn(true);
         when(authentication.getPrincipal()).thenReturn(userDetails);
         when(userDetails.getUserId()).thenReturn(testUserId.toString());
-
-        when(redisUtil.hasKey(anyString())).thenReturn(true);
+        doThrow(new RuntimeException("boom")).when(userActivityTracker).recordActivity(testUserId);
 
         // When
-        userActivityInterceptor.preHandle(mockRequest, mockResponse, null);
+        boolean result = userActivityInterceptor.preHandle(mockRequest, mockResponse, null);
 
         // Then
-        verify(redisUtil).hasKey("user:activity:" + testUserId.toString());
-        verifyNoMoreInteractions(redisUtil);
-        verifyNoInteractions(userMapper);
+        assertTrue(result);
     }
 
     @Test
@@ -156,53 +139,6 @@ class UserActivityInterceptorTest {
         userActivityInterceptor.preHandle(mockRequest, mockResponse, null);
 
         // Then
-        verifyNoInteractions(userMapper);
-        verifyNoInteractions(redisUtil);
-    }
-
-    @Test
-    void shouldUpdateBasedOnInterval_whenRedisCheckFails_shouldReturnTrue() throws Exception {
-        // Given
-        when(redisUtil.hasKey(anyString())).thenThrow(new RuntimeException("Redis error"));
-
-        // When
-        boolean result = userActivityInterceptor.shouldUpdateBasedOnInterval(testUserId);
-
-        // Then
-        assertTrue(result);
-    }
-
-    @Test
-    void updateUserLastActiveAsync_shouldUpdateUserLastActiveTime() throws InterruptedException {
-        // Given
-        when(userMapper.updateByPrimaryKeySelective(any(User.class))).thenReturn(1);
-
-        // When
-        userActivityInterceptor.updateUserLastActiveAsync(testUserId);
-
-        Thread.sleep(100);
-
-        // Then
-        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userMapper).updateByPrimaryKeySelective(userCaptor.capture());
-
-        User capturedUser = userCaptor.getValue();
-        assert capturedUser.getUuid().equals(testUserId);
-        assert capturedUser.getLastActive() != null;
-    }
-
-    @Test
-    void updateUserLastActiveAsync_whenUpdateFails_shouldLogError() throws InterruptedException {
-        // Given
-        when(userMapper.updateByPrimaryKeySelective(any(User.class)))
-                .thenThrow(new RuntimeException("Database error"));
-
-        // When
-        userActivityInterceptor.updateUserLastActiveAsync(testUserId);
-
-        Thread.sleep(100);
-
-        // Then
-        verify(userMapper).updateByPrimaryKeySelective(any(User.class));
+        verifyNoInteractions(userActivityTracker);
     }
 }
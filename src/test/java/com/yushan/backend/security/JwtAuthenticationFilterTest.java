@@ -3,9 +3,13 @@ package com.yushan.backend.security;
 import com.yushan.backend.dao.UserMapper;
 import com.yushan.backend.entity.User;
 import com.yushan.backend.util.JwtUtil;
+import com.yushan.backend.util.RedisUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +17,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.UUID;
 
@@ -29,6 +34,9 @@ class JwtAuthenticationFilterTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private RedisUtil redisUtil;
+
     @Mock
     private HttpServletRequest request;
 
@@ -41,6 +49,18 @@ class JwtAuthenticationFilterTest {
     @InjectMocks
     private JwtAuthenticationFilter jwtFilter;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtFilter, "userDetailsCache", new UserDetailsCache(userMapper, redisUtil));
+    }
+
+    private Claims claims(UUID userId, String email) {
+        return Jwts.claims()
+                .add("userId", userId.toString())
+                .add("email", email)
+                .build();
+    }
+
     @Test
     @DisplayName("Test shouldNotFilter - login path")
     void testShouldNotFilterLoginPath() {
@@ -119,10 +139,8 @@ class JwtAuthenticationFilterTest {
         user.setStatus(1);
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.extractEmail(token)).thenReturn(email);
+        when(jwtUtil.parseValidClaims(token)).thenReturn(claims(user.getUuid(), email));
         when(userMapper.selectByEmail(email)).thenReturn(user);
-        when(jwtUtil.validateToken(token, user)).thenReturn(true);
         
         jwtFilter.doFilterInternal(request, response, filterChain);
         
@@ -131,6 +149,35 @@ class JwtAuthenticationFilterTest {
         SecurityContextHolder.clearContext();
     }
 
+    @Test
+    @DisplayName("Test doFilterInternal - repeated requests reuse cached principal")
+    void testDoFilterInternalReusesCachedPrincipal() throws Exception {
+        String token = "valid-token";
+        String email = "test@example.com";
+        
+        User user = new User();
+        user.setUuid(UUID.randomUUID());
+        user.setEmail(email);
+        user.setUsername("testuser");
+        user.setIsAuthor(true);
+        user.setIsAdmin(false);
+        user.setStatus(0);
+        
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtil.parseValidClaims(token)).thenReturn(claims(user.getUuid(), email));
+        when(userMapper.selectByEmail(email)).thenReturn(user);
+        
+        for (int i = 0; i < 3; i++) {
+            jwtFilter.doFilterInternal(request, response, filterChain);
+            assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+            SecurityContextHolder.clearContext();
+        }
+        
+        verify(userMapper, times(1)).selectByEmail(email);
+        verify(jwtUtil, times(3)).parseValidClaims(token);
+        verifyNoMoreInteractions(jwtUtil);
+    }
+
     @Test
     @DisplayName("Test doFilterInternal - no token")
     void testDoFilterInternalNoToken() throws Exception {
@@ -148,7 +195,7 @@ class JwtAuthenticationFilterTest {
         String token = "invalid-token";
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(false);
+        when(jwtUtil.parseValidClaims(token)).thenReturn(null);
         
         jwtFilter.doFilterInternal(request, response, filterChain);
         
@@ -172,10 +219,8 @@ class JwtAuthenticationFilterTest {
         user.setStatus(2); // SUSPENDED
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.extractEmail(token)).thenReturn(email);
+        when(jwtUtil.parseValidClaims(token)).thenReturn(claims(user.getUuid(), email));
         when(userMapper.selectByEmail(email)).thenReturn(user);
-        when(jwtUtil.validateToken(token, user)).thenReturn(true);
         
         jwtFilter.doFilterInternal(request, response, filterChain);
         
@@ -190,8 +235,7 @@ class JwtAuthenticationFilterTest {
         String email = "test@example.com";
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.extractEmail(token)).thenReturn(email);
+        when(jwtUtil.parseValidClaims(token)).thenReturn(claims(UUID.randomUUID(), email));
         when(userMapper.selectByEmail(email)).thenReturn(null);
         
         jwtFilter.doFilterInternal(request, response, filterChain);
@@ -225,8 +269,7 @@ class JwtAuthenticationFilterTest {
         SecurityContextHolder.getContext().setAuthentication(auth);
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.extractEmail(token)).thenReturn(email);
+        when(jwtUtil.parseValidClaims(token)).thenReturn(claims(user.getUuid(), email));
         
         jwtFilter.doFilterInternal(request, response, filterChain);
         
@@ -1,8 +1,8 @@
 package com.yushan.backend.security;
 
-import com.yushan.backend.dao.NovelMapper;
 import com.yushan.backend.entity.Novel;
 import com.yushan.backend.security.CustomUserDetailsService.CustomUserDetails;
+import com.yushan.backend.service.NovelCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,7 +24,7 @@ import static org.mockito.Mockito.*;
 class NovelGuardTest {
 
     @Mock
-    private NovelMapper novelMapper;
+    private NovelCache novelCache;
 
     @InjectMocks
     private NovelGuard novelGuard;
@@ -44,12 +44,12 @@ class NovelGuardTest {
         novel.setAuthorId(userId);
         novel.setStatus(2); // PUBLISHED
         
-        when(novelMapper.selectByPrimaryKey(1)).thenReturn(novel);
+        when(novelCache.getNovel(1)).thenReturn(novel);
         
         boolean result = novelGuard.canEdit(1, createMockAuthentication(userId.toString()));
         
         assertTrue(result);
-        verify(novelMapper).selectByPrimaryKey(1);
+        verify(novelCache).getNovel(1);
     }
 
     @Test
@@ -62,12 +62,12 @@ class NovelGuardTest {
         novel.setAuthorId(otherUserId);
         novel.setStatus(2);
         
-        when(novelMapper.selectByPrimaryKey(1)).thenReturn(novel);
+        when(novelCache.getNovel(1)).thenReturn(novel);
         
         boolean result = novelGuard.canEdit(1, createMockAuthentication(userId.toString()));
         
         assertFalse(result);
-        verify(novelMapper).selectByPrimaryKey(1);
+        verify(novelCache).getNovel(1);
     }
 
     @Test
@@ -75,12 +75,12 @@ class NovelGuardTest {
     void testCanEditNovelNotFound() {
         UUID userId = UUID.randomUUID();
         
-        when(novelMapper.selectByPrimaryKey(1)).thenReturn(null);
+        when(novelCache.getNovel(1)).thenReturn(null);
         
         boolean result = novelGuard.canEdit(1, createMockAuthentication(userId.toString()));
         
         assertFalse(result);
-        verify(novelMapper).selectByPrimaryKey(1);
+        verify(novelCache).getNovel(1);
     }
 
     @Test
@@ -92,7 +92,7 @@ class NovelGuardTest {
         novel.setAuthorId(null);
         novel.setStatus(2);
         
-        when(novelMapper.selectByPrimaryKey(1)).thenReturn(novel);
+        when(novelCache.getNovel(1)).thenReturn(novel);
         
         boolean result = novelGuard.canEdit(1, createMockAuthentication(userId.toString()));
         
@@ -113,7 +113,7 @@ class NovelGuardTest {
         novel.setAuthorId(UUID.randomUUID());
         novel.setStatus(2);
         
-        lenient().when(novelMapper.selectByPrimaryKey(1)).thenReturn(novel);
+        lenient().when(novelCache.getNovel(1)).thenReturn(novel);
         
         CustomUserDetails adminDetails = mock(CustomUserDetails.class);
         GrantedAuthority adminRole = () -> "ROLE_ADMIN";
@@ -135,7 +135,7 @@ class NovelGuardTest {
         novel.setAuthorId(userId);
         novel.setStatus(0); // DRAFT
         
-        when(novelMapper.selectByPrimaryKey(1)).thenReturn(novel);
+        when(novelCache.getNovel(1)).thenReturn(novel);
         
         boolean result = novelGuard.canEdit(1, createMockAuthentication(userId.toString()));
         
@@ -151,7 +151,7 @@ class NovelGuardTest {
         novel.setAuthorId(userId);
         novel.setStatus(3); // HIDDEN
         
-        when(novelMapper.selectByPrimaryKey(1)).thenReturn(novel);
+        when(novelCache.getNovel(1)).thenReturn(novel);
         
         boolean result = novelGuard.canEdit(1, createMockAuthentication(userId.toString()));
         
@@ -167,7 +167,7 @@ class NovelGuardTest {
         novel.setAuthorId(userId);
         novel.setStatus(4); // ARCHIVED
         
-        when(novelMapper.selectByPrimaryKey(1)).thenReturn(novel);
+        when(novelCache.getNovel(1)).thenReturn(novel);
         
         boolean result = novelGuard.canEdit(1, createMockAuthentication(userId.toString()));
         
@@ -183,12 +183,12 @@ class NovelGuardTest {
         novel.setAuthorId(userId);
         novel.setStatus(2); // PUBLISHED
         
-        when(novelMapper.selectByPrimaryKey(1)).thenReturn(novel);
+        when(novelCache.getNovel(1)).thenReturn(novel);
         
         boolean result = novelGuard.canHideOrUnhide(1, createMockAuthentication(userId.toString()));
         
         assertTrue(result);
-        verify(novelMapper).selectByPrimaryKey(1);
+        verify(novelCache).getNovel(1);
     }
 
     @Test
@@ -200,7 +200,7 @@ class NovelGuardTest {
         novel.setAuthorId(userId);
         novel.setStatus(3); // HIDDEN
         
-        when(novelMapper.selectByPrimaryKey(1)).thenReturn(novel);
+        when(novelCache.getNovel(1)).thenReturn(novel);
         
         boolean result = novelGuard.canHideOrUnhide(1, createMockAuthentication(userId.toString()));
         
@@ -221,7 +221,7 @@ class NovelGuardTest {
         novel.setAuthorId(UUID.randomUUID());
         novel.setStatus(2);
         
-        lenient().when(novelMapper.selectByPrimaryKey(1)).thenReturn(novel);
+        lenient().when(novelCache.getNovel(1)).thenReturn(novel);
         
         CustomUserDetails adminDetails = mock(CustomUserDetails.class);
         GrantedAuthority adminRole = () -> "ROLE_ADMIN";
@@ -0,0 +1,89 @@
+package com.yushan.backend.security;
+
+import com.yushan.backend.dao.UserMapper;
+import com.yushan.backend.entity.User;
+import com.yushan.backend.security.CustomUserDetailsService.CustomUserDetails;
+import com.yushan.backend.util.RedisUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserDetailsCache Tests")
+class UserDetailsCacheTest {
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private RedisUtil redisUtil;
+
+    private UserDetailsCache userDetailsCache;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsCache = new UserDetailsCache(userMapper, redisUtil);
+        user = new User();
+        user.setUuid(UUID.randomUUID());
+        user.setEmail("reader@example.com");
+        user.setIsAuthor(false);
+        user.setIsAdmin(false);
+        user.setStatus(0);
+    }
+
+    @Test
+    @DisplayName("principal is loaded once per user")
+    void testPrincipalIsCached() {
+        when(userMapper.selectByEmail(user.getEmail())).thenReturn(user);
+
+        CustomUserDetails first = userDetailsCache.get(user.getUuid().toString(), user.getEmail());
+        CustomUserDetails second = userDetailsCache.get(user.getUuid().toString(), user.getEmail());
+
+        assertSame(first, second);
+        verify(userMapper, times(1)).selectByEmail(user.getEmail());
+    }
+
+    @Test
+    @DisplayName("token with a different email does not reuse the cached principal")
+    void testEmailMismatchReloads() {
+        when(userMapper.selectByEmail(user.getEmail())).thenReturn(user);
+        userDetailsCache.get(user.getUuid().toString(), user.getEmail());
+
+        assertNull(userDetailsCache.get(user.getUuid().toString(), "old@example.com"));
+        verify(userMapper).selectByEmail("old@example.com");
+    }
+
+    @Test
+    @DisplayName("evict reloads the principal and notifies other nodes")
+    void testEvictReloads() {
+        when(userMapper.selectByEmail(user.getEmail())).thenReturn(user);
+        userDetailsCache.get(user.getUuid().toString(), user.getEmail());
+
+        userDetailsCache.evict(user.getUuid());
+        userDetailsCache.get(user.getUuid().toString(), user.getEmail());
+
+        verify(userMapper, times(2)).selectByEmail(user.getEmail());
+        verify(redisUtil).publish(UserDetailsCache.INVALIDATION_CHANNEL, user.getUuid().toString());
+    }
+
+    @Test
+    @DisplayName("tokens without a user id are not cached")
+    void testMissingUserIdIsNotCached() {
+        when(userMapper.selectByEmail(user.getEmail())).thenReturn(user);
+
+        userDetailsCache.get(null, user.getEmail());
+        userDetailsCache.get(null, user.getEmail());
+
+        verify(userMapper, times(2)).selectByEmail(user.getEmail());
+    }
+}
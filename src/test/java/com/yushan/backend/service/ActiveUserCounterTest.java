@@ -0,0 +1,137 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.util.RedisUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ActiveUserCounter Tests")
+class ActiveUserCounterTest {
+
+    @Mock
+    private RedisUtil redisUtil;
+
+    private ActiveUserCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new ActiveUserCounter(redisUtil);
+    }
+
+    private static String day(LocalDate date) {
+        return date.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+    @Test
+    @DisplayName("a user is added to its hour and day buckets once per hour")
+    @SuppressWarnings("unchecked")
+    void testRecordOncePerHour() {
+        UUID userId = UUID.randomUUID();
+        LocalDateTime at = LocalDateTime.of(2024, 3, 5, 14, 10);
+
+        counter.record(userId, at);
+        counter.record(userId, at.plusMinutes(20));
+        counter.record(userId, at.plusHours(1));
+
+        ArgumentCaptor<Map<String, Long>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(redisUtil, times(2)).pfAddAll(captor.capture(), eq(userId.toString()), eq(TimeUnit.SECONDS));
+        Map<String, Long> first = captor.getAllValues().get(0);
+        assertEquals(TimeUnit.DAYS.toSeconds(8), first.get("hll:active:hour:2024030514"));
+        assertEquals(TimeUnit.DAYS.toSeconds(400), first.get("hll:active:day:20240305"));
+        assertTrue(captor.getAllValues().get(1).containsKey("hll:active:hour:2024030515"));
+        verify(redisUtil).setIfAbsent("hll:active:since", "20240306");
+    }
+
+    @Test
+    @DisplayName("a failed write is retried on the next activity")
+    void testRecordRetriesAfterRedisFailure() {
+        UUID userId = UUID.randomUUID();
+        LocalDateTime at = LocalDateTime.of(2024, 3, 5, 14, 10);
+        doThrow(new RuntimeException("down")).doNothing()
+                .when(redisUtil).pfAddAll(anyMap(), anyString(), any());
+
+        counter.record(userId, at);
+        counter.record(userId, at);
+
+        verify(redisUtil, times(2)).pfAddAll(anyMap(), eq(userId.toString()), any());
+    }
+
+    @Test
+    @DisplayName("a range is counted as the union of its day buckets")
+    void testCountDays() {
+        LocalDate today = LocalDate.now();
+        when(redisUtil.get("hll:active:since")).thenReturn(day(today.minusDays(30)));
+        when(redisUtil.pfCount(anyCollection())).thenReturn(42L);
+
+        assertEquals(42L, counter.countDays(today.minusDays(6), today));
+
+        verify(redisUtil).pfCount(argThat(keys -> keys.size() == 7
+                && keys.contains("hll:active:day:" + day(today))
+                && keys.contains("hll:active:day:" + day(today.minusDays(6)))));
+    }
+
+    @Test
+    @DisplayName("ranges before tracking started are not covered")
+    void testCountDaysBeforeTracking() {
+        LocalDate today = LocalDate.now();
+        when(redisUtil.get("hll:active:since")).thenReturn(day(today.minusDays(3)));
+
+        assertNull(counter.countDays(today.minusDays(6), today));
+        verify(redisUtil, never()).pfCount(anyCollection());
+    }
+
+    @Test
+    @DisplayName("nothing is covered until activity has been recorded")
+    void testCountDaysWithoutTracking() {
+        when(redisUtil.get("hll:active:since")).thenReturn(null);
+
+        assertNull(counter.countDays(LocalDate.now(), LocalDate.now()));
+        assertNull(counter.countHours(LocalDate.now()));
+    }
+
+    @Test
+    @DisplayName("hourly counts are read per hour bucket within the hour retention")
+    void testCountHours() {
+        LocalDate today = LocalDate.now();
+        when(redisUtil.get("hll:active:since")).thenReturn(day(today.minusDays(30)));
+        List<Long> counts = Collections.nCopies(24, 1L);
+        when(redisUtil.pfCountEach(anyList())).thenReturn(counts);
+
+        assertEquals(counts, counter.countHours(today));
+        assertNull(counter.countHours(today.minusDays(8)));
+
+        verify(redisUtil).pfCountEach(argThat(keys -> keys.size() == 24
+                && keys.get(0).equals("hll:active:hour:" + day(today) + "00")
+                && keys.get(23).equals("hll:active:hour:" + day(today) + "23")));
+    }
+
+    @Test
+    @DisplayName("Redis errors on read are reported as not covered")
+    void testCountDaysRedisFailure() {
+        LocalDate today = LocalDate.now();
+        when(redisUtil.get("hll:active:since")).thenReturn(day(today.minusDays(30)));
+        when(redisUtil.pfCount(anyCollection())).thenThrow(new RuntimeException("down"));
+
+        assertNull(counter.countDays(today, today));
+        assertNull(counter.countDays(today.plusDays(1), today));
+        verify(redisUtil, times(1)).pfCount(anyCollection());
+    }
+}
@@ -7,6 +7,7 @@ import com.yushan.backend.dto.UserProfileResponseDTO;
 import com.yushan.backend.entity.User;
 import com.yushan.backend.enums.UserStatus;
 import com.yushan.backend.exception.ResourceNotFoundException;
+import com.yushan.backend.security.UserDetailsCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -31,6 +32,9 @@ class AdminServiceTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
     @InjectMocks
     private AdminService adminService;
 
@@ -91,6 +95,7 @@ class AdminServiceTest {
                     user.getUuid().equals(testUserUuid) &&
                             user.getStatus().equals(UserStatus.BANNED.ordinal())
             ));
+            verify(userDetailsCache).evict(testUserUuid);
         }
 
         @Test
@@ -0,0 +1,149 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.DailyMetricsMapper;
+import com.yushan.backend.entity.DailyMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AnalyticsRollupService Tests")
+class AnalyticsRollupServiceTest {
+
+    @Mock
+    private DailyMetricsMapper dailyMetricsMapper;
+
+    private AnalyticsRollupService rollupService;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        rollupService = new AnalyticsRollupService();
+        ReflectionTestUtils.setField(rollupService, "dailyMetricsMapper", dailyMetricsMapper);
+        ReflectionTestUtils.setField(rollupService, "refreshDays", 7);
+    }
+
+    private DailyMetrics day(LocalDate date, long newUsers) {
+        DailyMetrics metrics = new DailyMetrics();
+        metrics.setMetricDate(Date.valueOf(date));
+        metrics.setNewUsers(newUsers);
+        return metrics;
+    }
+
+    @Test
+    @DisplayName("Rollup re-aggregates the refresh window up to yesterday")
+    void rollup_WithExistingRows_RefreshesTrailingWindow() {
+        when(dailyMetricsMapper.selectLatestDate()).thenReturn(Date.valueOf(today.minusDays(1)));
+        when(dailyMetricsMapper.upsertFromSource(any(), any())).thenReturn(7);
+
+        int days = rollupService.rollup();
+
+        assertEquals(7, days);
+        verify(dailyMetricsMapper).upsertFromSource(Date.valueOf(today.minusDays(7)), Date.valueOf(today));
+        verify(dailyMetricsMapper, never()).selectEarliestSourceDate();
+    }
+
+    @Test
+    @DisplayName("First rollup backfills from the earliest source day in chunks")
+    void rollup_WithEmptyTable_BackfillsInChunks() {
+        when(dailyMetricsMapper.selectLatestDate()).thenReturn(null);
+        when(dailyMetricsMapper.selectEarliestSourceDate()).thenReturn(Date.valueOf(today.minusDays(40)));
+        when(dailyMetricsMapper.upsertFromSource(any(), any())).thenReturn(31, 9);
+
+        int days = rollupService.rollup();
+
+        assertEquals(40, days);
+        verify(dailyMetricsMapper).upsertFromSource(Date.valueOf(today.minusDays(40)), Date.valueOf(today.minusDays(9)));
+        verify(dailyMetricsMapper).upsertFromSource(Date.valueOf(today.minusDays(9)), Date.valueOf(today));
+    }
+
+    @Test
+    @DisplayName("Rollup does nothing without source data")
+    void rollup_WithoutSourceData_WritesNothing() {
+        when(dailyMetricsMapper.selectLatestDate()).thenReturn(null);
+        when(dailyMetricsMapper.selectEarliestSourceDate()).thenReturn(null);
+
+        assertEquals(0, rollupService.rollup());
+        verify(dailyMetricsMapper, never()).upsertFromSource(any(), any());
+    }
+
+    @Test
+    @DisplayName("Range reads rolled-up days, aggregates the gap and appends today")
+    void getDailyMetrics_CombinesRollupGapAndToday() {
+        LocalDate start = today.minusDays(5);
+        when(dailyMetricsMapper.selectLatestDate()).thenReturn(Date.valueOf(today.minusDays(3)));
+        when(dailyMetricsMapper.selectRange(any(), any()))
+            .thenReturn(Arrays.asList(day(start, 1), day(start.plusDays(1), 1), day(start.plusDays(2), 1)));
+        when(dailyMetricsMapper.aggregateFromSource(Date.valueOf(today.minusDays(2)), Date.valueOf(today)))
+            .thenReturn(Arrays.asList(day(today.minusDays(2), 2), day(today.minusDays(1), 2)));
+        when(dailyMetricsMapper.aggregateFromSource(Date.valueOf(today), Date.valueOf(today.plusDays(1))))
+            .thenReturn(Collections.singletonList(day(today, 5)));
+
+        List<DailyMetrics> days = rollupService.getDailyMetrics(start, today);
+
+        assertEquals(6, days.size());
+        assertEquals(12L, AnalyticsRollupService.sum(days).getNewUsers());
+        verify(dailyMetricsMapper).selectRange(Date.valueOf(start), Date.valueOf(today.minusDays(3)));
+    }
+
+    @Test
+    @DisplayName("Closed ranges never query today")
+    void getDailyMetrics_ClosedRange_ReadsRollupOnly() {
+        LocalDate start = today.minusDays(10);
+        LocalDate end = today.minusDays(5);
+        when(dailyMetricsMapper.selectLatestDate()).thenReturn(Date.valueOf(today.minusDays(1)));
+        when(dailyMetricsMapper.selectRange(any(), any())).thenReturn(Collections.singletonList(day(start, 3)));
+
+        List<DailyMetrics> days = rollupService.getDailyMetrics(start, end);
+
+        assertEquals(1, days.size());
+        verify(dailyMetricsMapper).selectRange(Date.valueOf(start), Date.valueOf(end));
+        verify(dailyMetricsMapper, never()).aggregateFromSource(any(), any());
+    }
+
+    @Test
+    @DisplayName("Today's row is cached between calls")
+    void getToday_IsCached() {
+        when(dailyMetricsMapper.aggregateFromSource(any(), any()))
+            .thenReturn(Collections.singletonList(day(today, 4)));
+
+        assertEquals(4L, rollupService.getToday().getNewUsers());
+        assertEquals(4L, rollupService.getToday().getNewUsers());
+
+        verify(dailyMetricsMapper, times(1)).aggregateFromSource(any(), any());
+    }
+
+    @Test
+    @DisplayName("Sum adds every counter and leaves the day unset")
+    void sum_AddsEveryCounter() {
+        DailyMetrics first = day(today.minusDays(1), 3);
+        first.setNewChapters(10L);
+        first.setActiveUsers(7L);
+        DailyMetrics second = day(today, 2);
+        second.setNewChapters(5L);
+        second.setActiveUsers(1L);
+
+        DailyMetrics total = AnalyticsRollupService.sum(Arrays.asList(first, second));
+
+        assertEquals(5L, total.getNewUsers());
+        assertEquals(15L, total.getNewChapters());
+        assertEquals(8L, total.getActiveUsers());
+        assertEquals(0L, total.getNewVotes());
+        assertNull(total.getMetricDate());
+    }
+}
@@ -2,6 +2,7 @@ package com.yushan.backend.service;
 
 import com.yushan.backend.dao.AnalyticsMapper;
 import com.yushan.backend.dto.*;
+import com.yushan.backend.entity.DailyMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,6 +10,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.lang.reflect.Field;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.ArrayList;
@@ -26,6 +28,12 @@ class AnalyticsServiceTest {
     @Mock
     private AnalyticsMapper analyticsMapper;
 
+    @Mock
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Mock
+    private ActiveUserCounter activeUserCounter;
+
     private AnalyticsService analyticsService;
 
     @BeforeEach
@@ -37,9 +45,24 @@ class AnalyticsServiceTest {
             Field field = AnalyticsService.class.getDeclaredField("analyticsMapper");
             field.setAccessible(true);
             field.set(analyticsService, analyticsMapper);
+            Field rollupField = AnalyticsService.class.getDeclaredField("analyticsRollupService");
+            rollupField.setAccessible(true);
+            rollupField.set(analyticsService, analyticsRollupService);
+            Field counterField = AnalyticsService.class.getDeclaredField("activeUserCounter");
+            counterField.setAccessible(true);
+            counterField.set(analyticsService, activeUserCounter);
         } catch (Exception e) {
             throw new RuntimeException("Failed to inject mock", e);
         }
+        // counters cover nothing unless a test says otherwise
+        when(activeUserCounter.countDays(any(LocalDate.class), any(LocalDate.class))).thenReturn(null);
+        when(activeUserCounter.countHours(any(LocalDate.class))).thenReturn(null);
+    }
+
+    private DailyMetrics day(LocalDate date) {
+        DailyMetrics metrics = new DailyMetrics();
+        metrics.setMetricDate(java.sql.Date.valueOf(date));
+        return metrics;
     }
 
     @Test
@@ -49,13 +72,10 @@ class AnalyticsServiceTest {
         AnalyticsRequestDTO request = new AnalyticsRequestDTO();
         request.setPeriod("daily");
         
-        AnalyticsTrendResponseDTO.TrendDataPoint dataPoint = new AnalyticsTrendResponseDTO.TrendDataPoint();
-        dataPoint.setPeriodLabel("2024-01-01");
-        dataPoint.setCount(100L);
-        dataPoint.setGrowthRate(0.0);
-        
-        when(analyticsMapper.getUserTrends(any(Date.class), any(Date.class), eq("daily")))
-            .thenReturn(Arrays.asList(dataPoint));
+        DailyMetrics today = day(LocalDate.now());
+        today.setNewUsers(100L);
+        when(analyticsRollupService.getDailyMetrics(any(LocalDate.class), any(LocalDate.class)))
+            .thenReturn(Arrays.asList(today));
 
         // When
         AnalyticsTrendResponseDTO result = analyticsService.getUserTrends(request);
@@ -64,6 +84,7 @@ class AnalyticsServiceTest {
         assertNotNull(result);
         assertEquals("daily", result.getPeriod());
         assertEquals(100L, result.getTotalCount());
+        assertEquals(LocalDate.now().toString(), result.getDataPoints().get(0).getPeriodLabel());
         assertNotNull(result.getStartDate());
         assertNotNull(result.getEndDate());
     }
@@ -77,8 +98,8 @@ class AnalyticsServiceTest {
         request.setStartDate(new Date(System.currentTimeMillis() - 86400000));
         request.setEndDate(new Date());
         
-        when(analyticsMapper.getUserTrends(any(Date.class), any(Date.class), eq("daily")))
-            .thenReturn(Arrays.asList());
+        when(analyticsRollupService.getDailyMetrics(any(LocalDate.class), any(LocalDate.class)))
+            .thenReturn(Arrays.asList(day(LocalDate.now().minusDays(1)), day(LocalDate.now())));
 
         // When
         AnalyticsTrendResponseDTO result = analyticsService.getUserTrends(request);
@@ -86,6 +107,38 @@ class AnalyticsServiceTest {
         // Then
         assertNotNull(result);
         assertEquals("daily", result.getPeriod());
+        assertTrue(result.getDataPoints().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Get novel trends without filters groups rollup days by week")
+    void getNovelTrends_WithoutFiltering_GroupsRollupByWeek() {
+        // Given
+        AnalyticsRequestDTO request = new AnalyticsRequestDTO();
+        request.setPeriod("weekly");
+        request.setStartDate(java.sql.Date.valueOf(LocalDate.of(2024, 1, 1)));
+        request.setEndDate(java.sql.Date.valueOf(LocalDate.of(2024, 1, 14)));
+
+        DailyMetrics monday = day(LocalDate.of(2024, 1, 1));
+        monday.setNewNovels(2L);
+        DailyMetrics sunday = day(LocalDate.of(2024, 1, 7));
+        sunday.setNewNovels(3L);
+        DailyMetrics nextMonday = day(LocalDate.of(2024, 1, 8));
+        nextMonday.setNewNovels(4L);
+        when(analyticsRollupService.getDailyMetrics(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 14)))
+            .thenReturn(Arrays.asList(monday, sunday, nextMonday));
+
+        // When
+        AnalyticsTrendResponseDTO result = analyticsService.getNovelTrends(request);
+
+        // Then
+        assertEquals(2, result.getDataPoints().size());
+        assertEquals("2024-W01", result.getDataPoints().get(0).getPeriodLabel());
+        assertEquals(5L, result.getDataPoints().get(0).getCount());
+        assertEquals("2024-W02", result.getDataPoints().get(1).getPeriodLabel());
+        assertEquals(4L, result.getDataPoints().get(1).getCount());
+        assertEquals(9L, result.getTotalCount());
+        verify(analyticsMapper, never()).getNovelTrends(any(), any(), any(), any(), any(), any());
     }
 
     @Test
@@ -117,12 +170,9 @@ class AnalyticsServiceTest {
         AnalyticsRequestDTO request = new AnalyticsRequestDTO();
         request.setPeriod("daily");
         
-        ReadingActivityResponseDTO.ActivityDataPoint dataPoint = new ReadingActivityResponseDTO.ActivityDataPoint();
-        dataPoint.setPeriodLabel("2024-01-01");
-        dataPoint.setTotalActivity(1000L);
-        
         when(analyticsMapper.getReadingActivityTrends(any(Date.class), any(Date.class), eq("daily"), isNull(), isNull()))
-            .thenReturn(Arrays.asList(dataPoint));
+            .thenReturn(Arrays.asList(new ReadingActivityResponseDTO.ActivityDataPoint(
+                new Date(), "2025-01-01", 600L, 200L, 100L, 50L, 50L)));
 
         // When
         ReadingActivityResponseDTO result = analyticsService.getReadingActivityTrends(request);
@@ -131,6 +181,8 @@ class AnalyticsServiceTest {
         assertNotNull(result);
         assertEquals("daily", result.getPeriod());
         assertEquals(1000L, result.getTotalActivity());
+        assertEquals(1, result.getDataPoints().size());
+        verify(analyticsRollupService, never()).getDailyMetrics(any(), any());
     }
 
     @Test
@@ -140,64 +192,67 @@ class AnalyticsServiceTest {
         AnalyticsRequestDTO request = new AnalyticsRequestDTO();
         request.setPeriod("daily");
         
-        when(analyticsMapper.getTotalUsers(any(Date.class), any(Date.class))).thenReturn(1000L);
-        when(analyticsMapper.getNewUsers(any(Date.class), any(Date.class))).thenReturn(50L);
+        DailyMetrics current = day(LocalDate.now());
+        current.setNewUsers(50L);
+        current.setNewNovels(20L);
+        current.setNewComments(80L);
+        DailyMetrics previous = day(LocalDate.now().minusDays(31));
+        previous.setNewUsers(40L);
+        previous.setNewNovels(20L);
+        when(analyticsRollupService.getDailyMetrics(any(LocalDate.class), any(LocalDate.class)))
+            .thenReturn(Arrays.asList(current), Arrays.asList(previous));
+        AnalyticsSummaryResponseDTO snapshot = new AnalyticsSummaryResponseDTO();
+        snapshot.setAuthors(12L);
+        snapshot.setTotalViews(10000L);
+        snapshot.setAverageRating(4.5);
+        snapshot.setAverageCommentsPerNovel(4.0);
+        when(analyticsMapper.getRangeSnapshot(any(Date.class), any(Date.class))).thenReturn(snapshot);
+        when(analyticsMapper.getTotalViews(any(Date.class), any(Date.class))).thenReturn(8000L);
         when(analyticsMapper.getActiveUsers(any(Date.class), any(Date.class))).thenReturn(800L);
-        when(analyticsMapper.getAuthors(any(Date.class), any(Date.class))).thenReturn(100L);
-        when(analyticsMapper.getTotalNovels(any(Date.class), any(Date.class))).thenReturn(500L);
-        when(analyticsMapper.getNewNovels(any(Date.class), any(Date.class))).thenReturn(20L);
-        when(analyticsMapper.getPublishedNovels(any(Date.class), any(Date.class))).thenReturn(400L);
-        when(analyticsMapper.getCompletedNovels(any(Date.class), any(Date.class))).thenReturn(50L);
-        when(analyticsMapper.getTotalViews(any(Date.class), any(Date.class))).thenReturn(10000L);
-        when(analyticsMapper.getTotalChapters(any(Date.class), any(Date.class))).thenReturn(5000L);
-        when(analyticsMapper.getTotalComments(any(Date.class), any(Date.class))).thenReturn(2000L);
-        when(analyticsMapper.getTotalReviews(any(Date.class), any(Date.class))).thenReturn(500L);
-        when(analyticsMapper.getTotalVotes(any(Date.class), any(Date.class))).thenReturn(1000L);
-        when(analyticsMapper.getAverageRating(any(Date.class), any(Date.class))).thenReturn(4.5);
-        when(analyticsMapper.getAverageViewsPerNovel(any(Date.class), any(Date.class))).thenReturn(20.0);
-        when(analyticsMapper.getAverageCommentsPerNovel(any(Date.class), any(Date.class))).thenReturn(4.0);
-        when(analyticsMapper.getAverageReviewsPerNovel(any(Date.class), any(Date.class))).thenReturn(1.0);
-        
-        // Mock growth rate calculations
-        when(analyticsMapper.getNewUsers(any(Date.class), any(Date.class))).thenReturn(40L, 50L);
-        when(analyticsMapper.getNewNovels(any(Date.class), any(Date.class))).thenReturn(15L, 20L);
-        when(analyticsMapper.getTotalViews(any(Date.class), any(Date.class))).thenReturn(8000L, 10000L);
 
         // When
         AnalyticsSummaryResponseDTO result = analyticsService.getAnalyticsSummary(request);
 
         // Then
         assertNotNull(result);
-        assertEquals(1000L, result.getTotalUsers());
-        assertEquals(40L, result.getNewUsers());
-        assertNotNull(result.getUserGrowthRate());
+        assertEquals(50L, result.getNewUsers());
+        assertEquals(800L, result.getActiveUsers());
+        assertEquals(12L, result.getAuthors());
+        assertEquals(80L, result.getTotalComments());
+        assertEquals(10000L, result.getTotalViews());
+        assertEquals(4.5, result.getAverageRating());
+        assertEquals(4.0, result.getAverageCommentsPerNovel());
+        assertEquals(25.0, result.getUserGrowthRate());
+        assertEquals(0.0, result.getNovelGrowthRate());
+        assertEquals(25.0, result.getViewGrowthRate());
     }
 
     @Test
     @DisplayName("Get platform statistics")
     void getPlatformStatistics_ReturnsPlatformStats() {
         // Given
-        when(analyticsMapper.getTotalUsersAll()).thenReturn(5000L);
+        PlatformStatisticsResponseDTO snapshot = new PlatformStatisticsResponseDTO();
+        snapshot.setTotalUsers(5000L);
+        snapshot.setTotalNovels(2000L);
+        snapshot.setAverageRating(4.5);
+        snapshot.setTotalChapters(10000L);
+        snapshot.setTotalComments(9000L);
+        DailyMetrics today = day(LocalDate.now());
+        today.setNewUsers(50L);
+        DailyMetrics currentMonth = day(LocalDate.now());
+        currentMonth.setNewUsers(60L);
+        DailyMetrics previousMonth = day(LocalDate.now().minusMonths(1));
+        previousMonth.setNewUsers(40L);
+
+        when(analyticsMapper.getPlatformSnapshot()).thenReturn(snapshot);
         when(analyticsMapper.getActiveUsersAll()).thenReturn(3000L);
-        when(analyticsMapper.getNewUsersToday()).thenReturn(50L);
-        when(analyticsMapper.getAuthorsAll()).thenReturn(200L);
-        when(analyticsMapper.getAdminsAll()).thenReturn(5L);
-        when(analyticsMapper.getTotalNovelsAll()).thenReturn(2000L);
-        when(analyticsMapper.getPublishedNovelsAll()).thenReturn(1500L);
-        when(analyticsMapper.getCompletedNovelsAll()).thenReturn(200L);
-        when(analyticsMapper.getTotalChaptersAll()).thenReturn(10000L);
-        when(analyticsMapper.getTotalWordsAll()).thenReturn(50000000L);
-        when(analyticsMapper.getTotalViewsAll()).thenReturn(500000L);
-        when(analyticsMapper.getTotalCommentsAll()).thenReturn(10000L);
-        when(analyticsMapper.getTotalReviewsAll()).thenReturn(2000L);
-        when(analyticsMapper.getTotalVotesAll()).thenReturn(5000L);
-        when(analyticsMapper.getAverageRatingAll()).thenReturn(4.5);
+        when(analyticsRollupService.getToday()).thenReturn(today);
+        when(analyticsRollupService.getDailyMetrics(any(LocalDate.class), any(LocalDate.class)))
+            .thenReturn(Arrays.asList(currentMonth), Arrays.asList(previousMonth));
         when(analyticsMapper.getDailyActiveUsers(any(Date.class))).thenReturn(1000L);
         when(analyticsMapper.getWeeklyActiveUsers(any(Date.class), any(Date.class))).thenReturn(5000L);
         when(analyticsMapper.getMonthlyActiveUsers(any(Date.class), any(Date.class))).thenReturn(10000L);
-        when(analyticsMapper.getPlatformUserGrowthRate()).thenReturn(10.5);
-        when(analyticsMapper.getPlatformContentGrowthRate()).thenReturn(15.2);
-        when(analyticsMapper.getPlatformEngagementGrowthRate()).thenReturn(8.3);
+        when(analyticsMapper.getTotalViews(any(Date.class), any(Date.class))).thenReturn(300L, 200L);
 
         // When
         PlatformStatisticsResponseDTO result = analyticsService.getPlatformStatistics();
@@ -206,6 +261,13 @@ class AnalyticsServiceTest {
         assertNotNull(result);
         assertEquals(5000L, result.getTotalUsers());
         assertEquals(3000L, result.getActiveUsers());
+        assertEquals(50L, result.getNewUsersToday());
+        assertEquals(10000L, result.getTotalChapters());
+        assertEquals(9000L, result.getTotalComments());
+        assertEquals(4.5, result.getAverageRating());
+        assertEquals(50.0, result.getUserGrowthRate());
+        assertEquals(0.0, result.getContentGrowthRate());
+        assertEquals(50.0, result.getEngagementGrowthRate());
         assertNotNull(result.getTimestamp());
     }
 
@@ -234,6 +296,40 @@ class AnalyticsServiceTest {
         assertNotNull(result.getHourlyBreakdown());
     }
 
+    @Test
+    @DisplayName("Get daily active users from the HyperLogLog counters")
+    void getDailyActiveUsers_FromCounters() {
+        // Given
+        Date targetDate = new Date();
+        LocalDate day = LocalDate.now();
+        Long[] hours = new Long[24];
+        Arrays.fill(hours, 0L);
+        hours[9] = 30L;
+        hours[21] = 70L;
+
+        when(activeUserCounter.countDays(day, day)).thenReturn(90L);
+        when(activeUserCounter.countDays(day.minusDays(7), day)).thenReturn(400L);
+        when(activeUserCounter.countDays(day.minusMonths(1), day)).thenReturn(1500L);
+        when(activeUserCounter.countHours(day)).thenReturn(Arrays.asList(hours));
+        when(analyticsMapper.getHourlyReadingSessions(targetDate)).thenReturn(Arrays.asList(
+            new DailyActiveUsersResponseDTO.ActivityDataPoint(21, null, null, 120L)));
+
+        // When
+        DailyActiveUsersResponseDTO result = analyticsService.getDailyActiveUsers(targetDate);
+
+        // Then
+        assertEquals(90L, result.getDau());
+        assertEquals(400L, result.getWau());
+        assertEquals(1500L, result.getMau());
+        assertEquals(2, result.getHourlyBreakdown().size());
+        assertEquals(9, result.getHourlyBreakdown().get(0).getHour());
+        assertEquals(0L, result.getHourlyBreakdown().get(0).getReadingSessions());
+        assertEquals(70L, result.getHourlyBreakdown().get(1).getActiveUsers());
+        assertEquals(120L, result.getHourlyBreakdown().get(1).getReadingSessions());
+        verify(analyticsMapper, never()).getDailyActiveUsers(any());
+        verify(analyticsMapper, never()).getHourlyActiveUsers(any());
+    }
+
     @Test
     @DisplayName("Get top content statistics")
     void getTopContent_WithLimit_ReturnsTopContent() {
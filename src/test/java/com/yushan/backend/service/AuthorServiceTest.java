@@ -3,6 +3,7 @@ package com.yushan.backend.service;
 import com.yushan.backend.dao.UserMapper;
 import com.yushan.backend.dto.UserProfileResponseDTO;
 import com.yushan.backend.entity.User;
+import com.yushan.backend.security.UserDetailsCache;
 import com.yushan.backend.util.RedisUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,6 +33,9 @@ class AuthorServiceTest {
     @Mock
     private RedisUtil redisUtil;
 
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
     @InjectMocks
     private AuthorService authorService;
 
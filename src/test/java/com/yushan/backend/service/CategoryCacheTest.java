@@ -0,0 +1,97 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.CategoryMapper;
+import com.yushan.backend.entity.Category;
+import com.yushan.backend.util.RedisUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CategoryCache Tests")
+class CategoryCacheTest {
+
+    @Mock
+    private CategoryMapper categoryMapper;
+
+    @Mock
+    private RedisUtil redisUtil;
+
+    private CategoryCache categoryCache;
+
+    @BeforeEach
+    void setUp() {
+        categoryCache = new CategoryCache(categoryMapper, redisUtil);
+        lenient().when(categoryMapper.selectAll()).thenReturn(Arrays.asList(
+                createCategory(2, "Romance", "romance", false),
+                createCategory(1, "Fantasy", "fantasy", true)
+        ));
+    }
+
+    @Test
+    @DisplayName("id and slug lookups share one snapshot query")
+    void testLookupsShareSnapshot() {
+        assertEquals("Fantasy", categoryCache.getById(1).getName());
+        assertEquals("Romance", categoryCache.getBySlug("romance").getName());
+        assertNull(categoryCache.getById(99));
+        assertEquals(2, categoryCache.getAll().size());
+        assertEquals(1, categoryCache.getActive().size());
+
+        verify(categoryMapper, times(1)).selectAll();
+    }
+
+    @Test
+    @DisplayName("invalidate reloads the snapshot and notifies other nodes")
+    void testInvalidateReloadsAndPublishes() {
+        categoryCache.getById(1);
+        categoryCache.invalidate();
+
+        when(categoryMapper.selectAll()).thenReturn(Collections.singletonList(
+                createCategory(1, "High Fantasy", "high-fantasy", true)
+        ));
+        assertEquals("High Fantasy", categoryCache.getById(1).getName());
+        assertNull(categoryCache.getBySlug("fantasy"));
+
+        verify(categoryMapper, times(2)).selectAll();
+        verify(redisUtil).publish(eq(CategoryCache.INVALIDATION_CHANNEL), anyString());
+    }
+
+    @Test
+    @DisplayName("invalidation message from another node drops the snapshot")
+    void testMessageDropsSnapshot() {
+        categoryCache.getById(1);
+        categoryCache.onMessage(null, null);
+        categoryCache.getById(1);
+
+        verify(categoryMapper, times(2)).selectAll();
+        verifyNoInteractions(redisUtil);
+    }
+
+    @Test
+    @DisplayName("publish failure does not fail the write")
+    void testPublishFailureIsSwallowed() {
+        doThrow(new RuntimeException("redis down")).when(redisUtil).publish(anyString(), anyString());
+
+        assertDoesNotThrow(() -> categoryCache.invalidate());
+    }
+
+    private Category createCategory(Integer id, String name, String slug, Boolean isActive) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        category.setSlug(slug);
+        category.setIsActive(isActive);
+        return category;
+    }
+}
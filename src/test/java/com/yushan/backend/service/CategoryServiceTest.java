@@ -3,6 +3,7 @@ package com.yushan.backend.service;
 import com.yushan.backend.dao.CategoryMapper;
 import com.yushan.backend.entity.Category;
 import com.yushan.backend.exception.ResourceNotFoundException;
+import com.yushan.backend.util.RedisUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -25,6 +26,9 @@ class CategoryServiceTest {
     @Mock
     private CategoryMapper categoryMapper;
 
+    @Mock
+    private RedisUtil redisUtil;
+
     private CategoryService categoryService;
 
     @BeforeEach
@@ -37,6 +41,10 @@ class CategoryServiceTest {
             java.lang.reflect.Field field = CategoryService.class.getDeclaredField("categoryMapper");
             field.setAccessible(true);
             field.set(categoryService, categoryMapper);
+
+            java.lang.reflect.Field cacheField = CategoryService.class.getDeclaredField("categoryCache");
+            cacheField.setAccessible(true);
+            cacheField.set(categoryService, new CategoryCache(categoryMapper, redisUtil));
         } catch (Exception e) {
             throw new RuntimeException("Failed to inject mock", e);
         }
@@ -90,11 +98,12 @@ class CategoryServiceTest {
         @DisplayName("Should return only active categories")
         void shouldReturnOnlyActiveCategories() {
             // Given
-            List<Category> expectedCategories = Arrays.asList(
-                createCategory(1, "Fiction", "Fiction books", "fiction", true),
-                createCategory(3, "Science", "Science books", "science", true)
+            List<Category> allCategories = Arrays.asList(
+                createCategory(3, "Science", "Science books", "science", true),
+                createCategory(2, "Non-Fiction", "Non-fiction books", "non-fiction", false),
+                createCategory(1, "Fiction", "Fiction books", "fiction", true)
             );
-            when(categoryMapper.selectActiveCategories()).thenReturn(expectedCategories);
+            when(categoryMapper.selectAll()).thenReturn(allCategories);
 
             // When
             List<Category> result = categoryService.getActiveCategories();
@@ -103,7 +112,9 @@ class CategoryServiceTest {
             assertNotNull(result);
             assertEquals(2, result.size());
             assertTrue(result.stream().allMatch(Category::getIsActive));
-            verify(categoryMapper).selectActiveCategories();
+            assertEquals("Fiction", result.get(0).getName());
+            assertEquals("Science", result.get(1).getName());
+            verify(categoryMapper).selectAll();
         }
     }
 
@@ -155,6 +166,27 @@ class CategoryServiceTest {
             assertEquals("Category not found with id: " + id, exception.getMessage());
             verify(categoryMapper).selectByPrimaryKey(id);
         }
+
+        @Test
+        @DisplayName("Should serve repeated lookups from the category snapshot")
+        void shouldServeRepeatedLookupsFromSnapshot() {
+            // Given
+            when(categoryMapper.selectAll()).thenReturn(Arrays.asList(
+                createCategory(1, "Fiction", "Fiction books", "fiction", true),
+                createCategory(2, "Science", "Science books", "science", true)
+            ));
+
+            // When
+            for (int i = 0; i < 10; i++) {
+                categoryService.getCategoryById(1);
+                categoryService.getCategoryById(2);
+            }
+
+            // Then
+            assertEquals("Science", categoryService.getCategoryById(2).getName());
+            verify(categoryMapper, times(1)).selectAll();
+            verify(categoryMapper, never()).selectByPrimaryKey(anyInt());
+        }
     }
 
     @Nested
@@ -249,6 +281,7 @@ class CategoryServiceTest {
             Category savedCategory = captor.getValue();
             assertEquals("Science Fiction", savedCategory.getName());
             assertEquals("science-fiction", savedCategory.getSlug());
+            verify(redisUtil).publish(eq(CategoryCache.INVALIDATION_CHANNEL), anyString());
         }
 
         @Test
@@ -551,6 +584,26 @@ class CategoryServiceTest {
             assertNull(result.get(999)); // Key for the missing ID should not be present
             verify(categoryMapper).selectByIds(ids);
         }
+
+        @Test
+        @DisplayName("Should only query the database for ids missing from the snapshot")
+        void shouldOnlyQueryIdsMissingFromSnapshot() {
+            // Given
+            when(categoryMapper.selectAll()).thenReturn(Collections.singletonList(
+                    createCategory(1, "Fantasy", "desc", "fantasy", true)
+            ));
+            when(categoryMapper.selectByIds(Collections.singletonList(2))).thenReturn(Collections.singletonList(
+                    createCategory(2, "Sci-Fi", "desc", "sci-fi", true)
+            ));
+
+            // When
+            Map<Integer, String> result = categoryService.getCategoryMapByIds(Arrays.asList(1, 2));
+
+            // Then
+            assertEquals("Fantasy", result.get(1));
+            assertEquals("Sci-Fi", result.get(2));
+            verify(categoryMapper).selectByIds(Collections.singletonList(2));
+        }
     }
 
     /**
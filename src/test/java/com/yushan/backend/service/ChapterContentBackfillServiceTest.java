@@ -0,0 +1,60 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.ChapterMapper;
+import com.yushan.backend.entity.Chapter;
+import com.yushan.backend.util.ChapterContentCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChapterContentBackfillServiceTest {
+
+    @Mock
+    private ChapterMapper chapterMapper;
+
+    @InjectMocks
+    private ChapterContentBackfillService backfillService;
+
+    private Chapter plain(int id, String content) {
+        Chapter chapter = new Chapter();
+        chapter.setId(id);
+        chapter.setContent(content);
+        return chapter;
+    }
+
+    @Test
+    @DisplayName("plain rows are compressed batch by batch after the last id seen")
+    void backfill_compressesPlainRows() {
+        when(chapterMapper.selectUncompressedContent(eq(0), anyInt()))
+                .thenReturn(List.of(plain(3, "Chapter three"), plain(7, "Chapter seven")));
+        when(chapterMapper.selectUncompressedContent(eq(7), anyInt())).thenReturn(Collections.emptyList());
+        when(chapterMapper.updateCompressedContent(anyInt(), any(), anyString())).thenReturn(1);
+
+        assertEquals(2, backfillService.backfill());
+
+        verify(chapterMapper).updateCompressedContent(eq(3),
+                argThat(bytes -> ChapterContentCodec.decode(bytes).equals("Chapter three")), eq("Chapter three"));
+        verify(chapterMapper).updateCompressedContent(eq(7), any(), eq("Chapter seven"));
+    }
+
+    @Test
+    @DisplayName("rows rewritten since they were read are not counted")
+    void backfill_skipsRowsWrittenMeanwhile() {
+        when(chapterMapper.selectUncompressedContent(eq(0), anyInt())).thenReturn(List.of(plain(1, "Text")));
+        when(chapterMapper.selectUncompressedContent(eq(1), anyInt())).thenReturn(Collections.emptyList());
+        when(chapterMapper.updateCompressedContent(anyInt(), any(), anyString())).thenReturn(0);
+
+        assertEquals(0, backfillService.backfill());
+    }
+}
@@ -0,0 +1,172 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.ChapterMapper;
+import com.yushan.backend.entity.Chapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChapterContentCache Tests")
+class ChapterContentCacheTest {
+
+    @Mock
+    private ChapterMapper chapterMapper;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChapterContentCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ChapterContentCache(chapterMapper, meterRegistry);
+        ReflectionTestUtils.setField(cache, "maxBytes", 1000L);
+    }
+
+    private Chapter meta(UUID uuid, long updateTime) {
+        Chapter chapter = new Chapter();
+        chapter.setUuid(uuid);
+        chapter.setUpdateTime(new Date(updateTime));
+        return chapter;
+    }
+
+    private Chapter body(UUID uuid, long updateTime, int size) {
+        Chapter chapter = meta(uuid, updateTime);
+        chapter.setCompressedContent(new byte[size]);
+        return chapter;
+    }
+
+    @Test
+    @DisplayName("a body is loaded once and served from the cache for the same update time")
+    void testLoadContentCachesBody() {
+        UUID uuid = UUID.randomUUID();
+        Chapter stored = body(uuid, 1000L, 100);
+        when(chapterMapper.selectBodyByUuid(uuid)).thenReturn(stored);
+
+        Chapter first = meta(uuid, 1000L);
+        cache.loadContent(first);
+        Chapter second = meta(uuid, 1000L);
+        cache.loadContent(second);
+
+        assertSame(stored.getCompressedContent(), first.getCompressedContent());
+        assertSame(stored.getCompressedContent(), second.getCompressedContent());
+        verify(chapterMapper, times(1)).selectBodyByUuid(uuid);
+        assertEquals(100L, cache.getTotalBytes());
+        assertEquals(0.5, cache.getHitRatio());
+    }
+
+    @Test
+    @DisplayName("an edited chapter is reloaded")
+    void testLoadContentReloadsOutdatedBody() {
+        UUID uuid = UUID.randomUUID();
+        when(chapterMapper.selectBodyByUuid(uuid)).thenReturn(body(uuid, 1000L, 100), body(uuid, 2000L, 120));
+
+        cache.loadContent(meta(uuid, 1000L));
+        Chapter edited = meta(uuid, 2000L);
+        cache.loadContent(edited);
+
+        assertEquals(120, edited.getCompressedContent().length);
+        assertEquals(120L, cache.getTotalBytes());
+        assertEquals(1, cache.getEntryCount());
+    }
+
+    @Test
+    @DisplayName("least recently read bodies are evicted to stay within the byte budget")
+    void testEvictsByBytes() {
+        UUID[] uuids = new UUID[9];
+        for (int i = 0; i < uuids.length; i++) {
+            uuids[i] = UUID.randomUUID();
+            when(chapterMapper.selectBodyByUuid(uuids[i])).thenReturn(body(uuids[i], 1L, 120));
+        }
+
+        for (int i = 0; i < 8; i++) {
+            cache.loadContent(meta(uuids[i], 1L));
+        }
+        cache.loadContent(meta(uuids[0], 1L));
+        cache.loadContent(meta(uuids[8], 1L));
+
+        // the first body was read again, so the second one goes
+        assertEquals(960L, cache.getTotalBytes());
+        assertEquals(1.0, meterRegistry.counter("chapter_content.cache.evictions").count());
+        cache.loadContent(meta(uuids[0], 1L));
+        cache.loadContent(meta(uuids[1], 1L));
+        verify(chapterMapper, times(1)).selectBodyByUuid(uuids[0]);
+        verify(chapterMapper, times(2)).selectBodyByUuid(uuids[1]);
+    }
+
+    @Test
+    @DisplayName("a body over its share of the budget is served but not kept")
+    void testSkipsOversizedBody() {
+        UUID uuid = UUID.randomUUID();
+        when(chapterMapper.selectBodyByUuid(uuid)).thenReturn(body(uuid, 1L, 400));
+
+        Chapter chapter = meta(uuid, 1L);
+        cache.loadContent(chapter);
+
+        assertEquals(400, chapter.getCompressedContent().length);
+        assertEquals(0L, cache.getTotalBytes());
+    }
+
+    @Test
+    @DisplayName("missing chapters leave the content unset")
+    void testLoadContentMissingBody() {
+        UUID uuid = UUID.randomUUID();
+        Chapter chapter = meta(uuid, 1L);
+
+        cache.loadContent(chapter);
+
+        assertNull(chapter.getCompressedContent());
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    @DisplayName("a prefetched body serves the next read and counts towards accuracy")
+    void testPrefetch() throws InterruptedException {
+        UUID next = UUID.randomUUID();
+        UUID unread = UUID.randomUUID();
+        when(chapterMapper.selectBodyByUuid(next)).thenReturn(body(next, 1L, 100));
+        when(chapterMapper.selectBodyByUuid(unread)).thenReturn(body(unread, 1L, 100));
+
+        cache.prefetch(next);
+        cache.prefetch(unread);
+        awaitPrefetches();
+        cache.prefetch(next);
+        cache.loadContent(meta(next, 1L));
+        // outdated before being read
+        cache.loadContent(meta(unread, 2L));
+
+        verify(chapterMapper, times(1)).selectBodyByUuid(next);
+        assertEquals(2.0, meterRegistry.counter("chapter_content.cache.prefetch", "outcome", "loaded").count());
+        assertEquals(0.5, cache.getPrefetchAccuracy());
+    }
+
+    @Test
+    @DisplayName("prefetching can be turned off")
+    void testPrefetchDisabled() throws InterruptedException {
+        ReflectionTestUtils.setField(cache, "prefetchEnabled", false);
+
+        cache.prefetch(UUID.randomUUID());
+        awaitPrefetches();
+
+        verifyNoInteractions(chapterMapper);
+    }
+
+    private void awaitPrefetches() throws InterruptedException {
+        ExecutorService executor = (ExecutorService) ReflectionTestUtils.getField(cache, "prefetchExecutor");
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,77 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.ChapterMapper;
+import com.yushan.backend.entity.Chapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChapterNavigationIndex Tests")
+class ChapterNavigationIndexTest {
+
+    @Mock
+    private ChapterMapper chapterMapper;
+
+    private ChapterNavigationIndex navigationIndex;
+
+    private Chapter chapter1;
+    private Chapter chapter2;
+    private Chapter scheduled3;
+    private Chapter chapter5;
+
+    @BeforeEach
+    void setUp() {
+        navigationIndex = new ChapterNavigationIndex(chapterMapper);
+        Date past = new Date(System.currentTimeMillis() - 60_000);
+        chapter1 = createChapter(1, past);
+        chapter2 = createChapter(2, past);
+        scheduled3 = createChapter(3, new Date(System.currentTimeMillis() + 3_600_000));
+        chapter5 = createChapter(5, past);
+        when(chapterMapper.selectNavigationByNovelId(1))
+                .thenReturn(Arrays.asList(chapter1, chapter2, scheduled3, chapter5));
+    }
+
+    @Test
+    @DisplayName("next and previous skip scheduled chapters and gaps in numbering")
+    void testNavigationSkipsScheduledChapters() {
+        assertEquals(chapter5.getUuid(), navigationIndex.getNextChapterUuid(1, 2));
+        assertEquals(chapter2.getUuid(), navigationIndex.getPreviousChapterUuid(1, 5));
+        assertEquals(chapter5.getUuid(), navigationIndex.getNextChapterUuid(1, 4));
+        assertEquals(chapter2.getUuid(), navigationIndex.getPreviousChapterUuid(1, 4));
+        assertNull(navigationIndex.getNextChapterUuid(1, 5));
+        assertNull(navigationIndex.getPreviousChapterUuid(1, 1));
+    }
+
+    @Test
+    @DisplayName("index is loaded once per novel until invalidated")
+    void testIndexIsCachedUntilInvalidated() {
+        navigationIndex.getNextChapterUuid(1, 1);
+        navigationIndex.getPreviousChapterUuid(1, 2);
+        verify(chapterMapper, times(1)).selectNavigationByNovelId(1);
+
+        navigationIndex.invalidate(1);
+        navigationIndex.getNextChapterUuid(1, 1);
+        verify(chapterMapper, times(2)).selectNavigationByNovelId(1);
+    }
+
+    private Chapter createChapter(int chapterNumber, Date publishTime) {
+        Chapter chapter = new Chapter();
+        chapter.setUuid(UUID.randomUUID());
+        chapter.setNovelId(1);
+        chapter.setChapterNumber(chapterNumber);
+        chapter.setIsValid(true);
+        chapter.setPublishTime(publishTime);
+        return chapter;
+    }
+}
@@ -1,17 +1,22 @@
 package com.yushan.backend.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yushan.backend.dao.ChapterMapper;
 import com.yushan.backend.dao.NovelMapper;
 import com.yushan.backend.dto.*;
 import com.yushan.backend.entity.Chapter;
 import com.yushan.backend.entity.Novel;
 import com.yushan.backend.exception.ResourceNotFoundException;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.StringReader;
 import java.lang.reflect.Field;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -27,6 +32,9 @@ public class ChapterServiceTest {
     private ChapterMapper chapterMapper;
     private NovelMapper novelMapper;
     private NovelService novelService;
+    private ViewCountBuffer viewCountBuffer;
+    private ChapterContentCache chapterContentCache;
+    private NovelStatisticsReconciler novelStatisticsReconciler;
     private ChapterService chapterService;
 
     @BeforeEach
@@ -34,6 +42,9 @@ public class ChapterServiceTest {
         chapterMapper = Mockito.mock(ChapterMapper.class);
         novelMapper = Mockito.mock(NovelMapper.class);
         novelService = Mockito.mock(NovelService.class);
+        viewCountBuffer = Mockito.mock(ViewCountBuffer.class);
+        chapterContentCache = Mockito.mock(ChapterContentCache.class);
+        novelStatisticsReconciler = Mockito.mock(NovelStatisticsReconciler.class);
 
         chapterService = new ChapterService();
         try {
@@ -48,6 +59,34 @@ public class ChapterServiceTest {
             Field novelServiceField = ChapterService.class.getDeclaredField("novelService");
             novelServiceField.setAccessible(true);
             novelServiceField.set(chapterService, novelService);
+
+            Field viewCountBufferField = ChapterService.class.getDeclaredField("viewCountBuffer");
+            viewCountBufferField.setAccessible(true);
+            viewCountBufferField.set(chapterService, viewCountBuffer);
+
+            Field navigationIndexField = ChapterService.class.getDeclaredField("chapterNavigationIndex");
+            navigationIndexField.setAccessible(true);
+            navigationIndexField.set(chapterService, new ChapterNavigationIndex(chapterMapper));
+
+            Field contentCacheField = ChapterService.class.getDeclaredField("chapterContentCache");
+            contentCacheField.setAccessible(true);
+            contentCacheField.set(chapterService, chapterContentCache);
+
+            Field reconcilerField = ChapterService.class.getDeclaredField("novelStatisticsReconciler");
+            reconcilerField.setAccessible(true);
+            reconcilerField.set(chapterService, novelStatisticsReconciler);
+
+            Field novelCacheField = ChapterService.class.getDeclaredField("novelCache");
+            novelCacheField.setAccessible(true);
+            novelCacheField.set(chapterService, Mockito.mock(NovelCache.class));
+
+            Field objectMapperField = ChapterService.class.getDeclaredField("objectMapper");
+            objectMapperField.setAccessible(true);
+            objectMapperField.set(chapterService, new ObjectMapper());
+
+            Field validatorField = ChapterService.class.getDeclaredField("validator");
+            validatorField.setAccessible(true);
+            validatorField.set(chapterService, Validation.buildDefaultValidatorFactory().getValidator());
         } catch (Exception e) {
             fail("Failed to set up test dependencies: " + e.getMessage());
         }
@@ -73,20 +112,17 @@ public class ChapterServiceTest {
         when(chapterMapper.existsByNovelIdAndChapterNumber(1, 1)).thenReturn(false);
         when(chapterMapper.insertSelective(any(Chapter.class))).thenReturn(1);
         
-        // Mock updateNovelStatistics dependencies
-        when(chapterMapper.countPublishedByNovelId(1)).thenReturn(1L);
-        when(chapterMapper.sumWordCountByNovelId(1)).thenReturn(100L);
-        when(novelMapper.updateByPrimaryKeySelective(any())).thenReturn(1);
-
         Chapter createdChapter = createTestChapter(UUID.randomUUID(), 1, 1);
         createdChapter.setTitle("Chapter 1"); // Match the expected title
-        when(chapterMapper.selectByUuid(any(UUID.class))).thenReturn(createdChapter);
+        when(chapterMapper.selectMetaByUuid(any(UUID.class))).thenReturn(createdChapter);
 
         // Act
         ChapterDetailResponseDTO response = chapterService.createChapter(userId, req);
 
-        // Assert interactions - novelMapper.selectByPrimaryKey is called twice (once for validation, once for updateNovelStatistics)
-        verify(novelMapper, times(2)).selectByPrimaryKey(1);
+        // Assert interactions - the novel is only read for validation, statistics move by delta
+        verify(novelMapper, times(1)).selectByPrimaryKey(1);
+        verify(novelMapper).applyStatisticsDelta(1, 1, 23L);
+        verify(chapterMapper, never()).countPublishedByNovelId(any());
         verify(chapterMapper, times(1)).existsByNovelIdAndChapterNumber(1, 1);
         verify(chapterMapper, times(1)).insertSelective(argThat(chapter -> {
             return chapter.getNovelId().equals(1) &&
@@ -171,21 +207,103 @@ public class ChapterServiceTest {
         UUID chapterUuid = UUID.randomUUID();
         Chapter chapter = createTestChapter(chapterUuid, 1, 1);
         chapter.setTitle("Test Chapter");
-        when(chapterMapper.selectByUuid(chapterUuid)).thenReturn(chapter);
-        when(chapterMapper.selectNextChapter(1, 1)).thenReturn(null);
-        when(chapterMapper.selectPreviousChapter(1, 1)).thenReturn(null);
+        when(chapterMapper.selectMetaByUuid(chapterUuid)).thenReturn(chapter);
 
         ChapterDetailResponseDTO response = chapterService.getChapterByUuid(chapterUuid);
 
         assertNotNull(response);
         assertEquals("Test Chapter", response.getTitle());
         assertEquals(Integer.valueOf(1), response.getChapterNumber());
+        assertNull(response.getNextChapterUuid());
+        assertNull(response.getPreviousChapterUuid());
+        verify(chapterMapper, never()).selectNextChapter(any(), any());
+        verify(chapterMapper, never()).selectPreviousChapter(any(), any());
+    }
+
+    @Test
+    void getChapterByUuid_ShouldResolveNavigationFromIndex() {
+        UUID chapterUuid = UUID.randomUUID();
+        Chapter chapter = createTestChapter(chapterUuid, 1, 2);
+        Chapter first = createTestChapter(UUID.randomUUID(), 1, 1);
+        Chapter third = createTestChapter(UUID.randomUUID(), 1, 3);
+        when(chapterMapper.selectMetaByUuid(chapterUuid)).thenReturn(chapter);
+        when(chapterMapper.selectNavigationByNovelId(1)).thenReturn(Arrays.asList(first, chapter, third));
+
+        ChapterDetailResponseDTO response = chapterService.getChapterByUuid(chapterUuid);
+
+        assertEquals(first.getUuid(), response.getPreviousChapterUuid());
+        assertEquals(third.getUuid(), response.getNextChapterUuid());
+        verify(chapterMapper, times(1)).selectMetaByUuid(any());
+        verify(chapterMapper, never()).selectByUuid(any());
+        verify(chapterContentCache).loadContent(chapter);
+        verify(chapterContentCache).prefetch(third.getUuid());
+    }
+
+    @Test
+    void getNextChapterUuid_ShouldUseNarrowLookup() {
+        UUID chapterUuid = UUID.randomUUID();
+        Chapter chapter = createTestChapter(chapterUuid, 1, 1);
+        Chapter second = createTestChapter(UUID.randomUUID(), 1, 2);
+        when(chapterMapper.selectNavigationByUuid(chapterUuid)).thenReturn(chapter);
+        when(chapterMapper.selectNavigationByNovelId(1)).thenReturn(Arrays.asList(chapter, second));
+
+        assertEquals(second.getUuid(), chapterService.getNextChapterUuid(chapterUuid));
+        assertNull(chapterService.getPreviousChapterUuid(chapterUuid));
+        verify(chapterMapper, never()).selectByUuid(any());
+        verify(chapterMapper, times(1)).selectNavigationByNovelId(1);
+    }
+
+    @Test
+    void getChapterByNovelIdAndNumber_ShouldLoadChapterOnce() {
+        Chapter chapter = createTestChapter(UUID.randomUUID(), 1, 1);
+        when(chapterMapper.selectMetaByNovelIdAndChapterNumber(1, 1)).thenReturn(chapter);
+
+        ChapterDetailResponseDTO response = chapterService.getChapterByNovelIdAndNumber(1, 1);
+
+        assertEquals(chapter.getUuid(), response.getUuid());
+        verify(chapterMapper, never()).selectMetaByUuid(any());
+    }
+
+    @Test
+    void getChapterVersion_ShouldChangeWithUpdateTimeAndNavigation() {
+        UUID chapterUuid = UUID.randomUUID();
+        Chapter chapter = createTestChapter(chapterUuid, 1, 1);
+        chapter.setIsPremium(true);
+        chapter.setUpdateTime(new Date(1000L));
+        when(chapterMapper.selectVersionByUuid(chapterUuid)).thenReturn(chapter);
+        when(chapterMapper.selectNavigationByNovelId(1)).thenReturn(Collections.singletonList(chapter));
+
+        ChapterVersionDTO version = chapterService.getChapterVersion(chapterUuid);
+        assertEquals(chapterUuid, version.getUuid());
+        assertTrue(version.getIsPremium());
+        assertTrue(version.getEtag().startsWith("W/\""));
+        assertEquals(version.getEtag(), chapterService.getChapterVersion(chapterUuid).getEtag());
+
+        chapter.setUpdateTime(new Date(2000L));
+        String edited = chapterService.getChapterVersion(chapterUuid).getEtag();
+        assertNotEquals(version.getEtag(), edited);
+
+        Chapter next = createTestChapter(UUID.randomUUID(), 1, 2);
+        ((ChapterNavigationIndex) ReflectionTestUtils.getField(chapterService, "chapterNavigationIndex")).invalidate(1);
+        when(chapterMapper.selectNavigationByNovelId(1)).thenReturn(Arrays.asList(chapter, next));
+        assertNotEquals(edited, chapterService.getChapterVersion(chapterUuid).getEtag());
+        verify(chapterMapper, never()).selectByUuid(any());
+    }
+
+    @Test
+    void getChapterVersion_Invalid_ShouldThrow() {
+        Chapter chapter = createTestChapter(UUID.randomUUID(), 1, 3);
+        chapter.setIsValid(false);
+        when(chapterMapper.selectVersionByNovelIdAndChapterNumber(1, 3)).thenReturn(chapter);
+
+        assertThrows(ResourceNotFoundException.class, () -> chapterService.getChapterVersion(1, 3));
+        assertThrows(ResourceNotFoundException.class, () -> chapterService.getChapterVersion(UUID.randomUUID()));
     }
 
     @Test
     void getChapterByUuid_NotFound_ShouldThrow() {
         UUID chapterUuid = UUID.randomUUID();
-        when(chapterMapper.selectByUuid(chapterUuid)).thenReturn(null);
+        when(chapterMapper.selectMetaByUuid(chapterUuid)).thenReturn(null);
 
         assertThrows(ResourceNotFoundException.class, () -> chapterService.getChapterByUuid(chapterUuid));
     }
@@ -195,7 +313,7 @@ public class ChapterServiceTest {
         UUID chapterUuid = UUID.randomUUID();
         Chapter invalidChapter = createTestChapter(chapterUuid, 1, 1);
         invalidChapter.setIsValid(false);
-        when(chapterMapper.selectByUuid(chapterUuid)).thenReturn(invalidChapter);
+        when(chapterMapper.selectMetaByUuid(chapterUuid)).thenReturn(invalidChapter);
 
         assertThrows(ResourceNotFoundException.class, () -> chapterService.getChapterByUuid(chapterUuid));
     }
@@ -281,11 +399,7 @@ public class ChapterServiceTest {
         Chapter updatedChapter = createTestChapter(chapterUuid, 1, 1);
         updatedChapter.setTitle("Updated Title");
         updatedChapter.setContent("Updated content");
-        when(chapterMapper.selectByUuid(chapterUuid))
-            .thenReturn(existing)
-            .thenReturn(updatedChapter);
-        when(chapterMapper.selectNextChapter(1, 1)).thenReturn(null);
-        when(chapterMapper.selectPreviousChapter(1, 1)).thenReturn(null);
+        when(chapterMapper.selectMetaByUuid(chapterUuid)).thenReturn(updatedChapter);
 
         ChapterDetailResponseDTO response = chapterService.updateChapter(userId, req);
 
@@ -328,6 +442,70 @@ public class ChapterServiceTest {
         verify(chapterMapper, never()).updateByPrimaryKeySelective(any());
     }
 
+    @Test
+    void updateChapter_TitleOnly_ShouldLeaveStatisticsUnchanged() {
+        UUID userId = UUID.randomUUID();
+        UUID chapterUuid = UUID.randomUUID();
+        ChapterUpdateRequestDTO req = new ChapterUpdateRequestDTO();
+        req.setUuid(chapterUuid);
+        req.setTitle("Draft title");
+
+        when(chapterMapper.selectByUuid(chapterUuid)).thenReturn(createTestChapter(chapterUuid, 1, 1));
+        when(chapterMapper.selectMetaByUuid(chapterUuid)).thenReturn(createTestChapter(chapterUuid, 1, 1));
+        when(novelMapper.selectByPrimaryKey(1)).thenReturn(createTestNovel(1, userId));
+
+        chapterService.updateChapter(userId, req);
+
+        verify(chapterMapper, times(1)).updateByPrimaryKeySelective(any(Chapter.class));
+        verify(novelMapper, never()).applyStatisticsDelta(any(), anyInt(), anyLong());
+        verify(novelStatisticsReconciler, never()).markDirty(any());
+    }
+
+    @Test
+    void updateChapter_Unpublish_ShouldApplyWordAndChapterDelta() {
+        UUID userId = UUID.randomUUID();
+        UUID chapterUuid = UUID.randomUUID();
+        ChapterUpdateRequestDTO req = new ChapterUpdateRequestDTO();
+        req.setUuid(chapterUuid);
+        req.setWordCnt(150);
+        req.setPublishTime(new Date(System.currentTimeMillis() + 86_400_000L));
+
+        when(chapterMapper.selectByUuid(chapterUuid)).thenReturn(createTestChapter(chapterUuid, 1, 1));
+        when(chapterMapper.selectMetaByUuid(chapterUuid)).thenReturn(createTestChapter(chapterUuid, 1, 1));
+        when(novelMapper.selectByPrimaryKey(1)).thenReturn(createTestNovel(1, userId));
+
+        chapterService.updateChapter(userId, req);
+
+        // scheduled for tomorrow: no longer counted as published, its words still count
+        verify(novelMapper).applyStatisticsDelta(1, -1, 50L);
+        verify(novelStatisticsReconciler).markDirty(1);
+    }
+
+    @Test
+    void batchPublishChapters_ShouldApplyDeltaOfChangedChapters() {
+        UUID userId = UUID.randomUUID();
+        Chapter published = createTestChapter(UUID.randomUUID(), 1, 1);
+        published.setId(11);
+        Chapter draft = createTestChapter(UUID.randomUUID(), 1, 2);
+        draft.setId(12);
+        draft.setIsValid(false);
+        when(novelMapper.selectByPrimaryKey(1)).thenReturn(createTestNovel(1, userId));
+        when(chapterMapper.selectByNovelId(1)).thenReturn(Arrays.asList(published, draft));
+
+        chapterService.batchPublishChapters(userId, 1, true);
+
+        verify(chapterMapper).updatePublishStatusByIds(Arrays.asList(11, 12), true);
+        verify(novelMapper).applyStatisticsDelta(1, 1, 100L);
+        verify(chapterMapper, never()).countPublishedByNovelId(any());
+    }
+
+    @Test
+    void updateNovelStatistics_ShouldRecountThroughReconciler() {
+        chapterService.updateNovelStatistics(7);
+
+        verify(novelStatisticsReconciler).reconcile(7);
+    }
+
     @Test
     void deleteChapter_ShouldSoftDelete() {
         UUID userId = UUID.randomUUID();
@@ -339,16 +517,13 @@ public class ChapterServiceTest {
         when(chapterMapper.selectByUuid(chapterUuid)).thenReturn(existing);
         when(novelMapper.selectByPrimaryKey(1)).thenReturn(novel);
         when(chapterMapper.softDeleteByUuid(chapterUuid)).thenReturn(1);
-        when(chapterMapper.countPublishedByNovelId(1)).thenReturn(5L);
-        when(chapterMapper.sumWordCountByNovelId(1)).thenReturn(1000L);
-        when(novelMapper.updateByPrimaryKeySelective(any())).thenReturn(1);
 
         chapterService.deleteChapter(userId, chapterUuid);
 
         verify(chapterMapper, times(1)).softDeleteByUuid(chapterUuid);
-        verify(chapterMapper, times(1)).countPublishedByNovelId(1);
-        verify(chapterMapper, times(1)).sumWordCountByNovelId(1);
-        verify(novelMapper, times(1)).updateByPrimaryKeySelective(any());
+        verify(novelMapper, times(1)).applyStatisticsDelta(1, -1, -100L);
+        verify(novelStatisticsReconciler).markDirty(1);
+        verify(novelMapper, never()).updateByPrimaryKeySelective(any());
     }
 
     @Test
@@ -384,23 +559,21 @@ public class ChapterServiceTest {
         Novel novel = createTestNovel(novelId, UUID.randomUUID());
         when(novelMapper.selectByPrimaryKey(novelId)).thenReturn(novel);
 
-        when(chapterMapper.countByNovelId(novelId)).thenReturn(10L);
-        when(chapterMapper.countPublishedByNovelId(novelId)).thenReturn(8L);
-        when(chapterMapper.selectDraftsByNovelId(novelId)).thenReturn(Arrays.asList(new Chapter()));
-        when(chapterMapper.selectScheduledByNovelId(novelId)).thenReturn(Arrays.asList(new Chapter()));
-
-        Chapter chapter1 = createTestChapter(UUID.randomUUID(), novelId, 1);
-        chapter1.setIsPremium(true);
-        chapter1.setViewCnt(100L);
-        chapter1.setYuanCost(1.0f);
-        Chapter chapter2 = createTestChapter(UUID.randomUUID(), novelId, 2);
-        chapter2.setIsPremium(false);
-        chapter2.setViewCnt(50L);
-        List<Chapter> allChapters = Arrays.asList(chapter1, chapter2);
-
-        when(chapterMapper.selectByNovelId(novelId)).thenReturn(allChapters);
-        when(chapterMapper.sumWordCountByNovelId(novelId)).thenReturn(5000L);
-        when(chapterMapper.selectMaxChapterNumberByNovelId(novelId)).thenReturn(10);
+        ChapterStatisticsResponseDTO aggregate = new ChapterStatisticsResponseDTO();
+        aggregate.setTotalChapters(10L);
+        aggregate.setPublishedChapters(8L);
+        aggregate.setDraftChapters(1L);
+        aggregate.setScheduledChapters(1L);
+        aggregate.setPremiumChapters(1L);
+        aggregate.setTotalWordCount(5000L);
+        aggregate.setTotalViewCount(150L);
+        aggregate.setTotalRevenue(100.0f);
+        aggregate.setMaxChapterNumber(10);
+        when(chapterMapper.selectStatisticsByNovelId(novelId)).thenReturn(aggregate);
+        when(chapterMapper.selectLatestChapterSummary(novelId))
+                .thenReturn(new ChapterStatisticsResponseDTO.ChapterSummary(10, "Latest", 5L));
+        when(chapterMapper.selectMostViewedChapterSummary(novelId))
+                .thenReturn(new ChapterStatisticsResponseDTO.ChapterSummary(1, "Popular", 100L));
 
         ChapterStatisticsResponseDTO response = chapterService.getChapterStatistics(novelId);
 
@@ -415,19 +588,31 @@ public class ChapterServiceTest {
         assertEquals(150L, response.getTotalViewCount());
         assertEquals(100.0f, response.getTotalRevenue());
         assertEquals(Integer.valueOf(10), response.getMaxChapterNumber());
+        assertEquals(Integer.valueOf(1), response.getNovelId());
+        assertEquals("Latest", response.getLatestChapter().getTitle());
+        assertEquals(100L, response.getMostViewedChapter().getViewCnt());
+        verify(chapterMapper, never()).selectByNovelId(any());
     }
 
     @Test
-    void incrementViewCount_ShouldIncrementCount() {
+    void incrementViewCount_ShouldBufferView() {
         UUID chapterUuid = UUID.randomUUID();
-        Chapter chapter = createTestChapter(chapterUuid, 1, 1);
-        chapter.setId(123); // Set an ID for the chapter
-        when(chapterMapper.selectByUuid(chapterUuid)).thenReturn(chapter);
-        when(chapterMapper.incrementViewCount(123)).thenReturn(1);
+        when(chapterMapper.selectValidIdByUuid(chapterUuid)).thenReturn(123);
 
         chapterService.incrementViewCount(chapterUuid);
 
-        verify(chapterMapper, times(1)).incrementViewCount(123);
+        verify(viewCountBuffer, times(1)).recordChapterView(123);
+        verify(chapterMapper, never()).selectByUuid(any());
+        verify(chapterMapper, never()).incrementViewCount(anyInt());
+    }
+
+    @Test
+    void incrementViewCount_InvalidChapter_ShouldThrow() {
+        UUID chapterUuid = UUID.randomUUID();
+        when(chapterMapper.selectValidIdByUuid(chapterUuid)).thenReturn(null);
+
+        assertThrows(ResourceNotFoundException.class, () -> chapterService.incrementViewCount(chapterUuid));
+        verify(viewCountBuffer, never()).recordChapterView(any());
     }
 
     @Test
@@ -457,6 +642,100 @@ public class ChapterServiceTest {
         assertEquals(Integer.valueOf(1), nextNumber);
     }
 
+    @Test
+    void batchCreateChapters_ChecksNumbersWithOneQuery() {
+        UUID userId = UUID.randomUUID();
+        when(novelMapper.selectByPrimaryKey(1)).thenReturn(createTestNovel(1, userId));
+        when(chapterMapper.selectExistingChapterNumbers(eq(1), any())).thenReturn(List.of());
+        ChapterBatchCreateRequestDTO req = new ChapterBatchCreateRequestDTO(1, Arrays.asList(
+                new ChapterBatchCreateRequestDTO.ChapterData(1, "Chapter 1", "Content 1", null, null, null, null, null),
+                new ChapterBatchCreateRequestDTO.ChapterData(2, "Chapter 2", "Content 2", null, null, null, null, null)));
+
+        chapterService.batchCreateChapters(userId, req);
+
+        verify(chapterMapper, times(1)).selectExistingChapterNumbers(1, new Integer[]{1, 2});
+        verify(chapterMapper, never()).existsByNovelIdAndChapterNumber(anyInt(), anyInt());
+        verify(chapterMapper, times(1)).batchInsert(argThat(chapters -> chapters.size() == 2));
+    }
+
+    @Test
+    void batchCreateChapters_ExistingNumber_ShouldThrow() {
+        UUID userId = UUID.randomUUID();
+        when(novelMapper.selectByPrimaryKey(1)).thenReturn(createTestNovel(1, userId));
+        when(chapterMapper.selectExistingChapterNumbers(eq(1), any())).thenReturn(List.of(2));
+        ChapterBatchCreateRequestDTO req = new ChapterBatchCreateRequestDTO(1, Arrays.asList(
+                new ChapterBatchCreateRequestDTO.ChapterData(1, "Chapter 1", "Content 1", null, null, null, null, null),
+                new ChapterBatchCreateRequestDTO.ChapterData(2, "Chapter 2", "Content 2", null, null, null, null, null)));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> chapterService.batchCreateChapters(userId, req));
+        assertEquals("chapter number 2 already exists", e.getMessage());
+        verify(chapterMapper, never()).batchInsert(any());
+    }
+
+    @Test
+    void importChapters_ShouldInsertInChunksAndUpdateStatisticsOnce() throws Exception {
+        UUID userId = UUID.randomUUID();
+        when(novelMapper.selectByPrimaryKey(1)).thenReturn(createTestNovel(1, userId));
+        when(chapterMapper.selectExistingChapterNumbers(eq(1), any())).thenReturn(List.of());
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 1; i <= 1200; i++) {
+            ndjson.append("{\"chapterNumber\":").append(i)
+                    .append(",\"title\":\"Chapter ").append(i).append("\",\"content\":\"Text\"}\n");
+            if (i == 600) {
+                ndjson.append("\n");
+            }
+        }
+
+        int imported = chapterService.importChapters(userId, 1, new StringReader(ndjson.toString()));
+
+        assertEquals(1200, imported);
+        verify(chapterMapper, times(3)).selectExistingChapterNumbers(eq(1), any());
+        verify(chapterMapper, times(2)).batchInsert(argThat(chapters -> chapters.size() == 500));
+        verify(chapterMapper, times(1)).batchInsert(argThat(chapters -> chapters.size() == 200));
+        verify(novelMapper, times(1)).applyStatisticsDelta(1, 1200, 4800L);
+    }
+
+    @Test
+    void importChapters_InvalidLine_ShouldReportLineNumber() {
+        UUID userId = UUID.randomUUID();
+        when(novelMapper.selectByPrimaryKey(1)).thenReturn(createTestNovel(1, userId));
+        String ndjson = "{\"chapterNumber\":1,\"title\":\"Chapter 1\",\"content\":\"Text\"}\n"
+                + "{\"chapterNumber\":2,\"title\":\"Chapter 2\"}\n";
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> chapterService.importChapters(userId, 1, new StringReader(ndjson)));
+        assertEquals("line 2: Content is required", e.getMessage());
+        verify(chapterMapper, never()).batchInsert(any());
+    }
+
+    @Test
+    void importChapters_DuplicateNumberOrBadJson_ShouldThrow() {
+        UUID userId = UUID.randomUUID();
+        when(novelMapper.selectByPrimaryKey(1)).thenReturn(createTestNovel(1, userId));
+        String line = "{\"chapterNumber\":1,\"title\":\"Chapter 1\",\"content\":\"Text\"}\n";
+
+        IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class,
+                () -> chapterService.importChapters(userId, 1, new StringReader(line + line)));
+        assertEquals("line 2: chapter number 1 appears more than once", duplicate.getMessage());
+
+        IllegalArgumentException badJson = assertThrows(IllegalArgumentException.class,
+                () -> chapterService.importChapters(userId, 1, new StringReader("{not json")));
+        assertEquals("line 1: invalid chapter JSON", badJson.getMessage());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> chapterService.importChapters(userId, 1, new StringReader("\n")));
+    }
+
+    @Test
+    void importChapters_NotAuthor_ShouldThrow() {
+        when(novelMapper.selectByPrimaryKey(1)).thenReturn(createTestNovel(1, UUID.randomUUID()));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> chapterService.importChapters(UUID.randomUUID(), 1, new StringReader("")));
+        verifyNoInteractions(chapterMapper);
+    }
+
     // Helper methods
     private Novel createTestNovel(Integer id, UUID authorId) {
         Novel novel = new Novel();
@@ -497,18 +776,12 @@ public class ChapterServiceTest {
 
         when(chapterMapper.selectByUuid(chapterUuid)).thenReturn(existing);
         when(chapterMapper.softDeleteByUuid(chapterUuid)).thenReturn(1);
-        when(novelMapper.selectByPrimaryKey(1)).thenReturn(createTestNovel(1, UUID.randomUUID()));
-        when(chapterMapper.countPublishedByNovelId(1)).thenReturn(5L);
-        when(chapterMapper.sumWordCountByNovelId(1)).thenReturn(1000L);
-        when(novelMapper.updateByPrimaryKeySelective(any())).thenReturn(1);
 
         chapterService.adminDeleteChapter(chapterUuid);
 
         verify(chapterMapper, times(1)).selectByUuid(chapterUuid);
         verify(chapterMapper, times(1)).softDeleteByUuid(chapterUuid);
-        verify(chapterMapper, times(1)).countPublishedByNovelId(1);
-        verify(chapterMapper, times(1)).sumWordCountByNovelId(1);
-        verify(novelMapper, times(1)).updateByPrimaryKeySelective(any());
+        verify(novelMapper, times(1)).applyStatisticsDelta(1, -1, -100L);
     }
 
     @Test
@@ -533,17 +806,12 @@ public class ChapterServiceTest {
         when(chapterMapper.selectByUuid(chapterUuid)).thenReturn(existing);
         when(chapterMapper.softDeleteByUuid(chapterUuid)).thenReturn(1);
         when(novelMapper.selectByPrimaryKey(5)).thenReturn(novel);
-        when(chapterMapper.countPublishedByNovelId(5)).thenReturn(10L);
-        when(chapterMapper.sumWordCountByNovelId(5)).thenReturn(5000L);
-        when(novelMapper.updateByPrimaryKeySelective(any())).thenReturn(1);
 
         chapterService.adminDeleteChapter(chapterUuid);
 
-        verify(novelMapper, times(1)).selectByPrimaryKey(5);
-        verify(novelMapper, times(1)).updateByPrimaryKeySelective(argThat(n ->
-                n.getChapterCnt().equals(10) &&
-                        n.getWordCnt().equals(5000L)
-        ));
+        verify(novelMapper, never()).selectByPrimaryKey(5);
+        verify(novelMapper, times(1)).applyStatisticsDelta(5, -1, -100L);
+        verify(novelStatisticsReconciler).markDirty(5);
     }
 
 // ========== Admin Delete Chapters By Novel ID Tests ==========
@@ -570,7 +838,7 @@ public class ChapterServiceTest {
 
         chapterService.adminDeleteChaptersByNovelId(novelId);
 
-        verify(novelMapper, times(2)).selectByPrimaryKey(novelId); // Once for validation, once for statistics
+        verify(novelMapper, times(1)).selectByPrimaryKey(novelId); // Only for validation
         verify(chapterMapper, times(1)).selectByNovelId(novelId);
         verify(chapterMapper, times(3)).softDeleteByPrimaryKey(anyInt());
         verify(chapterMapper, times(1)).softDeleteByPrimaryKey(101);
@@ -632,24 +900,19 @@ public class ChapterServiceTest {
     }
 
     @Test
-    void adminDeleteChaptersByNovelId_NoChapters_ShouldStillUpdateStatistics() {
+    void adminDeleteChaptersByNovelId_NoChapters_ShouldLeaveStatisticsUnchanged() {
         Integer novelId = 1;
         Novel novel = createTestNovel(novelId, UUID.randomUUID());
 
         when(novelMapper.selectByPrimaryKey(novelId)).thenReturn(novel);
         when(chapterMapper.selectByNovelId(novelId)).thenReturn(Arrays.asList());
-        when(chapterMapper.countPublishedByNovelId(novelId)).thenReturn(0L);
-        when(chapterMapper.sumWordCountByNovelId(novelId)).thenReturn(0L);
-        when(novelMapper.updateByPrimaryKeySelective(any())).thenReturn(1);
 
         chapterService.adminDeleteChaptersByNovelId(novelId);
 
         verify(chapterMapper, times(1)).selectByNovelId(novelId);
         verify(chapterMapper, never()).softDeleteByPrimaryKey(any());
-        verify(novelMapper, times(1)).updateByPrimaryKeySelective(argThat(n ->
-                n.getChapterCnt().equals(0) &&
-                        n.getWordCnt().equals(0L)
-        ));
+        verify(novelMapper, never()).applyStatisticsDelta(any(), anyInt(), anyLong());
+        verify(novelStatisticsReconciler, never()).markDirty(any());
     }
 
     @Test
@@ -672,10 +935,9 @@ public class ChapterServiceTest {
 
         chapterService.adminDeleteChaptersByNovelId(novelId);
 
-        verify(novelMapper, times(2)).selectByPrimaryKey(novelId);
-        verify(chapterMapper, times(1)).countPublishedByNovelId(novelId);
-        verify(chapterMapper, times(1)).sumWordCountByNovelId(novelId);
-        verify(novelMapper, times(1)).updateByPrimaryKeySelective(any());
+        verify(novelMapper, times(1)).selectByPrimaryKey(novelId);
+        verify(novelMapper, times(1)).applyStatisticsDelta(novelId, -2, -200L);
+        verify(chapterMapper, never()).countPublishedByNovelId(any());
     }
 
     @Test
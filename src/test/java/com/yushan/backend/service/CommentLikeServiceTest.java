@@ -0,0 +1,111 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.CommentLikeMapper;
+import com.yushan.backend.dao.CommentMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CommentLikeService Tests")
+class CommentLikeServiceTest {
+
+    @Mock
+    private CommentLikeMapper commentLikeMapper;
+
+    @Mock
+    private CommentMapper commentMapper;
+
+    private CommentLikeService likeService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        likeService = new CommentLikeService(commentLikeMapper, commentMapper, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("repeated likes by the same user are counted once")
+    void testLikeDeduplicated() {
+        when(commentLikeMapper.insertIgnore(1, userId)).thenReturn(1, 0);
+
+        assertTrue(likeService.like(1, userId));
+        assertFalse(likeService.like(1, userId));
+
+        assertEquals(1L, likeService.getPendingDelta(1));
+    }
+
+    @Test
+    @DisplayName("unlike without a like changes nothing")
+    void testUnlikeWithoutLike() {
+        when(commentLikeMapper.delete(1, userId)).thenReturn(0);
+
+        assertFalse(likeService.unlike(1, userId));
+
+        assertEquals(0L, likeService.getPendingDelta(1));
+    }
+
+    @Test
+    @DisplayName("pending changes are written in one batch and cleared")
+    void testFlushBatchesDeltas() {
+        UUID other = UUID.randomUUID();
+        when(commentLikeMapper.insertIgnore(anyInt(), any())).thenReturn(1);
+        when(commentLikeMapper.delete(3, userId)).thenReturn(1);
+
+        likeService.like(1, userId);
+        likeService.like(1, other);
+        likeService.like(2, userId);
+        likeService.like(3, userId);
+        likeService.unlike(3, userId);
+
+        likeService.flush();
+
+        verify(commentMapper).batchIncrementLikeCount(Map.of(1, 2L, 2, 1L));
+        assertEquals(0L, likeService.getPendingDelta(1));
+
+        likeService.flush();
+        verifyNoMoreInteractions(commentMapper);
+    }
+
+    @Test
+    @DisplayName("a failed flush keeps the changes for the next run")
+    void testFlushFailureRetries() {
+        when(commentLikeMapper.insertIgnore(1, userId)).thenReturn(1);
+        doThrow(new RuntimeException("db down")).doReturn(1)
+                .when(commentMapper).batchIncrementLikeCount(anyMap());
+
+        likeService.like(1, userId);
+        likeService.flush();
+        assertEquals(1L, likeService.getPendingDelta(1));
+
+        likeService.flush();
+        verify(commentMapper, times(2)).batchIncrementLikeCount(Map.of(1, 1L));
+        assertEquals(0L, likeService.getPendingDelta(1));
+    }
+
+    @Test
+    @DisplayName("liked comments of a page are looked up in one query")
+    void testGetLikedCommentIds() {
+        when(commentLikeMapper.selectLikedCommentIds(userId, Set.of(1, 2, 3))).thenReturn(List.of(2));
+
+        assertEquals(Set.of(2), likeService.getLikedCommentIds(userId, Set.of(1, 2, 3)));
+        assertTrue(likeService.getLikedCommentIds(null, Set.of(1)).isEmpty());
+        assertTrue(likeService.getLikedCommentIds(userId, Collections.emptySet()).isEmpty());
+        verify(commentLikeMapper, times(1)).selectLikedCommentIds(any(), any());
+    }
+}
@@ -31,6 +31,12 @@ class CommentServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private DisplayNameCache displayNameCache;
+
+    @Mock
+    private CommentLikeService commentLikeService;
+
     @InjectMocks
     private CommentService commentService;
 
@@ -92,7 +98,7 @@ class CommentServiceTest {
         when(chapterMapper.selectByPrimaryKey(testChapterId)).thenReturn(testChapter);
         when(commentMapper.existsByUserAndChapter(testUserId, testChapterId)).thenReturn(false);
         when(commentMapper.insertSelective(any(Comment.class))).thenReturn(1);
-        when(userService.getUsernameById(testUserId)).thenReturn("testuser");
+        when(displayNameCache.getUsernames(anyCollection())).thenReturn(Map.of(testUserId, "testuser"));
 
         doNothing().when(expService).addExp(any(UUID.class), any(Float.class));
         // Act
@@ -108,7 +114,7 @@ class CommentServiceTest {
         assertTrue(result.getIsOwnComment());
         assertEquals("testuser", result.getUsername());
 
-        verify(chapterMapper, times(2)).selectByPrimaryKey(testChapterId); // Called in createComment and toResponseDTO
+        verify(chapterMapper).selectByPrimaryKey(testChapterId); // Title comes from the display name cache
         verify(commentMapper).existsByUserAndChapter(testUserId, testChapterId);
         verify(commentMapper).insertSelective(any(Comment.class));
         verify(expService).addExp(testUserId, 5f);
@@ -167,7 +173,7 @@ class CommentServiceTest {
         when(chapterMapper.selectByPrimaryKey(testChapterId)).thenReturn(testChapter);
         when(commentMapper.existsByUserAndChapter(testUserId, testChapterId)).thenReturn(false);
         when(commentMapper.insertSelective(any(Comment.class))).thenReturn(1);
-        when(userService.getUsernameById(testUserId)).thenReturn("testuser");
+        when(displayNameCache.getUsernames(anyCollection())).thenReturn(Map.of(testUserId, "testuser"));
 
         // Act
         CommentResponseDTO result = commentService.createComment(testUserId, createRequest);
@@ -185,8 +191,8 @@ class CommentServiceTest {
         // Arrange
         when(commentMapper.selectByPrimaryKey(testCommentId)).thenReturn(testComment);
         when(commentMapper.updateByPrimaryKeySelective(any(Comment.class))).thenReturn(1);
-        when(userService.getUsernameById(testUserId)).thenReturn("testuser");
-        when(chapterMapper.selectByPrimaryKey(testChapterId)).thenReturn(testChapter);
+        when(displayNameCache.getUsernames(anyCollection())).thenReturn(Map.of(testUserId, "testuser"));
+        when(displayNameCache.getChapterTitles(anyCollection())).thenReturn(Map.of(testChapterId, "Test Chapter"));
 
         // Act
         CommentResponseDTO result = commentService.updateComment(testCommentId, testUserId, updateRequest);
@@ -237,8 +243,8 @@ class CommentServiceTest {
         noChangeRequest.setIsSpoiler(false); // Same as original
 
         when(commentMapper.selectByPrimaryKey(testCommentId)).thenReturn(testComment);
-        when(userService.getUsernameById(testUserId)).thenReturn("testuser");
-        when(chapterMapper.selectByPrimaryKey(testChapterId)).thenReturn(testChapter);
+        when(displayNameCache.getUsernames(anyCollection())).thenReturn(Map.of(testUserId, "testuser"));
+        when(displayNameCache.getChapterTitles(anyCollection())).thenReturn(Map.of(testChapterId, "Test Chapter"));
 
         // Act
         CommentResponseDTO result = commentService.updateComment(testCommentId, testUserId, noChangeRequest);
@@ -318,8 +324,8 @@ class CommentServiceTest {
     void getComment_Success() {
         // Arrange
         when(commentMapper.selectByPrimaryKey(testCommentId)).thenReturn(testComment);
-        when(userService.getUsernameById(testUserId)).thenReturn("testuser");
-        when(chapterMapper.selectByPrimaryKey(testChapterId)).thenReturn(testChapter);
+        when(displayNameCache.getUsernames(anyCollection())).thenReturn(Map.of(testUserId, "testuser"));
+        when(displayNameCache.getChapterTitles(anyCollection())).thenReturn(Map.of(testChapterId, "Test Chapter"));
 
         // Act
         CommentResponseDTO result = commentService.getComment(testCommentId, testUserId);
@@ -361,7 +367,7 @@ class CommentServiceTest {
         when(commentMapper.selectCommentsWithPagination(any(CommentSearchRequestDTO.class)))
                 .thenReturn(comments);
         when(commentMapper.countComments(any(CommentSearchRequestDTO.class))).thenReturn(totalCount);
-        when(userService.getUsernameById(testUserId)).thenReturn("testuser");
+        when(displayNameCache.getUsernames(anyCollection())).thenReturn(Map.of(testUserId, "testuser"));
 
         // Act
         CommentListResponseDTO result = commentService.getCommentsByChapter(
@@ -414,32 +420,40 @@ class CommentServiceTest {
     void toggleLike_LikeComment_Success() {
         // Arrange
         when(commentMapper.selectByPrimaryKey(testCommentId)).thenReturn(testComment);
-        when(commentMapper.updateLikeCount(testCommentId, 1)).thenReturn(1);
-        when(userService.getUsernameById(testUserId)).thenReturn("testuser");
-        when(chapterMapper.selectByPrimaryKey(testChapterId)).thenReturn(testChapter);
+        when(commentLikeService.like(testCommentId, testUserId)).thenReturn(true);
+        when(commentLikeService.getLikedCommentIds(testUserId, Set.of(testCommentId))).thenReturn(Set.of(testCommentId));
+        when(commentLikeService.getPendingDelta(testCommentId)).thenReturn(1L);
+        when(displayNameCache.getUsernames(anyCollection())).thenReturn(Map.of(testUserId, "testuser"));
+        when(displayNameCache.getChapterTitles(anyCollection())).thenReturn(Map.of(testChapterId, "Test Chapter"));
 
         // Act
         CommentResponseDTO result = commentService.toggleLike(testCommentId, testUserId, true);
 
         // Assert
         assertNotNull(result);
-        verify(commentMapper).updateLikeCount(testCommentId, 1);
+        assertTrue(result.getLikedByCurrentUser());
+        assertEquals(1, result.getLikeCnt()); // pending like included before the flush
+        verify(commentLikeService).like(testCommentId, testUserId);
     }
 
     @Test
     void toggleLike_UnlikeComment_Success() {
         // Arrange
         when(commentMapper.selectByPrimaryKey(testCommentId)).thenReturn(testComment);
-        when(commentMapper.updateLikeCount(testCommentId, -1)).thenReturn(1);
-        when(userService.getUsernameById(testUserId)).thenReturn("testuser");
-        when(chapterMapper.selectByPrimaryKey(testChapterId)).thenReturn(testChapter);
+        testComment.setLikeCnt(3);
+        when(commentLikeService.unlike(testCommentId, testUserId)).thenReturn(true);
+        when(commentLikeService.getPendingDelta(testCommentId)).thenReturn(-1L);
+        when(displayNameCache.getUsernames(anyCollection())).thenReturn(Map.of(testUserId, "testuser"));
+        when(displayNameCache.getChapterTitles(anyCollection())).thenReturn(Map.of(testChapterId, "Test Chapter"));
 
         // Act
         CommentResponseDTO result = commentService.toggleLike(testCommentId, testUserId, false);
 
         // Assert
         assertNotNull(result);
-        verify(commentMapper).updateLikeCount(testCommentId, -1);
+        assertFalse(result.getLikedByCurrentUser());
+        assertEquals(2, result.getLikeCnt());
+        verify(commentLikeService).unlike(testCommentId, testUserId);
     }
 
     @Test
@@ -475,8 +489,8 @@ class CommentServiceTest {
                 eq(1), any(), any(), eq("createTime"), eq("desc"), eq(0), eq(20)))
                 .thenReturn(comments);
         when(commentMapper.countCommentsByNovel(eq(1), any(), any())).thenReturn(1L);
-        when(userService.getUsernameById(testUserId)).thenReturn("testuser");
-        when(chapterMapper.selectByPrimaryKey(testChapterId)).thenReturn(testChapter);
+        when(displayNameCache.getUsernames(anyCollection())).thenReturn(Map.of(testUserId, "testuser"));
+        when(displayNameCache.getChapterTitles(anyCollection())).thenReturn(Map.of(testChapterId, "Test Chapter"));
 
         // Act
         CommentListResponseDTO result = commentService.getCommentsByNovel(1, testUserId, searchRequest);
@@ -552,17 +566,38 @@ class CommentServiceTest {
         CommentBatchDeleteRequestDTO request = new CommentBatchDeleteRequestDTO();
         request.setCommentIds(commentIds);
 
-        when(commentMapper.selectByPrimaryKey(1)).thenReturn(testComment);
-        when(commentMapper.selectByPrimaryKey(2)).thenReturn(testComment);
-        when(commentMapper.selectByPrimaryKey(3)).thenReturn(testComment);
-        when(commentMapper.deleteByPrimaryKey(anyInt())).thenReturn(1);
+        when(commentMapper.deleteByIds(any(Integer[].class))).thenReturn(Arrays.asList(1, 2, 3));
 
         // Act
         int result = commentService.batchDeleteComments(request, true);
 
         // Assert
         assertEquals(3, result);
-        verify(commentMapper, times(3)).deleteByPrimaryKey(anyInt());
+        verify(commentMapper).deleteByIds(new Integer[]{1, 2, 3});
+        verify(commentMapper, never()).deleteByPrimaryKey(anyInt());
+    }
+
+    @Test
+    void batchDeleteComments_LargeList_DeletesInBoundedChunks() {
+        // Arrange
+        List<Integer> commentIds = new ArrayList<>();
+        for (int i = 1; i <= 2500; i++) {
+            commentIds.add(i);
+        }
+        commentIds.add(1); // duplicate is only deleted once
+        CommentBatchDeleteRequestDTO request = new CommentBatchDeleteRequestDTO();
+        request.setCommentIds(commentIds);
+
+        when(commentMapper.deleteByIds(any(Integer[].class)))
+                .thenAnswer(invocation -> Arrays.asList((Integer[]) invocation.getArgument(0)));
+
+        // Act
+        int result = commentService.batchDeleteComments(request, true);
+
+        // Assert
+        assertEquals(2500, result);
+        verify(commentMapper, times(2)).deleteByIds(argThat(ids -> ids.length == 1000));
+        verify(commentMapper).deleteByIds(argThat(ids -> ids.length == 500));
     }
 
     @Test
@@ -629,8 +664,8 @@ class CommentServiceTest {
         // Arrange
         List<Comment> comments = Arrays.asList(testComment);
         when(commentMapper.selectByUserId(testUserId)).thenReturn(comments);
-        when(userService.getUsernameById(testUserId)).thenReturn("testuser");
-        when(chapterMapper.selectByPrimaryKey(testChapterId)).thenReturn(testChapter);
+        when(displayNameCache.getUsernames(anyCollection())).thenReturn(Map.of(testUserId, "testuser"));
+        when(displayNameCache.getChapterTitles(anyCollection())).thenReturn(Map.of(testChapterId, "Test Chapter"));
 
         // Act
         List<CommentResponseDTO> result = commentService.getUserComments(testUserId);
@@ -657,8 +692,8 @@ class CommentServiceTest {
         List<Comment> comments = Arrays.asList(testComment);
         when(commentMapper.selectCommentsWithPagination(any())).thenReturn(comments);
         when(commentMapper.countComments(any())).thenReturn(1L);
-        when(userService.getUsernameById(testUserId)).thenReturn("testuser");
-        when(chapterMapper.selectByPrimaryKey(testChapterId)).thenReturn(testChapter);
+        when(displayNameCache.getUsernames(anyCollection())).thenReturn(Map.of(testUserId, "testuser"));
+        when(displayNameCache.getChapterTitles(anyCollection())).thenReturn(Map.of(testChapterId, "Test Chapter"));
 
         // Act
         CommentListResponseDTO result = commentService.getAllComments(searchRequest, testUserId);
@@ -669,6 +704,40 @@ class CommentServiceTest {
         assertEquals(1L, result.getTotalCount());
     }
 
+    @Test
+    void getAllComments_ResolvesNamesOncePerPage() {
+        // Arrange
+        UUID otherUserId = UUID.randomUUID();
+        Comment second = new Comment();
+        second.setId(2);
+        second.setUserId(otherUserId);
+        second.setChapterId(2);
+        Comment third = new Comment();
+        third.setId(3);
+        third.setUserId(testUserId);
+        third.setChapterId(testChapterId);
+
+        when(commentMapper.selectCommentsWithPagination(any())).thenReturn(Arrays.asList(testComment, second, third));
+        when(commentMapper.countComments(any())).thenReturn(3L);
+        when(displayNameCache.getUsernames(Set.of(testUserId, otherUserId)))
+                .thenReturn(Map.of(testUserId, "testuser", otherUserId, "other"));
+        when(displayNameCache.getChapterTitles(Set.of(testChapterId, 2)))
+                .thenReturn(Map.of(testChapterId, "Test Chapter"));
+
+        // Act
+        CommentListResponseDTO result = commentService.getAllComments(new CommentSearchRequestDTO(), testUserId);
+
+        // Assert
+        assertEquals("testuser", result.getComments().get(0).getUsername());
+        assertEquals("other", result.getComments().get(1).getUsername());
+        assertEquals("Chapter not found", result.getComments().get(1).getChapterTitle());
+        assertEquals("Test Chapter", result.getComments().get(2).getChapterTitle());
+        verify(displayNameCache, times(1)).getUsernames(anyCollection());
+        verify(displayNameCache, times(1)).getChapterTitles(anyCollection());
+        verifyNoInteractions(userService);
+        verify(chapterMapper, never()).selectByPrimaryKey(any());
+    }
+
     @Test
     void getAllComments_WithInvalidSizeAndSort() {
         // Arrange
@@ -694,31 +763,41 @@ class CommentServiceTest {
     @Test
     void deleteAllUserComments_Success() {
         // Arrange
-        List<Comment> userComments = Arrays.asList(testComment, testComment, testComment);
-        when(commentMapper.selectByUserId(testUserId)).thenReturn(userComments);
-        when(commentMapper.deleteByPrimaryKey(anyInt())).thenReturn(1);
+        when(commentMapper.deleteByUserIdLimited(eq(testUserId), anyInt())).thenReturn(3);
 
         // Act
         int result = commentService.deleteAllUserComments(testUserId);
 
         // Assert
         assertEquals(3, result);
-        verify(commentMapper, times(3)).deleteByPrimaryKey(anyInt());
+        verify(commentMapper, times(1)).deleteByUserIdLimited(testUserId, 1000);
+        verify(commentMapper, never()).selectByUserId(any());
+    }
+
+    @Test
+    void deleteAllUserComments_LargeSweep_RepeatsUntilShortChunk() {
+        // Arrange
+        when(commentMapper.deleteByUserIdLimited(eq(testUserId), anyInt())).thenReturn(1000, 1000, 250);
+
+        // Act
+        int result = commentService.deleteAllUserComments(testUserId);
+
+        // Assert
+        assertEquals(2250, result);
+        verify(commentMapper, times(3)).deleteByUserIdLimited(testUserId, 1000);
     }
 
     @Test
     void deleteAllChapterComments_Success() {
         // Arrange
-        List<Comment> chapterComments = Arrays.asList(testComment, testComment);
-        when(commentMapper.selectByChapterId(testChapterId)).thenReturn(chapterComments);
-        when(commentMapper.deleteByPrimaryKey(anyInt())).thenReturn(1);
+        when(commentMapper.deleteByChapterIdLimited(eq(testChapterId), anyInt())).thenReturn(2);
 
         // Act
         int result = commentService.deleteAllChapterComments(testChapterId);
 
         // Assert
         assertEquals(2, result);
-        verify(commentMapper, times(2)).deleteByPrimaryKey(anyInt());
+        verify(commentMapper, times(1)).deleteByChapterIdLimited(testChapterId, 1000);
     }
 
     @Test
@@ -728,15 +807,15 @@ class CommentServiceTest {
         request.setCommentIds(Arrays.asList(1, 2, 3));
         request.setIsSpoiler(true);
 
-        when(commentMapper.selectByPrimaryKey(anyInt())).thenReturn(testComment);
-        when(commentMapper.updateByPrimaryKeySelective(any())).thenReturn(1);
+        when(commentMapper.updateSpoilerByIds(any(Integer[].class), eq(true))).thenReturn(3);
 
         // Act
         int result = commentService.bulkUpdateSpoilerStatus(request);
 
         // Assert
         assertEquals(3, result);
-        verify(commentMapper, times(3)).updateByPrimaryKeySelective(any());
+        verify(commentMapper).updateSpoilerByIds(new Integer[]{1, 2, 3}, true);
+        verify(commentMapper, never()).updateByPrimaryKeySelective(any());
     }
 
     @Test
@@ -838,10 +917,10 @@ class CommentServiceTest {
     }
     @Test
     void toResponseDTO_WithUserServiceException() {
-        // Arrange - Test when userService.getUsernameById throws exception
+        // Arrange - Test when the username lookup throws exception
         when(commentMapper.selectByPrimaryKey(testCommentId)).thenReturn(testComment);
-        when(userService.getUsernameById(testUserId)).thenThrow(new RuntimeException("User not found"));
-        when(chapterMapper.selectByPrimaryKey(testChapterId)).thenReturn(testChapter);
+        when(displayNameCache.getUsernames(anyCollection())).thenThrow(new RuntimeException("User not found"));
+        when(displayNameCache.getChapterTitles(anyCollection())).thenReturn(Map.of(testChapterId, "Test Chapter"));
 
         // Act
         CommentResponseDTO result = commentService.getComment(testCommentId, testUserId);
@@ -856,8 +935,8 @@ class CommentServiceTest {
     void toResponseDTO_WithChapterNotFound() {
         // Arrange - Test when chapter is not found in toResponseDTO
         when(commentMapper.selectByPrimaryKey(testCommentId)).thenReturn(testComment);
-        when(userService.getUsernameById(testUserId)).thenReturn("testuser");
-        when(chapterMapper.selectByPrimaryKey(testChapterId)).thenReturn(null);
+        when(displayNameCache.getUsernames(anyCollection())).thenReturn(Map.of(testUserId, "testuser"));
+        when(displayNameCache.getChapterTitles(anyCollection())).thenReturn(Map.of());
 
         // Act
         CommentResponseDTO result = commentService.getComment(testCommentId, testUserId);
@@ -873,18 +952,14 @@ class CommentServiceTest {
         CommentBatchDeleteRequestDTO request = new CommentBatchDeleteRequestDTO();
         request.setCommentIds(Arrays.asList(1, 999, 2));
 
-        when(commentMapper.selectByPrimaryKey(1)).thenReturn(testComment);
-        when(commentMapper.selectByPrimaryKey(999)).thenReturn(null); // This one doesn't exist
-        when(commentMapper.selectByPrimaryKey(2)).thenReturn(testComment);
-        when(commentMapper.deleteByPrimaryKey(1)).thenReturn(1);
-        when(commentMapper.deleteByPrimaryKey(2)).thenReturn(1);
+        when(commentMapper.deleteByIds(any(Integer[].class))).thenReturn(Arrays.asList(1, 2)); // 999 doesn't exist
 
         // Act
         int result = commentService.batchDeleteComments(request, true);
 
         // Assert
         assertEquals(2, result); // Only 2 deleted, 1 not found
-        verify(commentMapper, times(2)).deleteByPrimaryKey(anyInt());
+        verify(commentMapper, times(1)).deleteByIds(any(Integer[].class));
     }
 
     @Test
@@ -0,0 +1,92 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.ChapterMapper;
+import com.yushan.backend.dao.UserMapper;
+import com.yushan.backend.entity.Chapter;
+import com.yushan.backend.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DisplayNameCache Tests")
+class DisplayNameCacheTest {
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private ChapterMapper chapterMapper;
+
+    private DisplayNameCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DisplayNameCache(userMapper, chapterMapper);
+    }
+
+    private User user(UUID uuid, String username) {
+        User user = new User();
+        user.setUuid(uuid);
+        user.setUsername(username);
+        return user;
+    }
+
+    private Chapter chapter(Integer id, String title) {
+        Chapter chapter = new Chapter();
+        chapter.setId(id);
+        chapter.setTitle(title);
+        return chapter;
+    }
+
+    @Test
+    @DisplayName("usernames are loaded in one query and then served from the cache")
+    void testUsernamesLoadedOnceThenCached() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        when(userMapper.selectByUuids(anyList()))
+                .thenReturn(Arrays.asList(user(first, "alice"), user(second, "bob")));
+
+        Map<UUID, String> names = cache.getUsernames(Arrays.asList(first, second, first, missing, null));
+        assertEquals(Map.of(first, "alice", second, "bob"), names);
+        verify(userMapper).selectByUuids(argThat(ids -> ids.size() == 3 && !ids.contains(null)));
+
+        assertEquals(Map.of(first, "alice"), cache.getUsernames(Collections.singletonList(first)));
+        verifyNoMoreInteractions(userMapper);
+    }
+
+    @Test
+    @DisplayName("only chapters not cached yet are queried")
+    void testChapterTitlesLoadOnlyMissing() {
+        when(chapterMapper.selectTitlesByIds(List.of(1))).thenReturn(List.of(chapter(1, "One")));
+        when(chapterMapper.selectTitlesByIds(List.of(2))).thenReturn(List.of(chapter(2, "Two")));
+
+        assertEquals(Map.of(1, "One"), cache.getChapterTitles(List.of(1)));
+        assertEquals(Map.of(1, "One", 2, "Two"), cache.getChapterTitles(List.of(1, 2)));
+
+        verify(chapterMapper).selectTitlesByIds(List.of(1));
+        verify(chapterMapper).selectTitlesByIds(List.of(2));
+        verifyNoMoreInteractions(chapterMapper);
+    }
+
+    @Test
+    @DisplayName("an empty page issues no queries")
+    void testEmptyInput() {
+        assertTrue(cache.getUsernames(Collections.emptyList()).isEmpty());
+        assertTrue(cache.getChapterTitles(Collections.emptyList()).isEmpty());
+        verifyNoInteractions(userMapper, chapterMapper);
+    }
+}
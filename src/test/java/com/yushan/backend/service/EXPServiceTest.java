@@ -11,6 +11,8 @@ import org.mockito.MockitoAnnotations;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 class EXPServiceTest {
@@ -18,6 +20,9 @@ class EXPServiceTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private RankingUpdateService rankingUpdateService;
+
     @InjectMocks
     private EXPService expService;
 
@@ -35,18 +40,29 @@ class EXPServiceTest {
     }
 
     @Test
-    void addExp_ShouldUpdateUserExpAndLevel() {
+    void addExp_ShouldUpdateUserExpAndLevelAtomically() {
         // Given
-        when(userMapper.selectByPrimaryKey(testUuid)).thenReturn(testUser);
+        testUser.setExp(150.0f);
+        testUser.setLevel(2);
+        when(userMapper.addExp(eq(testUuid), eq(150.0f), any(int[].class), eq(5))).thenReturn(testUser);
 
         // When
         expService.addExp(testUuid, 150.0f);
 
         // Then
-        assertEquals(150.0f, testUser.getExp());
-        assertEquals(2, testUser.getLevel());
-        verify(userMapper).selectByPrimaryKey(testUuid);
-        verify(userMapper).updateByPrimaryKey(testUser);
+        verify(userMapper).addExp(eq(testUuid), eq(150.0f), aryEq(new int[]{100, 500, 2000, 5000}), eq(5));
+        verify(userMapper, never()).selectByPrimaryKey(any());
+        verify(userMapper, never()).updateByPrimaryKey(any());
+        verify(rankingUpdateService).incrementUserExp(testUser, 150.0f);
+    }
+
+    @Test
+    void addExp_UserNotFound_ShouldSkipRankings() {
+        // When
+        expService.addExp(testUuid, 10.0f);
+
+        // Then
+        verifyNoInteractions(rankingUpdateService);
     }
 
     @Test
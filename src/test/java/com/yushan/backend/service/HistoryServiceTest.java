@@ -16,6 +16,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.sql.Timestamp;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -134,6 +135,35 @@ class HistoryServiceTest {
         verify(historyMapper).countByUserId(testUserId);
     }
 
+    @Test
+    void getUserHistory_WithCursor_ShouldSeekAndSkipCount() {
+        // Given - size 1, the mapper returns one extra row
+        List<History> mockHistories = createMockHistories();
+        when(historyMapper.selectByUserIdByCursor(testUserId, null, null, 1)).thenReturn(mockHistories);
+
+        // When
+        PageResponseDTO<HistoryResponseDTO> result = historyService.getUserHistory(testUserId, 0, 1, "", false);
+
+        // Then
+        assertEquals(1, result.getContent().size());
+        assertEquals(-1L, result.getTotalElements());
+        assertTrue(result.isHasNext());
+        assertNotNull(result.getNextCursor());
+        verify(historyMapper, never()).countByUserId(any());
+        verify(historyMapper, never()).selectByUserIdWithPagination(any(), anyInt(), anyInt());
+
+        // When - following the cursor passes the last row's key to the mapper
+        when(historyMapper.selectByUserIdByCursor(eq(testUserId), eq(1), any(Timestamp.class), eq(1)))
+                .thenReturn(new ArrayList<>());
+        PageResponseDTO<HistoryResponseDTO> next = historyService.getUserHistory(testUserId, 0, 1, result.getNextCursor(), false);
+
+        // Then
+        assertTrue(next.getContent().isEmpty());
+        assertFalse(next.isHasNext());
+        assertNull(next.getNextCursor());
+        verify(historyMapper).selectByUserIdByCursor(testUserId, 1, new Timestamp(mockHistories.get(0).getUpdateTime().getTime()), 1);
+    }
+
     @Test
     void deleteHistory_ShouldDeleteHistory_WhenValidId() {
         // Given
@@ -0,0 +1,95 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.NovelMapper;
+import com.yushan.backend.dao.UserMapper;
+import com.yushan.backend.entity.Novel;
+import com.yushan.backend.entity.User;
+import com.yushan.backend.security.UserDetailsCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageBackfillServiceTest {
+
+    @Mock
+    private NovelMapper novelMapper;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private ImageService imageService;
+
+    @Mock
+    private NovelCache novelCache;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    @InjectMocks
+    private ImageBackfillService imageBackfillService;
+
+    @Test
+    @DisplayName("data URLs are stored once per batch and each row is rewritten by primary key and evicted")
+    void backfill_replacesDataUrls() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(novelMapper.selectDataUrlCoverImages(isNull(), anyInt()))
+                .thenReturn(List.of(novel(3, "data:image/png;base64,AAA")));
+        when(novelMapper.selectDataUrlCoverImages(eq(3), anyInt())).thenReturn(Collections.emptyList());
+        when(userMapper.selectDataUrlAvatars(isNull(), anyInt()))
+                .thenReturn(List.of(user(first, "data:image/png;base64,BBB"), user(second, "data:image/png;base64,BBB")));
+        when(userMapper.selectDataUrlAvatars(eq(second), anyInt())).thenReturn(Collections.emptyList());
+        when(imageService.storeDataUrl("data:image/png;base64,AAA")).thenReturn("/api/images/a");
+        when(imageService.storeDataUrl("data:image/png;base64,BBB")).thenReturn("/api/images/b");
+        when(novelMapper.replaceCoverImgUrl(3, "/api/images/a")).thenReturn(1);
+        when(userMapper.replaceAvatarUrl(any(UUID.class), eq("/api/images/b"))).thenReturn(1);
+
+        assertEquals(3, imageBackfillService.backfill());
+        verify(imageService, times(1)).storeDataUrl("data:image/png;base64,BBB");
+        verify(novelCache).invalidate(3);
+        verify(userDetailsCache).evict(first);
+        verify(userDetailsCache).evict(second);
+    }
+
+    @Test
+    @DisplayName("images that cannot be stored stay inline and are passed by the cursor")
+    void backfill_skipsInvalidImages() {
+        when(novelMapper.selectDataUrlCoverImages(isNull(), anyInt()))
+                .thenReturn(List.of(novel(5, "data:image/png;base64,!!")));
+        when(novelMapper.selectDataUrlCoverImages(eq(5), anyInt())).thenReturn(Collections.emptyList());
+        when(userMapper.selectDataUrlAvatars(isNull(), anyInt())).thenReturn(Collections.emptyList());
+        when(imageService.storeDataUrl(anyString())).thenThrow(new IllegalArgumentException("bad"));
+
+        assertEquals(0, imageBackfillService.backfill());
+        verify(imageService, times(1)).storeDataUrl(anyString());
+        verify(novelMapper, never()).replaceCoverImgUrl(anyInt(), anyString());
+        verifyNoInteractions(novelCache);
+    }
+
+    private Novel novel(Integer id, String coverImgUrl) {
+        Novel novel = new Novel();
+        novel.setId(id);
+        novel.setCoverImgUrl(coverImgUrl);
+        return novel;
+    }
+
+    private User user(UUID uuid, String avatarUrl) {
+        User user = new User();
+        user.setUuid(uuid);
+        user.setAvatarUrl(avatarUrl);
+        return user;
+    }
+}
@@ -0,0 +1,108 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.enums.Gender;
+import com.yushan.backend.service.image.FileSystemImageStore;
+import com.yushan.backend.util.ImageUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageServiceTest {
+
+    private static final byte[] PNG = Base64.getDecoder().decode(
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==");
+    private static final String PNG_DATA_URL = "data:image/png;base64," + Base64.getEncoder().encodeToString(PNG);
+
+    @TempDir
+    Path root;
+
+    private ImageService imageService;
+
+    @BeforeEach
+    void setUp() {
+        imageService = new ImageService();
+        ReflectionTestUtils.setField(imageService, "imageStore", new FileSystemImageStore(root.toString()));
+    }
+
+    @Test
+    @DisplayName("storeDataUrl writes the content under its hash and returns the short URL")
+    void storeDataUrl_storesContentAddressedFile() throws Exception {
+        String url = imageService.storeDataUrl(PNG_DATA_URL);
+
+        String hash = ImageUtil.contentHash(PNG);
+        assertEquals("/api/images/" + hash, url);
+        Path file = root.resolve(hash.substring(0, 2)).resolve(hash);
+        assertArrayEquals(PNG, Files.readAllBytes(file));
+    }
+
+    @Test
+    @DisplayName("storing the same image twice yields the same URL and one file")
+    void storeDataUrl_isIdempotent() throws Exception {
+        String first = imageService.storeDataUrl(PNG_DATA_URL);
+        String second = imageService.storeDataUrl(PNG_DATA_URL);
+
+        assertEquals(first, second);
+        String hash = ImageUtil.contentHash(PNG);
+        try (var files = Files.list(root.resolve(hash.substring(0, 2)))) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("values that are not data URLs are returned unchanged")
+    void storeDataUrl_passesThroughUrls() {
+        assertNull(imageService.storeDataUrl(null));
+        assertEquals("/api/images/abc", imageService.storeDataUrl("/api/images/abc"));
+        assertEquals("https://cdn.example.com/a.png", imageService.storeDataUrl("https://cdn.example.com/a.png"));
+    }
+
+    @Test
+    @DisplayName("the store needs an explicit absolute root")
+    void imageStore_rejectsMissingOrRelativeRoot() {
+        assertThrows(IllegalStateException.class, () -> new FileSystemImageStore(""));
+        assertThrows(IllegalStateException.class, () -> new FileSystemImageStore("data/images"));
+    }
+
+    @Test
+    @DisplayName("images over the size limit are rejected")
+    void storeDataUrl_rejectsOversizedImage() {
+        ReflectionTestUtils.setField(imageService, "maxBytes", 10);
+
+        assertThrows(IllegalArgumentException.class, () -> imageService.storeDataUrl(PNG_DATA_URL));
+    }
+
+    @Test
+    @DisplayName("getImage loads stored images and returns null for unknown or malformed hashes")
+    void getImage_loadsByHash() throws Exception {
+        String hash = imageService.storeDataUrl(PNG_DATA_URL).substring(ImageUtil.IMAGE_URL_PREFIX.length());
+
+        Resource image = imageService.getImage(hash);
+        assertNotNull(image);
+        assertEquals(PNG.length, image.contentLength());
+        assertEquals("image/png", imageService.detectContentType(image));
+
+        assertNull(imageService.getImage("0".repeat(64)));
+        assertNull(imageService.getImage("../../etc/passwd"));
+    }
+
+    @Test
+    @DisplayName("default avatars are stored under the URL the enum exposes")
+    void storeDefaultAvatars_makesDefaultAvatarUrlsServable() {
+        imageService.storeDefaultAvatars();
+
+        for (Gender gender : Gender.values()) {
+            String url = gender.getAvatarUrl();
+            assertTrue(url.startsWith(ImageUtil.IMAGE_URL_PREFIX));
+            assertNotNull(imageService.getImage(url.substring(ImageUtil.IMAGE_URL_PREFIX.length())));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.NovelMapper;
+import com.yushan.backend.dto.NovelDetailResponseDTO;
+import com.yushan.backend.entity.Novel;
+import com.yushan.backend.util.RedisUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NovelCache Tests")
+class NovelCacheTest {
+
+    @Mock
+    private NovelMapper novelMapper;
+
+    @Mock
+    private RedisUtil redisUtil;
+
+    private NovelCache novelCache;
+
+    @BeforeEach
+    void setUp() {
+        novelCache = new NovelCache(novelMapper, redisUtil);
+    }
+
+    @Test
+    @DisplayName("miss loads from the database, fills redis and serves later reads locally")
+    void testMissFillsBothTiers() {
+        Novel novel = createNovel(1);
+        when(novelMapper.selectByPrimaryKey(1)).thenReturn(novel);
+
+        assertSame(novel, novelCache.getNovel(1));
+        assertSame(novel, novelCache.getNovel(1));
+
+        verify(novelMapper, times(1)).selectByPrimaryKey(1);
+        verify(redisUtil, times(1)).getJson("novel:entity:1", Novel.class);
+        verify(redisUtil).setJson(eq("novel:entity:1"), eq(novel), anyLong(), eq(TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("redis hit skips the database")
+    void testRedisHitSkipsDatabase() {
+        NovelDetailResponseDTO detail = new NovelDetailResponseDTO();
+        detail.setId(2);
+        when(redisUtil.getJson("novel:detail:2", NovelDetailResponseDTO.class)).thenReturn(detail);
+
+        assertSame(detail, novelCache.getDetail(2, () -> fail("loader should not run")));
+        verifyNoInteractions(novelMapper);
+    }
+
+    @Test
+    @DisplayName("missing novels are not cached")
+    void testMissingNovelIsNotCached() {
+        assertNull(novelCache.getNovel(3));
+        assertNull(novelCache.getNovel(3));
+
+        verify(novelMapper, times(2)).selectByPrimaryKey(3);
+        verify(redisUtil, never()).setJson(anyString(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("invalidate clears both tiers and notifies other nodes")
+    void testInvalidateClearsBothTiers() {
+        when(novelMapper.selectByPrimaryKey(4)).thenReturn(createNovel(4));
+        novelCache.getNovel(4);
+
+        novelCache.invalidate(4);
+        novelCache.getNovel(4);
+
+        verify(novelMapper, times(2)).selectByPrimaryKey(4);
+        verify(redisUtil).delete(Arrays.asList("novel:entity:4", "novel:detail:4"));
+        verify(redisUtil).publish(NovelCache.INVALIDATION_CHANNEL, "4");
+    }
+
+    @Test
+    @DisplayName("inside a transaction redis is cleared now and again once it completes")
+    void testInvalidateInTransactionClearsTwice() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            novelCache.invalidate(7);
+            verify(redisUtil, times(1)).delete(Arrays.asList("novel:entity:7", "novel:detail:7"));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            verify(redisUtil, times(2)).delete(Arrays.asList("novel:entity:7", "novel:detail:7"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("invalidation message drops only the local entry")
+    void testMessageDropsLocalEntry() {
+        when(novelMapper.selectByPrimaryKey(5)).thenReturn(createNovel(5));
+        novelCache.getNovel(5);
+
+        novelCache.onMessage(new DefaultMessage(NovelCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "5".getBytes(StandardCharsets.UTF_8)), null);
+        novelCache.getNovel(5);
+
+        verify(novelMapper, times(2)).selectByPrimaryKey(5);
+        verify(redisUtil, never()).delete(anyCollection());
+        verify(redisUtil, never()).publish(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("redis failures fall back to the database")
+    void testRedisFailureFallsBackToDatabase() {
+        Novel novel = createNovel(6);
+        when(redisUtil.getJson(anyString(), eq(Novel.class))).thenThrow(new RuntimeException("redis down"));
+        when(novelMapper.selectByPrimaryKey(6)).thenReturn(novel);
+
+        assertSame(novel, novelCache.getNovel(6));
+    }
+
+    private Novel createNovel(Integer id) {
+        Novel novel = new Novel();
+        novel.setId(id);
+        novel.setTitle("Novel " + id);
+        novel.setStatus(2);
+        return novel;
+    }
+}
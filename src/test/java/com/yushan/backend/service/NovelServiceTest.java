@@ -6,6 +6,9 @@ import com.yushan.backend.dto.*;
 import com.yushan.backend.entity.Category;
 import com.yushan.backend.entity.Novel;
 import com.yushan.backend.exception.ResourceNotFoundException;
+import com.yushan.backend.exception.ValidationException;
+import com.yushan.backend.util.KeysetCursor;
+import com.yushan.backend.util.RedisUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -26,6 +29,9 @@ public class NovelServiceTest {
     private NovelMapper novelMapper;
     private CategoryService categoryService;
     private ChapterMapper chapterMapper;
+    private ViewCountBuffer viewCountBuffer;
+    private RedisUtil redisUtil;
+    private ImageService imageService;
     private NovelService novelService;
 
     @BeforeEach
@@ -33,6 +39,9 @@ public class NovelServiceTest {
         novelMapper = Mockito.mock(NovelMapper.class);
         categoryService = Mockito.mock(CategoryService.class);
         chapterMapper = Mockito.mock(ChapterMapper.class);
+        viewCountBuffer = Mockito.mock(ViewCountBuffer.class);
+        redisUtil = Mockito.mock(RedisUtil.class);
+        imageService = Mockito.mock(ImageService.class);
 
         novelService = new NovelService();
         try {
@@ -47,6 +56,18 @@ public class NovelServiceTest {
             java.lang.reflect.Field f3 = NovelService.class.getDeclaredField("chapterMapper");
             f3.setAccessible(true);
             f3.set(novelService, chapterMapper);
+
+            java.lang.reflect.Field f4 = NovelService.class.getDeclaredField("viewCountBuffer");
+            f4.setAccessible(true);
+            f4.set(novelService, viewCountBuffer);
+
+            java.lang.reflect.Field f5 = NovelService.class.getDeclaredField("novelCache");
+            f5.setAccessible(true);
+            f5.set(novelService, new NovelCache(novelMapper, redisUtil));
+
+            java.lang.reflect.Field f6 = NovelService.class.getDeclaredField("imageService");
+            f6.setAccessible(true);
+            f6.set(novelService, imageService);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -61,6 +82,7 @@ public class NovelServiceTest {
         req.setTitle("My Title");
         req.setCategoryId(10);
         req.setCoverImgBase64("data:image/jpeg;base64,/9j/4AAQSkZJRgABAQEAYABgAAD");
+        when(imageService.storeDataUrl("data:image/jpeg;base64,/9j/4AAQSkZJRgABAQEAYABgAAD")).thenReturn("/api/images/abc");
         req.setSynopsis("synopsis");
         req.setIsCompleted(true);
 
@@ -169,6 +191,28 @@ public class NovelServiceTest {
         verify(chapterMapper, times(1)).countPublishedByNovelId(novelId);
     }
 
+    @Test
+    void getNovel_RepeatedCalls_ShouldBeServedFromCache_UntilInvalidated() {
+        Integer novelId = 6;
+        Novel ok = new Novel();
+        ok.setId(novelId);
+        ok.setStatus(2);
+        ok.setTitle("Cached");
+        when(novelMapper.selectByPrimaryKey(novelId)).thenReturn(ok);
+        when(chapterMapper.countPublishedByNovelId(novelId)).thenReturn(3L);
+
+        novelService.getNovel(novelId);
+        novelService.getNovel(novelId);
+        verify(novelMapper, times(1)).selectByPrimaryKey(novelId);
+        verify(chapterMapper, times(1)).countPublishedByNovelId(novelId);
+
+        novelService.updateNovelRatingAndCount(novelId, 4.5f, 2);
+        NovelDetailResponseDTO response = novelService.getNovel(novelId);
+        assertEquals(4.5f, response.getAvgRating());
+        verify(chapterMapper, times(2)).countPublishedByNovelId(novelId);
+        verify(redisUtil).publish(NovelCache.INVALIDATION_CHANNEL, String.valueOf(novelId));
+    }
+
     @Test
     void listNovelsWithPagination_ShouldReturnPaginatedResults() {
         // Arrange
@@ -195,6 +239,68 @@ public class NovelServiceTest {
         assertFalse(response.isLast());
         assertTrue(response.isHasNext());
         assertFalse(response.isHasPrevious());
+        assertNotNull(response.getNextCursor());
+    }
+
+    @Test
+    void listNovelsWithPagination_WithCursor_ShouldSeekAndReturnNextCursor() {
+        // Arrange - first cursor page, count skipped
+        NovelSearchRequestDTO request = new NovelSearchRequestDTO(0, 2, "createTime", "desc", null, null, null, null, null);
+        request.setCursor("");
+        request.setWithCount(false);
+
+        Novel novel1 = createTestNovel(3, "Novel 3", UUID.randomUUID(), "Author 1", 1);
+        Novel novel2 = createTestNovel(2, "Novel 2", UUID.randomUUID(), "Author 2", 1);
+        Novel novel3 = createTestNovel(1, "Novel 1", UUID.randomUUID(), "Author 3", 1);
+        novel2.setCreateTime(new Date(1700000000000L));
+        when(novelMapper.selectNovelsByCursor(request)).thenReturn(Arrays.asList(novel1, novel2, novel3));
+
+        // Act
+        PageResponseDTO<NovelDetailResponseDTO> response = novelService.listNovelsWithPagination(request);
+
+        // Assert - the extra row only signals that another page follows
+        assertEquals(2, response.getContent().size());
+        assertEquals(-1L, response.getTotalElements());
+        assertTrue(response.isFirst());
+        assertTrue(response.isHasNext());
+        assertNotNull(response.getNextCursor());
+        verify(novelMapper, never()).countNovels(any());
+        verify(novelMapper, never()).selectNovelsWithPagination(any());
+
+        // Act - next page seeks past the last returned row
+        NovelSearchRequestDTO next = new NovelSearchRequestDTO(0, 2, "createTime", "desc", null, null, null, null, null);
+        next.setCursor(response.getNextCursor());
+        when(novelMapper.selectNovelsByCursor(next)).thenReturn(Arrays.asList(novel3));
+        when(novelMapper.countNovels(next)).thenReturn(3L);
+
+        PageResponseDTO<NovelDetailResponseDTO> nextPage = novelService.listNovelsWithPagination(next);
+
+        assertEquals(2, next.getCursorId());
+        assertEquals(new Date(1700000000000L), next.getCursorValue());
+        assertEquals(1, nextPage.getContent().size());
+        assertEquals(3L, nextPage.getTotalElements());
+        assertFalse(nextPage.isFirst());
+        assertFalse(nextPage.isHasNext());
+        assertNull(nextPage.getNextCursor());
+    }
+
+    @Test
+    void listNovelsWithPagination_WithCursorForOtherSort_ShouldThrow() {
+        NovelSearchRequestDTO request = new NovelSearchRequestDTO(0, 10, "title", "asc", null, null, null, null, null);
+        request.setCursor(KeysetCursor.of("createTime desc", new Date(), 1).encode());
+        request.setWithCount(false);
+
+        assertThrows(ValidationException.class, () -> novelService.listNovelsWithPagination(request));
+        verify(novelMapper, never()).selectNovelsByCursor(any());
+    }
+
+    @Test
+    void listNovelsWithPagination_WithCursorForUnknownSort_ShouldThrow() {
+        NovelSearchRequestDTO request = new NovelSearchRequestDTO(0, 10, "wordCnt", "desc", null, null, null, null, null);
+        request.setCursor("");
+
+        assertThrows(IllegalArgumentException.class, () -> novelService.listNovelsWithPagination(request));
+        verify(novelMapper, never()).selectNovelsByCursor(any());
     }
 
     @Test
@@ -390,6 +496,24 @@ public class NovelServiceTest {
             novelService.archiveNovel(novelId);
         });
     }
-}
 
+    @Test
+    void incrementViewCount_ShouldBufferView() {
+        Novel novel = new Novel();
+        novel.setId(7);
+        when(novelMapper.selectByPrimaryKey(7)).thenReturn(novel);
+
+        novelService.incrementViewCount(7);
+
+        verify(viewCountBuffer).recordNovelView(7);
+        verify(novelMapper, never()).incrementViewCount(anyInt());
+    }
+
+    @Test
+    void incrementViewCount_UnknownNovel_ShouldNotBufferView() {
+        when(novelMapper.selectByPrimaryKey(8)).thenReturn(null);
 
+        assertThrows(ResourceNotFoundException.class, () -> novelService.incrementViewCount(8));
+        verify(viewCountBuffer, never()).recordNovelView(any());
+    }
+}
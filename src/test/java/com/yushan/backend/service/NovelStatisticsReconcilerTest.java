@@ -0,0 +1,97 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.NovelMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NovelStatisticsReconciler Tests")
+class NovelStatisticsReconcilerTest {
+
+    @Mock
+    private NovelMapper novelMapper;
+
+    @Mock
+    private NovelCache novelCache;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NovelStatisticsReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reconciler = new NovelStatisticsReconciler(novelMapper, novelCache, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("a novel written many times is recounted once per run")
+    void testReconcilePendingIsDebounced() {
+        reconciler.markDirty(1);
+        reconciler.markDirty(1);
+        reconciler.markDirty(2);
+
+        reconciler.reconcilePending();
+        reconciler.reconcilePending();
+
+        verify(novelMapper, times(1)).reconcileStatistics(1);
+        verify(novelMapper, times(1)).reconcileStatistics(2);
+    }
+
+    @Test
+    @DisplayName("only corrected novels are evicted from the cache")
+    void testReconcileCountsCorrections() {
+        when(novelMapper.reconcileStatistics(1)).thenReturn(1);
+        when(novelMapper.reconcileStatistics(2)).thenReturn(0);
+
+        assertTrue(reconciler.reconcile(1));
+        assertFalse(reconciler.reconcile(2));
+
+        verify(novelCache).invalidate(1);
+        verify(novelCache, never()).invalidate(2);
+        assertEquals(1.0, meterRegistry.counter("novel_statistics.reconcile.corrected").count());
+    }
+
+    @Test
+    @DisplayName("a failed recount is retried on the next run")
+    void testReconcilePendingRetriesFailures() {
+        when(novelMapper.reconcileStatistics(1)).thenThrow(new RuntimeException("down")).thenReturn(0);
+        reconciler.markDirty(1);
+
+        reconciler.reconcilePending();
+        reconciler.reconcilePending();
+
+        verify(novelMapper, times(2)).reconcileStatistics(1);
+    }
+
+    @Test
+    @DisplayName("inside a transaction the novel is queued only after commit")
+    void testMarkDirtyWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        reconciler.markDirty(1);
+
+        reconciler.reconcilePending();
+        verify(novelMapper, never()).reconcileStatistics(any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        reconciler.reconcilePending();
+        verify(novelMapper, times(1)).reconcileStatistics(1);
+    }
+}
@@ -9,6 +9,7 @@ import com.yushan.backend.util.RedisUtil;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -17,6 +18,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,13 +37,13 @@ class RankingUpdateServiceTest {
     private RankingUpdateService rankingUpdateService;
 
     @Test
-    @DisplayName("updateNovelRankings should fetch all novels and populate Redis ZSETs")
+    @DisplayName("updateNovelRankings should stage all novels and swap them in atomically")
     void testUpdateNovelRankings() {
         // Given
         Novel novel1 = createMockNovel(1, 10, 1000L, 100); // id, categoryId, viewCnt, voteCnt
         Novel novel2 = createMockNovel(2, 20, 2000L, 200);
         List<Novel> allNovels = Arrays.asList(novel1, novel2);
-        Set<String> oldKeys = Set.of("ranking:novel:view:all", "ranking:novel:vote:10");
+        Set<String> oldKeys = Set.of("ranking:novel:view:all", "ranking:novel:vote:10", "ranking:novel:vote:99");
 
         when(novelMapper.selectAllNovelsForRanking()).thenReturn(allNovels);
         when(redisUtil.keys("ranking:novel:*")).thenReturn(oldKeys);
@@ -50,28 +52,43 @@ class RankingUpdateServiceTest {
         rankingUpdateService.updateNovelRankings();
 
         // Then
-        // 1. Verify old keys are deleted
-        verify(redisUtil).delete(oldKeys);
-
-        // 2. Verify total view ranking
-        verify(redisUtil).zAdd("ranking:novel:view:all", "1", 1000L);
-        verify(redisUtil).zAdd("ranking:novel:view:all", "2", 2000L);
+        // 1. Live keys are never deleted up front
+        verify(redisUtil, never()).delete(oldKeys);
+
+        // 2. Each ranking is bulk loaded into its staging key
+        verify(redisUtil).zAddAll("staging:ranking:novel:view:all", Map.of("1", 1000.0, "2", 2000.0));
+        verify(redisUtil).zAddAll("staging:ranking:novel:vote:all", Map.of("1", 100.0, "2", 200.0));
+        verify(redisUtil).zAddAll("staging:ranking:novel:view:10", Map.of("1", 1000.0));
+        verify(redisUtil).zAddAll("staging:ranking:novel:view:20", Map.of("2", 2000.0));
+        verify(redisUtil).zAddAll("staging:ranking:novel:vote:10", Map.of("1", 100.0));
+        verify(redisUtil).zAddAll("staging:ranking:novel:vote:20", Map.of("2", 200.0));
+        verify(redisUtil, never()).zAdd(anyString(), anyString(), anyDouble());
+
+        // 3. Staging keys are swapped in and the stale category key is removed in one step
+        ArgumentCaptor<Map<String, String>> renames = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<Collection<String>> deletes = ArgumentCaptor.forClass(Collection.class);
+        verify(redisUtil).renameAndDelete(renames.capture(), deletes.capture());
+        assertThat(renames.getValue()).hasSize(6)
+                .containsEntry("staging:ranking:novel:view:all", "ranking:novel:view:all")
+                .containsEntry("staging:ranking:novel:vote:20", "ranking:novel:vote:20");
+        assertThat(deletes.getValue()).containsExactly("ranking:novel:vote:99");
+    }
 
-        // 3. Verify total vote ranking
-        verify(redisUtil).zAdd("ranking:novel:vote:all", "1", 100);
-        verify(redisUtil).zAdd("ranking:novel:vote:all", "2", 200);
+    @Test
+    @DisplayName("updateNovelRankings should delete live keys when there are no novels")
+    void testUpdateNovelRankingsEmpty() {
+        Set<String> oldKeys = Set.of("ranking:novel:view:all");
+        when(novelMapper.selectAllNovelsForRanking()).thenReturn(Collections.emptyList());
+        when(redisUtil.keys("ranking:novel:*")).thenReturn(oldKeys);
 
-        // 4. Verify category-specific view ranking
-        verify(redisUtil).zAdd("ranking:novel:view:10", "1", 1000L);
-        verify(redisUtil).zAdd("ranking:novel:view:20", "2", 2000L);
+        rankingUpdateService.updateNovelRankings();
 
-        // 5. Verify category-specific vote ranking
-        verify(redisUtil).zAdd("ranking:novel:vote:10", "1", 100);
-        verify(redisUtil).zAdd("ranking:novel:vote:20", "2", 200);
+        verify(redisUtil, never()).zAddAll(anyString(), anyMap());
+        verify(redisUtil).renameAndDelete(Collections.emptyMap(), oldKeys);
     }
 
     @Test
-    @DisplayName("updateUserRankings should fetch all users and populate Redis ZSET")
+    @DisplayName("updateUserRankings should stage all users and swap them in atomically")
     void testUpdateUserRankings() {
         // Given
         User user1 = createMockUser(UUID.randomUUID(), 150.0f);
@@ -84,16 +101,14 @@ class RankingUpdateServiceTest {
         rankingUpdateService.updateUserRankings();
 
         // Then
-        // 1. Verify the key is deleted
-        verify(redisUtil).delete("ranking:user:exp");
-
-        // 2. Verify users are added to the ranking
-        verify(redisUtil).zAdd("ranking:user:exp", user1.getUuid().toString(), 150.0);
-        verify(redisUtil).zAdd("ranking:user:exp", user2.getUuid().toString(), 250.0);
+        verify(redisUtil, never()).delete("ranking:user:exp");
+        verify(redisUtil).zAddAll("staging:ranking:user:exp",
+                Map.of(user1.getUuid().toString(), 150.0, user2.getUuid().toString(), 250.0));
+        verify(redisUtil).renameAndDelete(Map.of("staging:ranking:user:exp", "ranking:user:exp"), Set.of());
     }
 
     @Test
-    @DisplayName("updateAuthorRankings should fetch all authors and populate Redis ZSETs")
+    @DisplayName("updateAuthorRankings should stage all authors and swap them in atomically")
     void testUpdateAuthorRankings() {
         // Given
         AuthorResponseDTO author1 = createMockAuthor(UUID.randomUUID().toString(), 10, 100L, 1000L);
@@ -106,21 +121,16 @@ class RankingUpdateServiceTest {
         rankingUpdateService.updateAuthorRankings();
 
         // Then
-        // 1. Verify old keys are deleted
-        List<String> keysToDelete = List.of("ranking:author:vote", "ranking:author:view", "ranking:author:novelNum");
-        verify(redisUtil).delete(keysToDelete);
-
-        // 2. Verify vote count ranking
-        verify(redisUtil).zAdd("ranking:author:vote", author1.getUuid(), 100.0);
-        verify(redisUtil).zAdd("ranking:author:vote", author2.getUuid(), 200.0);
-
-        // 3. Verify view count ranking
-        verify(redisUtil).zAdd("ranking:author:view", author1.getUuid(), 1000.0);
-        verify(redisUtil).zAdd("ranking:author:view", author2.getUuid(), 2000.0);
-
-        // 4. Verify novel count ranking
-        verify(redisUtil).zAdd("ranking:author:novelNum", author1.getUuid(), 10.0);
-        verify(redisUtil).zAdd("ranking:author:novelNum", author2.getUuid(), 20.0);
+        verify(redisUtil).zAddAll("staging:ranking:author:vote",
+                Map.of(author1.getUuid(), 100.0, author2.getUuid(), 200.0));
+        verify(redisUtil).zAddAll("staging:ranking:author:view",
+                Map.of(author1.getUuid(), 1000.0, author2.getUuid(), 2000.0));
+        verify(redisUtil).zAddAll("staging:ranking:author:novelNum",
+                Map.of(author1.getUuid(), 10.0, author2.getUuid(), 20.0));
+        verify(redisUtil).renameAndDelete(Map.of(
+                "staging:ranking:author:vote", "ranking:author:vote",
+                "staging:ranking:author:view", "ranking:author:view",
+                "staging:ranking:author:novelNum", "ranking:author:novelNum"), Set.of());
     }
 
     @Test
@@ -142,6 +152,66 @@ class RankingUpdateServiceTest {
     }
 
 
+    @Test
+    @DisplayName("incrementNovelVotes should update all, category and author rankings of a published novel")
+    void testIncrementNovelVotes() {
+        Novel novel = createMockNovel(1, 10, 1000L, 100);
+        novel.setStatus(2);
+        UUID authorId = UUID.randomUUID();
+        novel.setAuthorId(authorId);
+
+        rankingUpdateService.incrementNovelVotes(novel, 1);
+
+        verify(redisUtil).zIncrBy("ranking:novel:vote:all", "1", 1);
+        verify(redisUtil).zIncrBy("ranking:novel:vote:10", "1", 1);
+        verify(redisUtil).zIncrBy("ranking:author:vote", authorId.toString(), 1);
+    }
+
+    @Test
+    @DisplayName("incrementNovelViews should ignore unpublished novels")
+    void testIncrementNovelViewsUnpublished() {
+        Novel novel = createMockNovel(1, 10, 1000L, 100);
+        novel.setStatus(0);
+
+        rankingUpdateService.incrementNovelViews(novel, 1);
+
+        verifyNoInteractions(redisUtil);
+    }
+
+    @Test
+    @DisplayName("incrementUserExp should swallow Redis failures")
+    void testIncrementUserExpRedisFailure() {
+        User user = createRankedUser();
+        when(redisUtil.zIncrBy("ranking:user:exp", user.getUuid().toString(), 5.0))
+                .thenThrow(new RuntimeException("redis down"));
+
+        rankingUpdateService.incrementUserExp(user, 5.0);
+
+        verify(redisUtil).zIncrBy("ranking:user:exp", user.getUuid().toString(), 5.0);
+    }
+
+    @Test
+    @DisplayName("incrementUserExp should ignore admins and suspended users")
+    void testIncrementUserExpUnranked() {
+        User admin = createRankedUser();
+        admin.setIsAdmin(true);
+        User suspended = createRankedUser();
+        suspended.setStatus(1);
+
+        rankingUpdateService.incrementUserExp(admin, 5.0);
+        rankingUpdateService.incrementUserExp(suspended, 5.0);
+
+        verifyNoInteractions(redisUtil);
+    }
+
+    private User createRankedUser() {
+        User user = new User();
+        user.setUuid(UUID.randomUUID());
+        user.setIsAdmin(false);
+        user.setStatus(0);
+        return user;
+    }
+
     // Helper methods for creating mock data
     private Novel createMockNovel(Integer id, Integer categoryId, Long viewCnt, Integer voteCnt) {
         Novel novel = new Novel();
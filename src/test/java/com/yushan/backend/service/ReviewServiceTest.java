@@ -1,7 +1,9 @@
 package com.yushan.backend.service;
 
+import com.yushan.backend.dao.NovelRatingAggMapper;
 import com.yushan.backend.dao.ReviewMapper;
 import com.yushan.backend.dto.*;
+import com.yushan.backend.entity.NovelRatingAgg;
 import com.yushan.backend.entity.Review;
 import com.yushan.backend.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +16,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,6 +28,9 @@ class ReviewServiceTest {
     @Mock
     private ReviewMapper reviewMapper;
 
+    @Mock
+    private NovelRatingAggMapper novelRatingAggMapper;
+
     @Mock
     private NovelService novelService;
 
@@ -75,17 +81,34 @@ class ReviewServiceTest {
         updateRequest.setIsSpoiler(false);
     }
 
+    // aggregate with the given review counts for 1 to 5 stars
+    private NovelRatingAgg agg(int... counts) {
+        NovelRatingAgg agg = new NovelRatingAgg();
+        agg.setNovelId(novelId);
+        for (int i = 0; i < counts.length; i++) {
+            for (int n = 0; n < counts[i]; n++) {
+                agg.addRating(i + 1, 1);
+            }
+        }
+        return agg;
+    }
+
     @Test
     @DisplayName("Test createReview - Success")
     void testCreateReviewSuccess() {
         when(novelService.getNovel(novelId)).thenReturn(mock(NovelDetailResponseDTO.class));
         when(reviewMapper.selectByUserAndNovel(userId, novelId)).thenReturn(null);
         when(reviewMapper.insertSelective(any(Review.class))).thenReturn(1);
+        when(novelRatingAggMapper.applyDelta(any(NovelRatingAgg.class))).thenReturn(agg(0, 0, 0, 1, 1));
         
         ReviewResponseDTO result = reviewService.createReview(userId, createRequest);
         
         assertNotNull(result);
         verify(reviewMapper).insertSelective(any(Review.class));
+        verify(novelRatingAggMapper).applyDelta(argThat(delta -> delta.getReviewCnt() == 1
+                && delta.getRatingSum() == 5 && delta.getRatingCount(5) == 1));
+        verify(novelService).updateNovelRatingAndCount(novelId, 4.5f, 2);
+        verify(reviewMapper, never()).selectByNovelId(any());
         verify(expService).addExp(eq(userId), eq(5f));
     }
 
@@ -113,19 +136,24 @@ class ReviewServiceTest {
     @Test
     @DisplayName("Test updateReview - Success")
     void testUpdateReviewSuccess() {
-        when(reviewMapper.selectByPrimaryKey(reviewId)).thenReturn(review);
+        when(reviewMapper.selectByPrimaryKeyForUpdate(reviewId)).thenReturn(review);
         when(reviewMapper.updateByPrimaryKeySelective(any(Review.class))).thenReturn(1);
+        when(novelRatingAggMapper.applyDelta(any(NovelRatingAgg.class))).thenReturn(agg(0, 0, 0, 1));
         
         ReviewResponseDTO result = reviewService.updateReview(reviewId, userId, updateRequest);
         
         assertNotNull(result);
         verify(reviewMapper).updateByPrimaryKeySelective(any(Review.class));
+        // 5 stars moved to 4: count unchanged, sum down by one
+        verify(novelRatingAggMapper).applyDelta(argThat(delta -> delta.getReviewCnt() == 0
+                && delta.getRatingSum() == -1 && delta.getRatingCount(5) == -1 && delta.getRatingCount(4) == 1));
+        verify(novelService).updateNovelRatingAndCount(novelId, 4.0f, 1);
     }
 
     @Test
     @DisplayName("Test updateReview - Review not found")
     void testUpdateReviewNotFound() {
-        when(reviewMapper.selectByPrimaryKey(reviewId)).thenReturn(null);
+        when(reviewMapper.selectByPrimaryKeyForUpdate(reviewId)).thenReturn(null);
         
         assertThrows(ResourceNotFoundException.class, () -> {
             reviewService.updateReview(reviewId, userId, updateRequest);
@@ -136,7 +164,7 @@ class ReviewServiceTest {
     @DisplayName("Test updateReview - Not authorized")
     void testUpdateReviewNotAuthorized() {
         UUID differentUserId = UUID.randomUUID();
-        when(reviewMapper.selectByPrimaryKey(reviewId)).thenReturn(review);
+        when(reviewMapper.selectByPrimaryKeyForUpdate(reviewId)).thenReturn(review);
         
         assertThrows(IllegalArgumentException.class, () -> {
             reviewService.updateReview(reviewId, differentUserId, updateRequest);
@@ -146,20 +174,23 @@ class ReviewServiceTest {
     @Test
     @DisplayName("Test deleteReview - Success")
     void testDeleteReviewSuccess() {
-        when(reviewMapper.selectByPrimaryKey(reviewId)).thenReturn(review);
+        when(reviewMapper.selectByPrimaryKeyForUpdate(reviewId)).thenReturn(review);
         when(reviewMapper.deleteByPrimaryKey(reviewId)).thenReturn(1);
+        when(novelRatingAggMapper.applyDelta(any(NovelRatingAgg.class))).thenReturn(agg());
         
         boolean result = reviewService.deleteReview(reviewId, userId, false);
         
         assertTrue(result);
         verify(reviewMapper).deleteByPrimaryKey(reviewId);
+        verify(novelRatingAggMapper).applyDelta(argThat(delta -> delta.getReviewCnt() == -1 && delta.getRatingSum() == -5));
+        verify(novelService).updateNovelRatingAndCount(novelId, 0.0f, 0);
     }
 
     @Test
     @DisplayName("Test deleteReview - Not authorized")
     void testDeleteReviewNotAuthorized() {
         UUID differentUserId = UUID.randomUUID();
-        when(reviewMapper.selectByPrimaryKey(reviewId)).thenReturn(review);
+        when(reviewMapper.selectByPrimaryKeyForUpdate(reviewId)).thenReturn(review);
         
         assertThrows(IllegalArgumentException.class, () -> {
             reviewService.deleteReview(reviewId, differentUserId, false);
@@ -170,8 +201,9 @@ class ReviewServiceTest {
     @DisplayName("Test deleteReview - Admin can delete")
     void testDeleteReviewAdmin() {
         UUID differentUserId = UUID.randomUUID();
-        when(reviewMapper.selectByPrimaryKey(reviewId)).thenReturn(review);
+        when(reviewMapper.selectByPrimaryKeyForUpdate(reviewId)).thenReturn(review);
         when(reviewMapper.deleteByPrimaryKey(reviewId)).thenReturn(1);
+        when(novelRatingAggMapper.applyDelta(any(NovelRatingAgg.class))).thenReturn(agg());
         
         boolean result = reviewService.deleteReview(reviewId, differentUserId, true);
         
@@ -248,4 +280,36 @@ class ReviewServiceTest {
         
         assertFalse(result);
     }
+
+    @Test
+    @DisplayName("Test getNovelRatingStats - Distribution read from the aggregate")
+    void testGetNovelRatingStats() {
+        NovelDetailResponseDTO novel = mock(NovelDetailResponseDTO.class);
+        when(novel.getTitle()).thenReturn("Novel");
+        when(novel.getAvgRating()).thenReturn(4.0f);
+        when(novelService.getNovel(novelId)).thenReturn(novel);
+        when(novelRatingAggMapper.selectByNovelId(novelId)).thenReturn(agg(0, 0, 1, 1, 2));
+
+        NovelRatingStatsDTO stats = reviewService.getNovelRatingStats(novelId);
+
+        assertEquals(4, stats.getTotalReviews());
+        assertEquals(4.0f, stats.getAverageRating());
+        assertEquals(2, stats.getRating5Count());
+        assertEquals(0, stats.getRating1Count());
+        assertEquals(50f, stats.getRating5Percentage());
+        assertEquals(25f, stats.getRating3Percentage());
+        verify(reviewMapper, never()).selectByNovelId(any());
+    }
+
+    @Test
+    @DisplayName("Test getNovelRatingStats - Novel without reviews")
+    void testGetNovelRatingStatsNoReviews() {
+        when(novelService.getNovel(novelId)).thenReturn(mock(NovelDetailResponseDTO.class));
+        when(novelRatingAggMapper.selectByNovelId(novelId)).thenReturn(null);
+
+        NovelRatingStatsDTO stats = reviewService.getNovelRatingStats(novelId);
+
+        assertEquals(0, stats.getTotalReviews());
+        assertNull(stats.getRating5Count());
+    }
 }
@@ -1,19 +1,25 @@
 package com.yushan.backend.service;
 
 import com.yushan.backend.dao.SearchMapper;
+import com.yushan.backend.dto.NovelSearchResultDTO;
 import com.yushan.backend.dto.SearchRequestDTO;
 import com.yushan.backend.dto.SearchResponseDTO;
-import com.yushan.backend.entity.Novel;
 import com.yushan.backend.entity.User;
+import com.yushan.backend.exception.ServiceUnavailableException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -35,6 +41,8 @@ class SearchServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(searchService, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
     }
 
     @Test
@@ -270,8 +278,8 @@ class SearchServiceTest {
         request.setPage(1);
         request.setPageSize(10);
 
-        List<Novel> novels = new ArrayList<>();
-        Novel novel = new Novel();
+        List<NovelSearchResultDTO> novels = new ArrayList<>();
+        NovelSearchResultDTO novel = new NovelSearchResultDTO();
         novel.setId(1);
         novel.setTitle("Test Novel");
         novels.add(novel);
@@ -302,4 +310,177 @@ class SearchServiceTest {
         assertEquals(1, result.getUserCount());
         assertEquals(2L, result.getTotalResults());
     }
+
+    @Test
+    @DisplayName("Test 11: Highlighted matches are escaped and wrapped in mark tags")
+    void testHighlightedMatchesAreEscaped() {
+        // Arrange
+        SearchRequestDTO request = new SearchRequestDTO();
+        request.setKeyword("dragon");
+        request.setSortBy("relevance");
+
+        NovelSearchResultDTO novel = new NovelSearchResultDTO();
+        novel.setId(1);
+        novel.setTitle("The <b>Dragon</b>");
+        novel.setHighlightedTitle("The <b>\u0002Dragon\u0003</b>");
+        novel.setSnippet("a \u0002dragon\u0003 & a knight");
+
+        when(searchMapper.searchNovels(eq("dragon"), any(), anyInt(), anyInt(), eq("relevance"), anyString()))
+                .thenReturn(List.of(novel));
+        when(searchMapper.countNovels(anyString(), any())).thenReturn(1);
+
+        // Act
+        SearchResponseDTO result = searchService.searchNovels(request);
+
+        // Assert
+        NovelSearchResultDTO hit = (NovelSearchResultDTO) result.getNovels().get(0);
+        assertEquals("The <b>Dragon</b>", hit.getTitle());
+        assertEquals("The &lt;b&gt;<mark>Dragon</mark>&lt;/b&gt;", hit.getHighlightedTitle());
+        assertEquals("a <mark>dragon</mark> &amp; a knight", hit.getSnippet());
+    }
+
+    @Test
+    @DisplayName("Test 12: Parallel search runs the four queries concurrently")
+    void testParallelSearchRunsQueriesConcurrently() {
+        // Arrange - each query waits until all four have started, which only works if they overlap
+        ReflectionTestUtils.setField(searchService, "parallelSearch", true);
+        ReflectionTestUtils.setField(searchService, "searchTimeoutMs", 5000L);
+        CountDownLatch started = new CountDownLatch(4);
+        SearchRequestDTO request = new SearchRequestDTO();
+        request.setKeyword("test");
+        request.setPage(1);
+        request.setPageSize(10);
+
+        when(searchMapper.searchNovels(anyString(), any(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenAnswer(inv -> awaitAll(started, new ArrayList<>()));
+        when(searchMapper.countNovels(anyString(), any())).thenAnswer(inv -> awaitAll(started, 3));
+        when(searchMapper.searchUsers(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenAnswer(inv -> awaitAll(started, new ArrayList<>()));
+        when(searchMapper.countUsers(anyString())).thenAnswer(inv -> awaitAll(started, 2));
+
+        // Act
+        SearchResponseDTO result = searchService.search(request);
+
+        // Assert
+        assertFalse(result.isPartial());
+        assertEquals(3, result.getNovelCount());
+        assertEquals(2, result.getUserCount());
+        assertEquals(5L, result.getTotalResults());
+    }
+
+    @Test
+    @DisplayName("Test 13: Parallel search returns the finished side and flags partial on timeout")
+    void testParallelSearchReturnsPartialOnTimeout() {
+        // Arrange - the user count never finishes within the deadline
+        ReflectionTestUtils.setField(searchService, "parallelSearch", true);
+        ReflectionTestUtils.setField(searchService, "searchTimeoutMs", 200L);
+        SearchRequestDTO request = new SearchRequestDTO();
+        request.setKeyword("test");
+        request.setPage(1);
+        request.setPageSize(10);
+
+        when(searchMapper.searchNovels(anyString(), any(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new ArrayList<>());
+        when(searchMapper.countNovels(anyString(), any())).thenReturn(7);
+        when(searchMapper.searchUsers(anyString(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new ArrayList<>());
+        when(searchMapper.countUsers(anyString())).thenAnswer(inv -> {
+            Thread.sleep(10_000);
+            return 1;
+        });
+
+        // Act
+        long start = System.nanoTime();
+        SearchResponseDTO result = searchService.search(request);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertTrue(result.isPartial());
+        assertEquals(7, result.getNovelCount());
+        assertEquals(0, result.getUserCount());
+        assertTrue(result.getUsers().isEmpty());
+        assertTrue(elapsedMs < 5000, "search should give up at the deadline");
+    }
+
+    @Test
+    @DisplayName("Test 14: Parallel search rethrows query failures and cancels the other queries")
+    void testParallelSearchRethrowsFailures() throws InterruptedException {
+        ReflectionTestUtils.setField(searchService, "parallelSearch", true);
+        ReflectionTestUtils.setField(searchService, "searchTimeoutMs", 2000L);
+        SearchRequestDTO request = new SearchRequestDTO();
+        request.setKeyword("test");
+        request.setPage(1);
+        request.setPageSize(10);
+        request.setCategory("1");
+
+        CountDownLatch countStarted = new CountDownLatch(1);
+        CountDownLatch countInterrupted = new CountDownLatch(1);
+        when(searchMapper.searchNovels(anyString(), any(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenAnswer(inv -> {
+                    // fail once the count is running, so cancelling it has to interrupt it
+                    countStarted.await(5, TimeUnit.SECONDS);
+                    throw new IllegalStateException("db down");
+                });
+        when(searchMapper.countNovels(anyString(), any())).thenAnswer(inv -> {
+            countStarted.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                countInterrupted.countDown();
+            }
+            return 0;
+        });
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> searchService.search(request));
+        assertEquals("db down", ex.getMessage());
+        verify(searchMapper, never()).searchUsers(anyString(), anyInt(), anyInt(), anyString(), anyString());
+        assertTrue(countInterrupted.await(5, TimeUnit.SECONDS), "the count query should be cancelled");
+    }
+
+    @Test
+    @DisplayName("Test 15: Every search query runs under the search timeout as statement timeout")
+    void testSearchQueriesSetStatementTimeout() {
+        ReflectionTestUtils.setField(searchService, "searchTimeoutMs", 1500L);
+        SearchRequestDTO request = new SearchRequestDTO();
+        request.setKeyword("test");
+        request.setPage(1);
+        request.setPageSize(10);
+
+        when(searchMapper.searchNovels(anyString(), any(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new ArrayList<>());
+        when(searchMapper.countNovels(anyString(), any())).thenReturn(0);
+
+        searchService.searchNovels(request);
+
+        verify(searchMapper, times(2)).setStatementTimeout(1500L);
+    }
+
+    @Test
+    @DisplayName("Test 16: Searches over the concurrency limit are rejected as overload")
+    void testSearchOverConcurrencyLimit() {
+        ReflectionTestUtils.setField(searchService, "maxConcurrentSearches", 0);
+        SearchRequestDTO request = new SearchRequestDTO();
+        request.setKeyword("test");
+        request.setPage(1);
+        request.setPageSize(10);
+
+        assertThrows(ServiceUnavailableException.class, () -> searchService.search(request));
+        assertThrows(ServiceUnavailableException.class, () -> searchService.searchUsers(request));
+        verifyNoInteractions(searchMapper);
+
+        // rejected searches do not hold a slot
+        ReflectionTestUtils.setField(searchService, "maxConcurrentSearches", 1);
+        when(searchMapper.searchNovels(anyString(), any(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new ArrayList<>());
+        when(searchMapper.countNovels(anyString(), any())).thenReturn(0);
+        assertNotNull(searchService.searchNovels(request));
+    }
+
+    private static <T> T awaitAll(CountDownLatch started, T result) throws InterruptedException {
+        started.countDown();
+        if (!started.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("queries did not run concurrently");
+        }
+        return result;
+    }
 }
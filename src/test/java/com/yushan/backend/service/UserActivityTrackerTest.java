@@ -0,0 +1,113 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.UserMapper;
+import com.yushan.backend.util.RedisUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserActivityTracker Tests")
+class UserActivityTrackerTest {
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private RedisUtil redisUtil;
+
+    @Mock
+    private ActiveUserCounter activeUserCounter;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserActivityTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new UserActivityTracker(userMapper, redisUtil, activeUserCounter, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("repeat activity within the window skips Redis and users are flushed in one update")
+    void testRecordAndFlushBatch() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(redisUtil.setIfAbsent(anyString(), eq("1"), eq(5L), eq(TimeUnit.MINUTES))).thenReturn(true);
+
+        tracker.recordActivity(first);
+        tracker.recordActivity(first);
+        tracker.recordActivity(first);
+        tracker.recordActivity(second);
+
+        verify(redisUtil).setIfAbsent("user:activity:" + first, "1", 5L, TimeUnit.MINUTES);
+        verify(redisUtil, times(2)).setIfAbsent(anyString(), anyString(), anyLong(), any());
+        verify(activeUserCounter, times(3)).record(first);
+        verify(activeUserCounter).record(second);
+        verifyNoInteractions(userMapper);
+
+        tracker.flush();
+
+        ArgumentCaptor<String[]> captor = ArgumentCaptor.forClass(String[].class);
+        verify(userMapper).updateLastActiveBatch(captor.capture());
+        assertEquals(2, captor.getValue().length);
+        assertTrue(Arrays.asList(captor.getValue()).containsAll(
+                Arrays.asList(first.toString(), second.toString())));
+        assertEquals(2.0, meterRegistry.counter("user_activity.flushed").count());
+
+        tracker.flush();
+        verifyNoMoreInteractions(userMapper);
+    }
+
+    @Test
+    @DisplayName("users already recorded by another instance are not written again")
+    void testRedisDedupe() {
+        when(redisUtil.setIfAbsent(anyString(), anyString(), anyLong(), any())).thenReturn(false);
+
+        tracker.recordActivity(UUID.randomUUID());
+        tracker.flush();
+
+        verifyNoInteractions(userMapper);
+    }
+
+    @Test
+    @DisplayName("a Redis failure still records the user")
+    void testRedisFailureRecordsUser() {
+        when(redisUtil.setIfAbsent(anyString(), anyString(), anyLong(), any()))
+                .thenThrow(new RuntimeException("Redis error"));
+
+        tracker.recordActivity(UUID.randomUUID());
+        tracker.flush();
+
+        verify(userMapper).updateLastActiveBatch(any(String[].class));
+    }
+
+    @Test
+    @DisplayName("a failed flush is retried on the next run")
+    void testFailedFlushIsRetried() {
+        UUID userId = UUID.randomUUID();
+        when(redisUtil.setIfAbsent(anyString(), anyString(), anyLong(), any())).thenReturn(true);
+        when(userMapper.updateLastActiveBatch(any(String[].class)))
+                .thenThrow(new RuntimeException("db down"))
+                .thenReturn(1);
+
+        tracker.recordActivity(userId);
+        tracker.flush();
+        tracker.flush();
+
+        verify(userMapper, times(2)).updateLastActiveBatch(new String[]{userId.toString()});
+    }
+}
@@ -5,6 +5,7 @@ import com.yushan.backend.dto.UserProfileUpdateRequestDTO;
 import com.yushan.backend.dto.UserProfileUpdateResponseDTO;
 import com.yushan.backend.entity.User;
 import com.yushan.backend.enums.Gender;
+import com.yushan.backend.security.UserDetailsCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -20,12 +21,14 @@ public class UserServiceTest {
 
     private UserMapper userMapper;
     private MailService mailService;
+    private ImageService imageService;
     private UserService userService;
 
     @BeforeEach
     void setUp() {
         userMapper = Mockito.mock(UserMapper.class);
         mailService = Mockito.mock(MailService.class);
+        imageService = Mockito.mock(ImageService.class);
         userService = new UserService();
 
         // Inject mock mapper via reflection (simple without Spring context)
@@ -37,6 +40,14 @@ public class UserServiceTest {
             java.lang.reflect.Field f2 = UserService.class.getDeclaredField("mailService");
             f2.setAccessible(true);
             f2.set(userService, mailService);
+
+            java.lang.reflect.Field f3 = UserService.class.getDeclaredField("userDetailsCache");
+            f3.setAccessible(true);
+            f3.set(userService, Mockito.mock(UserDetailsCache.class));
+
+            java.lang.reflect.Field f4 = UserService.class.getDeclaredField("imageService");
+            f4.setAccessible(true);
+            f4.set(userService, imageService);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -89,6 +100,7 @@ public class UserServiceTest {
         UserProfileUpdateRequestDTO req = new UserProfileUpdateRequestDTO();
         req.setUsername("newname");
         req.setAvatarBase64("data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==");
+        when(imageService.storeDataUrl("data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==")).thenReturn("/api/images/abc");
         req.setProfileDetail("new profile");
         req.setGender(Gender.FEMALE);
 
@@ -100,7 +112,7 @@ public class UserServiceTest {
         User updatedArg = captor.getValue();
         assertEquals(id, updatedArg.getUuid());
         assertEquals("newname", updatedArg.getUsername());
-        assertEquals("data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==", updatedArg.getAvatarUrl());
+        assertEquals("/api/images/abc", updatedArg.getAvatarUrl());
         assertEquals("new profile", updatedArg.getProfileDetail());
         assertEquals(2, updatedArg.getGender());
         assertNotNull(updatedArg.getUpdateTime());
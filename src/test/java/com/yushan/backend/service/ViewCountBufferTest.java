@@ -0,0 +1,89 @@
+package com.yushan.backend.service;
+
+import com.yushan.backend.dao.ChapterMapper;
+import com.yushan.backend.dao.NovelMapper;
+import com.yushan.backend.entity.Novel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ViewCountBuffer Tests")
+class ViewCountBufferTest {
+
+    @Mock
+    private NovelMapper novelMapper;
+
+    @Mock
+    private ChapterMapper chapterMapper;
+
+    @Mock
+    private RankingUpdateService rankingUpdateService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ViewCountBuffer viewCountBuffer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        viewCountBuffer = new ViewCountBuffer(novelMapper, chapterMapper, rankingUpdateService, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("flush writes coalesced deltas in one statement per type and updates rankings")
+    void testFlushCoalescesViews() {
+        Novel novel = new Novel();
+        novel.setId(1);
+        when(novelMapper.selectRankingFieldsByIds(anyList())).thenReturn(List.of(novel));
+
+        viewCountBuffer.recordNovelView(1);
+        viewCountBuffer.recordNovelView(1);
+        viewCountBuffer.recordNovelView(1);
+        viewCountBuffer.recordChapterView(10);
+        viewCountBuffer.recordChapterView(11);
+        assertTrue(viewCountBuffer.getFlushLagSeconds() >= 0);
+
+        viewCountBuffer.flush();
+
+        verify(novelMapper).batchIncrementViewCount(Map.of(1, 3L));
+        verify(chapterMapper).batchIncrementViewCount(Map.of(10, 1L, 11, 1L));
+        verify(rankingUpdateService).incrementNovelViews(novel, 3L);
+        verify(novelMapper, never()).incrementViewCount(anyInt());
+        assertEquals(0, viewCountBuffer.getFlushLagSeconds());
+        assertEquals(3.0, meterRegistry.get("view_count.buffer.flushed").tag("type", "novel").counter().count());
+    }
+
+    @Test
+    @DisplayName("flush with an empty buffer does not touch the database")
+    void testFlushEmpty() {
+        viewCountBuffer.flush();
+
+        verifyNoInteractions(novelMapper, chapterMapper, rankingUpdateService);
+    }
+
+    @Test
+    @DisplayName("failed flush puts the views back for the next run")
+    void testFlushFailureRetries() {
+        when(chapterMapper.batchIncrementViewCount(anyMap()))
+                .thenThrow(new RuntimeException("db down"))
+                .thenReturn(1);
+
+        viewCountBuffer.recordChapterView(10);
+        viewCountBuffer.flush();
+        viewCountBuffer.recordChapterView(10);
+        viewCountBuffer.flush();
+
+        verify(chapterMapper).batchIncrementViewCount(Map.of(10, 1L));
+        verify(chapterMapper).batchIncrementViewCount(Map.of(10, 2L));
+    }
+}
@@ -38,6 +38,9 @@ class VoteServiceTest {
     @Mock
     private NovelMapper novelMapper;
 
+    @Mock
+    private RankingUpdateService rankingUpdateService;
+
     @InjectMocks
     private VoteService voteService;
 
@@ -67,8 +70,7 @@ class VoteServiceTest {
     void testToggleVoteSuccess() {
         when(novelService.getNovelEntity(novelId)).thenReturn(novel);
         when(userMapper.selectByPrimaryKey(userId)).thenReturn(user);
-        doNothing().when(novelService).incrementVoteCount(novelId);
-        when(novelService.getNovelVoteCount(novelId)).thenReturn(1);
+        when(novelService.incrementVoteCount(novelId)).thenReturn(1);
         doNothing().when(expService).addExp(eq(userId), eq(3f));
         doAnswer(invocation -> {
             Vote vote = invocation.getArgument(0);
@@ -81,8 +83,11 @@ class VoteServiceTest {
         
         assertNotNull(result);
         assertEquals(novelId, result.getNovelId());
+        assertEquals(1, result.getVoteCount());
+        verify(novelService, never()).getNovelVoteCount(any());
         verify(voteMapper).insertSelective(any(Vote.class));
         verify(expService).addExp(userId, 3f);
+        verify(rankingUpdateService).incrementNovelVotes(novel, 1);
     }
 
     @Test
@@ -0,0 +1,63 @@
+package com.yushan.backend.util;
+
+import com.yushan.backend.entity.Chapter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ChapterContentCodec and the lazy content handling in Chapter
+ */
+class ChapterContentCodecTest {
+
+    @Test
+    @DisplayName("Content round-trips and repetitive prose shrinks")
+    void shouldRoundTripAndCompress() {
+        String content = "第一章 风起云涌。The wind rose over the mountains. 🐉\n".repeat(500);
+
+        byte[] encoded = ChapterContentCodec.encode(content);
+
+        assertEquals(content, ChapterContentCodec.decode(encoded));
+        assertTrue(encoded.length < content.length() / 10);
+        assertEquals("", ChapterContentCodec.decode(ChapterContentCodec.encode("")));
+    }
+
+    @Test
+    @DisplayName("Unknown formats and truncated payloads are rejected")
+    void shouldRejectCorruptContent() {
+        byte[] encoded = ChapterContentCodec.encode("Some chapter text ".repeat(100));
+
+        assertThrows(IllegalStateException.class, () -> ChapterContentCodec.decode(new byte[]{9, 1, 2}));
+        assertThrows(IllegalStateException.class,
+                () -> ChapterContentCodec.decode(Arrays.copyOf(encoded, encoded.length / 2)));
+        assertThrows(IllegalStateException.class, () -> ChapterContentCodec.decode(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("Previews keep the first 200 characters without splitting surrogate pairs")
+    void shouldCutPreview() {
+        assertNull(ChapterContentCodec.preview(null));
+        assertEquals("short", ChapterContentCodec.preview("short"));
+        assertEquals(200, ChapterContentCodec.preview("a".repeat(500)).length());
+        assertEquals(199, ChapterContentCodec.preview("a".repeat(199) + "🐉" + "b").length());
+    }
+
+    @Test
+    @DisplayName("Chapter decodes loaded content only when it is read")
+    void chapterShouldDecodeLazily() {
+        Chapter written = new Chapter();
+        written.setContent("  Chapter text  ");
+        assertEquals("Chapter text", written.getContentPreview());
+        byte[] stored = written.getCompressedContent();
+
+        Chapter loaded = new Chapter();
+        loaded.setCompressedContent(stored);
+
+        assertSame(stored, loaded.getCompressedContent());
+        assertNull(loaded.getContentPreview());
+        assertEquals("Chapter text", loaded.getContent());
+    }
+}
@@ -0,0 +1,81 @@
+package com.yushan.backend.util;
+
+import com.yushan.backend.exception.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for KeysetCursor
+ */
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("Date cursors round-trip through the opaque token")
+    void shouldRoundTripDateCursor() {
+        Date time = new Date(1700000000123L);
+        String token = KeysetCursor.of("createTime desc", time, 42).encode();
+
+        KeysetCursor decoded = KeysetCursor.decode(token, "createTime desc");
+
+        assertEquals(42, decoded.getId());
+        assertEquals(time.getTime(), decoded.timestampValue().getTime());
+    }
+
+    @Test
+    @DisplayName("Timestamp cursors keep microsecond precision")
+    void shouldKeepMicrosecondsOfTimestampCursor() {
+        Timestamp time = Timestamp.from(Instant.parse("2024-03-01T10:15:30.123456Z"));
+        String token = KeysetCursor.of("createTime desc", time, 42).encode();
+
+        Timestamp decoded = KeysetCursor.decode(token, "createTime desc").timestampValue();
+
+        assertEquals(time, decoded);
+        assertEquals(123456000, decoded.getNanos());
+    }
+
+    @Test
+    @DisplayName("String and number cursors round-trip, including separators in titles")
+    void shouldRoundTripStringAndNumberCursors() {
+        String title = KeysetCursor.of("title asc", "A Tale of Two Cities", 7).encode();
+        String views = KeysetCursor.of("viewCnt desc", 1234L, 8).encode();
+
+        assertEquals("A Tale of Two Cities", KeysetCursor.decode(title, "title asc").stringValue());
+        assertEquals(1234L, KeysetCursor.decode(views, "viewCnt desc").longValue());
+    }
+
+    @Test
+    @DisplayName("A cursor without a sort key decodes to null values")
+    void shouldHandleNullSortValue() {
+        String token = KeysetCursor.of("updateTime desc", null, 3).encode();
+
+        KeysetCursor decoded = KeysetCursor.decode(token, "updateTime desc");
+
+        assertEquals(3, decoded.getId());
+        assertNull(decoded.timestampValue());
+    }
+
+    @Test
+    @DisplayName("A cursor issued for another sort is rejected")
+    void shouldRejectCursorForOtherSort() {
+        String token = KeysetCursor.of("createTime desc", new Date(), 1).encode();
+
+        ValidationException ex = assertThrows(ValidationException.class,
+                () -> KeysetCursor.decode(token, "createTime asc"));
+        assertEquals("Cursor does not match the requested sort", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Malformed tokens are rejected as invalid cursors")
+    void shouldRejectMalformedCursor() {
+        assertThrows(ValidationException.class, () -> KeysetCursor.decode("not base64!", "createTime desc"));
+        assertThrows(ValidationException.class, () -> KeysetCursor.decode("Zm9v", "createTime desc"));
+        String badValue = KeysetCursor.of("viewCnt desc", "abc", 1).encode();
+        assertThrows(ValidationException.class, () -> KeysetCursor.decode(badValue, "viewCnt desc").longValue());
+    }
+}
@@ -7,10 +7,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -118,4 +121,22 @@ public class RedisUtilTest {
 
         assertNull(result);
     }
+
+    // TC6: zAddAll sends members through one pipeline
+    @Test
+    void testZAddAll_Pipelined() {
+        redisUtil.zAddAll("ranking", Map.of("a", 1.0, "b", 2.0));
+
+        verify(stringRedisTemplate).executePipelined(any(SessionCallback.class));
+    }
+
+    // TC7: zAddAll / renameAndDelete with nothing to do skip Redis
+    @Test
+    void testBulkOperations_Empty() {
+        redisUtil.zAddAll("ranking", Map.of());
+        redisUtil.renameAndDelete(Map.of(), List.of());
+
+        verify(stringRedisTemplate, never()).executePipelined(any(SessionCallback.class));
+        verify(stringRedisTemplate, never()).execute(any(SessionCallback.class));
+    }
 }